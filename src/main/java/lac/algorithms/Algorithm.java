@@ -18,6 +18,7 @@
 package lac.algorithms;
 
 import lac.data.Dataset;
+import lac.data.ItemEncoding;
 
 /**
  * Base class used for all the algorithms of LAC.
@@ -69,5 +70,34 @@ public abstract class Algorithm {
         if (training.hasNumericAttributes()) {
             throw new IncompatibleDataset("Datasets with numeric attributes are not compatible with this algorithm");
         }
+        if (training.isWeighted() && !this.supportsWeights()) {
+            throw new IncompatibleDataset("Datasets with weighted instances are not compatible with this algorithm");
+        }
+        if (training.getEncoding() == ItemEncoding.INT && !this.supportsIntEncoding()) {
+            throw new IncompatibleDataset(
+                    "Datasets whose values are encoded as ints are not compatible with this algorithm");
+        }
+    }
+
+    /**
+     * Check if this algorithm takes into account the weight of each instance,
+     * so that it could be trained with deduplicated datasets (see
+     * {@link Dataset#deduplicate()}) obtaining the same classifier
+     * 
+     * @return true if weighted instances are supported, false otherwise
+     */
+    public boolean supportsWeights() {
+        return false;
+    }
+
+    /**
+     * Check if this algorithm could be trained with datasets whose values are
+     * encoded as ints (see {@link ItemEncoding}), that is, if all of its steps
+     * read the values and build the rules by means of ints
+     * 
+     * @return true if datasets encoded as ints are supported, false otherwise
+     */
+    public boolean supportsIntEncoding() {
+        return false;
     }
 }
@@ -0,0 +1,73 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms;
+
+import java.util.ArrayList;
+
+import lac.data.Dataset;
+import lac.data.VerticalIndex;
+
+/**
+ * Engine mining class association rules level by level, as Apriori does.
+ * Candidates are generated by {@link CandidateGenerator} and the supports of a
+ * whole level are counted at once by {@link SupportCounter}
+ */
+public class AprioriMiner extends CarMiner {
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.algorithms.CarMiner#run(lac.data.Dataset, long)
+     */
+    @Override
+    protected ArrayList<Rule> run(Dataset dataset, long minSupport) {
+        VerticalIndex index = dataset.getVerticalIndex();
+        SupportCounter counter = new SupportCounter(dataset);
+
+        // Candidates with one item are combined with all the classes. Items of the
+        // index are sorted, as Apriori needs a total order of the items
+        ArrayList<Rule> candidates = new ArrayList<Rule>();
+        for (short item : index.getItems()) {
+            if (index.getSupport(item) < minSupport)
+                continue;
+
+            for (int k = 0; k < dataset.getNumberKlasses(); k++) {
+                candidates.add(new Rule(new short[] { item }, dataset.getKlass(k)));
+            }
+        }
+
+        ArrayList<Rule> rules = new ArrayList<Rule>();
+        while (!candidates.isEmpty()) {
+            counter.count(candidates);
+
+            ArrayList<Rule> level = new ArrayList<Rule>();
+            for (Rule candidate : candidates) {
+                if (candidate.getSupportRule() >= minSupport)
+                    level.add(candidate);
+            }
+            rules.addAll(level);
+
+            candidates = CandidateGenerator.generate(level, (rule1, rule2) -> {
+                Rule newRule = (Rule) rule1.clone();
+                newRule.add(rule2.get(rule2.size() - 1));
+                return newRule;
+            });
+        }
+
+        return rules;
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Generation of the candidates of the next level for the Apriori family. Two
+ * rules of the previous level are joined when they have the same class, share
+ * all the items of their antecedent except the last one, and the last item of
+ * the first rule is lower than the last item of the second one. Rules are
+ * grouped by class and prefix, so each rule is only compared with the rules of
+ * its group, and the subsets of each candidate are looked up in a hash set of
+ * the antecedents of the previous level. In this way, the cost is proportional
+ * to the number of candidates generated instead of to the square of the size of
+ * the previous level.
+ *
+ * Antecedents are expected to be sorted in ascending order, as Apriori builds
+ * them. Candidates are returned in the same order as joining all the pairs of
+ * rules of the previous level would do.
+ */
+public class CandidateGenerator {
+    /**
+     * Generates the candidates of size k whose subsets of size k-1 are frequent,
+     * that is, their antecedent is found in the previous level regardless of the
+     * class
+     *
+     * @param <R>      type of the rules
+     * @param levelK_1 frequent rules of size k-1, all of them of the same size
+     * @param join     function creating the candidate from the two rules being
+     *                 joined
+     * @return candidate rules of size k
+     */
+    public static <R extends Rule> ArrayList<R> generate(List<R> levelK_1, BiFunction<R, R, R> join) {
+        HashSet<List<Short>> frequent = new HashSet<List<Short>>();
+        HashMap<List<Short>, ArrayList<R>> groups = new HashMap<List<Short>, ArrayList<R>>();
+
+        // Group of each rule and its position in the group, which keeps the order of
+        // the level
+        ArrayList<ArrayList<R>> groupByRule = new ArrayList<ArrayList<R>>(levelK_1.size());
+        int[] positions = new int[levelK_1.size()];
+
+        for (int i = 0; i < levelK_1.size(); i++) {
+            R rule = levelK_1.get(i);
+            frequent.add(rule.getAntecedent());
+
+            ArrayList<Short> key = new ArrayList<Short>(rule.getAntecedent().subList(0, rule.size() - 1));
+            key.add(rule.getKlass());
+
+            ArrayList<R> group = groups.computeIfAbsent(key, k -> new ArrayList<R>());
+            positions[i] = group.size();
+            group.add(rule);
+            groupByRule.add(group);
+        }
+
+        ArrayList<R> candidates = new ArrayList<R>();
+        ArrayList<Short> subset = new ArrayList<Short>();
+        for (int i = 0; i < levelK_1.size(); i++) {
+            R rule1 = levelK_1.get(i);
+            ArrayList<R> group = groupByRule.get(i);
+            short last1 = rule1.get(rule1.size() - 1);
+
+            for (int j = positions[i] + 1; j < group.size(); j++) {
+                R rule2 = group.get(j);
+                short last2 = rule2.get(rule2.size() - 1);
+
+                if (last1 < last2 && areSubsetsFrequent(rule1, last2, frequent, subset))
+                    candidates.add(join.apply(rule1, rule2));
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Checks if all the subsets of size k-1 of the candidate formed by the
+     * antecedent of a rule followed by a new item are frequent. Subsets removing
+     * one of the last two items are the rules being joined, so they are not
+     * checked
+     *
+     * @param rule     whose antecedent is the prefix of the candidate
+     * @param last     item added at the end of the antecedent
+     * @param frequent antecedents of the previous level
+     * @param subset   list reused to build each subset
+     * @return true if all the subsets are frequent
+     */
+    private static boolean areSubsetsFrequent(Rule rule, short last, HashSet<List<Short>> frequent,
+            ArrayList<Short> subset) {
+        List<Short> antecedent = rule.getAntecedent();
+
+        for (int removed = 0; removed < antecedent.size() - 1; removed++) {
+            subset.clear();
+            for (int i = 0; i < antecedent.size(); i++) {
+                if (i != removed)
+                    subset.add(antecedent.get(i));
+            }
+            subset.add(last);
+
+            if (!frequent.contains(subset))
+                return false;
+        }
+
+        return true;
+    }
+}
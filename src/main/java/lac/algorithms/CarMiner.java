@@ -0,0 +1,174 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import lac.data.Dataset;
+import lac.data.VerticalIndex;
+
+/**
+ * Engine used to mine class association rules. Algorithms whose rule generation
+ * consists of mining all the frequent and confident rules could delegate it on
+ * any engine, keeping their own pruning and classification stages. The best
+ * engine depends on the data: Apriori and FP-Growth for dense datasets, and
+ * Eclat for sparse ones.
+ *
+ * Engines are selected by name through the property miner of the configuration
+ * (see {@link MinerConfig}).
+ */
+public abstract class CarMiner {
+    /**
+     * Name of the engine based on Apriori, see {@link AprioriMiner}
+     */
+    public static final String APRIORI = "apriori";
+
+    /**
+     * Name of the engine based on FP-Growth, see {@link FPGrowthMiner}
+     */
+    public static final String FPGROWTH = "fpgrowth";
+
+    /**
+     * Name of the engine based on Eclat, see {@link EclatMiner}
+     */
+    public static final String ECLAT = "eclat";
+
+    /**
+     * Mines all the class association rules covering, at least, the specified
+     * number of instances. Returned rules have the support of the antecedent and
+     * the support of the rule already counted
+     *
+     * @param dataset    where the rules are mined
+     * @param minSupport minimum support of the rules, it is greater than 0
+     * @return the rules whose support is greater or equal than the minimum
+     */
+    protected abstract ArrayList<Rule> run(Dataset dataset, long minSupport);
+
+    /**
+     * Check if this engine takes into account the weight of each instance
+     *
+     * @return true if weighted instances are supported, false otherwise
+     */
+    public boolean supportsWeights() {
+        return true;
+    }
+
+    /**
+     * Mines the class association rules whose support and confidence are greater
+     * or equal than the thresholds, using the same minimum support for all the
+     * classes
+     *
+     * @param <R>        type of the rules of the algorithm
+     * @param dataset    where the rules are mined
+     * @param minSupport minimum support of the rules
+     * @param minConf    minimum confidence of the rules
+     * @param factory    creates a rule of the algorithm given its antecedent and
+     *                   its class
+     * @return the rules mined, whose measures have been updated once their
+     *         supports were set (see {@link Rule#supportsCounted(Dataset)})
+     */
+    public <R extends Rule> ArrayList<R> mine(Dataset dataset, long minSupport, double minConf,
+            BiFunction<short[], Short, R> factory) {
+        HashMap<Short, Long> minSupportByKlass = new HashMap<Short, Long>();
+        for (int k = 0; k < dataset.getNumberKlasses(); k++) {
+            minSupportByKlass.put(dataset.getKlass(k), minSupport);
+        }
+
+        return this.mine(dataset, minSupportByKlass, minConf, factory);
+    }
+
+    /**
+     * Mines the class association rules whose support and confidence are greater
+     * or equal than the thresholds, using a different minimum support for each
+     * class. Rules are mined with the lowest minimum support and then filtered by
+     * the minimum support of their class, which gives the same rules as using the
+     * minimum of each class while mining, since support is anti-monotone
+     *
+     * @param <R>               type of the rules of the algorithm
+     * @param dataset           where the rules are mined
+     * @param minSupportByKlass minimum support of the rules of each class
+     * @param minConf           minimum confidence of the rules
+     * @param factory           creates a rule of the algorithm given its
+     *                          antecedent and its class
+     * @return the rules mined, whose measures have been updated once their
+     *         supports were set (see {@link Rule#supportsCounted(Dataset)})
+     */
+    public <R extends Rule> ArrayList<R> mine(Dataset dataset, Map<Short, Long> minSupportByKlass, double minConf,
+            BiFunction<short[], Short, R> factory) {
+        if (dataset.isWeighted() && !this.supportsWeights())
+            throw new IncompatibleDataset("Datasets with weighted instances are not compatible with this miner");
+
+        // Rules not covering any instance are never mined
+        long minSupport = Long.MAX_VALUE;
+        for (long support : minSupportByKlass.values()) {
+            minSupport = Math.min(minSupport, Math.max(1, support));
+        }
+
+        ArrayList<R> rules = new ArrayList<R>();
+        if (minSupportByKlass.isEmpty())
+            return rules;
+
+        VerticalIndex index = dataset.getVerticalIndex();
+        for (Rule mined : this.run(dataset, minSupport)) {
+            Long minSupportKlass = minSupportByKlass.get(mined.getKlass());
+
+            if (minSupportKlass == null || mined.getSupportRule() < minSupportKlass
+                    || mined.getConfidence() < minConf)
+                continue;
+
+            short[] antecedent = new short[mined.size()];
+            for (int i = 0; i < antecedent.length; i++) {
+                antecedent[i] = mined.get(i);
+            }
+
+            R rule = factory.apply(antecedent, mined.getKlass());
+            rule.supportAntecedent = mined.getSupportAntecedent();
+            rule.supportKlass = index.getKlassSupport(mined.getKlass());
+            rule.supportRule = mined.getSupportRule();
+            rule.supportsCounted(dataset);
+
+            rules.add(rule);
+        }
+
+        return rules;
+    }
+
+    /**
+     * Creates the engine with the specified name
+     *
+     * @param name of the engine, apriori, fpgrowth or eclat
+     * @return the engine
+     * @throws IllegalArgumentException when there is no engine with such name
+     */
+    public static CarMiner create(String name) {
+        switch (name.toLowerCase()) {
+        case APRIORI:
+            return new AprioriMiner();
+        case FPGROWTH:
+            return new FPGrowthMiner();
+        case ECLAT:
+            return new EclatMiner();
+        default:
+            throw new IllegalArgumentException(
+                    "Miner " + name + " is not supported, it must be " + APRIORI + ", " + FPGROWTH + " or " + ECLAT);
+        }
+    }
+}
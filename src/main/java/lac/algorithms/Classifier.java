@@ -90,7 +90,7 @@ public class Classifier {
      * @return the assigned class using the current classifier
      */
     public short predict(Instance rawExample) {
-        Short[] example = rawExample.asNominal();
+        short[] example = rawExample.getValues();
 
         // Check if some rule matchs
         for (int i = 0; i < this.rules.size(); i++) {
@@ -0,0 +1,50 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms;
+
+import java.util.ArrayList;
+
+import lac.algorithms.mac.Eclat;
+import lac.data.Dataset;
+
+/**
+ * Engine mining class association rules by means of the adaptation of Eclat
+ * used by MAC, see {@link Eclat}. It intersects the tidsets of the rules, so it
+ * is suitable for sparse datasets
+ */
+public class EclatMiner extends CarMiner {
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.algorithms.CarMiner#run(lac.data.Dataset, long)
+     */
+    @Override
+    protected ArrayList<Rule> run(Dataset dataset, long minSupport) {
+        return new ArrayList<Rule>(new Eclat(dataset, minSupport, 0.0).run());
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.algorithms.CarMiner#supportsWeights()
+     */
+    @Override
+    public boolean supportsWeights() {
+        return false;
+    }
+}
@@ -15,37 +15,25 @@
  * received a copy of the GNU General Public License along with 
  * this program.  If not, see http://www.gnu.org/licenses/
  */
-package lac.algorithms.cmar;
+package lac.algorithms;
 
-import static org.junit.Assert.assertEquals;
+import java.util.ArrayList;
 
-import org.junit.Before;
-import org.junit.Test;
+import lac.algorithms.cmar.FPGrowth;
+import lac.data.Dataset;
 
-import junit.framework.TestSuite;
-
-public class FPNodeTest extends TestSuite {
-    FPNode node = new FPNode();
-    FPNode node1 = new FPNode();
-    FPNode node2 = new FPNode();
-
-    @Before
-    public void setup() {
-        node1.item = 3;
-        node.childs.add(node1);
-
-        node2.item = 4;
-        node.childs.add(node2);
-        
-    }
-    
-    @Test
-    public void getChildByIdReturnsItem() {
-        assertEquals(node2, node.getChildByItem(node2.item));
-    }
-
-    @Test
-    public void getChildByIdReturnsNullWhenIsNotFound() {
-        assertEquals(null, node.getChildByItem((short) 300000));
+/**
+ * Engine mining class association rules by means of the adaptation of
+ * FP-Growth used by CMAR, see {@link FPGrowth}
+ */
+public class FPGrowthMiner extends CarMiner {
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.algorithms.CarMiner#run(lac.data.Dataset, long)
+     */
+    @Override
+    protected ArrayList<Rule> run(Dataset dataset, long minSupport) {
+        return new FPGrowth(dataset, minSupport, 0.0).run();
     }
 }
@@ -0,0 +1,53 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms;
+
+/**
+ * Configuration of the algorithms whose rules could be mined by any of the
+ * available engines (see {@link CarMiner}). The engine is selected by the
+ * property miner, and the one proposed by the algorithm is used when it is not
+ * specified
+ */
+public abstract class MinerConfig extends Config {
+    /**
+     * Name of the engine used to mine the rules, null for the one proposed by the
+     * algorithm
+     */
+    private String miner = null;
+
+    /**
+     * Set the engine used to mine the rules
+     * 
+     * @param miner name of the engine, apriori, fpgrowth or eclat
+     * @throws IllegalArgumentException when there is no engine with such name
+     */
+    public void setMiner(String miner) {
+        CarMiner.create(miner);
+        this.miner = miner;
+    }
+
+    /**
+     * Get the engine used to mine the rules
+     * 
+     * @return a new instance of the engine, null if the one proposed by the
+     *         algorithm has to be used
+     */
+    public CarMiner getMiner() {
+        return this.miner == null ? null : CarMiner.create(this.miner);
+    }
+}
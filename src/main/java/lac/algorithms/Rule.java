@@ -18,7 +18,10 @@
 package lac.algorithms;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
+import lac.data.Dataset;
+import lac.data.ItemEncoding;
 import lac.utils.Utils;
 
 /**
@@ -29,6 +32,11 @@ import lac.utils.Utils;
  * of this algorithm.
  * <a href="https://github.com/kdis-lab/lac/blob/main/doc/manual.pdf">Manual
  * Section 5.3</a> contains a complete example on how to add new algorithms.
+ * 
+ * Rules mined from datasets whose items are encoded as ints (see
+ * {@link ItemEncoding}) keep their antecedent as an array of ints, which has to
+ * be accessed by means of {@link #getItem(int)} and
+ * {@link #matching(int[])}. The class is always a short.
  */
 public class Rule implements Cloneable {
 
@@ -37,6 +45,12 @@ public class Rule implements Cloneable {
      */
     protected ArrayList<Short> antecedent;
 
+    /**
+     * Items forming the antecedent in ascending order when they are encoded as
+     * ints, null when they are encoded as shorts and kept in antecedent
+     */
+    protected int[] wideAntecedent = null;
+
     /**
      * Consequent for the current rule
      */
@@ -105,15 +119,50 @@ public class Rule implements Cloneable {
         }
     }
 
+    /**
+     * Constructor for a rule whose items are encoded as ints
+     * 
+     * @param antecedent antecedent of the rule in ascending order, it is not
+     *                   copied
+     * @param klass      consquent of the rule
+     */
+    public Rule(int[] antecedent, short klass) {
+        this(klass);
+
+        this.wideAntecedent = antecedent;
+    }
+
+    /**
+     * Get the encoding of the items of the antecedent
+     * 
+     * @return int when the rule was built with an array of ints, short
+     *         otherwise
+     */
+    public ItemEncoding getEncoding() {
+        return this.wideAntecedent == null ? ItemEncoding.SHORT : ItemEncoding.INT;
+    }
+
     /**
      * Returns the antecedent of the rule
      * 
      * @return antecedent of the rule
      */
     public ArrayList<Short> getAntecedent() {
+        this.checkShortItems();
+
         return this.antecedent;
     }
 
+    /**
+     * Check that the items of the antecedent could be accessed as shorts
+     * 
+     * @throws IllegalStateException when they are encoded as ints
+     */
+    private void checkShortItems() {
+        if (this.wideAntecedent != null)
+            throw new IllegalStateException("Items of the rule are encoded as ints, they have to be read as ints.");
+    }
+
     /**
      * Get confidence for the current evaluated rule
      * 
@@ -150,12 +199,47 @@ public class Rule implements Cloneable {
      * @return true if rule was fired, false otherwise
      */
     public boolean matching(Short[] example) {
+        this.checkShortItems();
+        if (antecedent.isEmpty())
+            return true;
+
+        return Utils.isSubset(antecedent, example);
+    }
+
+    /**
+     * Function to check if a given example fires a rule. The example uses the
+     * internal representation of the dataset, so no boxed values are created
+     * 
+     * @param example Example to be classified
+     * @return true if rule was fired, false otherwise
+     */
+    public boolean matching(short[] example) {
+        this.checkShortItems();
         if (antecedent.isEmpty())
             return true;
 
         return Utils.isSubset(antecedent, example);
     }
 
+    /**
+     * Function to check if a given example, encoded as ints, fires a rule. It is
+     * valid for any encoding of the items of the rule
+     * 
+     * @param example Example to be classified
+     * @return true if rule was fired, false otherwise
+     */
+    public boolean matching(int[] example) {
+        if (this.wideAntecedent != null)
+            return Utils.isSubset(this.wideAntecedent, example);
+
+        for (int i = 0; i < this.antecedent.size(); i++) {
+            if (!Utils.memberOf(this.antecedent.get(i), example))
+                return false;
+        }
+
+        return true;
+    }
+
     /**
      * Function to check if a rule is equal to another given.
      * 
@@ -169,11 +253,22 @@ public class Rule implements Cloneable {
         if (this.klass != rule.getKlass())
             return false;
 
+        if (this.wideAntecedent != null || rule.wideAntecedent != null) {
+            if (this.size() != rule.size())
+                return false;
+
+            for (int i = 0; i < this.size(); i++)
+                if (this.getItem(i) != rule.getItem(i))
+                    return false;
+
+            return true;
+        }
+
         if (this.antecedent.size() != rule.getAntecedent().size())
             return false;
 
         for (int i = 0; i < this.antecedent.size(); i++)
-            if (this.antecedent.get(i) != rule.antecedent.get(i))
+            if (this.antecedent.get(i).shortValue() != rule.antecedent.get(i).shortValue())
                 return false;
 
         return true;
@@ -185,6 +280,7 @@ public class Rule implements Cloneable {
      * @param itemset Element to be added
      */
     public void add(Short[] itemset) {
+        this.checkShortItems();
         for (int i = 0; i < itemset.length; i++)
             this.antecedent.add(itemset[i]);
     }
@@ -195,6 +291,7 @@ public class Rule implements Cloneable {
      * @param itemset to be added to the antecedent
      */
     public void add(short[] itemset) {
+        this.checkShortItems();
         for (int i = 0; i < itemset.length; i++)
             this.antecedent.add(itemset[i]);
     }
@@ -205,6 +302,7 @@ public class Rule implements Cloneable {
      * @param item to be added
      */
     public void add(short item) {
+        this.checkShortItems();
         this.antecedent.add(item);
     }
 
@@ -215,16 +313,29 @@ public class Rule implements Cloneable {
      * @return The requested item of the antecedent
      */
     public short get(int index) {
+        this.checkShortItems();
+
         return this.antecedent.get(index);
     }
 
+    /**
+     * It returns the item located in the given position of the antecedent as an
+     * int, which is valid for any encoding
+     * 
+     * @param index Position of the requested item into the antecedent
+     * @return The requested item of the antecedent
+     */
+    public int getItem(int index) {
+        return this.wideAntecedent != null ? this.wideAntecedent[index] : this.antecedent.get(index);
+    }
+
     /**
      * It returns the size of the antecedent
      * 
      * @return Number of items in the antecedent
      */
     public int size() {
-        return this.antecedent.size();
+        return this.wideAntecedent != null ? this.wideAntecedent.length : this.antecedent.size();
     }
 
     /**
@@ -245,6 +356,27 @@ public class Rule implements Cloneable {
         return this.supportAntecedent;
     }
 
+    /**
+     * Whether the item located in the given position of the antecedent is
+     * negated, that is, the rule covers the instances not containing it
+     * 
+     * @param index position of the item into the antecedent
+     * @return false, items are not negated unless a subclass supports it
+     */
+    public boolean isNegated(int index) {
+        return false;
+    }
+
+    /**
+     * Called once the supports of the rule have been counted for a dataset, so
+     * that the measures derived from them could be updated. Nothing is done by
+     * default
+     * 
+     * @param train dataset where the supports were counted
+     */
+    protected void supportsCounted(Dataset train) {
+    }
+
     /**
      * Function which sets the rule's klass.
      * 
@@ -260,7 +392,10 @@ public class Rule implements Cloneable {
      * @see java.lang.Object#toString()
      */
     public String toString() {
-        return this.antecedent.toString() + " -> " + this.getKlass() + " Sup: " + this.getSupportRule() + " Conf: "
+        String antecedent = this.wideAntecedent != null ? Arrays.toString(this.wideAntecedent)
+                : this.antecedent.toString();
+
+        return antecedent + " -> " + this.getKlass() + " Sup: " + this.getSupportRule() + " Conf: "
                 + this.getConfidence();
     }
 
@@ -277,6 +412,9 @@ public class Rule implements Cloneable {
         newAntecedent = this.antecedent.toArray(newAntecedent);
         cloned.add(newAntecedent);
 
+        if (this.wideAntecedent != null)
+            cloned.wideAntecedent = this.wideAntecedent.clone();
+
         cloned.supportAntecedent = this.supportAntecedent;
         cloned.supportKlass = this.supportKlass;
         cloned.supportRule = this.supportRule;
@@ -289,11 +427,13 @@ public class Rule implements Cloneable {
      * 
      * @see java.lang.Object#hashCode()
      */
-    @SuppressWarnings("unchecked")
     public int hashCode() {
-        ArrayList<Short> total = (ArrayList<Short>) antecedent.clone();
-        total.add(klass);
-        return total.hashCode();
+        // Same value as the hash of the antecedent followed by the class, without
+        // copying the antecedent. Both encodings obtain the same hash for the same
+        // items
+        int hash = this.wideAntecedent != null ? Arrays.hashCode(this.wideAntecedent) : this.antecedent.hashCode();
+
+        return 31 * hash + Short.hashCode(this.klass);
     }
 
 }
@@ -0,0 +1,391 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import lac.data.Dataset;
+import lac.data.VerticalIndex;
+
+/**
+ * Engine counting the supports of all the candidate rules of one level at once.
+ * Candidates are stored in a prefix trie keyed by their antecedent, so rules
+ * sharing a prefix (or the whole antecedent with a different class) share the
+ * intersection of their tidsets. Instances are split into blocks of contiguous
+ * words of the vertical index, each block is traversed only once for the whole
+ * trie, and blocks are counted in parallel by different tasks whose partial
+ * counts are summed at the end.
+ *
+ * Negated items (see {@link Rule#isNegated(int)}) cover the instances not
+ * containing the item.
+ */
+public class SupportCounter {
+    /**
+     * Number of words (64 instances each) of the tidsets processed per block
+     */
+    private static final int BLOCK_WORDS = 512;
+
+    /**
+     * Dataset where the supports are counted
+     */
+    private Dataset dataset;
+
+    /**
+     * Number of instances of the dataset
+     */
+    private int size;
+
+    /**
+     * Number of words needed to store a tidset of the dataset
+     */
+    private int numberWords;
+
+    /**
+     * Weight of each instance, null when the dataset is not weighted
+     */
+    private int[] weights = null;
+
+    /**
+     * Internal representation of each class, its position is used for counting
+     */
+    private short[] klasses;
+
+    /**
+     * Tidset of each class as an array of words
+     */
+    private long[][] klassWords;
+
+    /**
+     * Support of each class
+     */
+    private long[] klassSupports;
+
+    /**
+     * Tidset as an array of words for each item (or negated item) already used,
+     * kept between calls to count consecutive levels
+     */
+    private HashMap<Integer, long[]> wordsByLiteral = new HashMap<Integer, long[]>();
+
+    /**
+     * Node of the prefix trie containing the candidates
+     */
+    private static class Node {
+        /**
+         * Tidset of the item (or negated item) represented by this node
+         */
+        long[] words;
+
+        /**
+         * Children of this node, one per different next item
+         */
+        ArrayList<Node> children = new ArrayList<Node>();
+
+        /**
+         * Children indexed by their item, only used while the trie is built
+         */
+        HashMap<Integer, Node> childrenByLiteral = new HashMap<Integer, Node>();
+
+        /**
+         * Position of the counters of this node, -1 if no candidate ends here
+         */
+        int offset = -1;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param dataset where the supports are counted
+     */
+    public SupportCounter(Dataset dataset) {
+        VerticalIndex index = dataset.getVerticalIndex();
+
+        this.dataset = dataset;
+        this.size = index.size();
+        this.numberWords = (this.size + 63) >>> 6;
+
+        if (dataset.isWeighted()) {
+            this.weights = new int[this.size];
+            for (int i = 0; i < this.size; i++) {
+                this.weights[i] = dataset.getWeight(i);
+            }
+        }
+
+        int numberKlasses = dataset.getNumberKlasses();
+        this.klasses = new short[numberKlasses];
+        this.klassWords = new long[numberKlasses][];
+        this.klassSupports = new long[numberKlasses];
+        for (int k = 0; k < numberKlasses; k++) {
+            this.klasses[k] = dataset.getKlass(k);
+            this.klassWords[k] = Arrays.copyOf(index.getKlassTidset(this.klasses[k]).toLongArray(), this.numberWords);
+            this.klassSupports[k] = index.getKlassSupport(this.klasses[k]);
+        }
+    }
+
+    /**
+     * Counts the support of the antecedent, the support of the class and the
+     * support of the rule for all the candidates, notifying each one of them
+     * once its supports have been set
+     *
+     * @param candidates rules whose supports are counted
+     */
+    public void count(List<? extends Rule> candidates) {
+        if (candidates.isEmpty())
+            return;
+
+        int numberCounters = this.klasses.length + 1;
+
+        // Candidates with the same antecedent share the node and its counters
+        Node root = new Node();
+        int[] offsets = new int[candidates.size()];
+        int numberAntecedents = 0;
+        for (int c = 0; c < candidates.size(); c++) {
+            Rule candidate = candidates.get(c);
+
+            Node node = root;
+            for (int i = 0; i < candidate.size(); i++) {
+                int literal = candidate.isNegated(i) ? ~candidate.get(i) : candidate.get(i);
+
+                Node child = node.childrenByLiteral.get(literal);
+                if (child == null) {
+                    child = new Node();
+                    child.words = this.getWords(literal);
+                    node.childrenByLiteral.put(literal, child);
+                    node.children.add(child);
+                }
+                node = child;
+            }
+
+            if (node.offset < 0)
+                node.offset = numberCounters * numberAntecedents++;
+            offsets[c] = node.offset;
+        }
+
+        long[] counts = this.count(root, numberCounters * numberAntecedents);
+
+        for (int c = 0; c < candidates.size(); c++) {
+            Rule candidate = candidates.get(c);
+            int k = this.getPosition(candidate.getKlass());
+
+            candidate.supportAntecedent = counts[offsets[c]];
+            candidate.supportKlass = k < 0 ? 0 : this.klassSupports[k];
+            candidate.supportRule = k < 0 ? 0 : counts[offsets[c] + 1 + k];
+            candidate.supportsCounted(this.dataset);
+        }
+    }
+
+    /**
+     * Counts all the nodes of the trie, splitting the blocks of instances among
+     * as many tasks as threads could be used
+     *
+     * @param root           of the trie
+     * @param numberCounters total number of counters of the trie
+     * @return the counters of the whole dataset
+     */
+    private long[] count(Node root, int numberCounters) {
+        int numberBlocks = (this.numberWords + BLOCK_WORDS - 1) / BLOCK_WORDS;
+        int parallelism = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool().getParallelism()
+                : ForkJoinPool.getCommonPoolParallelism();
+        int numberTasks = Math.max(1, Math.min(numberBlocks, parallelism));
+
+        int depth = this.depth(root);
+        long[][] partialCounts = new long[numberTasks][numberCounters];
+        ArrayList<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+        for (int t = 0; t < numberTasks; t++) {
+            long[] counts = partialCounts[t];
+            int fromBlock = (int) ((long) numberBlocks * t / numberTasks);
+            int toBlock = (int) ((long) numberBlocks * (t + 1) / numberTasks);
+
+            tasks.add(ForkJoinTask.adapt(() -> {
+                long[][] prefixes = new long[depth + 1][BLOCK_WORDS];
+                for (int b = fromBlock; b < toBlock; b++) {
+                    this.countBlock(root, b * BLOCK_WORDS, Math.min(this.numberWords, (b + 1) * BLOCK_WORDS),
+                            prefixes, counts);
+                }
+            }));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        // Partial counts of each task are merged in the first one
+        long[] counts = partialCounts[0];
+        for (int t = 1; t < numberTasks; t++) {
+            for (int i = 0; i < numberCounters; i++) {
+                counts[i] += partialCounts[t][i];
+            }
+        }
+
+        return counts;
+    }
+
+    /**
+     * Counts all the nodes of the trie for one block of instances
+     *
+     * @param root     of the trie
+     * @param from     first word of the block
+     * @param to       last word of the block (exclusive)
+     * @param prefixes buffers where the tidset of the prefix at each depth is
+     *                 stored
+     * @param counts   counters where the supports are added
+     */
+    private void countBlock(Node root, int from, int to, long[][] prefixes, long[] counts) {
+        // The empty antecedent is contained in all the instances
+        long[] all = prefixes[0];
+        for (int w = from; w < to; w++) {
+            all[w - from] = w == this.numberWords - 1 ? this.lastWordMask() : -1L;
+        }
+
+        this.countNode(root, from, to, 0, prefixes, counts);
+    }
+
+    /**
+     * Counts the node whose tidset, restricted to the current block, is stored in
+     * the buffer of the specified depth, and then all its descendants
+     *
+     * @param node     being counted
+     * @param from     first word of the block
+     * @param to       last word of the block (exclusive)
+     * @param depth    of the node in the trie
+     * @param prefixes buffers where the tidset of the prefix at each depth is
+     *                 stored
+     * @param counts   counters where the supports are added
+     */
+    private void countNode(Node node, int from, int to, int depth, long[][] prefixes, long[] counts) {
+        long[] prefix = prefixes[depth];
+
+        if (node.offset >= 0) {
+            counts[node.offset] += this.support(prefix, null, from, to);
+            for (int k = 0; k < this.klasses.length; k++) {
+                counts[node.offset + 1 + k] += this.support(prefix, this.klassWords[k], from, to);
+            }
+        }
+
+        for (Node child : node.children) {
+            long[] current = prefixes[depth + 1];
+
+            long any = 0;
+            for (int w = from; w < to; w++) {
+                current[w - from] = prefix[w - from] & child.words[w];
+                any |= current[w - from];
+            }
+
+            // None of the descendants could appear in this block
+            if (any != 0)
+                this.countNode(child, from, to, depth + 1, prefixes, counts);
+        }
+    }
+
+    /**
+     * Calculates the support of a tidset restricted to one block, optionally
+     * intersected with the tidset of a class
+     *
+     * @param prefix tidset of the block, starting at its first word
+     * @param klass  tidset of the class for the whole dataset, null to count the
+     *               prefix alone
+     * @param from   first word of the block
+     * @param to     last word of the block (exclusive)
+     * @return the number of instances, or the sum of their weights for weighted
+     *         datasets
+     */
+    private long support(long[] prefix, long[] klass, int from, int to) {
+        long support = 0;
+
+        for (int w = from; w < to; w++) {
+            long word = klass == null ? prefix[w - from] : prefix[w - from] & klass[w];
+
+            if (this.weights == null) {
+                support += Long.bitCount(word);
+            } else {
+                while (word != 0) {
+                    support += this.weights[(w << 6) + Long.numberOfTrailingZeros(word)];
+                    word &= word - 1;
+                }
+            }
+        }
+
+        return support;
+    }
+
+    /**
+     * Get the tidset of an item as an array of words. Negated items, represented
+     * by the bitwise complement of the item, are complemented
+     *
+     * @param literal item, or its bitwise complement when it is negated
+     * @return the words of the tidset, it has one word per 64 instances
+     */
+    private synchronized long[] getWords(int literal) {
+        long[] words = this.wordsByLiteral.get(literal);
+
+        if (words == null) {
+            short item = (short) (literal < 0 ? ~literal : literal);
+            words = Arrays.copyOf(this.dataset.getVerticalIndex().getTidset(item).toLongArray(), this.numberWords);
+
+            if (literal < 0) {
+                for (int w = 0; w < this.numberWords; w++) {
+                    words[w] = ~words[w];
+                }
+                if (this.numberWords > 0)
+                    words[this.numberWords - 1] &= this.lastWordMask();
+            }
+            this.wordsByLiteral.put(literal, words);
+        }
+
+        return words;
+    }
+
+    /**
+     * Mask of the valid bits in the last word of a tidset
+     *
+     * @return the mask for the instances of the last word
+     */
+    private long lastWordMask() {
+        int remainder = this.size & 63;
+        return remainder == 0 ? -1L : (1L << remainder) - 1;
+    }
+
+    /**
+     * Get the position used for a class in the counters
+     *
+     * @param klass internal representation of the class
+     * @return the position of the class, -1 if it is not a class of the dataset
+     */
+    private int getPosition(short klass) {
+        for (int k = 0; k < this.klasses.length; k++) {
+            if (this.klasses[k] == klass)
+                return k;
+        }
+        return -1;
+    }
+
+    /**
+     * Calculates the maximum depth of the trie
+     *
+     * @param node root of the trie
+     * @return the length of the longest antecedent in the trie
+     */
+    private int depth(Node node) {
+        int depth = 0;
+        for (Node child : node.children) {
+            depth = Math.max(depth, this.depth(child) + 1);
+        }
+        return depth;
+    }
+}
@@ -51,4 +51,14 @@ public class ACAC extends Algorithm {
 
         return new Classifier(rules);
     }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.algorithms.Algorithm#supportsWeights()
+     */
+    @Override
+    public boolean supportsWeights() {
+        return true;
+    }
 }
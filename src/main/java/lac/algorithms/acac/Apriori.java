@@ -27,10 +27,12 @@ package lac.algorithms.acac;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map.Entry;
+import java.util.HashSet;
 
+import lac.algorithms.CandidateGenerator;
+import lac.algorithms.SupportCounter;
 import lac.data.Dataset;
+import lac.data.VerticalIndex;
 
 /**
  * Class implementing the well-known Apriori algorithm. Presented at: R.
@@ -84,7 +86,7 @@ public class Apriori {
         this.config = config;
 
         // Calculate support relative to the current dataset
-        this.minSupRelative = (long) Math.ceil(config.getMinSup() * dataset.size());
+        this.minSupRelative = (long) Math.ceil(config.getMinSup() * dataset.getWeightedSize());
     }
 
     /**
@@ -111,6 +113,8 @@ public class Apriori {
             return new ArrayList<Rule>();
         }
 
+        SupportCounter counter = new SupportCounter(this.dataset);
+
         ArrayList<Rule> level = null;
         int k = 2;
         do {
@@ -127,24 +131,24 @@ public class Apriori {
                 candidatesK = generateCandidateSizeK(level);
             }
 
-            // Scan the database to calculate support for each candidate
-            for (Rule candidate : candidatesK) {
-                candidate.evaluate(dataset);
-            }
+            // Supports of all the candidates are counted at once
+            counter.count(candidatesK);
 
             // Check if candidates are final rules or they have to be extended more
             level = new ArrayList<Rule>();
+            HashSet<Rule> inLevel = new HashSet<Rule>();
             for (Rule candidate : candidatesK) {
                 // Candidates to be considered as finalRules they have to be frequent, and
                 // all-confidence greather than threshold
                 if (candidate.getSupportRule() >= this.minSupRelative
-                        && candidate.getAllConfidence() >= this.config.getMinAllConf() && !level.contains(candidate)) {
+                        && candidate.getAllConfidence() >= this.config.getMinAllConf() && !inLevel.contains(candidate)) {
                     // If rule has a higher confidence than threshold, it is used as final rule. In
                     // other case, rule has to be extended again
                     if (candidate.getConfidence() >= this.config.getMinConf()) {
                         rules.add(candidate);
                     } else {
                         level.add(candidate);
+                        inLevel.add(candidate);
                     }
                 }
             }
@@ -163,26 +167,15 @@ public class Apriori {
      * @return
      */
     private ArrayList<Item> generateSingletons() {
-        HashMap<Short, Long> mapItemCount = new HashMap<Short, Long>();
-
-        for (int i = 0; i < dataset.size(); i++) {
-            Short[] example = dataset.getInstance(i).asNominal();
-
-            // -1 because klass should not be saved in mapItemCount
-            for (int j = 0; j < example.length - 1; j++) {
-                short item = example[j];
+        VerticalIndex index = dataset.getVerticalIndex();
 
-                // increase the support count
-                Long count = mapItemCount.getOrDefault(item, 0L);
-                mapItemCount.put(item, ++count);
-            }
-        }
-
-        // We add all frequent items to the set of candidate of size 1
+        // We add all frequent items to the set of candidate of size 1. Klass is not
+        // included in the items of the index
         ArrayList<Item> frequent1 = new ArrayList<Item>();
-        for (Entry<Short, Long> entry : mapItemCount.entrySet()) {
-            if (entry.getValue() >= this.minSupRelative) {
-                frequent1.add(new Item(entry.getKey(), entry.getValue()));
+        for (short item : index.getItems()) {
+            long support = index.getSupport(item);
+            if (support >= this.minSupRelative) {
+                frequent1.add(new Item(item, support));
             }
         }
 
@@ -224,91 +217,12 @@ public class Apriori {
      * @return candidates rules of size k, where all its subsets are frequent.
      */
     protected ArrayList<Rule> generateCandidateSizeK(ArrayList<Rule> levelK_1) {
-        // create a variable to store candidates
-        ArrayList<Rule> candidates = new ArrayList<Rule>();
-
-        // For each itemset I1 and I2 of level k-1
-        for (int i = 0; i < levelK_1.size(); i++) {
-            Rule rule1 = levelK_1.get(i);
-            for (int j = i + 1; j < levelK_1.size(); j++) {
-                Rule rule2 = levelK_1.get(j);
-
-                if (!isCombinable(rule1, rule2))
-                    continue;
-
-                // Create a new candidate by combining itemset1 and itemset2
-                Rule newRule = (Rule) rule1.clone();
-                newRule.add((rule2.get(rule2.size() - 1)));
-                newRule.setMaximums(rule1.getSupportRule(), rule2.getSupportRule());
-
-                // The candidate is tested to see if its subsets of size k-1 are
-                // included in
-                // level k-1 (they are frequent).
-                if (areSubsetsFrequents(newRule, levelK_1)) {
-                    candidates.add(newRule);
-                }
-            }
-        }
-        return candidates; // return the set of candidates
-    }
-
-    /**
-     * Determines if two rules could be combined using apriori. That is, they follow
-     * at the very least the following conditions: * Class is equal * Size of
-     * antecedent is the same * Share size - 1 items in the antecedent * From the
-     * not shared items, the item from ruleI has a greater lexicography order than
-     * ruleJ
-     * 
-     * @param ruleI first rule to check if it could be combined
-     * @param ruleJ second rule to check if it could be combined
-     * @return boolean, with a value of true if two rules could be combined
-     */
-    protected boolean isCombinable(Rule ruleI, Rule ruleJ) {
-        if (ruleI.getKlass() != ruleJ.getKlass())
-            return false;
-
-        if (ruleI.size() != ruleJ.size())
-            return false;
-
-        Short itemI, itemJ;
-        for (int i = 0; i < ruleI.size() - 1; i++) {
-            itemI = ruleI.get(i);
-            itemJ = ruleJ.get(i);
-
-            if (itemI != itemJ)
-                return false;
-        }
-
-        itemI = ruleI.get(ruleI.size() - 1);
-        itemJ = ruleJ.get(ruleJ.size() - 1);
-
-        if (itemI >= itemJ)
-            return false;
-
-        return true;
-    }
-
-    /**
-     * Method to check if all the subsets of size k-1 of a candidate are frequent.
-     * That is a requirement of the anti-monotone property of the support
-     * 
-     * @param candidate a candidate rule of size k
-     * @param levelK_1  the frequent rules of size k-1
-     * @return true if all the subsets are frequent
-     */
-    @SuppressWarnings("unchecked")
-    protected boolean areSubsetsFrequents(Rule candidate, ArrayList<Rule> levelK_1) {
-        for (int positionToRemove = 0; positionToRemove < candidate.getAntecedent().size(); positionToRemove++) {
-            ArrayList<Short> subset = (ArrayList<Short>) candidate.getAntecedent().clone();
-            subset.remove(positionToRemove);
-
-            boolean found = levelK_1.stream().filter(rule -> rule.getAntecedent().containsAll(subset)).findFirst()
-                    .isPresent();
-
-            if (!found)
-                return false;
-        }
-
-        return true;
+        // Rules are only joined with the rules sharing their class and prefix
+        return CandidateGenerator.generate(levelK_1, (rule1, rule2) -> {
+            Rule newRule = (Rule) rule1.clone();
+            newRule.add(rule2.get(rule2.size() - 1));
+            newRule.setMaximums(rule1.getSupportRule(), rule2.getSupportRule());
+            return newRule;
+        });
     }
 }
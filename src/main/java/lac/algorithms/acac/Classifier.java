@@ -68,7 +68,7 @@ public class Classifier extends lac.algorithms.Classifier {
      */
     @Override
     public short predict(Instance rawInstance) {
-        Short[] instance = rawInstance.asNominal();
+        short[] instance = rawInstance.getValues();
 
         List<Rule> firedRules = new ArrayList<Rule>();
 
@@ -20,7 +20,8 @@ package lac.algorithms.acac;
 import java.util.*;
 
 import lac.data.Dataset;
-import lac.utils.Utils;
+import lac.data.SupportTable;
+import lac.data.VerticalIndex;
 
 /**
  * Base class for a rule of ACAC. It extends base Rule, but add functionalities
@@ -84,31 +85,39 @@ public class Rule extends lac.algorithms.Rule {
      * @param train Given training dataset to be able to calculate supports
      */
     public void evaluate(Dataset train) {
-        this.supportAntecedent = 0;
-        this.supportRule = 0;
-        this.supportKlass = 0;
-
-        for (int i = 0; i < train.size(); i++) {
-            Short[] example = train.getInstance(i).asNominal();
-
-            Boolean matchAntecedent = Utils.isSubset(antecedent, example);
-
-            Boolean matchConsequent = train.getKlassInstance(i) == this.klass;
-
-            if (matchConsequent) {
-                this.supportKlass++;
-            }
+        if (this.antecedent.size() == 1) {
+            // Supports of rules with only one item are already counted
+            SupportTable table = train.getSupportTable();
+            short item = this.antecedent.get(0);
+
+            this.supportAntecedent = table.getSupport(item);
+            this.supportKlass = table.getSupport(this.klass);
+            this.supportRule = table.getSupport(item, this.klass);
+        } else {
+            VerticalIndex index = train.getVerticalIndex();
+            BitSet tidsetAntecedent = index.getTidset(antecedent);
+
+            this.supportAntecedent = index.getSupport(tidsetAntecedent);
+            this.supportKlass = index.getKlassSupport(this.klass);
+
+            tidsetAntecedent.and(index.getKlassTidset(this.klass));
+            this.supportRule = index.getSupport(tidsetAntecedent);
+        }
 
-            if (matchAntecedent) {
-                this.supportAntecedent++;
-            }
+        this.supportsCounted(train);
+    }
 
-            if (matchAntecedent && matchConsequent) {
-                this.supportRule++;
-                Long count = this.supportRuleByKlass.getOrDefault(train.getKlassInstance(i), 0L);
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.algorithms.Rule#supportsCounted(lac.data.Dataset)
+     */
+    @Override
+    protected void supportsCounted(Dataset train) {
+        if (this.supportRule > 0) {
+            Long count = this.supportRuleByKlass.getOrDefault(this.klass, 0L);
 
-                this.supportRuleByKlass.put(train.getKlassInstance(i), count + 1);
-            }
+            this.supportRuleByKlass.put(this.klass, count + this.supportRule);
         }
     }
 
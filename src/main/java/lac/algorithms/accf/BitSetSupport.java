@@ -35,6 +35,33 @@ public class BitSetSupport {
     BitSet bitset = new BitSet();
     long support;
 
+    /**
+     * Hash of the bitset, it is computed the first time it is required
+     */
+    private int hash;
+
+    /**
+     * Whether hash has already been computed
+     */
+    private boolean hashed = false;
+
+    /**
+     * Default constructor, with an empty bitset
+     */
+    BitSetSupport() {
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param bitset  tidset, it is not copied
+     * @param support cardinality of the bitset
+     */
+    BitSetSupport(BitSet bitset, long support) {
+        this.bitset = bitset;
+        this.support = support;
+    }
+
     /**
      * Perform the intersection of two tidsets for itemsets containing more than one
      * item.
@@ -53,4 +80,33 @@ public class BitSetSupport {
         // return the new tidset
         return bitsetSupportIJ;
     }
+
+    /**
+     * Get the hash of the tidset. It is computed only once for each tidset
+     * 
+     * @return the hash of the tidset
+     */
+    int tidsetHash() {
+        if (!this.hashed) {
+            this.hash = hash(this.bitset);
+            this.hashed = true;
+        }
+        return this.hash;
+    }
+
+    /**
+     * Calculate the hash of a tidset word by word rather than bit by bit.
+     * BitSet.hashCode() is not used since it collides easily for sparse tidsets
+     * 
+     * @param bitset tidset to be hashed
+     * @return the hash of the tidset
+     */
+    static int hash(BitSet bitset) {
+        long hash = 0;
+        for (long word : bitset.toLongArray()) {
+            hash = (hash ^ word) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 29;
+        }
+        return (int) (hash ^ (hash >>> 32));
+    }
 }
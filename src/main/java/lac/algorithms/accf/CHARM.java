@@ -32,6 +32,7 @@ import java.util.HashMap;
 import java.util.Map.Entry;
 
 import lac.data.Dataset;
+import lac.data.VerticalIndex;
 import lac.utils.Utils;
 
 /**
@@ -179,41 +180,27 @@ public class CHARM {
     }
 
     /**
-     * Generate singletons and its bitset
+     * Generate singletons and its bitset. Bitsets are obtained from the vertical
+     * index of the dataset, they are not modified since intersections always
+     * create new bitsets
      * 
      * @return map with both singletons and its bitset
      */
     private HashMap<Short, BitSetSupport> generateSingletons() {
+        VerticalIndex index = this.dataset.getVerticalIndex();
         HashMap<Short, BitSetSupport> singletons = new HashMap<Short, BitSetSupport>();
 
-        for (int indexInstance = 0; indexInstance < this.dataset.size(); indexInstance++) {
-            for (int j = 0; j < this.dataset.getNumberAttributes(); j++) {
-                Short item = this.dataset.getInstance(indexInstance).asNominal()[j];
-                BitSetSupport tids = singletons.get(item);
-
-                // Create a new one
-                if (tids == null) {
-                    tids = new BitSetSupport();
-                    singletons.put(item, tids);
-                }
-
-                tids.bitset.set(indexInstance);
-                tids.support++;
-            }
-
-            // Klass for current isntance
-            Short klass = this.dataset.getKlassInstance(indexInstance);
-
-            BitSetSupport tids = klasses.get(klass);
-            if (tids == null) {
-                tids = new BitSetSupport();
-                klasses.put(klass, tids);
-            }
+        for (short item : index.getItems()) {
+            singletons.put(item, new BitSetSupport(index.getTidset(item), index.getSupport(item)));
+        }
 
-            tids.bitset.set(indexInstance);
-            tids.support++;
+        for (int i = 0; i < this.dataset.getNumberKlasses(); i++) {
+            short klass = this.dataset.getKlass(i);
 
+            if (index.getKlassSupport(klass) > 0)
+                klasses.put(klass, new BitSetSupport(index.getKlassTidset(klass), index.getKlassSupport(klass)));
         }
+
         return singletons;
     }
 
@@ -325,20 +312,18 @@ public class CHARM {
      */
     private void generateRules(Short[] prefix, Short[] suffix, BitSetSupport bitset) {
         // Concatenate the suffix and prefix of that itemset.
-        Short[] items;
-        if (prefix == null) {
-            items = suffix;
-        } else {
-            items = Utils.concatenate(prefix, suffix);
-        }
+        int prefixLength = prefix == null ? 0 : prefix.length;
+        short[] items = new short[prefixLength + suffix.length];
+        for (int i = 0; i < prefixLength; i++)
+            items[i] = prefix[i];
+        for (int i = 0; i < suffix.length; i++)
+            items[prefixLength + i] = suffix[i];
 
         // Lexical order!
         Arrays.sort(items);
 
-        Itemset itemset = new Itemset(items, bitset.support);
-
         // If there are not any superset, itemset is closed
-        if (supersetTable.isSuperset(itemset, bitset.bitset)) {
+        if (supersetTable.isSuperset(items, bitset.support, bitset.tidsetHash())) {
             // Generate rules for current item
             for (Entry<Short, BitSetSupport> klass : klasses.entrySet()) {
                 BitSetSupport klassbitset = klass.getValue();
@@ -356,7 +341,7 @@ public class CHARM {
                 }
             }
 
-            supersetTable.add(itemset, bitset.bitset);
+            supersetTable.add(items, bitset.support, bitset.tidsetHash());
         }
     }
 }
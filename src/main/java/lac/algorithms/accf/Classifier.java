@@ -61,7 +61,7 @@ public class Classifier extends lac.algorithms.Classifier {
      */
     @Override
     public short predict(Instance rawExample) {
-        Short[] example = rawExample.asNominal();
+        short[] example = rawExample.getValues();
 
         // Check if some rule matchs
         for (int i = 0; i < this.rules.size(); i++) {
@@ -76,7 +76,7 @@ public class Classifier extends lac.algorithms.Classifier {
         for (int i = 0; i < this.rules.size(); i++) {
             Rule rule = (Rule) this.rules.get(i);
 
-            if (!Utils.intersect(rule.getAntecedent(), example).isEmpty())
+            if (Utils.intersects(rule.getAntecedent(), example))
                 return rule.getKlass();
         }
 
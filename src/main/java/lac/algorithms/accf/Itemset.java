@@ -56,6 +56,21 @@ public class Itemset {
         return support;
     }
 
+    /**
+     * Get the items as an array of primitives sorted in ascending order
+     * 
+     * @return a new array with the items
+     */
+    public short[] toArray() {
+        short[] items = new short[itemset.length];
+
+        for (int i = 0; i < itemset.length; i++)
+            items[i] = itemset[i];
+        Arrays.sort(items);
+
+        return items;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -17,26 +17,77 @@
  */
 package lac.algorithms.accf;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 
 /**
  * Class used to represent a superset table used in CHARM to check if itemsets
  * are closed or not. It enables to speed-up testing.
  * 
+ * An itemset is subsumed by a closed itemset only when both share the same
+ * tidset, so itemsets are indexed by their support and the hash of their
+ * tidset, and only the itemsets sharing both of them are compared. The table
+ * is made of chained buckets stored in primitive arrays, it is resized when it
+ * gets too full, and itemsets are stored as sorted arrays of items.
  */
 class SupersetTable {
     /**
-     * Field used to store the table itself
+     * Initial number of buckets, it has to be a power of two
      */
-    private ArrayList<Itemset>[] table;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Maximum ratio between the number of stored itemsets and buckets before
+     * resizing the table
+     */
+    private static final double LOAD_FACTOR = 0.75;
+
+    /**
+     * Value used to mark the end of a chain of entries
+     */
+    private static final int NONE = -1;
+
+    /**
+     * First entry of each bucket, NONE when the bucket is empty
+     */
+    private int[] buckets;
+
+    /**
+     * Next entry in the same bucket for each entry
+     */
+    private int[] nexts;
+
+    /**
+     * Hash of the key for each entry, kept to avoid recomputing it when resizing
+     */
+    private int[] hashes;
+
+    /**
+     * Support of each entry
+     */
+    private long[] supports;
+
+    /**
+     * Items sorted in ascending order of each entry
+     */
+    private short[][] itemsets;
+
+    /**
+     * Number of stored itemsets
+     */
+    private int size = 0;
 
     /**
      * Default constructor
      */
-    @SuppressWarnings("unchecked")
     public SupersetTable() {
-        table = new ArrayList[1];
+        this.buckets = new int[INITIAL_CAPACITY];
+        Arrays.fill(this.buckets, NONE);
+
+        this.nexts = new int[INITIAL_CAPACITY];
+        this.hashes = new int[INITIAL_CAPACITY];
+        this.supports = new long[INITIAL_CAPACITY];
+        this.itemsets = new short[INITIAL_CAPACITY][];
     }
 
     /**
@@ -47,15 +98,24 @@ class SupersetTable {
      * @return false when it is not superset, true otherwise
      */
     public boolean isSuperset(Itemset itemset, BitSet bitset) {
-        int hashcode = calculateHashCode(bitset);
+        return isSuperset(itemset.toArray(), itemset.getSupport(), BitSetSupport.hash(bitset));
+    }
 
-        if (table[hashcode] == null) {
-            return true;
-        }
+    /**
+     * Check if itemset is superset or not, that is, there is not any stored
+     * itemset with the same support and tidset containing it
+     * 
+     * @param items      of the itemset, sorted in ascending order
+     * @param support    of the itemset
+     * @param tidsetHash hash of the tidset of the itemset
+     * @return false when it is not superset, true otherwise
+     */
+    public boolean isSuperset(short[] items, long support, int tidsetHash) {
+        int hash = hash(support, tidsetHash);
 
-        for (Object object : table[hashcode]) {
-            Itemset currentItemset = (Itemset) object;
-            if (currentItemset.getSupport() == itemset.getSupport() && currentItemset.containsAll(itemset)) {
+        for (int entry = this.buckets[hash & (this.buckets.length - 1)]; entry != NONE; entry = this.nexts[entry]) {
+            if (this.hashes[entry] == hash && this.supports[entry] == support
+                    && containsAll(this.itemsets[entry], items)) {
                 return false;
             }
         }
@@ -69,33 +129,101 @@ class SupersetTable {
      * @param bitset  bitset to calculate hashcode
      */
     public void add(Itemset itemset, BitSet bitset) {
-        int hashcode = calculateHashCode(bitset);
+        add(itemset.toArray(), itemset.getSupport(), BitSetSupport.hash(bitset));
+    }
 
-        if (table[hashcode] == null) {
-            table[hashcode] = new ArrayList<Itemset>();
+    /**
+     * Add an itemset to the hash table
+     * 
+     * @param items      of the itemset, sorted in ascending order. It is not
+     *                   copied
+     * @param support    of the itemset
+     * @param tidsetHash hash of the tidset of the itemset
+     */
+    public void add(short[] items, long support, int tidsetHash) {
+        if (this.size == this.nexts.length) {
+            int capacity = 2 * this.size;
+            this.nexts = Arrays.copyOf(this.nexts, capacity);
+            this.hashes = Arrays.copyOf(this.hashes, capacity);
+            this.supports = Arrays.copyOf(this.supports, capacity);
+            this.itemsets = Arrays.copyOf(this.itemsets, capacity);
+        }
+        if (this.size >= LOAD_FACTOR * this.buckets.length) {
+            resize(2 * this.buckets.length);
         }
-        table[hashcode].add(itemset);
+
+        int hash = hash(support, tidsetHash);
+        int bucket = hash & (this.buckets.length - 1);
+
+        this.hashes[this.size] = hash;
+        this.supports[this.size] = support;
+        this.itemsets[this.size] = items;
+        this.nexts[this.size] = this.buckets[bucket];
+        this.buckets[bucket] = this.size;
+        this.size++;
     }
 
     /**
-     * Calculate a hashcode to effectively check supersets
+     * Get the number of stored itemsets
      * 
-     * @param bitset to calculate hashcode
-     * @return the hashcode
+     * @return number of itemsets
      */
-    private int calculateHashCode(BitSet bitset) {
-        int hashCode = 0;
-        // For each bit in the bitset, sum it
-        for (int bid = bitset.nextSetBit(0); bid >= 0; bid = bitset.nextSetBit(bid + 1)) {
-            hashCode += bid;
-        }
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Redistribute the stored itemsets in a larger number of buckets
+     * 
+     * @param capacity new number of buckets, it has to be a power of two
+     */
+    private void resize(int capacity) {
+        this.buckets = new int[capacity];
+        Arrays.fill(this.buckets, NONE);
 
-        // Negative hashcode are converted to positive
-        if (hashCode < 0) {
-            hashCode = -1 * hashCode;
+        for (int entry = 0; entry < this.size; entry++) {
+            int bucket = this.hashes[entry] & (capacity - 1);
+            this.nexts[entry] = this.buckets[bucket];
+            this.buckets[bucket] = entry;
         }
+    }
+
+    /**
+     * Calculate a hashcode to effectively check supersets. Both the support and
+     * the hash of the tidset are mixed, so that the lower bits used to select
+     * the bucket are well distributed
+     * 
+     * @param support    of the itemset
+     * @param tidsetHash hash of the tidset of the itemset
+     * @return the hashcode
+     */
+    private static int hash(long support, int tidsetHash) {
+        int hash = (tidsetHash + (int) (support ^ (support >>> 32))) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
 
-        // Module with the size of the table
-        return hashCode % table.length;
+    /**
+     * Check if all the items of the second itemset are contained in the first
+     * one. Both arrays are sorted, so they are traversed only once
+     * 
+     * @param itemset1 sorted items of the superset
+     * @param itemset2 sorted items of the subset
+     * @return true if itemset1 contains all the items of itemset2
+     */
+    private static boolean containsAll(short[] itemset1, short[] itemset2) {
+        if (itemset2.length > itemset1.length)
+            return false;
+
+        int index1 = 0;
+        for (int index2 = 0; index2 < itemset2.length; index2++) {
+            short item = itemset2[index2];
+            while (index1 < itemset1.length && itemset1[index1] < item)
+                index1++;
+
+            if (index1 == itemset1.length || itemset1[index1] != item)
+                return false;
+            index1++;
+        }
+        return true;
     }
 }
@@ -53,4 +53,13 @@ public class ACN extends Algorithm {
         return new Classifier(rules, training, (Config) config);
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.algorithms.Algorithm#supportsWeights()
+     */
+    @Override
+    public boolean supportsWeights() {
+        return true;
+    }
 }
@@ -27,10 +27,11 @@ package lac.algorithms.acn;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map.Entry;
 
+import lac.algorithms.CandidateGenerator;
+import lac.algorithms.SupportCounter;
 import lac.data.Dataset;
+import lac.data.VerticalIndex;
 
 /**
  * Class implementing the well-known Apriori algorithm. Presented at: R.
@@ -80,7 +81,7 @@ public class AprioriNegative {
         this.dataset = dataset;
 
         // Calculate support relative to the current dataset
-        this.minSupRelative = (long) Math.ceil(config.getMinSup() * dataset.size());
+        this.minSupRelative = (long) Math.ceil(config.getMinSup() * dataset.getWeightedSize());
     }
 
     /**
@@ -108,6 +109,8 @@ public class AprioriNegative {
             return new ArrayList<Rule>();
         }
 
+        SupportCounter counter = new SupportCounter(this.dataset);
+
         ArrayList<Rule> level = null;
         int k = 2;
         do {
@@ -124,13 +127,12 @@ public class AprioriNegative {
                 candidatesK = generateCandidateSizeK(level);
             }
 
-            // Scan the database to calculate support for each candidate
-            for (Rule candidate : candidatesK) {
-                candidate.evaluate(dataset);
-            }
+            // Supports of all the candidates are counted at once
+            counter.count(candidatesK);
 
             // Check if candidates are final rules or they have to be extended more
             level = new ArrayList<Rule>();
+            ArrayList<Rule> negatedCandidates = new ArrayList<Rule>();
             for (Rule candidate : candidatesK) {
                 if (candidate.getSupportRule() >= this.minSupRelative) {
                     level.add(candidate);
@@ -141,15 +143,19 @@ public class AprioriNegative {
                     for (int m = 0; m < candidate.getAntecedent().size(); m++) {
                         Rule negatedRule = (Rule) candidate.clone();
                         negatedRule.negateItem(m);
-                        negatedRule.evaluate(this.dataset);
-
-                        if (negatedRule.getSupportRule() >= this.minSupRelative) {
-                            negativeRules.add(negatedRule);
-                        }
+                        negatedCandidates.add(negatedRule);
                     }
                 }
             }
 
+            // Negative rules of the level are also counted at once
+            counter.count(negatedCandidates);
+            for (Rule negatedRule : negatedCandidates) {
+                if (negatedRule.getSupportRule() >= this.minSupRelative) {
+                    negativeRules.add(negatedRule);
+                }
+            }
+
             // increment the size of the dataset
             k++;
         } while (!level.isEmpty());
@@ -167,26 +173,15 @@ public class AprioriNegative {
      * @return
      */
     private ArrayList<Item> generateSingletons() {
-        HashMap<Short, Long> mapItemCount = new HashMap<Short, Long>();
-
-        for (int i = 0; i < dataset.size(); i++) {
-            Short[] example = dataset.getInstance(i).asNominal();
-
-            // -1 because klass should not be saved in mapItemCount
-            for (int j = 0; j < example.length - 1; j++) {
-                short item = example[j];
-
-                // increase the support count
-                Long count = mapItemCount.getOrDefault(item, 0L);
-                mapItemCount.put(item, ++count);
-            }
-        }
+        VerticalIndex index = dataset.getVerticalIndex();
 
-        // We add all frequent items to the set of candidate of size 1
+        // We add all frequent items to the set of candidate of size 1. Klass is not
+        // included in the items of the index
         ArrayList<Item> frequent1 = new ArrayList<Item>();
-        for (Entry<Short, Long> entry : mapItemCount.entrySet()) {
-            if (entry.getValue() >= this.minSupRelative) {
-                frequent1.add(new Item(entry.getKey(), entry.getValue()));
+        for (short item : index.getItems()) {
+            long support = index.getSupport(item);
+            if (support >= this.minSupRelative) {
+                frequent1.add(new Item(item, support));
             }
         }
 
@@ -225,90 +220,11 @@ public class AprioriNegative {
      * @return candidates rules of size k, where all its subsets are frequent.
      */
     protected ArrayList<Rule> generateCandidateSizeK(ArrayList<Rule> levelK_1) {
-        // create a variable to store candidates
-        ArrayList<Rule> candidates = new ArrayList<Rule>();
-
-        // For each itemset I1 and I2 of level k-1
-        for (int i = 0; i < levelK_1.size(); i++) {
-            Rule rule1 = levelK_1.get(i);
-            for (int j = i + 1; j < levelK_1.size(); j++) {
-                Rule rule2 = levelK_1.get(j);
-
-                if (!isCombinable(rule1, rule2))
-                    continue;
-
-                // Create a new candidate by combining itemset1 and itemset2
-                Rule newRule = (Rule) rule1.clone();
-                newRule.add((rule2.get(rule2.size() - 1)));
-
-                // The candidate is tested to see if its subsets of size k-1 are
-                // included in
-                // level k-1 (they are frequent).
-                if (areSubsetsFrequents(newRule, levelK_1)) {
-                    candidates.add(newRule);
-                }
-            }
-        }
-        return candidates; // return the set of candidates
-    }
-
-    /**
-     * Determines if two rules could be combined using apriori. That is, they follow
-     * at the very least the following conditions: * Class is equal * Size of
-     * antecedent is the same * Share size - 1 items in the antecedent * From the
-     * not shared items, the item from ruleI has a greater lexicography order than
-     * ruleJ
-     * 
-     * @param ruleI first rule to check if it could be combined
-     * @param ruleJ second rule to check if it could be combined
-     * @return boolean, with a value of true if two rules could be combined
-     */
-    protected boolean isCombinable(Rule ruleI, Rule ruleJ) {
-        if (ruleI.getKlass() != ruleJ.getKlass())
-            return false;
-
-        if (ruleI.size() != ruleJ.size())
-            return false;
-
-        Short itemI, itemJ;
-        for (int i = 0; i < ruleI.size() - 1; i++) {
-            itemI = ruleI.get(i);
-            itemJ = ruleJ.get(i);
-
-            if (itemI != itemJ)
-                return false;
-        }
-
-        itemI = ruleI.get(ruleI.size() - 1);
-        itemJ = ruleJ.get(ruleJ.size() - 1);
-
-        if (itemI >= itemJ)
-            return false;
-
-        return true;
-    }
-
-    /**
-     * Method to check if all the subsets of size k-1 of a candidate are frequent.
-     * That is a requirement of the anti-monotone property of the support
-     * 
-     * @param candidate a candidate rule of size k
-     * @param levelK_1  the frequent rules of size k-1
-     * @return true if all the subsets are frequent
-     */
-    @SuppressWarnings("unchecked")
-    protected boolean areSubsetsFrequents(Rule candidate, ArrayList<Rule> levelK_1) {
-        for (int positionToRemove = 0; positionToRemove < candidate.getAntecedent().size(); positionToRemove++) {
-            ArrayList<Short> subset = (ArrayList<Short>) candidate.getAntecedent().clone();
-            subset.remove(positionToRemove);
-
-            boolean found = levelK_1.stream().filter(rule -> rule.getAntecedent().containsAll(subset)).findFirst()
-                    .isPresent();
-
-            if (!found)
-                return false;
-        }
-
-        return true;
+        // Rules are only joined with the rules sharing their class and prefix
+        return CandidateGenerator.generate(levelK_1, (rule1, rule2) -> {
+            Rule newRule = (Rule) rule1.clone();
+            newRule.add(rule2.get(rule2.size() - 1));
+            return newRule;
+        });
     }
 }
@@ -18,12 +18,14 @@
 package lac.algorithms.acn;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 
 import lac.data.Dataset;
+import lac.data.DatasetView;
+import lac.data.VerticalIndex;
 
 /**
  * Main class for the ACN classifier. It implements its own way of predicting
@@ -78,24 +80,20 @@ public class Classifier extends lac.algorithms.Classifier {
             }
         });
 
-        ArrayList<Integer> instancesCoveredByRule = new ArrayList<Integer>();
+        // Instances covered by the rules examined since the last one accepted,
+        // they are marked as covered once a new rule is accepted
+        BitSet instancesCoveredByRule = new BitSet(training.size());
 
-        ArrayList<Boolean> coveredInstances = new ArrayList<Boolean>(Arrays.asList(new Boolean[training.size()]));
-        Collections.fill(coveredInstances, Boolean.FALSE);
+        BitSet coveredInstances = new BitSet(training.size());
 
-        for (int i = 0; i < rules.size()
-                && coveredInstances.stream().filter(p -> p == false).findFirst().isPresent(); i++) {
+        VerticalIndex index = training.getVerticalIndex();
+        for (int i = 0; i < rules.size() && coveredInstances.cardinality() < training.size(); i++) {
             Rule rule = rules.get(i);
 
             // Check if cover at least one instance
-            for (int j = 0; j < training.size(); j++) {
-                if (coveredInstances.get(j))
-                    continue;
-
-                if (rule.matching(training.getInstance(j).asNominal())) {
-                    instancesCoveredByRule.add(j);
-                }
-            }
+            BitSet tidset = rule.getTidsetAntecedent(index);
+            tidset.andNot(coveredInstances);
+            instancesCoveredByRule.or(tidset);
 
             if (instancesCoveredByRule.isEmpty())
                 continue;
@@ -105,23 +103,14 @@ public class Classifier extends lac.algorithms.Classifier {
                 this.rules.add(rule);
 
                 // Remove covered instances
-                for (int m = 0; m < instancesCoveredByRule.size(); m++) {
-                    int indexInstance = instancesCoveredByRule.get(m);
-                    coveredInstances.set(indexInstance, true);
-                }
+                coveredInstances.or(instancesCoveredByRule);
             }
         }
 
         // Check if there are instances not covered yet
-        HashMap<Short, Long> counterByKlass = new HashMap<Short, Long>();
-        for (int i = 0; i < training.size(); i++) {
-            if (!coveredInstances.get(i)) {
-                short klass = training.getKlassInstance(i);
-
-                Long count = counterByKlass.getOrDefault(klass, 0L);
-                counterByKlass.put(klass, count + 1L);
-            }
-        }
+        BitSet notCoveredInstances = (BitSet) coveredInstances.clone();
+        notCoveredInstances.flip(0, training.size());
+        HashMap<Short, Long> counterByKlass = new DatasetView(training, notCoveredInstances).getFrequencyByKlass();
 
         short defaultKlass;
         if (counterByKlass.isEmpty()) {
@@ -145,20 +134,22 @@ public class Classifier extends lac.algorithms.Classifier {
         this.rules.add(new Rule(defaultKlass));
     }
 
-    private double getAccurracyRemainingDataset(Rule rule, Dataset dataset, ArrayList<Boolean> coveredInstances) {
-        double accuracy = 0;
-        int numberNotCoveredInstances = 0;
-
-        for (int i = 0; i < dataset.size(); i++) {
-            if (coveredInstances.get(i))
-                continue;
+    /**
+     * Calculates the accuracy of a rule over the instances not covered yet
+     * 
+     * @param rule             to be evaluated
+     * @param dataset          used to train the classifier
+     * @param coveredInstances instances already covered by the classifier
+     * @return the accuracy of the rule over the remaining instances
+     */
+    private double getAccurracyRemainingDataset(Rule rule, Dataset dataset, BitSet coveredInstances) {
+        VerticalIndex index = dataset.getVerticalIndex();
 
-            if (rule.matching(dataset.getInstance(i).asNominal()) && rule.getKlass() == dataset.getKlassInstance(i)) {
-                accuracy += 1;
-            }
-            numberNotCoveredInstances += 1;
-        }
+        BitSet correctlyClassified = rule.getTidsetAntecedent(index);
+        correctlyClassified.and(index.getKlassTidset(rule.getKlass()));
+        correctlyClassified.andNot(coveredInstances);
 
-        return accuracy / numberNotCoveredInstances;
+        return (double) index.getSupport(correctlyClassified)
+                / (dataset.getWeightedSize() - index.getSupport(coveredInstances));
     }
 }
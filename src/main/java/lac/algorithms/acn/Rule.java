@@ -19,6 +19,8 @@ package lac.algorithms.acn;
 
 import java.util.*;
 import lac.data.Dataset;
+import lac.data.SupportTable;
+import lac.data.VerticalIndex;
 import lac.utils.Utils;
 
 /**
@@ -61,37 +63,65 @@ public class Rule extends lac.algorithms.Rule {
      * @param train Given training dataset to be able to calculate supports
      */
     public void evaluate(Dataset train) {
-        this.supportAntecedent = 0;
-        this.supportRule = 0;
-        this.supportKlass = 0;
+        if (this.antecedent.size() == 1 && !this.negatedItems.get(0)) {
+            // Supports of rules with only one positive item are already counted
+            SupportTable table = train.getSupportTable();
+            short item = this.antecedent.get(0);
 
-        for (int i = 0; i < train.size(); i++) {
-            Short[] example = train.getInstance(i).asNominal();
-
-            Boolean matchAntecedent = matching(example);
-
-            Boolean matchConsequent = train.getKlassInstance(i) == this.klass;
-
-            if (matchConsequent) {
-                this.supportKlass++;
-            }
+            this.supportAntecedent = table.getSupport(item);
+            this.supportKlass = table.getSupport(this.klass);
+            this.supportRule = table.getSupport(item, this.klass);
+        } else {
+            VerticalIndex index = train.getVerticalIndex();
+            BitSet tidsetAntecedent = this.getTidsetAntecedent(index);
 
-            if (matchAntecedent) {
-                this.supportAntecedent++;
-            }
+            this.supportAntecedent = index.getSupport(tidsetAntecedent);
+            this.supportKlass = index.getKlassSupport(this.klass);
 
-            if (matchAntecedent && matchConsequent)
-                this.supportRule++;
+            tidsetAntecedent.and(index.getKlassTidset(this.klass));
+            this.supportRule = index.getSupport(tidsetAntecedent);
         }
 
-        double supR = supportRule / ((double) train.size());
-        double supA = supportAntecedent / ((double) train.size());
-        double supK = supportKlass / ((double) train.size());
+        this.supportsCounted(train);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.algorithms.Rule#supportsCounted(lac.data.Dataset)
+     */
+    @Override
+    protected void supportsCounted(Dataset train) {
+        double supR = supportRule / ((double) train.getWeightedSize());
+        double supA = supportAntecedent / ((double) train.getWeightedSize());
+        double supK = supportKlass / ((double) train.getWeightedSize());
         double notSupA = 1.0 - supA;
         double notSupK = 1.0 - supK;
         pearson = (supR - supA * supK) / Math.sqrt(supA * supK * notSupA * notSupK);
     }
 
+    /**
+     * Get the instances matching the antecedent. Instances containing any of the
+     * negated items are excluded
+     * 
+     * @param index vertical index of the dataset
+     * @return the tidset of the antecedent
+     */
+    BitSet getTidsetAntecedent(VerticalIndex index) {
+        BitSet tidset = new BitSet(index.size());
+        tidset.set(0, index.size());
+
+        for (int i = 0; i < this.antecedent.size(); i++) {
+            if (this.negatedItems.get(i)) {
+                tidset.andNot(index.getTidset(this.antecedent.get(i)));
+            } else {
+                tidset.and(index.getTidset(this.antecedent.get(i)));
+            }
+        }
+
+        return tidset;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -137,6 +167,16 @@ public class Rule extends lac.algorithms.Rule {
         return cloned;
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.algorithms.Rule#isNegated(int)
+     */
+    @Override
+    public boolean isNegated(int index) {
+        return this.negatedItems.get(index);
+    }
+
     /**
      * Negates an item contained in the antecedent of the rule
      * 
@@ -205,4 +245,26 @@ public class Rule extends lac.algorithms.Rule {
             return Utils.isSubset(positiveAntecedent, example);
         }
     }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.algorithms.Rule#matching(short[])
+     */
+    @Override
+    public boolean matching(short[] example) {
+        for (int i = 0; i < this.antecedent.size(); i++) {
+            short item = this.antecedent.get(i);
+
+            if (this.negatedItems.get(i)) {
+                // If contain negative Item, it cannot match this example
+                if (Utils.contains(item, example))
+                    return false;
+            } else if (!Utils.memberOf(item, example)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
 }
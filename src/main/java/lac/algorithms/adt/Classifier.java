@@ -76,8 +76,9 @@ public class Classifier extends lac.algorithms.Classifier {
 
         // Once rules are ranked, we need to calculate N(v) and E(v) for each node
         // having into account the previous order
+        short[] instance = this.training.createInstanceBuffer();
         for (int indexInstance = 0; indexInstance < this.training.size(); indexInstance++) {
-            Short[] instance = this.training.getInstance(indexInstance).asNominal();
+            this.training.getInstance(indexInstance, instance);
 
             boolean match = false;
             for (int i = 0; i < rules.size() && !match; i++) {
@@ -181,13 +182,14 @@ public class Classifier extends lac.algorithms.Classifier {
      * @return the pessimistic error rate for this node
      */
     private double calculatePessimisticErrorEstimate(ADNode node) {
+        short[] example = this.training.createInstanceBuffer();
         for (int i = 0; i < node.childs.size(); i++) {
             ArrayList<Integer> instances = node.childs.get(i).rule.getCoveredInstances();
 
             for (int j = 0; j < instances.size(); j++) {
                 Integer tid = instances.get(j);
 
-                Short[] example = this.training.getInstance(tid).asNominal();
+                this.training.getInstance(tid, example);
                 if (node.rule.matching(example)) {
                     node.rule.addCoveredInstance(tid);
                     if (node.rule.getKlass() == this.training.getKlassInstance(tid)) {
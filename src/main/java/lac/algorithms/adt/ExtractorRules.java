@@ -130,8 +130,9 @@ public class ExtractorRules {
         HashMap<ArrayList<Short>, ArrayList<Integer>> antecedentIndex = new HashMap<ArrayList<Short>, ArrayList<Integer>>();
 
         for (int i = 0; i < dataset.size(); i++) {
-            Short[] antecedent = Arrays.copyOfRange(dataset.getInstance(i).asNominal(), 0,
-                    this.dataset.getNumberAttributes());
+            Short[] antecedent = new Short[this.dataset.getNumberAttributes()];
+            for (int j = 0; j < antecedent.length; j++)
+                antecedent[j] = this.dataset.get(i, j);
             ArrayList<Short> antecedentArray = new ArrayList<Short>(Arrays.asList(antecedent));
             short klass = dataset.getKlassInstance(i);
 
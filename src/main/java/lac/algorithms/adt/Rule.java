@@ -18,9 +18,10 @@
 package lac.algorithms.adt;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 
 import lac.data.Dataset;
-import lac.utils.Utils;
+import lac.data.VerticalIndex;
 
 /**
  * Class used to represent a Rule in ADT algorithm
@@ -127,24 +128,13 @@ public class Rule extends lac.algorithms.Rule {
      * @param train dataset used as training set
      */
     public void calculateSupports(Dataset train) {
-        this.supportAntecedent = 0;
-        this.supportRule = 0;
+        VerticalIndex index = train.getVerticalIndex();
+        BitSet tidsetAntecedent = index.getTidset(antecedent);
 
-        for (int i = 0; i < train.size(); i++) {
-            Short[] example = train.getInstance(i).asNominal();
+        this.supportAntecedent = tidsetAntecedent.cardinality();
 
-            Boolean matchAntecedent = Utils.isSubset(antecedent, example);
-
-            Boolean matchConsequent = train.getKlassInstance(i) == this.klass;
-
-            if (matchAntecedent) {
-                this.supportAntecedent++;
-
-                if (matchConsequent) {
-                    this.supportRule++;
-                }
-            }
-        }
+        tidsetAntecedent.and(index.getKlassTidset(this.klass));
+        this.supportRule = tidsetAntecedent.cardinality();
     }
 
     /**
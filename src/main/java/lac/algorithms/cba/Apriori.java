@@ -27,10 +27,12 @@ package lac.algorithms.cba;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map.Entry;
+import java.util.HashSet;
 
+import lac.algorithms.CandidateGenerator;
+import lac.algorithms.SupportCounter;
 import lac.data.Dataset;
+import lac.data.VerticalIndex;
 
 /**
  * Main for the Apriori algorithm. This algorithm has been adapted to obtain
@@ -90,7 +92,7 @@ public class Apriori {
 
         this.config = config;
 
-        this.minSupRelative = (long) Math.ceil(config.getMinSup() * dataset.size());
+        this.minSupRelative = (long) Math.ceil(config.getMinSup() * dataset.getWeightedSize());
     }
 
     /**
@@ -118,6 +120,8 @@ public class Apriori {
             return new ArrayList<Rule>();
         }
 
+        SupportCounter counter = new SupportCounter(this.dataset);
+
         ArrayList<Rule> level = null;
         int k = 2;
         do {
@@ -132,15 +136,15 @@ public class Apriori {
                 candidatesK = generateCandidateSizeK(level);
             }
 
-            // Scan the database to calculate support for each candidate
-            for (Rule candidate : candidatesK) {
-                candidate.calculateSupports(dataset);
-            }
+            // Supports of all the candidates are counted at once
+            counter.count(candidatesK);
 
             level = new ArrayList<Rule>();
+            HashSet<Rule> inLevel = new HashSet<Rule>();
             for (Rule candidate : candidatesK) {
-                if (candidate.getSupportRule() >= this.minSupRelative && !level.contains(candidate)) {
+                if (candidate.getSupportRule() >= this.minSupRelative && !inLevel.contains(candidate)) {
                     level.add(candidate);
+                    inLevel.add(candidate);
 
                     if (candidate.getConfidence() >= this.config.getMinConf()) {
                         rules.add(candidate);
@@ -160,26 +164,15 @@ public class Apriori {
      * @return singletons and its frequency
      */
     private ArrayList<Item> generateSingletons() {
-        HashMap<Short, Long> mapItemCount = new HashMap<Short, Long>();
-
-        for (int i = 0; i < dataset.size(); i++) {
-            Short[] example = dataset.getInstance(i).asNominal();
-
-            // -1 because klass should not be saved in mapItemCount
-            for (int j = 0; j < example.length - 1; j++) {
-                short item = example[j];
-
-                // increase the support count
-                Long count = mapItemCount.getOrDefault(item, 0L);
-                mapItemCount.put(item, ++count);
-            }
-        }
+        VerticalIndex index = dataset.getVerticalIndex();
 
-        // We add all frequent items to the set of candidate of size 1
+        // We add all frequent items to the set of candidate of size 1. Klass is not
+        // included in the items of the index
         ArrayList<Item> frequent1 = new ArrayList<Item>();
-        for (Entry<Short, Long> entry : mapItemCount.entrySet()) {
-            if (entry.getValue() >= this.minSupRelative) {
-                frequent1.add(new Item(entry.getKey(), entry.getValue()));
+        for (short item : index.getItems()) {
+            long support = index.getSupport(item);
+            if (support >= this.minSupRelative) {
+                frequent1.add(new Item(item, support));
             }
         }
 
@@ -217,55 +210,11 @@ public class Apriori {
      * @return candidates rules of size k, where all its subsets are frequent.
      */
     protected ArrayList<Rule> generateCandidateSizeK(ArrayList<Rule> levelK_1) {
-        // create a variable to store candidates
-        ArrayList<Rule> candidates = new ArrayList<Rule>();
-
-        // For each itemset I1 and I2 of level k-1
-        for (int i = 0; i < levelK_1.size(); i++) {
-            Rule rule1 = levelK_1.get(i);
-            for (int j = i + 1; j < levelK_1.size(); j++) {
-                Rule rule2 = levelK_1.get(j);
-
-                if (!rule1.isCombinable(rule2))
-                    continue;
-
-                // Create a new candidate by combining itemset1 and itemset2
-                Rule newRule = (Rule) rule1.clone();
-                newRule.add((rule2.get(rule2.size() - 1)));
-
-                // The candidate is tested to see if its subsets of size k-1 are
-                // included in
-                // level k-1 (they are frequent).
-                if (areSubsetsFrequents(newRule, levelK_1)) {
-                    candidates.add(newRule);
-                }
-            }
-        }
-        return candidates;
-    }
-
-    /**
-     * Method to check if all the subsets of size k-1 of a candidate are frequent.
-     * That is a requirement of the anti-monotone property of the support
-     * 
-     * @param candidate a candidate rule of size k
-     * @param levelK_1  the frequent rules of size k-1
-     * @return true if all the subsets are frequent
-     */
-    @SuppressWarnings("unchecked")
-    protected boolean areSubsetsFrequents(Rule candidate, ArrayList<Rule> levelK_1) {
-        // generate all subsets by always each item from the candidate, one by one
-        for (int positionToRemove = 0; positionToRemove < candidate.getAntecedent().size(); positionToRemove++) {
-            ArrayList<Short> subset = (ArrayList<Short>) candidate.getAntecedent().clone();
-            subset.remove(positionToRemove);
-
-            boolean found = levelK_1.stream().filter(rule -> rule.getAntecedent().containsAll(subset)).findFirst()
-                    .isPresent();
-
-            if (!found) {
-                return false;
-            }
-        }
-        return true;
+        // Rules are only joined with the rules sharing their class and prefix
+        return CandidateGenerator.generate(levelK_1, (rule1, rule2) -> {
+            Rule newRule = (Rule) rule1.clone();
+            newRule.add(rule2.get(rule2.size() - 1));
+            return newRule;
+        });
     }
 }
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 
 import lac.algorithms.Classifier;
 import lac.algorithms.Algorithm;
+import lac.algorithms.CarMiner;
 import lac.data.Dataset;
 
 /**
@@ -47,11 +48,34 @@ public class CBA extends Algorithm {
      */
     @Override
     public Classifier train(Dataset training) throws Exception {
-        Apriori apriori = new Apriori(training, (Config) this.config);
+        Config config = (Config) this.config;
+        CarMiner miner = config.getMiner();
 
-        ArrayList<Rule> rules = apriori.run();
+        ArrayList<Rule> rules;
+        if (miner == null) {
+            rules = new Apriori(training, config).run();
+        } else {
+            long minSupport = (long) Math.ceil(config.getMinSup() * training.getWeightedSize());
+            rules = miner.mine(training, minSupport, config.getMinConf(), (antecedent, klass) -> {
+                Rule rule = new Rule(klass);
+                rule.add(antecedent);
+                return rule;
+            });
+        }
         CBAM2 cba = new CBAM2(training, rules);
 
         return cba.getClassifier();
     }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.algorithms.Algorithm#supportsWeights()
+     */
+    @Override
+    public boolean supportsWeights() {
+        CarMiner miner = ((Config) this.config).getMiner();
+
+        return miner == null || miner.supportsWeights();
+    }
 }
\ No newline at end of file
@@ -18,12 +18,14 @@
 package lac.algorithms.cba;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map.Entry;
 
 import lac.algorithms.Classifier;
 import lac.data.Dataset;
+import lac.data.VerticalIndex;
 
 /**
  * This class has the logic for building a classifier using CARs. To produce the
@@ -81,11 +83,11 @@ public class CBAM2 {
     private void stage1() {
         int cRule, wRule;
         short y;
-        Short[] example;
+        short[] example = this.dataset.createInstanceBuffer();
         Rule rule;
 
         for (int i = 0; i < this.dataset.size(); i++) {
-            example = this.dataset.getInstance(i).asNominal();
+            this.dataset.getInstance(i, example);
             y = this.dataset.getKlassInstance(i);
 
             cRule = -1;
@@ -109,7 +111,7 @@ public class CBAM2 {
                 if (this.isNew(this.U, rule))
                     this.U.add(rule);
 
-                rule.incrementKlassCovered(y);
+                rule.incrementKlassCovered(y, this.dataset.getWeight(i));
                 if ((cRule < wRule) || (wRule < 0)) {
                     rule.mark();
                     if (this.isNew(this.Q, rule))
@@ -145,35 +147,38 @@ public class CBAM2 {
         int poscRule, poswRule;
         Structure str;
         Rule cRule, wRule, rule;
+        long weight;
+        short[] example = this.dataset.createInstanceBuffer();
 
         for (int i = 0; i < this.A.size(); i++) {
             str = this.A.get(i);
             poscRule = str.getIndexCRule();
             poswRule = str.getIndexWRule();
+            weight = this.dataset.getWeight(str.getdIdInstance());
 
             wRule = this.rules.get(poswRule);
             if (wRule.isMark()) {
                 if (poscRule > -1)
-                    this.rules.get(poscRule).decrementKlassCovered(str.getKlass());
-                wRule.incrementKlassCovered(str.getKlass());
+                    this.rules.get(poscRule).decrementKlassCovered(str.getKlass(), weight);
+                wRule.incrementKlassCovered(str.getKlass(), weight);
             } else {
+                this.dataset.getInstance(str.getdIdInstance(), example);
                 for (int j = 0; j < this.U.size(); j++) {
                     rule = this.U.get(j);
 
-                    if (rule.matching(this.dataset.getInstance(str.getdIdInstance()).asNominal())
-                            && rule.getKlass() != str.getKlass()) {
+                    if (rule.matching(example) && rule.getKlass() != str.getKlass()) {
                         if (poscRule > -1) {
                             cRule = this.rules.get(poscRule);
                             if (rule.isPrecedence(cRule)) {
                                 rule.addReplace(new Replace(poscRule, str.getdIdInstance(), str.getKlass()));
-                                rule.incrementKlassCovered(str.getKlass());
+                                rule.incrementKlassCovered(str.getKlass(), weight);
 
                                 if (this.isNew(this.Q, rule))
                                     this.Q.add(rule);
                             }
                         } else {
                             rule.addReplace(new Replace(poscRule, str.getdIdInstance(), str.getKlass()));
-                            rule.incrementKlassCovered(str.getKlass());
+                            rule.incrementKlassCovered(str.getKlass(), weight);
 
                             if (this.isNew(this.Q, rule))
                                 this.Q.add(rule);
@@ -199,7 +204,7 @@ public class CBAM2 {
         Long totalErrors = 0L;
         HashMap<Short, Long> compClassDistr;
         int[] exampleCovered;
-        Short[] example;
+        VerticalIndex index = this.dataset.getVerticalIndex();
         Rule rule;
         Replace rep;
         SelectedRule sel;
@@ -220,28 +225,27 @@ public class CBAM2 {
             if (rule.getKlassesCovered(rule.getKlass()) > 0) {
                 for (int j = 0; j < rule.getNumberReplace(); j++) {
                     rep = rule.getReplace(j);
+                    long weight = this.dataset.getWeight(rep.getdIdInstance());
                     if (exampleCovered[rep.getdIdInstance()] > 0)
-                        rule.decrementKlassCovered(rep.getKlass());
+                        rule.decrementKlassCovered(rep.getKlass(), weight);
                     else {
                         if (rep.getIndexCRule() > -1) {
-                            this.rules.get(rep.getIndexCRule()).decrementKlassCovered(rep.getKlass());
+                            this.rules.get(rep.getIndexCRule()).decrementKlassCovered(rep.getKlass(), weight);
                         }
                     }
                 }
 
                 errorsOfRule = 0;
-                for (int j = 0; j < this.dataset.size(); j++) {
+                BitSet tidset = index.getTidset(rule.getAntecedent());
+                for (int j = tidset.nextSetBit(0); j >= 0; j = tidset.nextSetBit(j + 1)) {
                     if (exampleCovered[j] < 1) {
-                        example = this.dataset.getInstance(j).asNominal();
+                        exampleCovered[j] = 1;
+                        short klass = this.dataset.getKlassInstance(j);
+                        long weight = this.dataset.getWeight(j);
+                        compClassDistr.put(klass, compClassDistr.get(klass) - weight);
 
-                        if (rule.matching(example)) {
-                            exampleCovered[j] = 1;
-                            short klass = this.dataset.getKlassInstance(j);
-                            compClassDistr.put(klass, compClassDistr.get(klass) - 1);
-
-                            if (rule.getKlass() != this.dataset.getKlassInstance(j))
-                                errorsOfRule++;
-                        }
+                        if (rule.getKlass() != this.dataset.getKlassInstance(j))
+                            errorsOfRule += weight;
                     }
                 }
                 ruleErrors += errorsOfRule;
@@ -20,7 +20,7 @@ package lac.algorithms.cba;
 /**
  * Configuration for the CBA algorithm
  */
-public class Config extends lac.algorithms.Config {
+public class Config extends lac.algorithms.MinerConfig {
     /**
      * Minimum frequency of occurrence for the rules
      */
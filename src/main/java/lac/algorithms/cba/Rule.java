@@ -20,7 +20,8 @@ package lac.algorithms.cba;
 import java.util.*;
 
 import lac.data.Dataset;
-import lac.utils.Utils;
+import lac.data.SupportTable;
+import lac.data.VerticalIndex;
 
 /**
  * Class used to represent a rule in the CBA algorithm
@@ -150,31 +151,37 @@ public class Rule extends lac.algorithms.Rule implements Comparable {
      * @param train dataset for evaluating the current rule
      */
     public void calculateSupports(Dataset train) {
-        this.supportAntecedent = 0;
-        this.supportRule = 0;
-        this.supportKlass = 0;
-
-        for (int i = 0; i < train.size(); i++) {
-            Short[] example = train.getInstance(i).asNominal();
-
-            Boolean matchAntecedent = Utils.isSubset(antecedent, example);
+        if (this.antecedent.size() == 1) {
+            // Supports of rules with only one item are already counted
+            SupportTable table = train.getSupportTable();
+            short item = this.antecedent.get(0);
+
+            this.supportAntecedent = table.getSupport(item);
+            this.supportKlass = table.getSupport(this.klass);
+            this.supportRule = table.getSupport(item, this.klass);
+        } else {
+            VerticalIndex index = train.getVerticalIndex();
+            BitSet tidsetAntecedent = index.getTidset(antecedent);
 
-            Boolean matchConsequent = train.getKlassInstance(i) == this.klass;
+            this.supportAntecedent = index.getSupport(tidsetAntecedent);
+            this.supportKlass = index.getKlassSupport(this.klass);
 
-            if (matchConsequent) {
-                this.supportKlass++;
-                this.hits++;
-            } else {
-                this.misses++;
-            }
+            tidsetAntecedent.and(index.getKlassTidset(this.klass));
+            this.supportRule = index.getSupport(tidsetAntecedent);
+        }
 
-            if (matchAntecedent) {
-                this.supportAntecedent++;
-            }
+        this.supportsCounted(train);
+    }
 
-            if (matchAntecedent && matchConsequent)
-                this.supportRule++;
-        }
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.algorithms.Rule#supportsCounted(lac.data.Dataset)
+     */
+    @Override
+    protected void supportsCounted(Dataset train) {
+        this.hits += this.supportKlass;
+        this.misses += train.getWeightedSize() - this.supportKlass;
 
         this.pessimisticErrorRate = (1.0 * this.misses
                 + this.errors(this.hits + this.misses * 1.0, this.misses * 1.0, 0.25)) / (misses + hits);
@@ -242,10 +249,21 @@ public class Rule extends lac.algorithms.Rule implements Comparable {
      * @param klass to increment the number of cases
      */
     public void incrementKlassCovered(short klass) {
+        this.incrementKlassCovered(klass, 1);
+    }
+
+    /**
+     * Increment the cases covered for the specified class by several cases at
+     * once, used for weighted instances
+     * 
+     * @param klass to increment counter
+     * @param count number of cases covered
+     */
+    public void incrementKlassCovered(short klass, long count) {
         if (this.klassesCovered.containsKey(klass)) {
-            this.klassesCovered.put(klass, this.klassesCovered.get(klass) + 1);
+            this.klassesCovered.put(klass, this.klassesCovered.get(klass) + count);
         } else {
-            this.klassesCovered.put(klass, 1L);
+            this.klassesCovered.put(klass, count);
         }
     }
 
@@ -255,8 +273,19 @@ public class Rule extends lac.algorithms.Rule implements Comparable {
      * @param klass to decrement counter
      */
     public void decrementKlassCovered(short klass) {
+        this.decrementKlassCovered(klass, 1);
+    }
+
+    /**
+     * Decrement the cases covered for the specified class by several cases at
+     * once, used for weighted instances
+     * 
+     * @param klass to decrement counter
+     * @param count number of cases no longer covered
+     */
+    public void decrementKlassCovered(short klass, long count) {
         if (this.klassesCovered.containsKey(klass)) {
-            this.klassesCovered.put(klass, this.klassesCovered.get(klass) - 1);
+            this.klassesCovered.put(klass, this.klassesCovered.get(klass) - count);
         }
     }
 
@@ -28,12 +28,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Map.Entry;
 
+import lac.algorithms.CandidateGenerator;
+import lac.algorithms.SupportCounter;
 import lac.algorithms.cba.Rule;
 import lac.data.Dataset;
+import lac.data.VerticalIndex;
 
 /**
  * Main for the Apriori algorithm. This algorithm has been modified as follows:
@@ -90,20 +93,7 @@ public class Apriori {
     public ArrayList<Rule> run() {
         rules = new ArrayList<Rule>();
 
-        Map<Short, Long> mapItemCount = new HashMap<Short, Long>();
-
-        for (int i = 0; i < dataset.size(); i++) {
-            Short[] example = dataset.getInstance(i).asNominal();
-
-            // -1 because klass should not be saved in mapItemCount
-            for (int j = 0; j < example.length - 1; j++) {
-                short item = example[j];
-
-                // increase the support count
-                Long count = mapItemCount.getOrDefault(item, 0L);
-                mapItemCount.put(item, ++count);
-            }
-        }
+        VerticalIndex index = dataset.getVerticalIndex();
 
         // we start looking for itemset of size 1
         int k = 1;
@@ -113,12 +103,11 @@ public class Apriori {
 
         // We add all frequent items to the set of candidate of size 1
         List<Short> frequent1 = new ArrayList<Short>();
-        for (Entry<Short, Long> entry : mapItemCount.entrySet()) {
-            if (entry.getValue() >= minSupRelative) {
-                frequent1.add(entry.getKey());
+        for (short item : index.getItems()) {
+            if (index.getSupport(item) >= minSupRelative) {
+                frequent1.add(item);
             }
         }
-        mapItemCount = null;
 
         // Sort the list of candidates of size 1 by lexical order
         Collections.sort(frequent1, new Comparator<Short>() {
@@ -133,6 +122,8 @@ public class Apriori {
         }
 
         // Start generating rules of size 2
+        SupportCounter counter = new SupportCounter(this.dataset);
+
         ArrayList<Rule> level = null;
         k = 2;
         do {
@@ -145,18 +136,18 @@ public class Apriori {
                 candidatesK = generateCandidateSizeK(level);
             }
 
-            // Calculate supports for candidate rules
-            for (Rule candidate : candidatesK) {
-                candidate.calculateSupports(dataset);
-            }
+            // Supports of all the candidates are counted at once
+            counter.count(candidatesK);
 
             // Generate rules for candidate of size k+1
             level = new ArrayList<Rule>();
+            HashSet<Rule> inLevel = new HashSet<Rule>();
             for (Rule candidate : candidatesK) {
                 if (candidate.getSupportRule() >= this.supportByKlass.get(candidate.getKlass())
-                        && !level.contains(candidate)) {
+                        && !inLevel.contains(candidate)) {
                     // add the candidate
                     level.add(candidate);
+                    inLevel.add(candidate);
 
                     if (candidate.getConfidence() >= this.config.getMinConf()) {
                         rules.add(candidate);
@@ -204,87 +195,11 @@ public class Apriori {
      * @return candidate rules at level K
      */
     protected ArrayList<Rule> generateCandidateSizeK(ArrayList<Rule> levelK_1) {
-        ArrayList<Rule> candidates = new ArrayList<Rule>();
-
-        for (int i = 0; i < levelK_1.size(); i++) {
-            Rule rule1 = levelK_1.get(i);
-            for (int j = i + 1; j < levelK_1.size(); j++) {
-                Rule rule2 = levelK_1.get(j);
-
-                if (!isCombinable(rule1, rule2))
-                    continue;
-
-                // Create a new candidate by combining itemset1 and itemset2
-                Rule newRule = (Rule) rule1.clone();
-                newRule.add((rule2.get(rule2.size() - 1)));
-
-                // Apply the anti-monotone property
-                if (areSubsetsFrequent(newRule, levelK_1)) {
-                    candidates.add(newRule);
-                }
-            }
-        }
-
-        return candidates;
-    }
-
-    /**
-     * Check if two rules are combinable. They share all the elements except the
-     * last item in the antecedent
-     * 
-     * @param ruleI first rule
-     * @param ruleJ second rule
-     * @return true if both rules are combinable, false otherwise
-     */
-    protected boolean isCombinable(Rule ruleI, Rule ruleJ) {
-        Short itemi, itemj;
-
-        if (ruleI.getKlass() != ruleJ.getKlass())
-            return false;
-
-        if (ruleI.size() != ruleJ.size())
-            return false;
-
-        for (int i = 0; i < ruleI.size() - 1; i++) {
-            itemi = ruleI.get(i);
-            itemj = ruleJ.get(i);
-
-            if (itemi != itemj)
-                return false;
-        }
-
-        itemi = ruleI.get(ruleI.size() - 1);
-        itemj = ruleJ.get(ruleJ.size() - 1);
-
-        if (itemi >= itemj)
-            return false;
-
-        return true;
-    }
-
-    /**
-     * Apply the anti-monotone property, where a candidate of level k must to have
-     * all subsets of size k-1 as frequents
-     * 
-     * @param candidate being evaluated
-     * @param levelK_1  rules of previous level
-     * @return true if current candidate has all subsets as frequent, false
-     *         otherwise
-     */
-    @SuppressWarnings("unchecked")
-    protected boolean areSubsetsFrequent(Rule candidate, List<Rule> levelK_1) {
-        for (int posRemoved = 0; posRemoved < candidate.getAntecedent().size(); posRemoved++) {
-            ArrayList<Short> subset = (ArrayList<Short>) candidate.getAntecedent().clone();
-            subset.remove(posRemoved);
-
-            boolean found = levelK_1.stream().filter(rule -> rule.getAntecedent().containsAll(subset)).findFirst()
-                    .isPresent();
-
-            if (!found) {
-                return false;
-            }
-        }
-
-        return true;
+        // Rules are only joined with the rules sharing their class and prefix
+        return CandidateGenerator.generate(levelK_1, (rule1, rule2) -> {
+            Rule newRule = (Rule) rule1.clone();
+            newRule.add(rule2.get(rule2.size() - 1));
+            return newRule;
+        });
     }
 }
@@ -18,9 +18,12 @@
 package lac.algorithms.cba2;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map.Entry;
 
 import lac.algorithms.Classifier;
 import lac.algorithms.Algorithm;
+import lac.algorithms.CarMiner;
 import lac.algorithms.cba.CBAM2;
 import lac.algorithms.cba.Rule;
 import lac.data.Dataset;
@@ -49,11 +52,39 @@ public class CBA2 extends Algorithm {
      */
     @Override
     public Classifier train(Dataset training) throws Exception {
-        Apriori apriori = new Apriori(training, (Config) this.config);
+        Config config = (Config) this.config;
+        CarMiner miner = config.getMiner();
 
-        ArrayList<Rule> rules = apriori.run();
+        ArrayList<Rule> rules;
+        if (miner == null) {
+            rules = new Apriori(training, config).run();
+        } else {
+            // Each class has its own minimum support
+            HashMap<Short, Long> minSupportByKlass = new HashMap<Short, Long>();
+            for (Entry<Short, Long> entry : training.getFrequencyByKlass().entrySet()) {
+                minSupportByKlass.put(entry.getKey(), (long) Math.ceil(config.getMinSup() * (double) entry.getValue()));
+            }
+
+            rules = miner.mine(training, minSupportByKlass, config.getMinConf(), (antecedent, klass) -> {
+                Rule rule = new Rule(klass);
+                rule.add(antecedent);
+                return rule;
+            });
+        }
         CBAM2 cba = new CBAM2(training, rules);
 
         return cba.getClassifier();
     }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.algorithms.Algorithm#supportsWeights()
+     */
+    @Override
+    public boolean supportsWeights() {
+        CarMiner miner = ((Config) this.config).getMiner();
+
+        return miner == null || miner.supportsWeights();
+    }
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ package lac.algorithms.cmar;
 import java.util.ArrayList;
 
 import lac.algorithms.Algorithm;
+import lac.algorithms.CarMiner;
 import lac.data.Dataset;
 
 /**
@@ -47,10 +48,29 @@ public class CMAR extends Algorithm {
     @Override
     public Classifier train(Dataset training) throws Exception {
         Config config = (Config) this.config;
-        FPGrowth fpgrowth = new FPGrowth(training, config.getMinSup(), config.getMinConf());
+        CarMiner miner = config.getMiner();
 
-        ArrayList<lac.algorithms.Rule> rules = fpgrowth.run();
+        ArrayList<lac.algorithms.Rule> rules;
+        if (miner == null) {
+            rules = new FPGrowth(training, config.getMinSup(), config.getMinConf()).run();
+        } else {
+            long minSupport = (long) Math.ceil(config.getMinSup() * training.getWeightedSize());
+            rules = new ArrayList<lac.algorithms.Rule>(
+                    miner.mine(training, minSupport, config.getMinConf(), Rule::new));
+        }
 
         return new Classifier(rules, training, config);
     }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.algorithms.Algorithm#supportsWeights()
+     */
+    @Override
+    public boolean supportsWeights() {
+        CarMiner miner = ((Config) this.config).getMiner();
+
+        return miner == null || miner.supportsWeights();
+    }
 }
\ No newline at end of file
@@ -142,9 +142,9 @@ class CRTree {
      * Prunes the current CRTree according to the cover principle
      */
     protected void pruneUsingCover() {
-        Short[][] dataset = new Short[this.dataset.size()][];
+        short[][] dataset = new short[this.dataset.size()][];
         for (int i = 0; i < this.dataset.size(); i++) {
-            dataset[i] = this.dataset.getInstance(i).asNominal();
+            dataset[i] = this.dataset.getInstance(i, this.dataset.createInstanceBuffer());
         }
 
         // Number of times each instance is covered
@@ -198,7 +198,7 @@ class CRTree {
      * @param dataset
      * @return true if it is empty, or false otherwise
      */
-    private boolean isEmptyDataSet(Short[][] dataset) {
+    private boolean isEmptyDataSet(short[][] dataset) {
         for (int index = 0; index < dataset.length; index++)
             if (dataset[index] != null)
                 return false;
@@ -44,7 +44,7 @@ public class Classifier extends lac.algorithms.Classifier {
      */
     public Classifier(ArrayList<lac.algorithms.Rule> rules, Dataset training, Config config) throws Exception {
         super();
-        lac.algorithms.cmar.Rule.NUMBER_INSTANCES = training.size();
+        lac.algorithms.cmar.Rule.NUMBER_INSTANCES = training.getWeightedSize();
         CRTree.NUMBER_SINGLETONS = training.getNumberSingletons();
         CRTree crTree = new CRTree(training, (Config) config);
         for (lac.algorithms.Rule rule : rules) {
@@ -62,7 +62,7 @@ public class Classifier extends lac.algorithms.Classifier {
      */
     @Override
     public short predict(Instance rawExample) {
-        Short[] example = rawExample.asNominal();
+        short[] example = rawExample.getValues();
 
         ArrayList<Rule> matchingRules = obtainallRulesForRecord(example);
 
@@ -163,7 +163,7 @@ public class Classifier extends lac.algorithms.Classifier {
      * @param example to check rules
      * @return list of rules fired with current example
      */
-    private ArrayList<Rule> obtainallRulesForRecord(Short[] example) {
+    private ArrayList<Rule> obtainallRulesForRecord(short[] example) {
         ArrayList<Rule> result = new ArrayList<Rule>();
 
         for (int i = 0; i < rules.size(); i++) {
@@ -0,0 +1,299 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms.cmar;
+
+import java.util.Arrays;
+
+/**
+ * FP-Tree stored in parallel arrays of primitives instead of one object per
+ * node. Each node is an index in the arrays, where its item, its parent, its
+ * support, its support for each class and the next node with the same item are
+ * stored. The supports for each class of all the nodes are kept in a single
+ * block, where the node n uses the positions from n * numberKlasses. Children
+ * are looked up in an open-addressing hash table indexed by the parent and the
+ * item, so neither the nodes nor their counters are boxed.
+ *
+ * Items of the tree are given when it is created, as its header table, and
+ * paths are added as positions in the header table. Classes are indexed by
+ * their position, as in {@link lac.data.SupportTable}
+ */
+public class CompactFPTree {
+    /**
+     * Index of the root node
+     */
+    static final int ROOT = 0;
+
+    /**
+     * Index used to mark the end of the list of nodes with the same item
+     */
+    static final int NONE = -1;
+
+    /**
+     * Number of classes, that is, of counters by class in each node
+     */
+    final int numberKlasses;
+
+    /**
+     * Item of each node, -1 for the root
+     */
+    short[] items;
+
+    /**
+     * Parent of each node, NONE for the root
+     */
+    int[] parents;
+
+    /**
+     * Support of each node
+     */
+    long[] supports;
+
+    /**
+     * Support of each node for each class, numberKlasses counters per node
+     */
+    long[] supportsByKlass;
+
+    /**
+     * Next node with the same item, NONE for the last one
+     */
+    int[] nextNodes;
+
+    /**
+     * Number of children of each node
+     */
+    int[] numberChilds;
+
+    /**
+     * First child added to each node, it is the only one when the node has a
+     * single child
+     */
+    int[] firstChilds;
+
+    /**
+     * Number of nodes in the tree, including the root
+     */
+    int numberNodes;
+
+    /**
+     * Hash table to look up the children of the nodes, it stores the index of
+     * the child, 0 for the empty slots since the root is nobody's child
+     */
+    private int[] childTable;
+
+    /**
+     * Items in the header table, in ascending order
+     */
+    final short[] headerItems;
+
+    /**
+     * Support of each item in the header table
+     */
+    final long[] headerSupports;
+
+    /**
+     * Support of each item in the header table for each class
+     */
+    final long[] headerSupportsByKlass;
+
+    /**
+     * First node of each item in the header table, NONE if it has no node
+     */
+    final int[] headerFirstNodes;
+
+    /**
+     * Last node of each item in the header table, NONE if it has no node
+     */
+    private final int[] headerLastNodes;
+
+    /**
+     * Constructor for an empty tree
+     * 
+     * @param numberKlasses         number of classes
+     * @param headerItems           items which could be added to the tree, in
+     *                              ascending order
+     * @param headerSupports        support of each item
+     * @param headerSupportsByKlass support of each item for each class,
+     *                              numberKlasses counters per item
+     * @param capacity              expected number of nodes
+     */
+    CompactFPTree(int numberKlasses, short[] headerItems, long[] headerSupports, long[] headerSupportsByKlass,
+            int capacity) {
+        this.numberKlasses = numberKlasses;
+        this.headerItems = headerItems;
+        this.headerSupports = headerSupports;
+        this.headerSupportsByKlass = headerSupportsByKlass;
+        this.headerFirstNodes = new int[headerItems.length];
+        this.headerLastNodes = new int[headerItems.length];
+        Arrays.fill(this.headerFirstNodes, NONE);
+        Arrays.fill(this.headerLastNodes, NONE);
+
+        capacity = Math.max(capacity, 2);
+        this.items = new short[capacity];
+        this.parents = new int[capacity];
+        this.supports = new long[capacity];
+        this.supportsByKlass = new long[capacity * numberKlasses];
+        this.nextNodes = new int[capacity];
+        this.numberChilds = new int[capacity];
+        this.firstChilds = new int[capacity];
+        this.childTable = new int[Integer.highestOneBit(capacity) * 4];
+
+        // The root is always the first node
+        this.items[ROOT] = -1;
+        this.parents[ROOT] = NONE;
+        this.nextNodes[ROOT] = NONE;
+        this.numberNodes = 1;
+    }
+
+    /**
+     * Adds an instance to the tree
+     * 
+     * @param path   positions in the header table of the items of the instance,
+     *               from the root to the leaf
+     * @param length number of items of the instance
+     * @param klass  position of the class of the instance, -1 if it is missing
+     * @param weight number of times the instance appears
+     */
+    void addInstance(int[] path, int length, int klass, long weight) {
+        int node = ROOT;
+
+        for (int i = 0; i < length; i++) {
+            node = this.getOrAddChild(node, path[i]);
+
+            this.supports[node] += weight;
+            if (klass >= 0)
+                this.supportsByKlass[node * this.numberKlasses + klass] += weight;
+        }
+    }
+
+    /**
+     * Adds a prefix path of another tree to this (conditional) tree
+     * 
+     * @param path                 positions in the header table of the items of
+     *                             the path, from the root to the leaf
+     * @param length               number of items of the path
+     * @param support              support of the path
+     * @param supportsByKlass      block with the supports of the path for each
+     *                             class
+     * @param offsetSupportByKlass position of the supports of the path in the
+     *                             block
+     */
+    void addPrefixPath(int[] path, int length, long support, long[] supportsByKlass, int offsetSupportByKlass) {
+        int node = ROOT;
+
+        for (int i = 0; i < length; i++) {
+            node = this.getOrAddChild(node, path[i]);
+
+            this.supports[node] += support;
+            int offset = node * this.numberKlasses;
+            for (int k = 0; k < this.numberKlasses; k++) {
+                this.supportsByKlass[offset + k] += supportsByKlass[offsetSupportByKlass + k];
+            }
+        }
+    }
+
+    /**
+     * Searches for the child of a node with the given item, and creates it when
+     * it does not exist yet
+     * 
+     * @param parent node whose child is searched for
+     * @param header position of the item in the header table
+     * @return the index of the child
+     */
+    private int getOrAddChild(int parent, int header) {
+        short item = this.headerItems[header];
+        int mask = this.childTable.length - 1;
+
+        int slot = hash(parent, item) & mask;
+        int child;
+        while ((child = this.childTable[slot]) != 0) {
+            if (this.parents[child] == parent && this.items[child] == item)
+                return child;
+            slot = (slot + 1) & mask;
+        }
+
+        if (this.numberNodes == this.items.length) {
+            this.grow();
+            return this.getOrAddChild(parent, header);
+        }
+
+        child = this.numberNodes++;
+        this.childTable[slot] = child;
+        this.items[child] = item;
+        this.parents[child] = parent;
+        this.nextNodes[child] = NONE;
+
+        if (this.numberChilds[parent]++ == 0)
+            this.firstChilds[parent] = child;
+
+        // Node links of the header table keep the order of creation
+        if (this.headerLastNodes[header] == NONE)
+            this.headerFirstNodes[header] = child;
+        else
+            this.nextNodes[this.headerLastNodes[header]] = child;
+        this.headerLastNodes[header] = child;
+
+        return child;
+    }
+
+    /**
+     * Doubles the capacity of the arrays, and rebuilds the hash table of children
+     * with the new size
+     */
+    private void grow() {
+        int capacity = this.items.length * 2;
+
+        this.items = Arrays.copyOf(this.items, capacity);
+        this.parents = Arrays.copyOf(this.parents, capacity);
+        this.supports = Arrays.copyOf(this.supports, capacity);
+        this.supportsByKlass = Arrays.copyOf(this.supportsByKlass, capacity * this.numberKlasses);
+        this.nextNodes = Arrays.copyOf(this.nextNodes, capacity);
+        this.numberChilds = Arrays.copyOf(this.numberChilds, capacity);
+        this.firstChilds = Arrays.copyOf(this.firstChilds, capacity);
+
+        this.childTable = new int[this.childTable.length * 2];
+        int mask = this.childTable.length - 1;
+        for (int node = ROOT + 1; node < this.numberNodes; node++) {
+            int slot = hash(this.parents[node], this.items[node]) & mask;
+            while (this.childTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            this.childTable[slot] = node;
+        }
+    }
+
+    /**
+     * Hash for the child of a node with a given item
+     * 
+     * @param parent node
+     * @param item   of the child
+     * @return the hash of the child
+     */
+    private static int hash(int parent, short item) {
+        int hash = parent * 0x9E3779B1 + item;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Get the number of nodes of the tree, without the root
+     * 
+     * @return the number of nodes
+     */
+    public int size() {
+        return this.numberNodes - 1;
+    }
+}
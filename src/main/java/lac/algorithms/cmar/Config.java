@@ -20,7 +20,7 @@ package lac.algorithms.cmar;
 /**
  * Configuration used to generate the classifier. It requires 3 parameters
  */
-public class Config extends lac.algorithms.Config {
+public class Config extends lac.algorithms.MinerConfig {
     /**
      * Parameter used to represent the minimum value of support for the mined rules
      */
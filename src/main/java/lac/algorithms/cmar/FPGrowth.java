@@ -26,18 +26,17 @@ package lac.algorithms.cmar;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinTask;
 
 import lac.data.Dataset;
+import lac.data.SupportTable;
 
 /**
  * This class has the logic for the adaptation of FPGrowth. This algorithm has
  * been adapted to obtain class association rules instead of patterns, whose
- * support and confidence are greater than its thresholds.
+ * support and confidence are greater than its thresholds. Trees are stored as
+ * {@link CompactFPTree}, so neither their nodes nor their counters are boxed.
  */
 public class FPGrowth {
     /**
@@ -56,9 +55,16 @@ public class FPGrowth {
     final int MAX_SIZE_ANTECEDENT = 2000;
 
     /**
-     * Buffer for storing nodes in single path of the tree
+     * Default number of levels of the search whose conditional trees are mined in
+     * parallel
      */
-    private FPNode[] fpNodeSingleBuffer = null;
+    public static final int DEFAULT_PARALLEL_DEPTH = 1;
+
+    /**
+     * Number of levels of the search whose conditional trees are mined in
+     * parallel, 0 to mine them sequentially
+     */
+    private int parallelDepth = DEFAULT_PARALLEL_DEPTH;
 
     /**
      * Dataset used to generate rules
@@ -66,19 +72,25 @@ public class FPGrowth {
     protected Dataset dataset;
 
     /**
-     * Support for singletons
+     * Support for single items and classes, shared by all the algorithms using
+     * the dataset
      */
-    HashMap<Short, Long> mapSupport;
+    private SupportTable table;
 
     /**
-     * Support for each item by class
+     * Number of classes
      */
-    HashMap<Short, HashMap<Short, Long>> mapSupportByKlass;
+    protected int numberKlasses;
 
     /**
-     * Obtained rules
+     * Internal representation of each class, indexed by its position
      */
-    protected ArrayList<lac.algorithms.Rule> rules;
+    protected short[] klasses;
+
+    /**
+     * Number of instances of each class, indexed by its position
+     */
+    protected long[] supportsKlass;
 
     /**
      * Constructor
@@ -88,7 +100,18 @@ public class FPGrowth {
      * @param minConf  minimum confidence for mined rules
      */
     public FPGrowth(Dataset training, double minSup, double minConf) {
-        this.minSupportRelative = (long) Math.ceil(minSup * training.size());
+        this(training, (long) Math.ceil(minSup * training.getWeightedSize()), minConf);
+    }
+
+    /**
+     * Constructor
+     * 
+     * @param training   to be used to generate rules
+     * @param minSupport minimum number of instances covered by mined rules
+     * @param minConf    minimum confidence for mined rules
+     */
+    public FPGrowth(Dataset training, long minSupport, double minConf) {
+        this.minSupportRelative = minSupport;
         this.minConf = minConf;
 
         this.dataset = training;
@@ -96,75 +119,126 @@ public class FPGrowth {
         calculateSingletons();
     }
 
+    /**
+     * Sets how many levels of the search are mined in parallel. The conditional
+     * tree of each item in the header table of those levels is mined in its own
+     * task, and the rules of all the tasks are merged in the same order they
+     * would have been found sequentially
+     *
+     * @param parallelDepth number of levels mined in parallel, 0 to mine all of
+     *                      them sequentially
+     */
+    public void setParallelDepth(int parallelDepth) {
+        if (parallelDepth < 0)
+            throw new IllegalArgumentException("Parallel depth cannot be negative: " + parallelDepth);
+
+        this.parallelDepth = parallelDepth;
+    }
+
     /**
      * Run the algorithm to obtain class association rules
      * 
      * @return array with the rules
      */
     public ArrayList<lac.algorithms.Rule> run() {
-        rules = new ArrayList<lac.algorithms.Rule>();
+        ArrayList<lac.algorithms.Rule> rules = new ArrayList<lac.algorithms.Rule>();
+        Buffers buffers = new Buffers(new short[MAX_SIZE_ANTECEDENT], rules);
+
+        CompactFPTree tree = createTree(buffers);
+
+        // Start to mine rules recursively
+        if (tree.headerItems.length > 0) {
+            fpgrowth(tree, 0, dataset.getWeightedSize(), buffers);
+        }
+
+        return rules;
+    }
+
+    /**
+     * Creates the tree with all the instances of the dataset. Only frequent
+     * items are added, sorted by descending order of support
+     * 
+     * @param buffers of the current task
+     * @return the tree
+     */
+    private CompactFPTree createTree(Buffers buffers) {
+        // Header table contains the frequent items in ascending order
+        int numberHeader = 0;
+        for (int i = 0; i < table.getNumberItems(); i++) {
+            short item = (short) i;
+            long support = table.getSupport(item);
+
+            if (support > 0 && support >= minSupportRelative && table.getPosition(item) < 0)
+                buffers.items[numberHeader++] = item;
+        }
+        short[] headerItems = Arrays.copyOf(buffers.items, numberHeader);
+
+        long[] headerSupports = new long[numberHeader];
+        long[] headerSupportsByKlass = new long[numberHeader * numberKlasses];
+        for (int h = 0; h < numberHeader; h++) {
+            headerSupports[h] = table.getSupport(headerItems[h]);
+            System.arraycopy(table.getSupportByKlass(headerItems[h]), 0, headerSupportsByKlass, h * numberKlasses,
+                    numberKlasses);
+        }
+
+        // Rank of each item when they are sorted by descending order of support
+        // and, when support is equal, by lexical order
+        Integer[] byRank = new Integer[numberHeader];
+        for (int h = 0; h < numberHeader; h++) {
+            byRank[h] = h;
+        }
+        Arrays.sort(byRank, (h1, h2) -> {
+            int compare = Long.compare(headerSupports[h2], headerSupports[h1]);
+            return (compare == 0) ? (headerItems[h1] - headerItems[h2]) : compare;
+        });
+        for (int r = 0; r < numberHeader; r++) {
+            buffers.positions[headerItems[byRank[r]]] = r;
+        }
 
-        FPTree tree = new FPTree();
+        CompactFPTree tree = new CompactFPTree(numberKlasses, headerItems, headerSupports, headerSupportsByKlass,
+                1024);
+        int[] path = new int[dataset.getNumberAttributes()];
 
         for (int i = 0; i < dataset.size(); i++) {
-            List<Short> instance = new ArrayList<Short>();
-            short klass = dataset.getKlassInstance(i);
+            int length = 0;
 
+            // only add items that have the minimum support
             for (int j = 0; j < dataset.getNumberAttributes(); j++) {
-                Short item = dataset.getInstance(i).asNominal()[j];
+                short item = dataset.get(i, j);
 
-                // only add items that have the minimum support
-                if (mapSupport.get(item) >= minSupportRelative) {
-                    instance.add(item);
-                }
+                if (item >= 0 && item < buffers.positions.length && buffers.positions[item] >= 0)
+                    path[length++] = buffers.positions[item];
             }
 
-            // sort item in instance by descending order of support
-            Collections.sort(instance, new Comparator<Short>() {
-                public int compare(Short item1, Short item2) {
-                    int compare = mapSupport.get(item2).compareTo(mapSupport.get(item1));
-
-                    if (compare == 0) {
-                        // When support is equal, lexical order is used
-                        return (item1 - item2);
-                    }
-                    return compare;
-                }
-            });
+            // sort items in instance by their rank, then they are replaced by their
+            // position in the header table
+            Arrays.sort(path, 0, length);
+            for (int j = 0; j < length; j++) {
+                path[j] = byRank[path[j]];
+            }
 
-            tree.addInstance(instance, klass);
+            tree.addInstance(path, length, table.getPosition(dataset.getKlassInstance(i)), dataset.getWeight(i));
         }
 
-        // Create the header table for the tree
-        tree.createHeaderList(mapSupport);
-
-        // Start to mine rules recursively
-        if (tree.headerList.size() > 0) {
-            short[] antecedentBuffer = new short[MAX_SIZE_ANTECEDENT];
-            fpNodeSingleBuffer = new FPNode[MAX_SIZE_ANTECEDENT];
-
-            fpgrowth(tree, antecedentBuffer, 0, dataset.size(), dataset.getFrequencyByKlass(), mapSupport,
-                    mapSupportByKlass);
+        for (int h = 0; h < numberHeader; h++) {
+            buffers.positions[headerItems[h]] = -1;
         }
 
-        return rules;
+        return tree;
     }
 
     /**
-     * Mines recursively a fp-tree
+     * Mines recursively a fp-tree. The buffers and the list of rules are only
+     * used by the current task, so the levels above the parallel depth mine the
+     * conditional tree of each item in its own task, with its own buffers and
+     * list of rules
      * 
-     * @param tree                 the FP-Tree being mined
-     * @param prefix               for current prefix
-     * @param prefixLength         the length of the current prefix
-     * @param prefixSupport        support for current prefix
-     * @param prefixSupportByKlass support by klass for current prefix
-     * @param mapSupport           minimum support for current prefix
-     * @param mapSupportByKlass    support class for current prefix
+     * @param tree          the FP-Tree being mined
+     * @param prefixLength  the length of the current prefix
+     * @param prefixSupport support for current prefix
+     * @param buffers       of the current task, with the current prefix
      */
-    @SuppressWarnings("unchecked")
-    private void fpgrowth(FPTree tree, short[] prefix, int prefixLength, long prefixSupport,
-            HashMap<Short, Long> prefixSupportByKlass, HashMap<Short, Long> mapSupport,
-            HashMap<Short, HashMap<Short, Long>> mapSupportByKlass) {
+    private void fpgrowth(CompactFPTree tree, int prefixLength, long prefixSupport, Buffers buffers) {
         // Check if the maximum size has been achieved
         if (prefixLength == MAX_SIZE_ANTECEDENT) {
             return;
@@ -176,137 +250,223 @@ public class FPGrowth {
         int numberSingleItems = 0;
 
         // if the root has more than one child, it is not a single path
-        if (tree.root.childs.size() > 1) {
+        if (tree.numberChilds[CompactFPTree.ROOT] > 1) {
             singlePath = false;
         } else {
             // Otherwise,
 
             // if the root has exactly one child, we need to recursively check childs
             // of the child to see if they also have one child
-            FPNode currentNode = tree.root.childs.get(0);
+            int currentNode = tree.firstChilds[CompactFPTree.ROOT];
             while (true) {
                 // if current child has more than one child, it isn't a single path!
-                if (currentNode.childs.size() > 1) {
+                if (tree.numberChilds[currentNode] > 1) {
                     singlePath = false;
                     break;
                 }
                 // buffer will be used to store nodes in single path
-                fpNodeSingleBuffer[numberSingleItems] = currentNode;
+                buffers.singlePath[numberSingleItems] = currentNode;
 
                 numberSingleItems++;
 
                 // if this node has no child, that means that this is the end of this path
                 // and it is a single path
-                if (currentNode.childs.size() == 0) {
+                if (tree.numberChilds[currentNode] == 0) {
                     break;
                 }
-                currentNode = currentNode.childs.get(0);
+                currentNode = tree.firstChilds[currentNode];
             }
         }
 
         if (singlePath) {
             // As tree has single path, this case is obvious, maximal itemset is stored
-            saveAllCombinationsOfPrefixPath(fpNodeSingleBuffer, numberSingleItems, prefix, prefixLength);
+            saveAllCombinationsOfPrefixPath(tree, numberSingleItems, prefixLength, buffers);
+        } else if (prefixLength < parallelDepth && tree.headerItems.length > 1) {
+            // Each task mines the conditional tree of one item, tasks only read the tree
+            ArrayList<ArrayList<lac.algorithms.Rule>> rulesByItem = new ArrayList<ArrayList<lac.algorithms.Rule>>();
+            ArrayList<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+
+            for (int i = tree.headerItems.length - 1; i >= 0; i--) {
+                int header = i;
+                ArrayList<lac.algorithms.Rule> rulesTask = new ArrayList<lac.algorithms.Rule>();
+                Buffers buffersTask = new Buffers(Arrays.copyOf(buffers.prefix, MAX_SIZE_ANTECEDENT), rulesTask);
+                rulesByItem.add(rulesTask);
+
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    fpgrowthItem(tree, header, prefixLength, prefixSupport, buffersTask);
+                }));
+            }
+            ForkJoinTask.invokeAll(tasks);
+
+            // Rules are merged in the same order of the sequential search
+            for (ArrayList<lac.algorithms.Rule> rulesTask : rulesByItem) {
+                buffers.rules.addAll(rulesTask);
+            }
         } else {
             // For each frequent item in the header table list of the tree in reverse order.
-            for (int i = tree.headerList.size() - 1; i >= 0; i--) {
-                Short item = tree.headerList.get(i);
-                Long support = mapSupport.get(item);
-
-                // Create Beta by concatening prefix by adding the current item
-                prefix[prefixLength] = item;
-
-                // calculate the support of the new prefix
-                long betaSupport = (prefixSupport < support) ? prefixSupport : support;
-                HashMap<Short, Long> supportByKlass = mapSupportByKlass.get(item);
-
-                // save beta to the output file
-                generateRules(prefix, prefixLength + 1, betaSupport, supportByKlass);
-
-                if (prefixLength + 1 < MAX_SIZE_ANTECEDENT) {
-                    // It is a subdataset containing a set of prefix paths in the FP-tree
-                    // co-occuring with the prefix pattern.
-                    List<List<FPNode>> prefixPaths = new ArrayList<List<FPNode>>();
-                    FPNode path = tree.mapItemNodes.get(item);
-
-                    // Map to count the support of items in the conditional prefix tree
-                    HashMap<Short, Long> mapSupportBeta = new HashMap<Short, Long>();
-                    HashMap<Short, HashMap<Short, Long>> mapSupportByKlassBeta = new HashMap<Short, HashMap<Short, Long>>();
-
-                    while (path != null) {
-                        // if the path is not just the root node
-                        if (path.parent.item != -1) {
-                            List<FPNode> prefixPath = new ArrayList<FPNode>();
-                            prefixPath.add(path);
-                            long pathCount = path.support;
-
-                            // Recursively add all the parents of node
-                            FPNode parent = path.parent;
-                            while (parent.item != -1) {
-                                prefixPath.add(parent);
-
-                                // Support is updated for each item
-                                if (mapSupportBeta.get(parent.item) == null) {
-                                    mapSupportBeta.put(parent.item, pathCount);
-                                } else {
-                                    mapSupportBeta.put(parent.item, mapSupportBeta.get(parent.item) + pathCount);
-                                }
-
-                                if (mapSupportByKlassBeta.get(parent.item) == null) {
-                                    mapSupportByKlassBeta.put(parent.item,
-                                            (HashMap<Short, Long>) path.supportByklass.clone());
-                                } else {
-                                    HashMap<Short, Long> currentByKlass = mapSupportByKlassBeta.get(parent.item);
-                                    for (Entry<Short, Long> entry : path.supportByklass.entrySet()) {
-                                        Long count = currentByKlass.get(entry.getKey());
-
-                                        if (count == null) {
-                                            currentByKlass.put(entry.getKey(), entry.getValue());
-                                        } else {
-                                            currentByKlass.put(entry.getKey(), count + entry.getValue());
-                                        }
-                                    }
-                                }
-
-                                parent = parent.parent;
-                            }
-                            prefixPaths.add(prefixPath);
-                        }
-                        path = path.nextNode;
-                    }
+            for (int i = tree.headerItems.length - 1; i >= 0; i--) {
+                fpgrowthItem(tree, i, prefixLength, prefixSupport, buffers);
+            }
+        }
 
-                    // Construct beta's conditional FP-Tree
-                    FPTree treeBeta = new FPTree();
-                    for (List<FPNode> prefixPath : prefixPaths) {
-                        treeBeta.addPrefixPath(prefixPath, mapSupportBeta, minSupportRelative);
-                    }
+    }
+
+    /**
+     * Generates the rules for the current prefix extended with one item of the
+     * header table, and mines recursively its conditional fp-tree
+     * 
+     * @param tree          the FP-Tree being mined
+     * @param header        position in the header table of the item extending
+     *                      the prefix
+     * @param prefixLength  the length of the current prefix
+     * @param prefixSupport support for current prefix
+     * @param buffers       of the current task, with the current prefix
+     */
+    private void fpgrowthItem(CompactFPTree tree, int header, int prefixLength, long prefixSupport,
+            Buffers buffers) {
+        long support = tree.headerSupports[header];
 
-                    // Mine recursively the Beta tree if the root is not empty
-                    if (treeBeta.root.childs.size() > 0) {
-                        treeBeta.createHeaderList(mapSupportBeta);
+        // Create Beta by concatening prefix by adding the current item
+        buffers.prefix[prefixLength] = tree.headerItems[header];
 
-                        fpgrowth(treeBeta, prefix, prefixLength + 1, betaSupport, supportByKlass, mapSupportBeta,
-                                mapSupportByKlassBeta);
-                    }
+        // calculate the support of the new prefix
+        long betaSupport = (prefixSupport < support) ? prefixSupport : support;
+
+        // save beta to the output file
+        generateRules(buffers.prefix, prefixLength + 1, betaSupport, tree.headerSupportsByKlass,
+                header * numberKlasses, buffers.rules);
+
+        if (prefixLength + 1 < MAX_SIZE_ANTECEDENT) {
+            // Mine recursively the Beta tree if it is not empty
+            CompactFPTree treeBeta = createConditionalTree(tree, header, buffers);
+
+            if (treeBeta != null) {
+                fpgrowth(treeBeta, prefixLength + 1, betaSupport, buffers);
+            }
+        }
+    }
+
+    /**
+     * Creates the conditional tree of an item, formed by the prefix paths in the
+     * tree co-occurring with the item. Only the items which are frequent in the
+     * prefix paths are added
+     * 
+     * @param tree    the FP-Tree being mined
+     * @param header  position in the header table of the item
+     * @param buffers of the current task
+     * @return the conditional tree, null if it would be empty
+     */
+    private CompactFPTree createConditionalTree(CompactFPTree tree, int header, Buffers buffers) {
+        int numberItems = 0;
+        int numberPathNodes = 0;
+
+        // Count the support of items in the prefix paths
+        for (int node = tree.headerFirstNodes[header]; node != CompactFPTree.NONE; node = tree.nextNodes[node]) {
+            long pathCount = tree.supports[node];
+            int offset = node * numberKlasses;
+
+            for (int parent = tree.parents[node]; parent != CompactFPTree.ROOT; parent = tree.parents[parent]) {
+                short item = tree.items[parent];
+
+                if (buffers.positions[item] == -1) {
+                    buffers.positions[item] = 0;
+                    buffers.items[numberItems++] = item;
+                }
+
+                buffers.supports[item] += pathCount;
+                int offsetItem = item * numberKlasses;
+                for (int k = 0; k < numberKlasses; k++) {
+                    buffers.supportsByKlass[offsetItem + k] += tree.supportsByKlass[offset + k];
+                }
+                numberPathNodes++;
+            }
+        }
+
+        // Header table contains the frequent items in ascending order
+        Arrays.sort(buffers.items, 0, numberItems);
+        int numberHeader = 0;
+        for (int i = 0; i < numberItems; i++) {
+            if (buffers.supports[buffers.items[i]] >= minSupportRelative)
+                numberHeader++;
+        }
+
+        CompactFPTree treeBeta = null;
+        if (numberHeader > 0) {
+            short[] headerItems = new short[numberHeader];
+            long[] headerSupports = new long[numberHeader];
+            long[] headerSupportsByKlass = new long[numberHeader * numberKlasses];
+
+            for (int i = 0, h = 0; i < numberItems; i++) {
+                short item = buffers.items[i];
+                if (buffers.supports[item] < minSupportRelative) {
+                    buffers.positions[item] = -1;
+                    continue;
+                }
+
+                headerItems[h] = item;
+                headerSupports[h] = buffers.supports[item];
+                System.arraycopy(buffers.supportsByKlass, item * numberKlasses, headerSupportsByKlass,
+                        h * numberKlasses, numberKlasses);
+                buffers.positions[item] = h++;
+            }
+
+            // Construct beta's conditional FP-Tree
+            treeBeta = new CompactFPTree(numberKlasses, headerItems, headerSupports, headerSupportsByKlass,
+                    Math.min(numberPathNodes, 1024) + 1);
+            int[] path = buffers.path;
+
+            for (int node = tree.headerFirstNodes[header]; node != CompactFPTree.NONE; node = tree.nextNodes[node]) {
+                int length = 0;
+
+                for (int parent = tree.parents[node]; parent != CompactFPTree.ROOT; parent = tree.parents[parent]) {
+                    int position = buffers.positions[tree.items[parent]];
+
+                    // The item has to be frequent to be considered
+                    if (position >= 0)
+                        path[length++] = position;
+                }
+
+                // Paths are added from the root to the leaf
+                for (int i = 0, j = length - 1; i < j; i++, j--) {
+                    int swap = path[i];
+                    path[i] = path[j];
+                    path[j] = swap;
                 }
+
+                if (length > 0)
+                    treeBeta.addPrefixPath(path, length, tree.supports[node], tree.supportsByKlass,
+                            node * numberKlasses);
             }
         }
 
+        // Buffers are cleared for the next conditional tree
+        for (int i = 0; i < numberItems; i++) {
+            short item = buffers.items[i];
+
+            buffers.positions[item] = -1;
+            buffers.supports[item] = 0;
+            Arrays.fill(buffers.supportsByKlass, item * numberKlasses, (item + 1) * numberKlasses, 0);
+        }
+
+        return treeBeta;
     }
 
     /**
      * Saves all the rules for current prefix with enough support
      * 
-     * @param fpNodeTempBuffer current tree
-     * @param position         in current tree
-     * @param prefix           prefix
-     * @param prefixLength     length of current prefix
+     * @param tree         current tree
+     * @param position     number of nodes in the single path of the tree
+     * @param prefixLength length of current prefix
+     * @param buffers      of the current task, with the nodes of the single path
+     *                     and the current prefix
      */
-    private void saveAllCombinationsOfPrefixPath(FPNode[] fpNodeTempBuffer, int position, short[] prefix,
-            int prefixLength) {
+    private void saveAllCombinationsOfPrefixPath(CompactFPTree tree, int position, int prefixLength,
+            Buffers buffers) {
+        short[] prefix = buffers.prefix;
+        int[] fpNodeTempBuffer = buffers.singlePath;
 
         long support = 0;
-        HashMap<Short, Long> supportByKlass = null;
+        int offsetSupportByKlass = 0;
 
         // Generates all subsets of the prefixPath except the empty set
         loop1: for (long i = 1, max = 1 << position; i < max; i++) {
@@ -321,69 +481,126 @@ public class FPGrowth {
                         continue loop1;
                     }
 
-                    prefix[newPrefixLength++] = fpNodeTempBuffer[j].item;
-                    support = fpNodeTempBuffer[j].support;
-                    supportByKlass = fpNodeTempBuffer[j].supportByklass;
+                    prefix[newPrefixLength++] = tree.items[fpNodeTempBuffer[j]];
+                    support = tree.supports[fpNodeTempBuffer[j]];
+                    offsetSupportByKlass = fpNodeTempBuffer[j] * numberKlasses;
                 }
             }
 
             // Generate rules for current antecedent
-            generateRules(prefix, newPrefixLength, support, supportByKlass);
+            generateRules(prefix, newPrefixLength, support, tree.supportsByKlass, offsetSupportByKlass,
+                    buffers.rules);
         }
     }
 
     /**
-     * Scans dataset to calculate the support of single items
+     * Gets the support of single items from the table shared by all the
+     * algorithms using the dataset, so it is not scanned again. Missing values
+     * are not items
      */
     private void calculateSingletons() {
-        mapSupport = new HashMap<Short, Long>();
-        mapSupportByKlass = new HashMap<Short, HashMap<Short, Long>>();
-
-        for (int i = 0; i < dataset.size(); i++) {
-            Short klass = dataset.getKlassInstance(i);
-
-            for (int j = 0; j < dataset.getNumberAttributes(); j++) {
-                Short item = dataset.getInstance(i).asNominal()[j];
-                Long count = mapSupport.getOrDefault(item, 0L);
-
-                mapSupport.put(item, ++count);
-
-                HashMap<Short, Long> byKlass = mapSupportByKlass.get(item);
-
-                if (byKlass == null) {
-                    mapSupportByKlass.put(item, new HashMap<Short, Long>());
-                    mapSupportByKlass.get(item).put(klass, 1L);
-                } else {
-                    Long counter = byKlass.getOrDefault(klass, 0L);
-                    byKlass.put(klass, counter + 1);
-                }
-            }
+        table = dataset.getSupportTable();
+
+        numberKlasses = table.getNumberKlasses();
+        klasses = new short[numberKlasses];
+        supportsKlass = new long[numberKlasses];
+        for (int k = 0; k < numberKlasses; k++) {
+            klasses[k] = dataset.getKlass(k);
+            supportsKlass[k] = dataset.getFrequencyByKlass().getOrDefault(klasses[k], 0L);
         }
     }
 
     /**
      * Generate rules for current antecedent
      * 
-     * @param antecedent       for current rule
-     * @param antecedentLength number of items forming antecedent
-     * @param support          of the rule
-     * @param counterByKlass   support for each class
+     * @param antecedent           for current rule
+     * @param antecedentLength     number of items forming antecedent
+     * @param support              of the rule
+     * @param supportsByKlass      block with the supports of the antecedent for
+     *                             each class
+     * @param offsetSupportByKlass position of the supports of the antecedent in
+     *                             the block
+     * @param rules                list where the generated rules are added
      */
-    protected void generateRules(short[] antecedent, int antecedentLength, long support,
-            HashMap<Short, Long> counterByKlass) {
+    protected void generateRules(short[] antecedent, int antecedentLength, long support, long[] supportsByKlass,
+            int offsetSupportByKlass, List<lac.algorithms.Rule> rules) {
         short[] itemsetOutputBuffer = new short[antecedentLength];
 
         System.arraycopy(antecedent, 0, itemsetOutputBuffer, 0, antecedentLength);
         Arrays.sort(itemsetOutputBuffer, 0, antecedentLength);
 
-        for (Entry<Short, Long> entry : counterByKlass.entrySet()) {
-            Rule rule = new Rule(itemsetOutputBuffer, entry.getKey());
+        for (int k = 0; k < numberKlasses; k++) {
+            long supportRule = supportsByKlass[offsetSupportByKlass + k];
+            if (supportRule == 0)
+                continue;
+
+            Rule rule = new Rule(itemsetOutputBuffer, klasses[k]);
             rule.setSupportAntecedent(support);
-            rule.setSupportRule(entry.getValue());
-            rule.setSupportKlass(dataset.getFrequencyByKlass().get(rule.getKlass()));
+            rule.setSupportRule(supportRule);
+            rule.setSupportKlass(supportsKlass[k]);
 
             if (rule.getSupportRule() >= this.minSupportRelative && rule.getConfidence() >= this.minConf)
                 rules.add(rule);
         }
     }
+
+    /**
+     * Buffers used by each task while mining, so that tasks do not share mutable
+     * state. Counters indexed by item are left cleared after building each
+     * conditional tree
+     */
+    private class Buffers {
+        /**
+         * Current prefix
+         */
+        final short[] prefix;
+
+        /**
+         * Nodes in single path of the tree
+         */
+        final int[] singlePath = new int[MAX_SIZE_ANTECEDENT];
+
+        /**
+         * Positions in the header table of the items in a prefix path
+         */
+        final int[] path = new int[dataset.getNumberAttributes()];
+
+        /**
+         * Position of each item in the header table of the tree being built, -1
+         * for the items not in the tree
+         */
+        final int[] positions = new int[table.getNumberItems()];
+
+        /**
+         * Items found in the prefix paths of the tree being built
+         */
+        final short[] items = new short[table.getNumberItems()];
+
+        /**
+         * Support of each item in the prefix paths
+         */
+        final long[] supports = new long[table.getNumberItems()];
+
+        /**
+         * Support of each item in the prefix paths for each class
+         */
+        final long[] supportsByKlass = new long[table.getNumberItems() * numberKlasses];
+
+        /**
+         * List where the mined rules are added
+         */
+        final List<lac.algorithms.Rule> rules;
+
+        /**
+         * Constructor
+         * 
+         * @param prefix with the current prefix
+         * @param rules  list where the mined rules are added
+         */
+        Buffers(short[] prefix, List<lac.algorithms.Rule> rules) {
+            this.prefix = prefix;
+            this.rules = rules;
+            Arrays.fill(this.positions, -1);
+        }
+    }
 }
@@ -63,7 +63,7 @@ public class Classifier extends lac.algorithms.Classifier {
      */
     @Override
     public short predict(Instance rawExample) {
-        Short[] example = rawExample.asNominal();
+        short[] example = rawExample.getValues();
         HashMap<Short, ArrayList<Rule>> firedRules = this.obtainallRulesForRecord(example);
 
         if (firedRules.isEmpty())
@@ -83,7 +83,7 @@ public class Classifier extends lac.algorithms.Classifier {
      * @param example to search which rule are fired
      * @return the rules fired by klass
      */
-    private HashMap<Short, ArrayList<Rule>> obtainallRulesForRecord(Short[] example) {
+    private HashMap<Short, ArrayList<Rule>> obtainallRulesForRecord(short[] example) {
         HashMap<Short, ArrayList<Rule>> rulesByKlass = new HashMap<Short, ArrayList<Rule>>();
 
         for (int i = 0; i < this.rules.size(); i++) {
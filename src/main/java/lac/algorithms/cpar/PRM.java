@@ -18,8 +18,10 @@
 package lac.algorithms.cpar;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 
 import lac.data.Dataset;
+import lac.data.SupportTable;
 import lac.utils.Utils;
 
 /**
@@ -62,6 +64,11 @@ public class PRM {
      */
     private ArrayList<Rule> rules;
 
+    /**
+     * Internal representation of each instance of the dataset
+     */
+    private short[][] instances = null;
+
     /**
      * Array of each literal candidate of being included in rule
      */
@@ -156,39 +163,55 @@ public class PRM {
 
     /**
      * Generates positive and negative weighted examples in function of the
-     * specified class
+     * specified class. Their examples share the instances read once from the
+     * dataset. Instances of the class are taken from the vertical index, so the
+     * dataset is not scanned
      * 
      * @param klass to consider as positive examples
      */
     private void generatePN(short klass) {
-        int numberPositiveInstances = 0, numberNeativeInstances = 0;
+        BitSet positiveRows = this.dataset.getVerticalIndex().getKlassTidset(klass);
+        BitSet negativeRows = new BitSet(this.dataset.size());
+        negativeRows.set(0, this.dataset.size());
+        negativeRows.andNot(positiveRows);
 
-        // Get the total number of positve and negative examples
-        for (int index = 0; index < this.dataset.size(); index++) {
-            if (this.dataset.getKlassInstance(index) == klass)
-                numberPositiveInstances++;
-            else
-                numberNeativeInstances++;
-        }
+        P = this.getWeightedInstances(positiveRows);
+        N = this.getWeightedInstances(negativeRows);
+    }
 
-        P = new WeightedInstance[numberPositiveInstances];
-        N = new WeightedInstance[numberNeativeInstances];
+    /**
+     * Creates the weighted examples for some instances of the dataset, all of
+     * them with the default weight
+     * 
+     * @param rows positions in the dataset of the instances to be weighted
+     * @return the weighted examples
+     */
+    private WeightedInstance[] getWeightedInstances(BitSet rows) {
+        WeightedInstance[] examples = new WeightedInstance[rows.cardinality()];
 
-        numberPositiveInstances = 0;
-        numberNeativeInstances = 0;
+        for (int row = rows.nextSetBit(0), i = 0; row >= 0; row = rows.nextSetBit(row + 1)) {
+            examples[i++] = new WeightedInstance(this.instances[row], 1.0);
+        }
 
-        // Copy data
-        for (int index = 0; index < this.dataset.size(); index++) {
-            Short[] example = this.dataset.getInstance(index).asNominal();
+        return examples;
+    }
 
-            if (this.dataset.getKlassInstance(index) == klass) {
-                P[numberPositiveInstances] = new WeightedInstance(example);
-                numberPositiveInstances++;
-            } else {
-                N[numberNeativeInstances] = new WeightedInstance(example);
-                numberNeativeInstances++;
-            }
+    /**
+     * Copies the weighted examples, so that their weights could be modified
+     * independently. Instances themselves are shared, since they are never
+     * modified
+     * 
+     * @param examples to be copied
+     * @return the copy of the examples
+     */
+    private WeightedInstance[] copy(WeightedInstance[] examples) {
+        WeightedInstance[] newExamples = new WeightedInstance[examples.length];
+
+        for (int i = 0; i < examples.length; i++) {
+            newExamples[i] = new WeightedInstance(examples[i].instance, examples[i].weight);
         }
+
+        return newExamples;
     }
 
     /**
@@ -284,37 +307,28 @@ public class PRM {
     }
 
     /**
-     * Generates PN array
+     * Generates PN array. All the examples have the default weight when it is
+     * generated, so it is filled from the supports of the dataset instead of
+     * visiting the examples
      * 
+     * @param klass considered as positive examples
      * @throws Exception
      */
-    private void generatePNarray() throws Exception {
+    private void generatePNarray(short klass) throws Exception {
         // PNarray has two dimensions:
         // 0 -> positive examples
         // 1 -> negative examples
         pnArray = new double[this.dataset.getNumberSingletons() - this.dataset.getNumberKlasses()][2];
 
-        // Positive examples
-        for (int index = 0; index < P.length; index++) {
-            short[] instance = P[index].instance;
+        SupportTable table = this.dataset.getSupportTable();
+        for (int index = 0; index < pnArray.length; index++) {
+            short item = (short) index;
+            if (table.getPosition(item) >= 0)
+                continue;
 
-            int length = instance.length - 1;
-            for (int j = 0; j < length; j++) {
-                // Missing value
-                if (instance[j] >= 0)
-                    pnArray[instance[j]][POSITIVE_EXAMPLES] = pnArray[instance[j]][POSITIVE_EXAMPLES] + P[index].weight;
-            }
-        }
-
-        // Negative examples
-        for (int index = 0; index < N.length; index++) {
-            short[] instance = N[index].instance;
-            int length = instance.length - 1;
-            for (int j = 0; j < length; j++) {
-                // Missing value
-                if (instance[j] >= 0)
-                    pnArray[instance[j]][NEGATIVE_EXAMPLES] = pnArray[instance[j]][NEGATIVE_EXAMPLES] + N[index].weight;
-            }
+            long positive = table.getSupport(item, klass);
+            pnArray[index][POSITIVE_EXAMPLES] = positive;
+            pnArray[index][NEGATIVE_EXAMPLES] = table.getSupport(item) - positive;
         }
     }
 
@@ -368,6 +382,12 @@ public class PRM {
     public ArrayList<Rule> run() throws Exception {
         rules = new ArrayList<Rule>();
 
+        // Instances are read once, and shared by the examples of all the classes
+        instances = new short[this.dataset.size()][];
+        for (int index = 0; index < this.dataset.size(); index++) {
+            instances[index] = this.dataset.getInstance(index, this.dataset.createInstanceBuffer());
+        }
+
         // Generate literals array
         Literal[] literals = new Literal[this.dataset.getNumberSingletons() - this.dataset.getNumberKlasses()];
         for (int i = 0; i < literals.length; i++) {
@@ -382,15 +402,15 @@ public class PRM {
             // Generate positive and negative examples from training set and
             // PN array
             generatePN(klass);
-            generatePNarray();
+            generatePNarray(klass);
 
             // calculate start total weight threshold of positive examples
             double totalWeightThreshold = config.getDelta() * getTotalWeighting(P);
 
             // Continue searching rules until total weight has been reduced enough
             while (getTotalWeighting(P) > totalWeightThreshold) {
-                P2 = Utils.copy(P);
-                N2 = Utils.copy(N);
+                P2 = this.copy(P);
+                N2 = this.copy(N);
                 pnArray2 = Utils.copy(pnArray);
                 literals2 = Utils.copy(literals);
 
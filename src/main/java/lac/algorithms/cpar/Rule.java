@@ -17,8 +17,10 @@
  */
 package lac.algorithms.cpar;
 
+import java.util.BitSet;
+
 import lac.data.Dataset;
-import lac.utils.Utils;
+import lac.data.VerticalIndex;
 
 /**
  * Class used to represent a Rule in the CPAR algorithm. It includes
@@ -48,17 +50,13 @@ public class Rule extends lac.algorithms.Rule {
      * @return the Laplace accuracy.
      */
     protected void calculateLaplaceAccuracy(Dataset data) {
-        int totalCounter = 0;
-        int klassCounter = 0;
+        VerticalIndex index = data.getVerticalIndex();
+        BitSet tidsetAntecedent = index.getTidset(antecedent);
+
+        int totalCounter = tidsetAntecedent.cardinality();
 
-        for (int i = 0; i < data.size(); i++) {
-            Short[] example = data.getInstance(i).asNominal();
-            if (Utils.isSubset(antecedent, example)) {
-                if (klass == data.getKlassInstance(i))
-                    klassCounter++;
-                totalCounter++;
-            }
-        }
+        tidsetAntecedent.and(index.getKlassTidset(klass));
+        int klassCounter = tidsetAntecedent.cardinality();
 
         laplace = (double) (klassCounter + 1) / (double) (totalCounter + data.getNumberKlasses());
     }
@@ -47,14 +47,14 @@ class WeightedInstance implements Cloneable, Serializable {
     }
 
     /**
-     * Constructor
+     * Constructor. The example is not copied, it is shared with the other
+     * weighted instances representing it
      * 
-     * @param example being represented
+     * @param example being represented, it must not be modified
      * @param weight  of the instance
      */
     WeightedInstance(short[] example, double weight) {
-        instance = new short[example.length];
-        System.arraycopy(example, 0, instance, 0, example.length);
+        instance = example;
         this.weight = weight;
     }
 
@@ -18,12 +18,14 @@
 package lac.algorithms.l3;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 
 import lac.algorithms.Rule;
 import lac.data.Dataset;
 import lac.data.Instance;
+import lac.data.VerticalIndex;
 
 /**
  * Before performing lazy pruning, a global order is imposed on the rule base .
@@ -93,14 +95,14 @@ public class Classifier extends lac.algorithms.Classifier {
          */
         boolean[] instanceCovered = new boolean[training.size()];
 
+        VerticalIndex index = training.getVerticalIndex();
         for (Rule rule : sortedRules) {
             int correctly = 0;
             int incorrectly = 0;
 
-            for (int i = 0; i < training.size(); i++) {
-                Short[] example = training.getInstance(i).asNominal();
-
-                if (!instanceCovered[i] && rule.matching(example)) {
+            BitSet tidset = index.getTidset(rule.getAntecedent());
+            for (int i = tidset.nextSetBit(0); i >= 0; i = tidset.nextSetBit(i + 1)) {
+                if (!instanceCovered[i]) {
                     if (rule.getKlass() == training.getKlassInstance(i)) {
                         correctly++;
                         instanceCovered[i] = true;
@@ -129,7 +131,7 @@ public class Classifier extends lac.algorithms.Classifier {
      * @see lac.algorithms.Classifier#predict(lac.data.Instance)
      */ @Override
     public short predict(Instance rawExample) {
-        Short[] example = (Short[]) rawExample.asNominal();
+        short[] example = rawExample.getValues();
         // Check if some rule matchs
         for (int i = 0; i < this.rules.size(); i++) {
             Rule rule = this.rules.get(i);
@@ -21,7 +21,7 @@ package lac.algorithms.l3;
  * Configuration for the L3 algorithm. This algorithm requires two different
  * parameters.
  */
-public class Config extends lac.algorithms.Config {
+public class Config extends lac.algorithms.MinerConfig {
     /**
      * Minimum frequency of occurrence for the rules
      */
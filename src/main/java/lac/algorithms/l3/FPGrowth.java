@@ -25,8 +25,7 @@
 package lac.algorithms.l3;
 
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map.Entry;
+import java.util.List;
 
 import lac.data.Dataset;
 
@@ -46,9 +45,10 @@ import lac.data.Dataset;
  */
 public class FPGrowth extends lac.algorithms.cmar.FPGrowth {
     /**
-     * It stores the multiple minimum support by class
+     * It stores the multiple minimum support by class, indexed by the position
+     * of the class
      */
-    private HashMap<Short, Long> supportByKlass;
+    private long[] minSupportsKlass;
 
     /**
      * Constructor
@@ -61,27 +61,30 @@ public class FPGrowth extends lac.algorithms.cmar.FPGrowth {
     public FPGrowth(Dataset training, double minSup, double minConf) {
         super(training, minSup, minConf);
 
-        supportByKlass = new HashMap<Short, Long>();
-        for (Entry<Short, Long> entry : training.getFrequencyByKlass().entrySet()) {
-            supportByKlass.put(entry.getKey(), (long) Math.ceil(entry.getValue() * minSup));
+        minSupportsKlass = new long[numberKlasses];
+        for (int k = 0; k < numberKlasses; k++) {
+            minSupportsKlass[k] = (long) Math.ceil(supportsKlass[k] * minSup);
         }
     }
 
     @Override
-    protected void generateRules(short[] itemset, int itemsetLength, long support,
-            HashMap<Short, Long> counterByKlass) {
+    protected void generateRules(short[] itemset, int itemsetLength, long support, long[] supportsByKlass,
+            int offsetSupportByKlass, List<lac.algorithms.Rule> rules) {
         short[] itemsetOutputBuffer = new short[itemsetLength];
         System.arraycopy(itemset, 0, itemsetOutputBuffer, 0, itemsetLength);
         Arrays.sort(itemsetOutputBuffer, 0, itemsetLength);
 
-        for (Entry<Short, Long> entry : counterByKlass.entrySet()) {
-            Rule rule = new Rule(itemsetOutputBuffer, entry.getKey());
+        for (int k = 0; k < numberKlasses; k++) {
+            long supportRule = supportsByKlass[offsetSupportByKlass + k];
+            if (supportRule == 0)
+                continue;
+
+            Rule rule = new Rule(itemsetOutputBuffer, klasses[k]);
             rule.setSupportAntecedent(support);
-            rule.setSupportRule(entry.getValue());
-            rule.setSupportKlass(dataset.getFrequencyByKlass().get(rule.getKlass()));
+            rule.setSupportRule(supportRule);
+            rule.setSupportKlass(supportsKlass[k]);
 
-            if (rule.getSupportRule() >= this.supportByKlass.get(rule.getKlass())
-                    && rule.getConfidence() >= this.minConf)
+            if (rule.getSupportRule() >= this.minSupportsKlass[k] && rule.getConfidence() >= this.minConf)
                 rules.add(rule);
         }
     }
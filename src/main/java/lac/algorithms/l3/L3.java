@@ -18,8 +18,11 @@
 package lac.algorithms.l3;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map.Entry;
 
 import lac.algorithms.Algorithm;
+import lac.algorithms.CarMiner;
 import lac.data.Dataset;
 
 /**
@@ -47,9 +50,22 @@ public class L3 extends Algorithm {
     @Override
     public Classifier train(Dataset training) throws Exception {
         Config config = (Config) this.config;
-        FPGrowth fpgrowthMultiple = new FPGrowth(training, config.getMinSup(), config.getMinConf());
+        CarMiner miner = config.getMiner();
 
-        ArrayList<lac.algorithms.Rule> rules = fpgrowthMultiple.run();
+        ArrayList<lac.algorithms.Rule> rules;
+        if (miner == null) {
+            FPGrowth fpgrowthMultiple = new FPGrowth(training, config.getMinSup(), config.getMinConf());
+            rules = fpgrowthMultiple.run();
+        } else {
+            // Each class has its own minimum support
+            HashMap<Short, Long> minSupportByKlass = new HashMap<Short, Long>();
+            for (Entry<Short, Long> entry : training.getFrequencyByKlass().entrySet()) {
+                minSupportByKlass.put(entry.getKey(), (long) Math.ceil(entry.getValue() * config.getMinSup()));
+            }
+
+            rules = new ArrayList<lac.algorithms.Rule>(
+                    miner.mine(training, minSupportByKlass, config.getMinConf(), Rule::new));
+        }
 
         return new Classifier(training, rules);
     }
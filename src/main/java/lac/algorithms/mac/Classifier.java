@@ -19,6 +19,7 @@ package lac.algorithms.mac;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -27,7 +28,7 @@ import java.util.Map.Entry;
 
 import lac.data.Dataset;
 import lac.data.Instance;
-import lac.utils.Utils;
+import lac.data.VerticalIndex;
 
 /**
  * Main class for the MAC classifier. It implements its own way of predicting
@@ -87,13 +88,18 @@ public class Classifier extends lac.algorithms.Classifier {
         Boolean[] covered = new Boolean[dataset.size()];
         Arrays.fill(covered, Boolean.FALSE);
 
+        VerticalIndex index = dataset.getVerticalIndex();
         for (int k = 0; k < rules.size(); k++) {
             Rule rule = rules.get(k);
 
-            for (int i = 0; i < dataset.size(); i++) {
-                Short[] instance = dataset.getInstance(i).asNominal();
-
-                if (!covered[i] && Utils.isSubset(rule.getAntecedent(), instance)) {
+            // Items are read as ints, so that both encodings are supported
+            BitSet tidset = new BitSet(dataset.size());
+            tidset.set(0, dataset.size());
+            for (int m = 0; m < rule.size() && !tidset.isEmpty(); m++) {
+                tidset.and(index.getTidset(rule.getItem(m)));
+            }
+            for (int i = tidset.nextSetBit(0); i >= 0; i = tidset.nextSetBit(i + 1)) {
+                if (!covered[i]) {
                     covered[i] = true;
                     if (!finalRules.contains(rule))
                         finalRules.add(rule);
@@ -163,7 +169,7 @@ public class Classifier extends lac.algorithms.Classifier {
      */
     @Override
     public short predict(Instance rawExample) {
-        Short[] example = rawExample.asNominal();
+        int[] example = rawExample.getIntValues();
 
         HashMap<Short, Long> matchPerKlass = new HashMap<Short, Long>();
         short defaultKlass = -1;
@@ -176,12 +182,12 @@ public class Classifier extends lac.algorithms.Classifier {
 
             // Rule without antecedent is a special case, and it should not be included in
             // those groups
-            if (rule.getAntecedent().isEmpty()) {
+            if (rule.size() == 0) {
                 defaultKlass = rule.getKlass();
                 continue;
             }
 
-            if (Utils.isSubset(rule.getAntecedent(), example)) {
+            if (rule.matching(example)) {
                 Long counter = matchPerKlass.get(rule.getKlass());
 
                 if (counter == null) {
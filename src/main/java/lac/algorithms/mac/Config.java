@@ -21,7 +21,7 @@ package lac.algorithms.mac;
  * Configuration for the MAC algorithm. This algorithm requires two different
  * parameters.
  */
-public class Config extends lac.algorithms.Config {
+public class Config extends lac.algorithms.MinerConfig {
     /**
      * Minimum frequency of occurrence for the rules
      */
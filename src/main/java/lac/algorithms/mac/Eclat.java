@@ -25,17 +25,18 @@
 package lac.algorithms.mac;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 
 import lac.data.Dataset;
-import lac.utils.Utils;
+import lac.data.ItemEncoding;
+import lac.data.VerticalIndex;
 
 /**
  * Class implementing the well-known ECLAT algorithm. Presented at: M. J. Zaki,
@@ -47,6 +48,19 @@ import lac.utils.Utils;
  * <li>No patterns are generated, but rules are mined directly without an
  * intermediary step for searching for patterns</li>
  * </ul>
+ *
+ * Tidsets are stored as dense bitsets, and supports are obtained by means of
+ * AND and popcount without building the intersection, which is only stored for
+ * frequent rules. When the tidsets of an equivalence class become dense, they
+ * are replaced by diffsets as proposed in dEclat: M. J. Zaki and K. Gouda, "Fast
+ * vertical mining using diffsets", KDD 2003. Each diffset is stored as the
+ * sorted array of the tids of the prefix which are not in the rule. Only the
+ * tidset of the antecedent is stored, the support of the rule is obtained
+ * intersecting it with the tidset of the class.
+ *
+ * Items are handled as ints, so that datasets whose values are encoded as ints
+ * (see {@link ItemEncoding}) are mined in the same way. Rules keep the encoding
+ * of the dataset, their antecedent is only encoded as ints when the dataset is.
  */
 public class Eclat {
     /**
@@ -55,9 +69,9 @@ public class Eclat {
     private double minsupRelative;
 
     /**
-     * Configuration used to generate class association rules
+     * Minimum confidence for the mined rules
      */
-    private Config config;
+    private double minConf;
 
     /**
      * Dataset to extract class association rules
@@ -72,7 +86,17 @@ public class Eclat {
     /**
      * Classes and its respective TIDS
      */
-    private Map<Short, Set<Integer>> klassesTIDS;
+    private Map<Short, long[]> klassesTIDS;
+
+    /**
+     * Number of words of each bitset
+     */
+    private int numberWords;
+
+    /**
+     * Whether the values of the dataset are encoded as ints
+     */
+    private boolean intEncoding;
 
     /**
      * Default constructor
@@ -81,10 +105,20 @@ public class Eclat {
      * @param config  to be used while mining rules
      */
     public Eclat(Dataset dataset, Config config) {
-        this.config = config;
-        this.dataset = dataset;
+        this(dataset, (long) Math.ceil(config.getMinSup() * dataset.size()), config.getMinConf());
+    }
 
-        this.minsupRelative = Math.ceil(this.config.getMinSup() * dataset.size());
+    /**
+     * Constructor
+     * 
+     * @param dataset    of the rules are mined
+     * @param minSupport minimum number of instances covered by mined rules
+     * @param minConf    minimum confidence for mined rules
+     */
+    public Eclat(Dataset dataset, long minSupport, double minConf) {
+        this.dataset = dataset;
+        this.minsupRelative = minSupport;
+        this.minConf = minConf;
     }
 
     /**
@@ -93,47 +127,44 @@ public class Eclat {
      * @return set of mined class association rules
      */
     public ArrayList<Rule> run() {
-        HashMap<Short, Set<Integer>> mapItemTIDS = this.generateSingletons();
+        this.intEncoding = this.dataset.getEncoding() == ItemEncoding.INT;
+        HashMap<Integer, long[]> mapItemTIDS = this.generateSingletons();
 
-        ArrayList<Short> frequentItems = new ArrayList<Short>(mapItemTIDS.keySet());
+        HashMap<Integer, Long> mapItemSupport = new HashMap<Integer, Long>();
+        for (Entry<Integer, long[]> entry : mapItemTIDS.entrySet()) {
+            mapItemSupport.put(entry.getKey(), cardinality(entry.getValue()));
+        }
+
+        ArrayList<Integer> frequentItems = new ArrayList<Integer>(mapItemTIDS.keySet());
 
         // Select only those items whose support is higher than the user-specified
         // threshold
-        frequentItems.removeIf(item -> mapItemTIDS.get(item).size() < this.minsupRelative);
+        frequentItems.removeIf(item -> mapItemSupport.get(item) < this.minsupRelative);
 
         // Sort items by the total order of increasing support
-        Collections.sort(frequentItems, new Comparator<Short>() {
-            public int compare(Short arg0, Short arg1) {
-                return mapItemTIDS.get(arg0).size() - mapItemTIDS.get(arg1).size();
+        Collections.sort(frequentItems, new Comparator<Integer>() {
+            public int compare(Integer arg0, Integer arg1) {
+                return Long.compare(mapItemSupport.get(arg0), mapItemSupport.get(arg1));
             }
         });
 
         // Generate rules of size k=2, that is, antecedent has one unique attribute and
         // one klass in the consequent
-        ArrayList<Rule> k2 = this.generateK2(frequentItems, mapItemTIDS);
+        ArrayList<Node> k2 = this.generateK2(frequentItems, mapItemTIDS, mapItemSupport);
 
         for (int i = 0; i < k2.size(); i++) {
-            Rule itemI = k2.get(i);
-
-            ArrayList<Rule> prefixedItemsI = new ArrayList<Rule>();
+            Node itemI = k2.get(i);
 
+            ArrayList<Node> combinables = new ArrayList<Node>();
             for (int j = i + 1; j < k2.size(); j++) {
-                Rule itemJ = k2.get(j);
-
-                if (!itemI.isCombinable(itemJ))
-                    continue;
+                Node itemJ = k2.get(j);
 
-                Set<Integer> tidsetIJ = Utils.intersection(itemI.getTidsetRule(), itemJ.getTidsetRule());
-
-                if (tidsetIJ.size() >= minsupRelative) {
-                    Short[] newAntecedent = lac.utils.Utils.union(itemI.getAntecedent(), itemJ.getAntecedent());
-                    Set<Integer> tidsetAntecedent = Utils.intersection(itemI.getTidsetAntecedent(),
-                            itemJ.getTidsetAntecedent());
-
-                    prefixedItemsI.add(new Rule(newAntecedent, tidsetAntecedent, itemI.getKlass(), tidsetIJ));
-                }
+                if (itemI.klass == itemJ.klass)
+                    combinables.add(itemJ);
             }
 
+            ArrayList<Node> prefixedItemsI = this.combine(itemI, combinables);
+
             // Process all prefixedItems, if there are
             if (!prefixedItemsI.isEmpty()) {
                 processPrefixedItems(itemI, prefixedItemsI);
@@ -149,20 +180,26 @@ public class Eclat {
      * 
      * @param frequentSingleton List of frequent singletons
      * @param mapItemTIDS       map with both singletons and its tidsets
+     * @param mapItemSupport    map with both singletons and its supports
      * @return array of rule of size 2
      */
-    private ArrayList<Rule> generateK2(ArrayList<Short> frequentSingleton, HashMap<Short, Set<Integer>> mapItemTIDS) {
-        ArrayList<Rule> k2 = new ArrayList<Rule>();
+    private ArrayList<Node> generateK2(ArrayList<Integer> frequentSingleton, HashMap<Integer, long[]> mapItemTIDS,
+            HashMap<Integer, Long> mapItemSupport) {
+        ArrayList<Node> k2 = new ArrayList<Node>();
 
         for (int i = 0; i < frequentSingleton.size(); i++) {
-            Short itemI = frequentSingleton.get(i);
-            // we obtain the tidset and support of that item
-            Set<Integer> tidsetI = mapItemTIDS.get(itemI);
-
-            for (Entry<Short, Set<Integer>> klass : klassesTIDS.entrySet()) {
-                Set<Integer> tidsetIJ = Utils.intersection(tidsetI, klass.getValue());
+            Integer itemI = frequentSingleton.get(i);
+            // we obtain the tidset and support of that item, shared by all the classes
+            long[] tidsetI = mapItemTIDS.get(itemI);
+
+            for (Entry<Short, long[]> klass : klassesTIDS.entrySet()) {
+                long supportRule = 0;
+                for (int w = 0; w < numberWords; w++) {
+                    supportRule += Long.bitCount(tidsetI[w] & klass.getValue()[w]);
+                }
 
-                Rule rule = new Rule(itemI, tidsetI, klass.getKey(), tidsetIJ);
+                Node rule = new Node(new int[] { itemI }, itemI, klass.getKey(), klass.getValue(),
+                        mapItemSupport.get(itemI), supportRule, tidsetI, null);
 
                 saveRule(rule);
 
@@ -174,164 +211,367 @@ public class Eclat {
     }
 
     /**
-     * Scan the database to calculate the support of each singleton
+     * Obtain the tidset of each singleton and class from the vertical index of the
+     * dataset
      *
      * @return set of items and its tidsets
      */
-    private HashMap<Short, Set<Integer>> generateSingletons() {
-        HashMap<Short, Set<Integer>> itemTids = new HashMap<Short, Set<Integer>>();
-
-        klassesTIDS = new HashMap<Short, Set<Integer>>();
-
-        for (int indexInstance = 0; indexInstance < this.dataset.size(); indexInstance++) {
-            for (int j = 0; j < this.dataset.getNumberAttributes(); j++) {
-                Short singleton = (Short) this.dataset.getInstance(indexInstance).asNominal()[j];
-
-                Set<Integer> tidset = itemTids.get(singleton);
-
-                // add the new set, if there were none
-                if (tidset == null) {
-                    tidset = new HashSet<Integer>();
-                    itemTids.put(singleton, tidset);
-                }
-
-                // Add the current tid
-                tidset.add(indexInstance);
-            }
-
-            Short klass = this.dataset.getKlassInstance(indexInstance);
-
-            Set<Integer> tidset = klassesTIDS.get(klass);
-
-            // add the new set, if there were none
-            if (tidset == null) {
-                tidset = new HashSet<Integer>();
-                klassesTIDS.put(klass, tidset);
-            }
+    private HashMap<Integer, long[]> generateSingletons() {
+        VerticalIndex index = this.dataset.getVerticalIndex();
+        HashMap<Integer, long[]> itemTids = new HashMap<Integer, long[]>();
 
-            // Add the current tid
-            tidset.add(indexInstance);
-        }
+        numberWords = (index.size() + Long.SIZE - 1) / Long.SIZE;
 
-        final List<Short> items = new ArrayList<Short>(itemTids.keySet());
-        for (Short entry : klassesTIDS.keySet()) {
-            items.add(entry);
+        for (int item : index.getIntItems()) {
+            itemTids.put(item, toTidset(index.getTidset(item)));
         }
 
-        // Check from the previous items, which are frequent
-        List<Short> frequentItems = new ArrayList<Short>();
-
-        for (Entry<Short, Set<Integer>> entry : itemTids.entrySet()) {
-            Set<Integer> tidset = entry.getValue();
-            long support = tidset.size();
+        klassesTIDS = new HashMap<Short, long[]>();
 
-            if (support >= minsupRelative) {
-                Short item = entry.getKey();
+        for (int i = 0; i < this.dataset.getNumberKlasses(); i++) {
+            short klass = this.dataset.getKlass(i);
 
-                // This item is frequent, since its support is greater than the user-specified
-                // threshold
-                frequentItems.add(item);
-            }
+            if (index.getKlassSupport(klass) > 0)
+                klassesTIDS.put(klass, toTidset(index.getKlassTidset(klass)));
         }
 
         return itemTids;
     }
 
+    /**
+     * Converts a bitset from the vertical index to the representation of tidsets
+     * used by this algorithm, where all of them have the same number of words
+     * 
+     * @param bitset with the tids
+     * @return words with the same tids
+     */
+    private long[] toTidset(BitSet bitset) {
+        long[] words = bitset.toLongArray();
+
+        return words.length == numberWords ? words : Arrays.copyOf(words, numberWords);
+    }
+
     /**
      * Process all the prefixed items to generate much larger rules
      * 
      * @param rule          to be combined together with the prefixedItems
      * @param prefixedItems items prefixed to the current rule
      */
-    private void processPrefixedItems(Rule rule, ArrayList<Rule> prefixedItems) {
+    private void processPrefixedItems(Node rule, ArrayList<Node> prefixedItems) {
+        // Prefixed items already contain the antecedent of the rule, so the union
+        // of both is the prefixed item itself
         if (prefixedItems.size() == 1) {
-            Rule itemI = prefixedItems.get(0);
-
-            Short[] newAntecedent = lac.utils.Utils.union(rule.getAntecedent(), itemI.getAntecedent());
-            Set<Integer> newTidset = Utils.intersection(rule.getTidsetRule(), itemI.getTidsetRule());
-            Set<Integer> newTidsetAntecedent = Utils.intersection(rule.getTidsetAntecedent(),
-                    itemI.getTidsetAntecedent());
-
-            saveRule(new Rule(newAntecedent, newTidsetAntecedent, rule.getKlass(), newTidset));
+            saveRule(prefixedItems.get(0));
         } else if (prefixedItems.size() == 2) {
-            Rule itemI = prefixedItems.get(0);
-
-            Short[] newAntecedent = lac.utils.Utils.union(rule.getAntecedent(), itemI.getAntecedent());
-            Set<Integer> newTidset = Utils.intersection(rule.getTidsetRule(), itemI.getTidsetRule());
-            Set<Integer> newTidsetAntecedent = Utils.intersection(rule.getTidsetAntecedent(),
-                    itemI.getTidsetAntecedent());
-
-            saveRule(new Rule(newAntecedent, newTidsetAntecedent, rule.getKlass(), newTidset));
-
-            Rule itemJ = prefixedItems.get(1);
+            Node itemI = prefixedItems.get(0);
+            saveRule(itemI);
 
-            Short[] newAntecedent2 = lac.utils.Utils.union(rule.getAntecedent(), itemJ.getAntecedent());
-            Set<Integer> newTidset2 = Utils.intersection(rule.getTidsetRule(), itemJ.getTidsetRule());
-            Set<Integer> newTidsetAntecedent2 = Utils.intersection(rule.getTidsetAntecedent(),
-                    itemJ.getTidsetAntecedent());
-
-            saveRule(new Rule(newAntecedent2, newTidsetAntecedent2, rule.getKlass(), newTidset2));
+            Node itemJ = prefixedItems.get(1);
+            saveRule(itemJ);
 
             // Union of the two previous items
-            Short[] unionAntecedent = lac.utils.Utils.union(newAntecedent, itemJ.getAntecedent());
-            if (unionAntecedent.length <= this.dataset.getNumberAttributes()) {
-                Set<Integer> tidsetIJ = Utils.intersection(newTidset, itemJ.getTidsetRule());
-                Set<Integer> antecedentTidsetIJ = Utils.intersection(newTidsetAntecedent, itemJ.getTidsetAntecedent());
-
-                long supportIJ = tidsetIJ.size();
+            if (itemI.antecedent.length + 1 <= this.dataset.getNumberAttributes()) {
+                ArrayList<Node> itemIJ = this.combine(itemI, prefixedItems.subList(1, 2));
 
-                if (supportIJ >= minsupRelative) {
-                    saveRule(new Rule(unionAntecedent, antecedentTidsetIJ, rule.getKlass(), tidsetIJ));
+                if (!itemIJ.isEmpty()) {
+                    saveRule(itemIJ.get(0));
                 }
             }
         } else {
             // Combines each pair of rules to generate larger rules
             for (int i = 0; i < prefixedItems.size(); i++) {
-                Rule itemI = prefixedItems.get(i);
-
-                Short[] newAntecedent = lac.utils.Utils.union(rule.getAntecedent(), itemI.getAntecedent());
-                Set<Integer> newTidset = Utils.intersection(rule.getTidsetRule(), itemI.getTidsetRule());
-                Set<Integer> newTidsetAntecedent = Utils.intersection(rule.getTidsetAntecedent(),
-                        itemI.getTidsetAntecedent());
-
-                saveRule(new Rule(newAntecedent, newTidsetAntecedent, rule.getKlass(), newTidset));
-
-                ArrayList<Rule> prefixedItemsSuffix = new ArrayList<Rule>();
-
-                for (int j = i + 1; j < prefixedItems.size(); j++) {
-                    Rule suffixJ = prefixedItems.get(j);
-
-                    Set<Integer> tidsetIJ = Utils.intersection(newTidset, suffixJ.getTidsetRule());
+                Node itemI = prefixedItems.get(i);
 
-                    Short[] new2Antecedent = lac.utils.Utils.union(newAntecedent, suffixJ.getAntecedent());
+                saveRule(itemI);
 
-                    long supportIJ = tidsetIJ.size();
-                    if (supportIJ >= minsupRelative) {
-                        Set<Integer> tidsetAntecedent = Utils.intersection(newTidsetAntecedent,
-                                suffixJ.getTidsetAntecedent());
-
-                        prefixedItemsSuffix.add(new Rule(new2Antecedent, tidsetAntecedent, rule.getKlass(), tidsetIJ));
-                    }
-                }
+                ArrayList<Node> prefixedItemsSuffix = this.combine(itemI,
+                        prefixedItems.subList(i + 1, prefixedItems.size()));
 
                 // Recursively process the rest of prefixed items to generate even larger rules
                 if (!prefixedItemsSuffix.isEmpty()) {
-                    processPrefixedItems(new Rule(newAntecedent, newTidsetAntecedent, rule.getKlass(), newTidset),
-                            prefixedItemsSuffix);
+                    processPrefixedItems(itemI, prefixedItemsSuffix);
                 }
             }
         }
     }
 
+    /**
+     * Combines a rule with other rules of its equivalence class, that is, with
+     * the same prefix and class. Supports are counted before storing anything,
+     * so that only the tidsets of the frequent rules are built. The new rules
+     * form the equivalence class of the given rule; they are stored as diffsets
+     * when the given rule is already stored as a diffset, or when the diffsets
+     * of the new rules would take less memory than their tidsets
+     * 
+     * @param rule        to be combined
+     * @param combinables rules of the same equivalence class
+     * @return the frequent rules, in the same order of the combinables
+     */
+    private ArrayList<Node> combine(Node rule, List<Node> combinables) {
+        ArrayList<Node> frequents = new ArrayList<Node>();
+        long[] supportsAntecedent = new long[combinables.size()];
+        long[] supportsRule = new long[combinables.size()];
+
+        long sizeDiffsets = 0;
+        for (int j = 0; j < combinables.size(); j++) {
+            Node other = combinables.get(j);
+
+            long supportRule = rule.countRule(other);
+            if (supportRule >= minsupRelative) {
+                long supportAntecedent = rule.countAntecedent(other);
+
+                supportsRule[frequents.size()] = supportRule;
+                supportsAntecedent[frequents.size()] = supportAntecedent;
+                sizeDiffsets += rule.supportAntecedent - supportAntecedent;
+                frequents.add(other);
+            }
+        }
+
+        boolean diffsets = rule.diffset != null
+                || sizeDiffsets * Integer.SIZE < (long) frequents.size() * numberWords * Long.SIZE;
+
+        ArrayList<Node> newRules = new ArrayList<Node>(frequents.size());
+        for (int j = 0; j < frequents.size(); j++) {
+            newRules.add(rule.combine(frequents.get(j), supportsAntecedent[j], supportsRule[j], diffsets));
+        }
+
+        return newRules;
+    }
+
     /**
      * Add a rule to the final set of rules if its confidence is greater than the
-     * user-specified threshold
+     * user-specified threshold. Its antecedent is narrowed to shorts unless the
+     * dataset is encoded as ints
      * 
-     * @param rule
+     * @param node with the rule
      */
-    private void saveRule(Rule rule) {
-        if (rule.getConfidence() >= this.config.getMinConf()) {
+    private void saveRule(Node node) {
+        Rule rule;
+        if (this.intEncoding) {
+            rule = new Rule(node.antecedent, node.klass, node.supportAntecedent, node.supportRule);
+        } else {
+            short[] antecedent = new short[node.antecedent.length];
+            for (int i = 0; i < antecedent.length; i++) {
+                antecedent[i] = (short) node.antecedent[i];
+            }
+            rule = new Rule(antecedent, node.klass, node.supportAntecedent, node.supportRule);
+        }
+
+        if (rule.getConfidence() >= this.minConf) {
             rules.add(rule);
         }
     }
+
+    /**
+     * Number of tids in a bitset
+     * 
+     * @param tidset bitset with the tids
+     * @return the number of tids
+     */
+    private static long cardinality(long[] tidset) {
+        long cardinality = 0;
+        for (long word : tidset) {
+            cardinality += Long.bitCount(word);
+        }
+        return cardinality;
+    }
+
+    /**
+     * Rule being explored by the algorithm, together with the tids of its
+     * antecedent. They are stored as a bitset, or as a diffset, that is, as the
+     * tids of the prefix of its equivalence class where the antecedent is not
+     * present. All the rules of an equivalence class use the same representation
+     */
+    private static class Node {
+        /**
+         * Items of the antecedent in ascending order
+         */
+        final int[] antecedent;
+
+        /**
+         * Last item added to the antecedent, which differs from the other rules
+         * of the equivalence class
+         */
+        final int item;
+
+        /**
+         * Consequent of the rule
+         */
+        final short klass;
+
+        /**
+         * Tidset of the class
+         */
+        final long[] klassTidset;
+
+        /**
+         * Support of the antecedent
+         */
+        final long supportAntecedent;
+
+        /**
+         * Support of the rule
+         */
+        final long supportRule;
+
+        /**
+         * Tidset of the antecedent as a bitset, null if it is stored as a diffset
+         */
+        final long[] tidset;
+
+        /**
+         * Sorted tids of the prefix not present in the antecedent, null if it is
+         * stored as a bitset
+         */
+        final int[] diffset;
+
+        /**
+         * Constructor
+         * 
+         * @param antecedent        items of the antecedent in ascending order
+         * @param item              last item added to the antecedent
+         * @param klass             consequent of the rule
+         * @param klassTidset       tidset of the class
+         * @param supportAntecedent support of the antecedent
+         * @param supportRule       support of the rule
+         * @param tidset            tidset of the antecedent as a bitset
+         * @param diffset           diffset of the antecedent
+         */
+        Node(int[] antecedent, int item, short klass, long[] klassTidset, long supportAntecedent,
+                long supportRule, long[] tidset, int[] diffset) {
+            this.antecedent = antecedent;
+            this.item = item;
+            this.klass = klass;
+            this.klassTidset = klassTidset;
+            this.supportAntecedent = supportAntecedent;
+            this.supportRule = supportRule;
+            this.tidset = tidset;
+            this.diffset = diffset;
+        }
+
+        /**
+         * Counts the support of the rule formed by the union of this rule and
+         * another one of its equivalence class, without building its tidset
+         * 
+         * @param other rule of the same equivalence class
+         * @return the support of the union
+         */
+        long countRule(Node other) {
+            if (this.tidset != null) {
+                long support = 0;
+                for (int w = 0; w < this.tidset.length; w++) {
+                    support += Long.bitCount(this.tidset[w] & other.tidset[w] & this.klassTidset[w]);
+                }
+                return support;
+            }
+
+            // Tids of this rule missing in the union, only those of the class count
+            long lost = 0;
+            int[] diffsetX = this.diffset;
+            int[] diffsetY = other.diffset;
+            for (int i = 0, j = 0; j < diffsetY.length; j++) {
+                int tid = diffsetY[j];
+                while (i < diffsetX.length && diffsetX[i] < tid) {
+                    i++;
+                }
+
+                if ((i == diffsetX.length || diffsetX[i] != tid)
+                        && (this.klassTidset[tid >>> 6] & (1L << tid)) != 0)
+                    lost++;
+            }
+            return this.supportRule - lost;
+        }
+
+        /**
+         * Counts the support of the antecedent formed by the union of this rule
+         * and another one of its equivalence class, without building its tidset
+         * 
+         * @param other rule of the same equivalence class
+         * @return the support of the antecedent of the union
+         */
+        long countAntecedent(Node other) {
+            if (this.tidset != null) {
+                long support = 0;
+                for (int w = 0; w < this.tidset.length; w++) {
+                    support += Long.bitCount(this.tidset[w] & other.tidset[w]);
+                }
+                return support;
+            }
+
+            long lost = 0;
+            int[] diffsetX = this.diffset;
+            int[] diffsetY = other.diffset;
+            for (int i = 0, j = 0; j < diffsetY.length; j++) {
+                int tid = diffsetY[j];
+                while (i < diffsetX.length && diffsetX[i] < tid) {
+                    i++;
+                }
+
+                if (i == diffsetX.length || diffsetX[i] != tid)
+                    lost++;
+            }
+            return this.supportAntecedent - lost;
+        }
+
+        /**
+         * Builds the rule formed by the union of this rule and another one of
+         * its equivalence class, once its supports are known
+         * 
+         * @param other             rule of the same equivalence class
+         * @param supportAntecedent support of the antecedent of the union
+         * @param supportRule       support of the union
+         * @param asDiffset         true to store the tids as a diffset, false as
+         *                          a bitset. It has to be true when this rule is
+         *                          stored as a diffset
+         * @return the union, whose prefix is this rule
+         */
+        Node combine(Node other, long supportAntecedent, long supportRule, boolean asDiffset) {
+            // Antecedent is kept sorted while the new item is inserted
+            int[] newAntecedent = new int[this.antecedent.length + 1];
+            int position = 0;
+            while (position < this.antecedent.length && this.antecedent[position] < other.item) {
+                newAntecedent[position] = this.antecedent[position];
+                position++;
+            }
+            newAntecedent[position] = other.item;
+            System.arraycopy(this.antecedent, position, newAntecedent, position + 1,
+                    this.antecedent.length - position);
+
+            long[] newTidset = null;
+            int[] newDiffset = null;
+            if (!asDiffset) {
+                newTidset = new long[this.tidset.length];
+                for (int w = 0; w < newTidset.length; w++) {
+                    newTidset[w] = this.tidset[w] & other.tidset[w];
+                }
+            } else if (this.tidset != null) {
+                // First diffsets of a branch, tids of this rule not in the other one
+                newDiffset = new int[(int) (this.supportAntecedent - supportAntecedent)];
+                int size = 0;
+                for (int w = 0; w < this.tidset.length; w++) {
+                    long word = this.tidset[w] & ~other.tidset[w];
+                    while (word != 0) {
+                        newDiffset[size++] = w * Long.SIZE + Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                // Tids of the other diffset which are not in this one
+                newDiffset = new int[(int) (this.supportAntecedent - supportAntecedent)];
+                int size = 0;
+                for (int i = 0, j = 0; j < other.diffset.length; j++) {
+                    int tid = other.diffset[j];
+                    while (i < this.diffset.length && this.diffset[i] < tid) {
+                        i++;
+                    }
+
+                    if (i == this.diffset.length || this.diffset[i] != tid)
+                        newDiffset[size++] = tid;
+                }
+            }
+
+            return new Node(newAntecedent, other.item, this.klass, this.klassTidset, supportAntecedent, supportRule,
+                    newTidset, newDiffset);
+        }
+    }
 }
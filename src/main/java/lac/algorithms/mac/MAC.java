@@ -20,6 +20,7 @@ package lac.algorithms.mac;
 import java.util.ArrayList;
 
 import lac.algorithms.Algorithm;
+import lac.algorithms.CarMiner;
 import lac.data.Dataset;
 
 /**
@@ -46,10 +47,28 @@ public class MAC extends Algorithm {
      */
     @Override
     public Classifier train(Dataset training) throws Exception {
-        Eclat eclat = new Eclat(training, (Config) this.config);
+        Config config = (Config) this.config;
+        CarMiner miner = config.getMiner();
 
-        ArrayList<Rule> rules = eclat.run();
+        ArrayList<Rule> rules;
+        if (miner == null) {
+            rules = new Eclat(training, config).run();
+        } else {
+            long minSupport = (long) Math.ceil(config.getMinSup() * training.getWeightedSize());
+            rules = miner.mine(training, minSupport, config.getMinConf(), Rule::new);
+        }
 
         return new Classifier(training, rules);
     }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.algorithms.Algorithm#supportsIntEncoding()
+     */
+    @Override
+    public boolean supportsIntEncoding() {
+        // Miners shared with other algorithms build the rules by means of shorts
+        return ((Config) this.config).getMiner() == null;
+    }
 }
\ No newline at end of file
@@ -17,22 +17,10 @@
  */
 package lac.algorithms.mac;
 
-import java.util.Set;
-
 /**
- * Class for representing a rule in MAC. It adds support for tidsets
+ * Class for representing a rule in MAC
  */
 public class Rule extends lac.algorithms.Rule {
-    /**
-     * Tidset of the antecedent
-     */
-    private Set<Integer> tidsetAntecedent;
-
-    /**
-     * Tidset of the rule
-     */
-    private Set<Integer> tidsetRule;
-
     /**
      * Constructor
      * 
@@ -73,48 +61,36 @@ public class Rule extends lac.algorithms.Rule {
     }
 
     /**
-     * Constructor
+     * Constructor for a rule whose supports are already known
      * 
-     * @param antecedent       of the rule
-     * @param tidsetAntecedent set of ids where the antecedent is present
-     * @param klass            to be used as consequent
-     * @param tidsetRule       set of ids where the rule is present
+     * @param antecedent        of the rule
+     * @param klass             to be used as consequent
+     * @param supportAntecedent number of instances where the antecedent is
+     *                          present
+     * @param supportRule       number of instances where the rule is present
      */
-    public Rule(Short[] antecedent, Set<Integer> tidsetAntecedent, Short klass, Set<Integer> tidsetRule) {
+    public Rule(short[] antecedent, short klass, long supportAntecedent, long supportRule) {
         super(antecedent, klass);
 
-        this.setTidsetAntecedent(tidsetAntecedent);
-        this.setTidsetRule(tidsetRule);
+        this.supportAntecedent = supportAntecedent;
+        this.supportRule = supportRule;
     }
 
     /**
-     * Constructor
+     * Constructor for a rule whose supports are already known and whose items
+     * are encoded as ints
      * 
-     * @param antecedent       of the rule
-     * @param tidsetAntecedent set of ids where the antecedent is present
-     * @param klass            to be used as consequent
-     * @param tidsetRule       set of ids where the rule is present
+     * @param antecedent        of the rule in ascending order
+     * @param klass             to be used as consequent
+     * @param supportAntecedent number of instances where the antecedent is
+     *                          present
+     * @param supportRule       number of instances where the rule is present
      */
-    public Rule(short antecedent, Set<Integer> tidsetAntecedent, Short klass, Set<Integer> tidsetRule) {
-        this(new Short[] { antecedent }, tidsetAntecedent, klass, tidsetRule);
-    }
-
-    /**
-     * @param tidsetAntecedent
-     */
-    public void setTidsetAntecedent(Set<Integer> tidsetAntecedent) {
-        this.tidsetAntecedent = tidsetAntecedent;
-        this.supportAntecedent = tidsetAntecedent.size();
-    }
+    public Rule(int[] antecedent, short klass, long supportAntecedent, long supportRule) {
+        super(antecedent, klass);
 
-    /**
-     * Set the tidset for the whole rule
-     * 
-     * @param tidsetRule set of ids where the rule is present
-     */
-    public void setTidsetRule(Set<Integer> tidsetRule) {
-        this.tidsetRule = tidsetRule;
-        this.supportRule = tidsetRule.size();
+        this.supportAntecedent = supportAntecedent;
+        this.supportRule = supportRule;
     }
 
     /**
@@ -126,22 +102,4 @@ public class Rule extends lac.algorithms.Rule {
     public boolean isCombinable(Rule other) {
         return this.klass == other.klass;
     }
-
-    /**
-     * Get the tidset for the whole rule
-     * 
-     * @return the tidset for the rule
-     */
-    public Set<Integer> getTidsetRule() {
-        return tidsetRule;
-    }
-
-    /**
-     * Get the tidset for the antecedent
-     * 
-     * @return the tidset for the antecedent
-     */
-    public Set<Integer> getTidsetAntecedent() {
-        return tidsetAntecedent;
-    }
 }
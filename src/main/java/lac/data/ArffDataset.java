@@ -17,8 +17,6 @@
  */
 package lac.data;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -48,6 +46,16 @@ public class ArffDataset extends Dataset {
      */
     private static String SEPARATOR = ",";
 
+    /**
+     * Character used to start an instance in sparse format
+     */
+    private static String SPARSE_START = "{";
+
+    /**
+     * Character used to finish an instance in sparse format
+     */
+    private static String SPARSE_END = "}";
+
     /**
      * Starts of the line containing meta information of the name of the dataset
      */
@@ -71,14 +79,24 @@ public class ArffDataset extends Dataset {
      * @throws Exception
      */
     public ArffDataset(String path) throws Exception {
-        super();
+        this(path, 1);
+    }
 
-        try {
-            FileReader fileReader = new FileReader(path);
-            BufferedReader bufferedReader = new BufferedReader(fileReader);
+    /**
+     * Constructor for the dataset. The header is read sequentially, and then the
+     * data section is split into chunks which are parsed concurrently
+     * 
+     * @param path          of the dataset to be read
+     * @param numberThreads number of threads used to parse the data section, when
+     *                      it is 1 the file is read line by line
+     * @throws Exception
+     */
+    public ArffDataset(String path, int numberThreads) throws Exception {
+        super();
 
+        try (DataSectionReader reader = new DataSectionReader(path)) {
             String line;
-            while ((line = bufferedReader.readLine()) != null) {
+            while ((line = reader.readLine()) != null) {
                 // Remove empty spaces
                 line = line.trim();
 
@@ -97,11 +115,20 @@ public class ArffDataset extends Dataset {
                         this.indexes.remove(this.getNumberAttributes());
                         this.addKlass(attrKlass.getValues());
                     }
+
+                    // Metadata is complete, the rest of the file is data. Sparse
+                    // and compressed datasets, and those encoded as ints, are
+                    // always read line by line
+                    if (numberThreads > 1 && reader.isSplittable() && !this.isSparse(line)
+                            && this.getEncoding() == ItemEncoding.SHORT) {
+                        reader.parse(this, reader.getLineStart(), numberThreads);
+                        break;
+                    }
                     this.proccessData(line);
                 }
             }
 
-            bufferedReader.close();
+            this.trimToSize();
         } catch (Exception e) {
             System.err.println("File " + path + " cannot be found.");
             throw e;
@@ -157,11 +184,51 @@ public class ArffDataset extends Dataset {
      * @throws Exception
      */
     private void proccessData(String line) throws Exception {
+        if (this.isSparse(line)) {
+            this.proccessSparseData(line);
+            return;
+        }
+
         String[] values = line.split(SEPARATOR);
 
         this.addInstance(values);
     }
 
+    /**
+     * Process a line in sparse format, where each value is preceded by its
+     * position, e.g. {1 X, 3 Y}. Values not specified take the first value of
+     * their attribute
+     * 
+     * @param line to be persited on the object being generated in main memory
+     * @throws Exception
+     */
+    private void proccessSparseData(String line) throws Exception {
+        String content = line.substring(1, line.lastIndexOf(SPARSE_END)).trim();
+        String[] pairs = content.isEmpty() ? new String[0] : content.split(SEPARATOR);
+
+        int[] positions = new int[pairs.length];
+        String[] values = new String[pairs.length];
+        for (int k = 0; k < pairs.length; k++) {
+            String pair = pairs[k].trim();
+            int space = pair.indexOf(' ');
+
+            positions[k] = Integer.parseInt(pair.substring(0, space));
+            values[k] = pair.substring(space + 1);
+        }
+
+        this.addSparseInstance(positions, values, pairs.length);
+    }
+
+    /**
+     * Check if a line of the data section is in sparse format
+     * 
+     * @param line to be checked
+     * @return true if line is sparse, false otherwise
+     */
+    private boolean isSparse(String line) {
+        return line.startsWith(SPARSE_START);
+    }
+
     /**
      * Check if a line passed as parameter is a comment or not
      * 
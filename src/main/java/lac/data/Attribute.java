@@ -17,6 +17,8 @@
  */
 package lac.data;
 
+import java.util.HashMap;
+
 /**
  * Attribute contained into the dataset
  */
@@ -46,6 +48,12 @@ public class Attribute {
      */
     private String[] values;
 
+    /**
+     * Position of each value in the array of values, used to find values in
+     * constant time
+     */
+    private HashMap<String, Integer> positions;
+
     /**
      * Constructor
      * 
@@ -66,6 +74,24 @@ public class Attribute {
     public Attribute(String name, String[] values) {
         this(name, TYPE_NOMINAL);
         this.values = values;
+        this.positions = positionsOf(values);
+    }
+
+    /**
+     * Creates a dictionary with the position of each value
+     * 
+     * @param values to be indexed
+     * @return the position for each value, the first occurrence is kept for
+     *         repeated values
+     */
+    static HashMap<String, Integer> positionsOf(String[] values) {
+        HashMap<String, Integer> positions = new HashMap<String, Integer>(values.length * 2);
+
+        for (int i = 0; i < values.length; i++) {
+            positions.putIfAbsent(values[i], i);
+        }
+
+        return positions;
     }
 
     /**
@@ -110,6 +136,20 @@ public class Attribute {
         return this.values;
     }
 
+    /**
+     * Get the position of a value in this attribute
+     * 
+     * @param value to be found
+     * @return the position of the value, -1 if attribute does not contain it
+     */
+    public int getPosition(String value) {
+        if (this.positions == null)
+            return -1;
+
+        Integer position = this.positions.get(value);
+        return position == null ? -1 : position;
+    }
+
     /*
      * (non-Javadoc)
      * 
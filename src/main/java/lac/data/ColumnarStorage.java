@@ -0,0 +1,241 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.util.Arrays;
+
+/**
+ * Storage used by the dataset to keep the internal representation of all its
+ * instances. Values are stored by columns, that is, there is one array of
+ * primitive shorts per attribute and another one for the class. In this way,
+ * each value only requires two bytes and scanning one attribute over all the
+ * instances is performed over contiguous memory.
+ */
+public class ColumnarStorage extends Storage implements ShortStorage {
+    /**
+     * Initial number of instances which could be stored without growing
+     */
+    static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Values for each attribute, one array per attribute
+     */
+    private short[][] columns;
+
+    /**
+     * Value of the class for each instance
+     */
+    private short[] klasses;
+
+    /**
+     * Number of instances currently stored
+     */
+    private int size;
+
+    /**
+     * Constructor
+     *
+     * @param numberAttributes number of attributes (without the class) for each
+     *                         instance
+     */
+    public ColumnarStorage(int numberAttributes) {
+        this(numberAttributes, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param numberAttributes number of attributes (without the class) for each
+     *                         instance
+     * @param capacity         initial number of instances to be reserved
+     */
+    public ColumnarStorage(int numberAttributes, int capacity) {
+        this.columns = new short[numberAttributes][capacity];
+        this.klasses = new short[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Constructor using arrays already filled, without copying them. All the
+     * arrays must have the same length, which is used as the number of instances
+     *
+     * @param columns values for each attribute, one array per attribute
+     * @param klasses value of the class for each instance
+     */
+    public ColumnarStorage(short[][] columns, short[] klasses) {
+        this.columns = columns;
+        this.klasses = klasses;
+        this.size = klasses.length;
+    }
+
+    /**
+     * Adds a new instance at the end of the storage. The example has the same
+     * layout as {@link Instance}, that is, the values for each attribute followed
+     * by the class in the last position
+     *
+     * @param example internal representation of the instance to be added
+     */
+    public void add(short[] example) {
+        if (this.size == this.klasses.length) {
+            this.grow(this.size + 1);
+        }
+
+        for (int j = 0; j < this.columns.length; j++) {
+            this.columns[j][this.size] = example[j];
+        }
+        this.klasses[this.size] = example[this.columns.length];
+
+        this.size++;
+    }
+
+    /**
+     * Adds all the instances of another storage at the end of this one, keeping
+     * their order
+     *
+     * @param other storage with the same number of attributes
+     */
+    public void addAll(ColumnarStorage other) {
+        if (this.size + other.size > this.klasses.length) {
+            this.grow(this.size + other.size);
+        }
+
+        for (int j = 0; j < this.columns.length; j++) {
+            System.arraycopy(other.columns[j], 0, this.columns[j], this.size, other.size);
+        }
+        System.arraycopy(other.klasses, 0, this.klasses, this.size, other.size);
+
+        this.size += other.size;
+    }
+
+    /**
+     * Get the value of one attribute for the specified instance
+     *
+     * @param indexInstance  index of the instance
+     * @param indexAttribute index of the attribute
+     * @return the internal representation of the value
+     */
+    public short get(int indexInstance, int indexAttribute) {
+        return this.columns[indexAttribute][indexInstance];
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Storage#getInt(int, int)
+     */
+    @Override
+    public int getInt(int indexInstance, int indexAttribute) {
+        return this.columns[indexAttribute][indexInstance];
+    }
+
+    /**
+     * Get the class for the specified instance
+     *
+     * @param indexInstance index of the instance
+     * @return the internal representation of the class
+     */
+    public short getKlass(int indexInstance) {
+        return this.klasses[indexInstance];
+    }
+
+    /**
+     * Copies the specified instance into the array passed as argument. Values for
+     * the attributes are copied first, and the class is copied in the last
+     * position
+     *
+     * @param indexInstance index of the instance
+     * @param example       array where the instance is copied, it must have space
+     *                      for all the attributes and the class
+     */
+    public void copy(int indexInstance, short[] example) {
+        for (int j = 0; j < this.columns.length; j++) {
+            example[j] = this.columns[j][indexInstance];
+        }
+        example[this.columns.length] = this.klasses[indexInstance];
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Storage#copy(int, int[])
+     */
+    @Override
+    public void copy(int indexInstance, int[] example) {
+        for (int j = 0; j < this.columns.length; j++) {
+            example[j] = this.columns[j][indexInstance];
+        }
+        example[this.columns.length] = this.klasses[indexInstance];
+    }
+
+    /**
+     * Get the number of instances stored
+     *
+     * @return the number of instances
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the number of attributes (without the class) stored per instance
+     *
+     * @return the number of attributes
+     */
+    public int getNumberAttributes() {
+        return this.columns.length;
+    }
+
+    /**
+     * Releases the capacity reserved but not used
+     */
+    public void trimToSize() {
+        if (this.size < this.klasses.length) {
+            for (int j = 0; j < this.columns.length; j++) {
+                this.columns[j] = Arrays.copyOf(this.columns[j], this.size);
+            }
+            this.klasses = Arrays.copyOf(this.klasses, this.size);
+        }
+    }
+
+    /**
+     * Approximated number of bytes used to store the values. Overhead of the
+     * arrays themselves is not considered
+     *
+     * @return the number of bytes reserved by this storage
+     */
+    public long sizeInBytes() {
+        return (long) this.klasses.length * (this.columns.length + 1) * Short.BYTES;
+    }
+
+    /**
+     * Increase the capacity of the storage. Capacity is increased by a half of
+     * the current capacity to amortize the cost of copying arrays
+     *
+     * @param minCapacity minimum number of instances required
+     */
+    private void grow(int minCapacity) {
+        int capacity = this.klasses.length + (this.klasses.length >> 1);
+        if (capacity < minCapacity)
+            capacity = minCapacity;
+
+        for (int j = 0; j < this.columns.length; j++) {
+            this.columns[j] = Arrays.copyOf(this.columns[j], capacity);
+        }
+        this.klasses = Arrays.copyOf(this.klasses, capacity);
+    }
+}
@@ -17,10 +17,9 @@
  */
 package lac.data;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 
 /**
  * Class containing the logic to read dataset in comma-separated values. RFC for
@@ -30,7 +29,7 @@ public class CsvDataset extends Dataset {
     /**
      * Separator for each attribute per line
      */
-    private static String SEPARATOR = ",";
+    private static char SEPARATOR = ',';
 
     /**
      * Name for the class in the dataset 
@@ -38,7 +37,9 @@ public class CsvDataset extends Dataset {
     private static String KLASS = "class";
 
     /**
-     * Constructor
+     * Constructor. The file is read twice: first to obtain the metadata of the
+     * attributes, and then to codify the instances directly into the dataset. In
+     * this way, the original values are never kept in memory
      * 
      * @param path
      * @throws Exception
@@ -51,40 +52,31 @@ public class CsvDataset extends Dataset {
             String[] paths = path.split(".+?/(?=[^/]+$)");
             this.name = paths[paths.length - 1];
 
-            FileReader fileReader = new FileReader(path);
-            BufferedReader bufferedReader = new BufferedReader(fileReader);
-
-            // Read the header line
-            String header = bufferedReader.readLine().replaceAll(" *", "");
-
-            // Obtains the name of the attributes from the header
-            String[] nameAttributes = header.split(",");
+            ArrayList<String> values = new ArrayList<String>();
+            String[] nameAttributes;
 
             // Used to save the metadata information for all the attributes
-            ArrayList<ArrayList<String>> metadataAttributes = new ArrayList<ArrayList<String>>();
-            for (int i = 0; i < nameAttributes.length; i++) {
-                metadataAttributes.add(new ArrayList<String>());
-            }
+            ArrayList<HashSet<String>> metadataAttributes = new ArrayList<HashSet<String>>();
 
-            ArrayList<String[]> lines = new ArrayList<String[]>();
-            // Read all the dataset, each different value is saved in metadata
-            String line;
-            while ((line = bufferedReader.readLine()) != null) {
-                // Remove empty spaces
-                line = line.replaceAll(" *", "");
+            try (CsvTokenizer tokenizer = new CsvTokenizer(path, SEPARATOR)) {
+                // Read the header line, and obtain the name of the attributes from it
+                tokenizer.next(values);
+                nameAttributes = values.toArray(new String[values.size()]);
 
-                String[] values = line.split(SEPARATOR);
+                for (int i = 0; i < nameAttributes.length; i++) {
+                    metadataAttributes.add(new HashSet<String>());
+                }
 
-                if (line.isEmpty() || values.length <= 0)
-                    continue;
+                // Read all the dataset, each different value is saved in metadata
+                while (tokenizer.next(values)) {
+                    if (values.isEmpty())
+                        continue;
 
-                // For each value for this instance, save it in the metadata information
-                for (int i = 0; i < values.length; i++) {
-                    if (!metadataAttributes.get(i).contains(values[i]))
-                        metadataAttributes.get(i).add(values[i]);
+                    // For each value for this instance, save it in the metadata information
+                    for (int i = 0; i < values.size(); i++) {
+                        metadataAttributes.get(i).add(values.get(i));
+                    }
                 }
-
-                lines.add(values);
             }
 
             // Once all the different values have been saved, start iterating to find which
@@ -92,9 +84,11 @@ public class CsvDataset extends Dataset {
             for (int i = 0; i < metadataAttributes.size(); i++) {
                 // Check if is numeric
                 boolean isNumeric = true;
-                for (int j = 0; j < metadataAttributes.get(i).size() && isNumeric; j++) {
-                    if (!isNumeric(metadataAttributes.get(i).get(j)))
+                for (String value : metadataAttributes.get(i)) {
+                    if (!isNumeric(value)) {
                         isNumeric = false;
+                        break;
+                    }
                 }
 
                 String nameAttribute = nameAttributes[i];
@@ -102,25 +96,37 @@ public class CsvDataset extends Dataset {
                 if (isNumeric) {
                     this.addNumericAttribute(nameAttributes[i]);
                 } else {
-                    String[] values = new String[metadataAttributes.get(i).size()];
-                    metadataAttributes.get(i).toArray(values);
-                    Arrays.sort(values);
+                    String[] labels = new String[metadataAttributes.get(i).size()];
+                    metadataAttributes.get(i).toArray(labels);
+                    Arrays.sort(labels);
 
                     if (nameAttribute.contains(KLASS)) {
-                        this.addKlass(values);
+                        this.addKlass(labels);
                     } else {
-                        this.addNominalAttribute(nameAttribute, values);
+                        this.addNominalAttribute(nameAttribute, labels);
                     }
                 }
             }
+            metadataAttributes.clear();
+
+            // After setting metadata, dataset is stored reading again the file
+            try (CsvTokenizer tokenizer = new CsvTokenizer(path, SEPARATOR)) {
+                // Skip the header
+                tokenizer.next(values);
+
+                String[] instance = new String[nameAttributes.length];
+                while (tokenizer.next(values)) {
+                    if (values.isEmpty())
+                        continue;
 
-            // After setting metadata, dataset is stored
-            for (int i = 0; i < lines.size(); i++) {
-                this.addInstance(lines.get(i));
+                    if (values.size() != instance.length)
+                        instance = new String[values.size()];
+
+                    this.addInstance(values.toArray(instance));
+                }
             }
-            lines.clear();
 
-            bufferedReader.close();
+            this.trimToSize();
         } catch (Exception e) {
             System.out.println("File " + path + " cannot be found.");
             throw e;
@@ -0,0 +1,172 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Tokenizer for delimited files. It reads the file in large blocks of bytes and
+ * splits each line into values without using regular expressions nor creating
+ * an intermediate string for the whole line. Blanks are removed from the values
+ * and empty values at the end of the line are ignored, that is, each line is
+ * tokenized as line.replaceAll(" *", "").split(separator) would do
+ */
+class CsvTokenizer implements Closeable {
+    /**
+     * Size of the blocks read from disk
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Stream where the bytes are read from
+     */
+    private InputStream input;
+
+    /**
+     * Block of bytes currently being tokenized
+     */
+    private byte[] buffer = new byte[BUFFER_SIZE];
+
+    /**
+     * Position of the next byte to be processed in the buffer
+     */
+    private int position = 0;
+
+    /**
+     * Number of valid bytes in the buffer
+     */
+    private int limit = 0;
+
+    /**
+     * Bytes of the value being read
+     */
+    private byte[] value = new byte[64];
+
+    /**
+     * Character used to separate values in the same line
+     */
+    private byte separator;
+
+    /**
+     * Constructor. Compressed files are decompressed while they are read
+     *
+     * @param path      of the file to be read
+     * @param separator character used to separate values
+     * @throws IOException
+     */
+    CsvTokenizer(String path, char separator) throws IOException {
+        this(Dataset.open(path), separator);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param input     stream where the bytes are read from
+     * @param separator character used to separate values
+     */
+    CsvTokenizer(InputStream input, char separator) {
+        this.input = input;
+        this.separator = (byte) separator;
+    }
+
+    /**
+     * Reads the next line of the file. Lines without values are also returned,
+     * and values list is empty for them
+     *
+     * @param values list where the values of the line are stored, it is cleared
+     *               before being filled
+     * @return false when the end of the file has been reached, true otherwise
+     * @throws IOException
+     */
+    boolean next(ArrayList<String> values) throws IOException {
+        values.clear();
+
+        if (!this.fill())
+            return false;
+
+        int length = 0;
+        while (this.fill()) {
+            byte b = this.buffer[this.position++];
+
+            if (b == '\n' || b == '\r') {
+                // Windows line endings are formed by two characters
+                if (b == '\r' && this.fill() && this.buffer[this.position] == '\n')
+                    this.position++;
+                break;
+            } else if (b == this.separator) {
+                values.add(this.toValue(length));
+                length = 0;
+            } else if (b != ' ') {
+                if (length == this.value.length)
+                    this.value = Arrays.copyOf(this.value, length * 2);
+                this.value[length++] = b;
+            }
+        }
+        values.add(this.toValue(length));
+
+        // Trailing empty values are discarded, as String.split does
+        while (!values.isEmpty() && values.get(values.size() - 1).isEmpty())
+            values.remove(values.size() - 1);
+
+        return true;
+    }
+
+    /**
+     * Decodes the bytes read for the current value
+     *
+     * @param length number of bytes of the value
+     * @return the value
+     */
+    private String toValue(int length) {
+        return length == 0 ? "" : new String(this.value, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Ensures that there is at least one byte available in the buffer
+     *
+     * @return false when the end of the file has been reached, true otherwise
+     * @throws IOException
+     */
+    private boolean fill() throws IOException {
+        while (this.position == this.limit) {
+            this.limit = this.input.read(this.buffer);
+            this.position = 0;
+
+            if (this.limit < 0) {
+                this.limit = 0;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+}
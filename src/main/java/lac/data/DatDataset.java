@@ -17,8 +17,6 @@
  */
 package lac.data;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -71,14 +69,24 @@ public class DatDataset extends Dataset {
      * @throws Exception
      */
     public DatDataset(String path) throws Exception {
-        super();
+        this(path, 1);
+    }
 
-        try {
-            FileReader fileReader = new FileReader(path);
-            BufferedReader bufferedReader = new BufferedReader(fileReader);
+    /**
+     * Constructor for the dataset. The header is read sequentially, and then the
+     * data section is split into chunks which are parsed concurrently
+     * 
+     * @param path          of the dataset to be read
+     * @param numberThreads number of threads used to parse the data section, when
+     *                      it is 1 the file is read line by line
+     * @throws Exception
+     */
+    public DatDataset(String path, int numberThreads) throws Exception {
+        super();
 
+        try (DataSectionReader reader = new DataSectionReader(path)) {
             String line;
-            while ((line = bufferedReader.readLine()) != null) {
+            while ((line = reader.readLine()) != null) {
                 // Remove empty spaces
                 line = line.trim();
 
@@ -97,11 +105,18 @@ public class DatDataset extends Dataset {
                         this.indexes.remove(this.getNumberAttributes());
                         this.addKlass(attrKlass.getValues());
                     }
+
+                    // Metadata is complete, the rest of the file is data. Compressed
+                    // datasets, and those encoded as ints, are always read line by line
+                    if (numberThreads > 1 && reader.isSplittable() && this.getEncoding() == ItemEncoding.SHORT) {
+                        reader.parse(this, reader.getLineStart(), numberThreads);
+                        break;
+                    }
                     this.proccessData(line);
                 }
             }
 
-            bufferedReader.close();
+            this.trimToSize();
         } catch (Exception e) {
             System.err.println("File " + path + " cannot be found.");
             throw e;
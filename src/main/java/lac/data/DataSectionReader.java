@@ -0,0 +1,402 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Reader for text formats with a header followed by the data section, such as
+ * ARFF or KEEL. The header is read line by line, and once the metadata is
+ * complete, the data section could be split into chunks of bytes which are
+ * parsed and encoded concurrently. Chunks are added to the dataset in the same
+ * order they appear in the file, so the result is the same as reading it line
+ * by line.
+ *
+ * Compressed files are decompressed while they are read, and since they cannot
+ * be split into chunks, they are always read sequentially.
+ *
+ * Each line of the data section is tokenized as line.trim().split(",") would
+ * do. Empty lines, comments and lines with metadata are ignored while reading
+ * the data section in parallel.
+ */
+class DataSectionReader implements Closeable {
+    /**
+     * Character used to specify a comment
+     */
+    private static String COMMENT_CHAR1 = "%";
+
+    /**
+     * Character used to specify a comment
+     */
+    private static String COMMENT_CHAR2 = "#";
+
+    /**
+     * Character used to specify that a line contains meta-information
+     */
+    private static String META_CHAR = "@";
+
+    /**
+     * Separator used to separate each value in the instances
+     */
+    private static String SEPARATOR = ",";
+
+    /**
+     * Number of chunks per thread, more chunks than threads are used to balance
+     * the load when some chunks are slower to be parsed than others
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Channel of the file being read, shared by all the chunks because it
+     * supports concurrent reads at different positions. It is null when the file
+     * is compressed
+     */
+    private FileChannel channel;
+
+    /**
+     * Channel where the header is read from, the uncompressed content when the
+     * file is compressed
+     */
+    private ReadableByteChannel input;
+
+    /**
+     * Reader used for the header
+     */
+    private LineReader header;
+
+    /**
+     * Constructor
+     *
+     * @param path of the file to be read
+     * @throws IOException
+     */
+    DataSectionReader(String path) throws IOException {
+        if (Dataset.isCompressed(path)) {
+            this.input = Channels.newChannel(Dataset.open(path));
+        } else {
+            this.channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+            this.input = this.channel;
+        }
+        this.header = new LineReader(this.input, 0);
+    }
+
+    /**
+     * Check if the data section could be split into chunks to be parsed
+     * concurrently by means of {@link #parse(Dataset, long, int)}
+     *
+     * @return false when the file is compressed, true otherwise
+     */
+    boolean isSplittable() {
+        return this.channel != null;
+    }
+
+    /**
+     * Reads the next line of the file sequentially
+     *
+     * @return the line without the line terminator, null when the end of the file
+     *         has been reached
+     * @throws IOException
+     */
+    String readLine() throws IOException {
+        return this.header.readLine();
+    }
+
+    /**
+     * Get the position in the file of the last line returned by
+     * {@link #readLine()}
+     *
+     * @return the offset in bytes where the line starts
+     */
+    long getLineStart() {
+        return this.header.lineStart;
+    }
+
+    /**
+     * Parses the data section concurrently and adds all its instances to the
+     * dataset. Metadata of the dataset must be complete before calling it
+     *
+     * @param dataset       where the instances are added
+     * @param start         position of the file where the data section starts
+     * @param numberThreads number of threads used to parse the data section
+     * @throws Exception
+     */
+    void parse(Dataset dataset, long start, int numberThreads) throws Exception {
+        long length = this.channel.size() - start;
+        long chunkSize = Math.max(1, length / ((long) numberThreads * CHUNKS_PER_THREAD));
+
+        ForkJoinPool pool = new ForkJoinPool(numberThreads);
+        try {
+            ArrayList<ForkJoinTask<Chunk>> tasks = new ArrayList<ForkJoinTask<Chunk>>();
+            for (long position = start; position < start + length; position += chunkSize) {
+                long from = position;
+                long to = Math.min(position + chunkSize, start + length);
+                tasks.add(pool.submit(() -> this.parseChunk(dataset, start, from, to)));
+            }
+
+            // Chunks are merged in order while the following ones are still being parsed
+            for (ForkJoinTask<Chunk> task : tasks) {
+                Chunk chunk = join(task);
+                dataset.addInstances(chunk.instances, chunk.numericInstances, chunk.frequencyByKlass,
+                        chunk.notNominalValue);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Parses the lines starting in the specified range of bytes. The line which
+     * contains the first byte of the range belongs to the previous chunk, unless
+     * it starts exactly at that byte
+     *
+     * @param dataset   whose metadata is used to encode the instances
+     * @param dataStart position of the file where the data section starts
+     * @param from      first byte of the chunk
+     * @param to        first byte after the chunk
+     * @return the instances of the chunk
+     * @throws Exception
+     */
+    private Chunk parseChunk(Dataset dataset, long dataStart, long from, long to) throws Exception {
+        Chunk chunk = new Chunk(dataset);
+        short[] example = dataset.createInstanceBuffer();
+        double[] numeric = chunk.numericInstances == null ? null : new double[dataset.getNumberAttributes()];
+        LineReader reader = new LineReader(this.channel, from);
+
+        // Partial line at the beginning, it is parsed by the previous chunk
+        if (from > dataStart && !this.isLineStart(from))
+            reader.readLine();
+
+        String line;
+        while (reader.offset < to && (line = reader.readLine()) != null) {
+            line = line.trim();
+
+            if (line.isEmpty() || line.startsWith(COMMENT_CHAR1) || line.startsWith(COMMENT_CHAR2)
+                    || line.startsWith(META_CHAR))
+                continue;
+
+            String notNominalValue = dataset.encode(line.split(SEPARATOR), example, numeric);
+            if (chunk.notNominalValue == null)
+                chunk.notNominalValue = notNominalValue;
+
+            chunk.frequencyByKlass.merge(example[example.length - 1], 1L, Long::sum);
+            chunk.instances.add(example);
+            if (numeric != null)
+                chunk.numericInstances.add(numeric);
+        }
+
+        chunk.instances.trimToSize();
+        return chunk;
+    }
+
+    /**
+     * Check if a line starts at the specified position
+     *
+     * @param position in the file
+     * @return true if the previous byte is a line terminator
+     * @throws IOException
+     */
+    private boolean isLineStart(long position) throws IOException {
+        ByteBuffer previous = ByteBuffer.allocate(1);
+        this.channel.read(previous, position - 1);
+        byte b = previous.get(0);
+
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * Waits for a chunk to be parsed, rethrowing the exception that could be
+     * raised while parsing it
+     *
+     * @param task parsing the chunk
+     * @return the parsed chunk
+     * @throws Exception
+     */
+    private static Chunk join(ForkJoinTask<Chunk> task) throws Exception {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception)
+                throw (Exception) e.getCause();
+            throw e;
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+
+    /**
+     * Instances parsed from one chunk, with the same information that
+     * {@link Dataset#addInstance(String[])} keeps for each instance
+     */
+    private static class Chunk {
+        /**
+         * Internal representation of the instances
+         */
+        private ColumnarStorage instances;
+
+        /**
+         * Original values of the numeric attributes, null if there are none
+         */
+        private NumericStorage numericInstances = null;
+
+        /**
+         * Number of instances per class
+         */
+        private HashMap<Short, Long> frequencyByKlass = new HashMap<Short, Long>();
+
+        /**
+         * First original value which was not nominal
+         */
+        private String notNominalValue = null;
+
+        /**
+         * Constructor
+         *
+         * @param dataset whose metadata is used to encode the instances
+         */
+        private Chunk(Dataset dataset) {
+            this.instances = new ColumnarStorage(dataset.getNumberAttributes());
+            if (NumericStorage.isNeeded(dataset.attributes))
+                this.numericInstances = new NumericStorage(dataset.attributes);
+        }
+    }
+
+    /**
+     * Reads lines from any position of the file. Several readers could work over
+     * the same channel because they use absolute positions. Channels which are not
+     * files, such as the ones of compressed files, are read sequentially
+     */
+    private static class LineReader {
+        /**
+         * Size of the blocks read from disk
+         */
+        private static final int BUFFER_SIZE = 1 << 16;
+
+        /**
+         * Channel of the file being read
+         */
+        private ReadableByteChannel channel;
+
+        /**
+         * Block of bytes currently being read
+         */
+        private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        /**
+         * Position in the file of the next byte to be read
+         */
+        private long offset;
+
+        /**
+         * Position in the file of the last line returned
+         */
+        private long lineStart = -1;
+
+        /**
+         * Bytes of the line being read
+         */
+        private byte[] line = new byte[256];
+
+        /**
+         * Constructor
+         *
+         * @param channel of the file to be read
+         * @param offset  position of the first byte to be read
+         */
+        private LineReader(ReadableByteChannel channel, long offset) {
+            this.channel = channel;
+            this.offset = offset;
+            this.buffer.flip();
+        }
+
+        /**
+         * Reads the next line, which is finished by \n, \r or \r\n
+         *
+         * @return the line without the line terminator, null when the end of the
+         *         file has been reached
+         * @throws IOException
+         */
+        private String readLine() throws IOException {
+            if (!this.fill())
+                return null;
+
+            this.lineStart = this.offset;
+
+            int length = 0;
+            while (this.fill()) {
+                byte b = this.buffer.get();
+                this.offset++;
+
+                if (b == '\n' || b == '\r') {
+                    if (b == '\r' && this.fill() && this.buffer.get(this.buffer.position()) == '\n') {
+                        this.buffer.get();
+                        this.offset++;
+                    }
+                    break;
+                }
+
+                if (length == this.line.length)
+                    this.line = Arrays.copyOf(this.line, length * 2);
+                this.line[length++] = b;
+            }
+
+            return new String(this.line, 0, length, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Ensures that there is at least one byte available in the buffer
+         *
+         * @return false when the end of the file has been reached, true otherwise
+         * @throws IOException
+         */
+        private boolean fill() throws IOException {
+            while (!this.buffer.hasRemaining()) {
+                this.buffer.clear();
+                int read = this.channel instanceof FileChannel
+                        ? ((FileChannel) this.channel).read(this.buffer, this.offset)
+                        : this.channel.read(this.buffer);
+                this.buffer.flip();
+
+                if (read < 0)
+                    return false;
+            }
+            return true;
+        }
+    }
+}
@@ -17,8 +17,23 @@
  */
 package lac.data;
 
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.Buffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipInputStream;
 
 /**
  * Base class used to represent a Dataset in LAC. All the other formats has to
@@ -26,9 +41,80 @@ import java.util.HashMap;
  */
 public abstract class Dataset {
     /**
-     * Array with all the instances
+     * Whether new datasets keep their instances off the heap, see
+     * {@link #setOffHeap(boolean)}
      */
-    protected ArrayList<Instance> instances = null;
+    private static volatile boolean offHeap = "true".equalsIgnoreCase(System.getenv("LAC_OFF_HEAP"));
+
+    /**
+     * Whether identical instances of the training datasets are collapsed before
+     * training, see {@link #setDeduplicate(boolean)}
+     */
+    private static volatile boolean deduplicate = "true".equalsIgnoreCase(System.getenv("LAC_DEDUPLICATE"));
+
+    /**
+     * Storage with the internal representation of all the instances. It is
+     * created once the metadata of the attributes is known, that is, when the
+     * first instance is added
+     */
+    protected Storage storage = null;
+
+    /**
+     * Original values of the numeric attributes, which are kept to be
+     * discretized. It is null when there are no numeric attributes, or when the
+     * format does not store them
+     */
+    protected NumericStorage numericValues = null;
+
+    /**
+     * Buffer used to codify each instance before being added to the storage
+     */
+    private short[] exampleBuffer = null;
+
+    /**
+     * Buffer used to codify each instance when values are encoded as ints
+     */
+    private int[] intExampleBuffer = null;
+
+    /**
+     * Buffer used to parse the numeric values of each instance
+     */
+    private double[] numericBuffer = null;
+
+    /**
+     * Buffer used to codify each sparse instance, with the index of the
+     * attribute of each value specified
+     */
+    private int[] sparseAttributes = null;
+
+    /**
+     * Buffer used to codify each sparse instance, with the internal
+     * representation of each value specified
+     */
+    private short[] sparseValues = null;
+
+    /**
+     * Vertical representation of the instances, shared by all the algorithms. It
+     * is lazily built the first time it is requested
+     */
+    private volatile VerticalIndex verticalIndex = null;
+
+    /**
+     * Support of each item and of each item with each class, shared by all the
+     * algorithms. It is lazily built the first time it is requested
+     */
+    private volatile SupportTable supportTable = null;
+
+    /**
+     * Weighted view with one instance per distinct instance of this dataset. It
+     * is lazily built the first time it is requested
+     */
+    private volatile DatasetView deduplicated = null;
+
+    /**
+     * Whether this dataset is shared and cannot be modified anymore
+     */
+    private volatile boolean frozen = false;
 
     /**
      * Meta-data information of the class
@@ -46,20 +132,48 @@ public abstract class Dataset {
     protected ArrayList<Attribute> attributes;
 
     /**
-     * Dictionary used to do the matching between the internal value in short, to
-     * the original value
+     * Original value for each internal representation. It is lazily built from
+     * the metadata of the attributes and the class
+     */
+    private String[] valuesByIndex = null;
+
+    /**
+     * Position of the attribute for each internal representation, -1 for the
+     * class
+     */
+    private int[] attributesByIndex = null;
+
+    /**
+     * Original value of the first value found in the instances which was not
+     * nominal, returned as the original value for -1
      */
-    protected HashMap<Short, String> indexIdentities;
+    protected String notNominalValue = null;
 
     /**
      * Array to store the internal representation by attribute
      */
-    protected ArrayList<ArrayList<Short>> indexes;
+    protected ArrayList<ArrayList<Integer>> indexes;
+
+    /**
+     * Extension of the files compressed with gzip
+     */
+    private static final String GZIP_EXTENSION = ".gz";
+
+    /**
+     * Extension of the files compressed with zip
+     */
+    private static final String ZIP_EXTENSION = ".zip";
+
+    /**
+     * Size of the buffer for the compressed bytes, large enough to read the
+     * compressed files in a few calls
+     */
+    private static final int DECOMPRESSION_BUFFER_SIZE = 1 << 16;
 
     /**
      * Internal field used to calculate the internal representation of the values
      */
-    protected short lastIndex;
+    protected int lastIndex;
 
     /**
      * Position of the class in the instance
@@ -82,10 +196,21 @@ public abstract class Dataset {
     public Dataset() {
         this.lastIndex = -1; // In that way, it will start at 0
         this.frequencyByKlass = new HashMap<Short, Long>();
-        this.indexIdentities = new HashMap<Short, String>();
-        this.instances = new ArrayList<Instance>();
         this.attributes = new ArrayList<Attribute>();
-        this.indexes = new ArrayList<ArrayList<Short>>();
+        this.indexes = new ArrayList<ArrayList<Integer>>();
+    }
+
+    /**
+     * Get the width of the internal representation of the values. It is short
+     * while all the values of the attributes and the class fit in a short, and
+     * int otherwise. Values of datasets encoded as ints have to be read with the
+     * methods using ints, such as {@link #getInt(int, int)} or
+     * {@link #getInstance(int, int[])}, which are valid for both encodings
+     * 
+     * @return the encoding of the values
+     */
+    public ItemEncoding getEncoding() {
+        return ItemEncoding.forNumberItems(this.lastIndex + 1L);
     }
 
     /**
@@ -123,7 +248,108 @@ public abstract class Dataset {
      * @return the number of instances
      */
     public int size() {
-        return this.instances.size();
+        return this.storage == null ? 0 : this.storage.size();
+    }
+
+    /**
+     * Get the number of times the specified instance appears in the original
+     * data. It is always one, except for weighted datasets
+     * 
+     * @param indexInstance index of the instance
+     * @return the weight of the instance
+     */
+    public int getWeight(int indexInstance) {
+        return 1;
+    }
+
+    /**
+     * Check if the instances of this dataset have weights, that is, if each one
+     * could represent several identical instances
+     * 
+     * @return true if instances are weighted, false otherwise
+     */
+    public boolean isWeighted() {
+        return false;
+    }
+
+    /**
+     * Get the number of instances represented by this dataset, that is, the sum
+     * of the weights of all its instances. It has to be used instead of
+     * {@link #size()} when calculating relative supports
+     * 
+     * @return the number of instances represented
+     */
+    public long getWeightedSize() {
+        return this.size();
+    }
+
+    /**
+     * Approximated number of bytes used by this dataset, that is, its instances
+     * and the structures derived from them which have already been built (vertical
+     * index, table of supports and deduplicated view). Since derived structures
+     * are built on demand, the size grows as they are requested. Metadata is not
+     * considered
+     * 
+     * @return the number of bytes used by the instances and derived structures
+     */
+    public long sizeInBytes() {
+        long size = this.storage == null ? 0 : this.storage.sizeInBytes();
+        if (this.numericValues != null)
+            size += this.numericValues.sizeInBytes();
+
+        return size + this.derivedSizeInBytes();
+    }
+
+    /**
+     * Approximated number of bytes used by the structures derived from the
+     * instances which have already been built
+     * 
+     * @return the number of bytes used by the derived structures
+     */
+    protected long derivedSizeInBytes() {
+        long size = 0;
+
+        VerticalIndex verticalIndex = this.verticalIndex;
+        if (verticalIndex != null)
+            size += verticalIndex.sizeInBytes();
+
+        SupportTable supportTable = this.supportTable;
+        if (supportTable != null)
+            size += supportTable.sizeInBytes();
+
+        DatasetView deduplicated = this.deduplicated;
+        if (deduplicated != null)
+            size += deduplicated.sizeInBytes();
+
+        return size;
+    }
+
+    /**
+     * Prevents any further modification of this dataset, so that it could be
+     * safely shared, for example, between several executions. Structures derived
+     * from the instances are still built on demand
+     */
+    public void freeze() {
+        this.frozen = true;
+    }
+
+    /**
+     * Check whether this dataset has been frozen, see {@link #freeze()}
+     * 
+     * @return true if the dataset cannot be modified anymore
+     */
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    /**
+     * Ensures this dataset may still be modified
+     * 
+     * @throws IllegalStateException when the dataset has been frozen
+     */
+    private void checkNotFrozen() {
+        if (this.frozen)
+            throw new IllegalStateException("Dataset " + this.name + " is shared, it cannot be modified.");
     }
 
     /**
@@ -137,18 +363,154 @@ public abstract class Dataset {
     }
 
     /**
-     * Get the example situated in this position
+     * Get the example situated in this position. Instances are not stored as
+     * objects, so a new view is created on each call. It is valid for any
+     * encoding, the instance keeps its values with the same encoding as the
+     * dataset
      * 
      * @param indexInstance index for the instance
      * @return the example situated in this index
      */
     public Instance getInstance(int indexInstance) {
-        return this.instances.get(indexInstance);
+        if (this.storage instanceof ShortStorage) {
+            short[] example = new short[this.storage.getNumberAttributes() + 1];
+            ((ShortStorage) this.storage).copy(indexInstance, example);
+
+            return new Instance(example);
+        }
+
+        int[] example = new int[this.storage.getNumberAttributes() + 1];
+        this.storage.copy(indexInstance, example);
+
+        return new Instance(example);
+    }
+
+    /**
+     * Copies the example situated in this position into the array passed as
+     * argument. It does not allocate memory, so it should be preferred over
+     * {@link #getInstance(int)} when all the instances are traversed. It is only
+     * valid when values are encoded as shorts, see
+     * {@link #getInstance(int, int[])} otherwise
+     * 
+     * @param indexInstance index for the instance
+     * @param example       array where the values are copied, its length must be
+     *                      the number of attributes plus one for the class
+     * @return the same array passed as argument
+     * @throws IllegalStateException when values are encoded as ints
+     */
+    public short[] getInstance(int indexInstance, short[] example) {
+        this.getShortStorage().copy(indexInstance, example);
+
+        return example;
+    }
+
+    /**
+     * Copies the example situated in this position into the array of ints passed
+     * as argument, which is valid for any encoding. See
+     * {@link #getInstance(int, short[])}
+     * 
+     * @param indexInstance index for the instance
+     * @param example       array where the values are copied, its length must be
+     *                      the number of attributes plus one for the class
+     * @return the same array passed as argument
+     */
+    public int[] getInstance(int indexInstance, int[] example) {
+        this.storage.copy(indexInstance, example);
+
+        return example;
+    }
+
+    /**
+     * Check if the original values of the numeric attributes are available, so
+     * that they could be discretized
+     * 
+     * @return true if the original values are kept
+     */
+    public boolean hasNumericValues() {
+        return this.numericValues != null;
+    }
+
+    /**
+     * Get the original value of a numeric attribute for the specified instance.
+     * It is only available when {@link #hasNumericValues()} is true
+     * 
+     * @param indexInstance  index of the instance
+     * @param indexAttribute index of the attribute, it must be numeric
+     * @return the original value, NaN when it is missing
+     */
+    public double getNumericValue(int indexInstance, int indexAttribute) {
+        return this.numericValues.get(indexInstance, indexAttribute);
+    }
+
+    /**
+     * Get the internal representation of one value of the specified example. It
+     * is only valid when values are encoded as shorts, see
+     * {@link #getInt(int, int)} otherwise
+     * 
+     * @param indexInstance  index for the instance
+     * @param indexAttribute index for the attribute
+     * @return the internal representation of the value, -1 for values which are
+     *         not nominal
+     * @throws IllegalStateException when values are encoded as ints
+     */
+    public short get(int indexInstance, int indexAttribute) {
+        return this.getShortStorage().get(indexInstance, indexAttribute);
+    }
+
+    /**
+     * Get the internal representation of one value of the specified example as
+     * an int, which is valid for any encoding
+     * 
+     * @param indexInstance  index for the instance
+     * @param indexAttribute index for the attribute
+     * @return the internal representation of the value, -1 for values which are
+     *         not nominal
+     */
+    public int getInt(int indexInstance, int indexAttribute) {
+        return this.storage.getInt(indexInstance, indexAttribute);
+    }
+
+    /**
+     * Get the storage of the instances as a storage of shorts, which is only
+     * possible when values are encoded as shorts
+     * 
+     * @return the storage of the instances
+     * @throws IllegalStateException when values are encoded as ints
+     */
+    private ShortStorage getShortStorage() {
+        if (this.storage instanceof ShortStorage)
+            return (ShortStorage) this.storage;
+
+        throw new IllegalStateException(
+                "Values of " + this.name + " are encoded as ints, they have to be read as ints.");
+    }
+
+    /**
+     * Creates an array with space for all the values of one example, that is, the
+     * attributes and the class. It is intended to be reused with
+     * {@link #getInstance(int, short[])}
+     * 
+     * @return an array to store one example
+     */
+    public short[] createInstanceBuffer() {
+        return new short[this.getNumberAttributes() + 1];
+    }
+
+    /**
+     * Creates an array of ints with space for all the values of one example. It
+     * is intended to be reused with {@link #getInstance(int, int[])}
+     * 
+     * @return an array to store one example
+     */
+    public int[] createIntInstanceBuffer() {
+        return new int[this.getNumberAttributes() + 1];
     }
 
     /**
      * Read a dataset from disk, and return an instance of Dataset. It makes use of
-     * the extension to determine which parser should be used
+     * the extension to determine which parser should be used. Files compressed
+     * with gzip (.gz) or zip (.zip) are decompressed while they are parsed, using
+     * the extension previous to the one of the compression, e.g. data.arff.gz
      * 
      * @param path where the file is stored
      * @return an instance of dataset
@@ -156,10 +518,7 @@ public abstract class Dataset {
      */
     @SuppressWarnings("unchecked")
     public static Dataset read(String path) throws Exception {
-        // +1 and only the extension will be saved (without dot)
-        String extension = path.substring(path.lastIndexOf(".") + 1).toLowerCase();
-        // Extension with the first character as upcase
-        String upperCaseExtension = extension.substring(0, 1).toUpperCase() + extension.substring(1);
+        String upperCaseExtension = getFormat(path);
         try {
             @SuppressWarnings("rawtypes")
             Class datasetKlass = Class.forName("lac.data." + upperCaseExtension + "Dataset");
@@ -170,6 +529,128 @@ public abstract class Dataset {
         }
     }
 
+    /**
+     * Read a dataset from disk using several threads to parse it. Formats which
+     * cannot be parsed in parallel are read as {@link #read(String)} does
+     *
+     * @param path          where the file is stored
+     * @param numberThreads number of threads used to parse the file
+     * @return an instance of dataset
+     * @throws Exception
+     */
+    public static Dataset read(String path, int numberThreads) throws Exception {
+        if (numberThreads <= 1)
+            return read(path);
+
+        String upperCaseExtension = getFormat(path);
+        try {
+            Class<?> datasetKlass = Class.forName("lac.data." + upperCaseExtension + "Dataset");
+            return (Dataset) datasetKlass.getDeclaredConstructor(String.class, int.class).newInstance(path,
+                    numberThreads);
+        } catch (ClassNotFoundException | NoSuchMethodException exception) {
+            return read(path);
+        } catch (InvocationTargetException exception) {
+            if (exception.getCause() instanceof Exception)
+                throw (Exception) exception.getCause();
+            throw exception;
+        }
+    }
+
+    /**
+     * Get the format of a file from its extension, ignoring the extension of the
+     * compression when the file is compressed
+     *
+     * @param path of the file
+     * @return the extension with the first character as upcase, e.g. Arff
+     */
+    private static String getFormat(String path) {
+        if (isCompressed(path))
+            path = path.substring(0, path.lastIndexOf("."));
+
+        // +1 and only the extension will be saved (without dot)
+        String extension = path.substring(path.lastIndexOf(".") + 1).toLowerCase();
+        // Extension with the first character as upcase
+        return extension.substring(0, 1).toUpperCase() + extension.substring(1);
+    }
+
+    /**
+     * Check if a file is compressed with any of the supported codecs
+     *
+     * @param path of the file
+     * @return true if it has to be decompressed by means of {@link #open(String)}
+     */
+    static boolean isCompressed(String path) {
+        String extension = path.toLowerCase();
+        return extension.endsWith(GZIP_EXTENSION) || extension.endsWith(ZIP_EXTENSION);
+    }
+
+    /**
+     * Opens a file to be read, decompressing it on the fly when it is compressed.
+     * Zip files are read from their first entry
+     *
+     * @param path of the file
+     * @return the stream with the uncompressed content of the file
+     * @throws IOException
+     */
+    static InputStream open(String path) throws IOException {
+        InputStream input = new FileInputStream(path);
+        String extension = path.toLowerCase();
+
+        try {
+            if (extension.endsWith(GZIP_EXTENSION))
+                return new GZIPInputStream(input, DECOMPRESSION_BUFFER_SIZE);
+
+            if (extension.endsWith(ZIP_EXTENSION)) {
+                ZipInputStream zip = new ZipInputStream(new BufferedInputStream(input, DECOMPRESSION_BUFFER_SIZE));
+                if (zip.getNextEntry() == null)
+                    throw new IOException("File " + path + " does not contain any entry.");
+                return zip;
+            }
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+
+        return input;
+    }
+
+    /**
+     * Creates the storage for the instances of this dataset, off the heap when
+     * it has been enabled. Values encoded as ints are always kept in the heap
+     * 
+     * @param capacity initial number of instances to be reserved
+     * @return an empty storage
+     * @throws IOException
+     */
+    protected Storage createStorage(int capacity) throws IOException {
+        if (this.getEncoding() == ItemEncoding.INT)
+            return new IntColumnarStorage(this.attributes.size(), capacity);
+        if (offHeap)
+            return new MappedStorage(this.attributes.size());
+
+        return new ColumnarStorage(this.attributes.size(), capacity);
+    }
+
+    /**
+     * Enables or disables keeping the instances of the datasets read from now on
+     * off the heap, in memory-mapped files. It is disabled by default, unless
+     * the environment variable LAC_OFF_HEAP is true
+     * 
+     * @param enabled true to keep instances off the heap
+     */
+    public static void setOffHeap(boolean enabled) {
+        offHeap = enabled;
+    }
+
+    /**
+     * Check if datasets keep their instances off the heap
+     * 
+     * @return true if instances are kept in memory-mapped files
+     */
+    public static boolean isOffHeap() {
+        return offHeap;
+    }
+
     /**
      * Adds an instance to the current dataset
      * 
@@ -177,11 +658,28 @@ public abstract class Dataset {
      * @throws Exception
      */
     public void addInstance(String[] instance) throws Exception {
-        String klass = instance[indexKlass].trim();
+        this.checkNotFrozen();
+        if (this.storage == null) {
+            this.storage = this.createStorage(ColumnarStorage.DEFAULT_CAPACITY);
+            this.createNumericStorage(ColumnarStorage.DEFAULT_CAPACITY);
+        }
+        if (this.getEncoding() == ItemEncoding.INT) {
+            this.addIntInstance(instance);
+            return;
+        }
+        if (this.exampleBuffer == null)
+            this.exampleBuffer = new short[this.attributes.size() + 1];
+        short[] example = this.exampleBuffer;
 
-        Short internalRepresentationKlass = this.getIndexByValueKlass(klass);
-        Instance example = new Instance(instance.length);
+        String notNominalValue = this.encode(instance, example, this.numericBuffer);
+        if (notNominalValue != null) {
+            this.hasMissing = true;
 
+            if (this.notNominalValue == null)
+                this.notNominalValue = notNominalValue;
+        }
+
+        short internalRepresentationKlass = example[example.length - 1];
         if (this.frequencyByKlass.containsKey(internalRepresentationKlass)) {
             this.frequencyByKlass.put(internalRepresentationKlass,
                     this.frequencyByKlass.get(internalRepresentationKlass) + 1);
@@ -189,6 +687,276 @@ public abstract class Dataset {
             this.frequencyByKlass.put(internalRepresentationKlass, 1L);
         }
 
+        this.storage.add(example);
+        if (this.numericValues != null)
+            this.numericValues.add(this.numericBuffer);
+
+        this.instancesAdded(1);
+    }
+
+    /**
+     * Adds an instance to the current dataset when its values are encoded as
+     * ints, see {@link #addInstance(String[])}
+     * 
+     * @param instance to be added into the dataset
+     * @throws Exception
+     */
+    private void addIntInstance(String[] instance) throws Exception {
+        if (this.intExampleBuffer == null)
+            this.intExampleBuffer = new int[this.attributes.size() + 1];
+        int[] example = this.intExampleBuffer;
+
+        String notNominalValue = this.encode(instance, example, this.numericBuffer);
+        if (notNominalValue != null) {
+            this.hasMissing = true;
+
+            if (this.notNominalValue == null)
+                this.notNominalValue = notNominalValue;
+        }
+
+        this.frequencyByKlass.merge((short) example[example.length - 1], 1L, Long::sum);
+
+        this.storage.add(example);
+        if (this.numericValues != null)
+            this.numericValues.add(this.numericBuffer);
+
+        this.instancesAdded(1);
+    }
+
+    /**
+     * Creates the storage for the original values of the numeric attributes,
+     * only when the dataset has any numeric attribute
+     * 
+     * @param capacity initial number of instances to be reserved
+     */
+    private void createNumericStorage(int capacity) {
+        if (NumericStorage.isNeeded(this.attributes)) {
+            this.numericValues = new NumericStorage(this.attributes, capacity);
+            this.numericBuffer = new double[this.attributes.size()];
+        }
+    }
+
+    /**
+     * Parses the original value of a numeric attribute
+     * 
+     * @param value original value, already trimmed
+     * @return the value, NaN when it is missing or it is not a number
+     */
+    static double parseNumeric(String value) {
+        if (value.isEmpty() || value.equals("?"))
+            return Double.NaN;
+
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Adds an instance in sparse format, where only some of the values are
+     * specified and the rest of attributes take their first value (or are not
+     * nominal for numeric attributes). When the first instance of the dataset is
+     * sparse, only the values which are not the default are stored
+     * 
+     * @param positions    position of each value in the instance, including the
+     *                     class, in ascending order
+     * @param values       original values in the same order as positions
+     * @param numberValues number of values specified
+     * @throws Exception
+     */
+    public void addSparseInstance(int[] positions, String[] values, int numberValues) throws Exception {
+        this.checkNotFrozen();
+        if (this.getEncoding() == ItemEncoding.INT) {
+            this.addIntSparseInstance(positions, values, numberValues);
+            return;
+        }
+        if (this.storage == null) {
+            this.storage = new SparseStorage(this.getDefaultValues());
+            this.createNumericStorage(ColumnarStorage.DEFAULT_CAPACITY);
+        }
+        if (this.exampleBuffer == null)
+            this.exampleBuffer = new short[this.attributes.size() + 1];
+        if (this.sparseAttributes == null || this.sparseAttributes.length < numberValues) {
+            this.sparseAttributes = new int[numberValues];
+            this.sparseValues = new short[numberValues];
+        }
+
+        String notNominalValue = null;
+        String notNominalKlass = null;
+        short internalRepresentationKlass = this.getKlass(0);
+        int numberAttributeValues = 0;
+
+        // Numeric values which are not specified are zero
+        if (this.numericValues != null)
+            Arrays.fill(this.numericBuffer, 0);
+
+        for (int k = 0; k < numberValues; k++) {
+            String value = values[k].trim();
+
+            if (positions[k] == this.indexKlass) {
+                internalRepresentationKlass = this.getIndexByValueKlass(value);
+                if (internalRepresentationKlass < 0)
+                    notNominalKlass = value;
+                continue;
+            }
+
+            int j = positions[k] > this.indexKlass ? positions[k] - 1 : positions[k];
+            short internalRepresentation = -1;
+            if (this.attributes.get(j).isNominal()) {
+                internalRepresentation = this.getIndexByValue(j, value);
+
+                if (internalRepresentation < 0 && notNominalValue == null)
+                    notNominalValue = value;
+            } else if (this.numericValues != null) {
+                this.numericBuffer[j] = parseNumeric(value);
+            }
+
+            this.sparseAttributes[numberAttributeValues] = j;
+            this.sparseValues[numberAttributeValues] = internalRepresentation;
+            numberAttributeValues++;
+        }
+
+        if (notNominalValue == null)
+            notNominalValue = notNominalKlass;
+        if (notNominalValue != null) {
+            this.hasMissing = true;
+
+            if (this.notNominalValue == null)
+                this.notNominalValue = notNominalValue;
+        }
+
+        this.frequencyByKlass.merge(internalRepresentationKlass, 1L, Long::sum);
+
+        if (this.storage instanceof SparseStorage) {
+            ((SparseStorage) this.storage).add(this.sparseAttributes, this.sparseValues, numberAttributeValues,
+                    internalRepresentationKlass);
+        } else {
+            short[] example = this.exampleBuffer;
+            short[] defaults = this.getDefaultValues();
+
+            System.arraycopy(defaults, 0, example, 0, defaults.length);
+            for (int k = 0; k < numberAttributeValues; k++) {
+                example[this.sparseAttributes[k]] = this.sparseValues[k];
+            }
+            example[example.length - 1] = internalRepresentationKlass;
+
+            this.storage.add(example);
+        }
+        if (this.numericValues != null)
+            this.numericValues.add(this.numericBuffer);
+
+        this.instancesAdded(1);
+    }
+
+    /**
+     * Adds an instance in sparse format when values are encoded as ints, see
+     * {@link #addSparseInstance(int[], String[], int)}. Instances are always
+     * stored densely, with the default values of the attributes not specified
+     * 
+     * @param positions    position of each value in the instance, including the
+     *                     class, in ascending order
+     * @param values       original values in the same order as positions
+     * @param numberValues number of values specified
+     * @throws Exception
+     */
+    private void addIntSparseInstance(int[] positions, String[] values, int numberValues) throws Exception {
+        if (this.storage == null) {
+            this.storage = this.createStorage(ColumnarStorage.DEFAULT_CAPACITY);
+            this.createNumericStorage(ColumnarStorage.DEFAULT_CAPACITY);
+        }
+        if (this.intExampleBuffer == null)
+            this.intExampleBuffer = new int[this.attributes.size() + 1];
+        int[] example = this.intExampleBuffer;
+
+        for (int j = 0; j < this.attributes.size(); j++) {
+            Attribute attribute = this.attributes.get(j);
+            example[j] = attribute.isNominal() && attribute.getValues().length > 0 ? this.indexes.get(j).get(0) : -1;
+        }
+        example[example.length - 1] = this.getKlass(0);
+        if (this.numericValues != null)
+            Arrays.fill(this.numericBuffer, 0);
+
+        String notNominalValue = null;
+        String notNominalKlass = null;
+        for (int k = 0; k < numberValues; k++) {
+            String value = values[k].trim();
+
+            if (positions[k] == this.indexKlass) {
+                example[example.length - 1] = this.getIndexByValueKlass(value);
+                if (example[example.length - 1] < 0)
+                    notNominalKlass = value;
+                continue;
+            }
+
+            int j = positions[k] > this.indexKlass ? positions[k] - 1 : positions[k];
+            example[j] = -1;
+            if (this.attributes.get(j).isNominal()) {
+                example[j] = this.getIntIndexByValue(j, value);
+
+                if (example[j] < 0 && notNominalValue == null)
+                    notNominalValue = value;
+            } else if (this.numericValues != null) {
+                this.numericBuffer[j] = parseNumeric(value);
+            }
+        }
+
+        if (notNominalValue == null)
+            notNominalValue = notNominalKlass;
+        if (notNominalValue != null) {
+            this.hasMissing = true;
+
+            if (this.notNominalValue == null)
+                this.notNominalValue = notNominalValue;
+        }
+
+        this.frequencyByKlass.merge((short) example[example.length - 1], 1L, Long::sum);
+
+        this.storage.add(example);
+        if (this.numericValues != null)
+            this.numericValues.add(this.numericBuffer);
+
+        this.instancesAdded(1);
+    }
+
+    /**
+     * Get the value taken by each attribute when it is not specified in a sparse
+     * instance, that is, the first value for nominal attributes
+     * 
+     * @return the internal representation of the default value per attribute
+     */
+    private short[] getDefaultValues() {
+        short[] defaults = new short[this.attributes.size()];
+
+        for (int j = 0; j < defaults.length; j++) {
+            Attribute attribute = this.attributes.get(j);
+
+            if (attribute.isNominal() && attribute.getValues().length > 0)
+                defaults[j] = this.getIndexAttribute(j, 0);
+            else
+                defaults[j] = -1;
+        }
+
+        return defaults;
+    }
+
+    /**
+     * Translates the original values of an instance into their internal
+     * representation. It only reads the metadata, so it could be called
+     * concurrently once the metadata is complete
+     * 
+     * @param instance original values of the instance, including the class
+     * @param example  array where the internal representation is stored, with the
+     *                 class in the last position
+     * @param numeric  array where the original values of the numeric attributes
+     *                 are stored, null if they are not kept
+     * @return the first original value which is not nominal (missing values), or
+     *         null if all the values are nominal
+     * @throws Exception
+     */
+    protected String encode(String[] instance, short[] example, double[] numeric) throws Exception {
+        String notNominalValue = null;
+
         for (int i = 0, j = 0; i < instance.length; i++) {
             if (i == this.indexKlass)
                 continue;
@@ -196,45 +964,348 @@ public abstract class Dataset {
             if (this.attributes.get(j).isNominal()) {
                 short internalRepresentation = this.getIndexByValue(j, instance[i].trim());
 
-                if (internalRepresentation < 0)
-                    this.hasMissing = true;
+                if (internalRepresentation < 0 && notNominalValue == null)
+                    notNominalValue = instance[i].trim();
 
-                example.set(j, internalRepresentation);
+                example[j] = internalRepresentation;
+            } else {
+                example[j] = -1;
 
-                if (!this.indexIdentities.containsKey(example.asNominal()[j])) {
-                    this.indexIdentities.put(example.asNominal()[j], instance[i].trim());
-                }
-            } else
-                example.set(j, null);
+                if (numeric != null)
+                    numeric[j] = parseNumeric(instance[i].trim());
+            }
 
             j++;
         }
-        if (internalRepresentationKlass < 0)
+
+        String klass = instance[indexKlass].trim();
+        short internalRepresentationKlass = this.getIndexByValueKlass(klass);
+        if (internalRepresentationKlass < 0 && notNominalValue == null)
+            notNominalValue = klass;
+        example[example.length - 1] = internalRepresentationKlass;
+
+        return notNominalValue;
+    }
+
+    /**
+     * Translates the original values of an instance into their internal
+     * representation encoded as ints, see {@link #encode(String[], short[],
+     * double[])}
+     * 
+     * @param instance original values of the instance, including the class
+     * @param example  array where the internal representation is stored, with the
+     *                 class in the last position
+     * @param numeric  array where the original values of the numeric attributes
+     *                 are stored, null if they are not kept
+     * @return the first original value which is not nominal (missing values), or
+     *         null if all the values are nominal
+     * @throws Exception
+     */
+    protected String encode(String[] instance, int[] example, double[] numeric) throws Exception {
+        String notNominalValue = null;
+
+        for (int i = 0, j = 0; i < instance.length; i++) {
+            if (i == this.indexKlass)
+                continue;
+
+            if (this.attributes.get(j).isNominal()) {
+                int internalRepresentation = this.getIntIndexByValue(j, instance[i].trim());
+
+                if (internalRepresentation < 0 && notNominalValue == null)
+                    notNominalValue = instance[i].trim();
+
+                example[j] = internalRepresentation;
+            } else {
+                example[j] = -1;
+
+                if (numeric != null)
+                    numeric[j] = parseNumeric(instance[i].trim());
+            }
+
+            j++;
+        }
+
+        String klass = instance[indexKlass].trim();
+        short internalRepresentationKlass = this.getIndexByValueKlass(klass);
+        if (internalRepresentationKlass < 0 && notNominalValue == null)
+            notNominalValue = klass;
+        example[example.length - 1] = internalRepresentationKlass;
+
+        return notNominalValue;
+    }
+
+    /**
+     * Appends instances already encoded at the end of the dataset, as they were
+     * added one by one by {@link #addInstance(String[])}
+     * 
+     * @param instances        internal representation of the instances
+     * @param numericInstances original values of the numeric attributes of the
+     *                         instances, null if there are no numeric attributes
+     * @param frequencyByKlass number of instances per class
+     * @param notNominalValue  first original value which is not nominal, null if
+     *                         there is none
+     * @throws IOException
+     */
+    protected void addInstances(ColumnarStorage instances, NumericStorage numericInstances,
+            HashMap<Short, Long> frequencyByKlass, String notNominalValue) throws IOException {
+        if (this.storage == null) {
+            this.storage = this.createStorage(instances.size());
+            this.createNumericStorage(instances.size());
+        }
+        if (this.exampleBuffer == null)
+            this.exampleBuffer = new short[this.attributes.size() + 1];
+
+        if (this.storage instanceof ColumnarStorage) {
+            ((ColumnarStorage) this.storage).addAll(instances);
+        } else {
+            for (int i = 0; i < instances.size(); i++) {
+                instances.copy(i, this.exampleBuffer);
+                this.storage.add(this.exampleBuffer);
+            }
+        }
+        if (this.numericValues != null)
+            this.numericValues.addAll(numericInstances);
+
+        for (Map.Entry<Short, Long> entry : frequencyByKlass.entrySet()) {
+            this.frequencyByKlass.merge(entry.getKey(), entry.getValue(), Long::sum);
+        }
+
+        if (notNominalValue != null) {
             this.hasMissing = true;
-        example.setKlass(internalRepresentationKlass);
 
-        if (!this.indexIdentities.containsKey(internalRepresentationKlass)) {
-            this.indexIdentities.put(internalRepresentationKlass, klass);
+            if (this.notNominalValue == null)
+                this.notNominalValue = notNominalValue;
+        }
+
+        this.instancesAdded(instances.size());
+    }
+
+    /**
+     * Appends all the instances provided by an iterator, for example, coming
+     * from a live source of events. Each instance is encoded as
+     * {@link #addInstance(String[])} does, and the frequency of each class and
+     * the vertical index (if it was already built) are kept up to date, so the
+     * dataset could be mined again without being read from scratch.
+     * Instances must not be appended while an algorithm is being trained with
+     * this dataset, nor once it has been frozen (see {@link #freeze()})
+     * 
+     * @param instances original values of each instance, including the class
+     * @return the number of instances appended
+     * @throws Exception
+     */
+    public synchronized int append(Iterator<String[]> instances) throws Exception {
+        this.checkNotFrozen();
+        int numberInstances = 0;
+
+        while (instances.hasNext()) {
+            this.addInstance(instances.next());
+            numberInstances++;
+        }
+
+        return numberInstances;
+    }
+
+    /**
+     * Appends the instances read from a channel until the end of the stream is
+     * reached. There is one instance per line, with its values (including the
+     * class) in the same order as the attributes of this dataset and delimited
+     * by the separator. Empty lines are ignored, and the channel is not closed.
+     * See {@link #append(Iterator)}
+     * 
+     * @param channel   where the instances are read from
+     * @param separator character used to separate values
+     * @return the number of instances appended
+     * @throws Exception
+     */
+    public synchronized int append(ReadableByteChannel channel, char separator) throws Exception {
+        this.checkNotFrozen();
+        CsvTokenizer tokenizer = new CsvTokenizer(Channels.newInputStream(channel), separator);
+        ArrayList<String> values = new ArrayList<String>();
+        int numberInstances = 0;
+
+        while (tokenizer.next(values)) {
+            if (values.isEmpty())
+                continue;
+
+            this.addInstance(values.toArray(new String[values.size()]));
+            numberInstances++;
+        }
+
+        return numberInstances;
+    }
+
+    /**
+     * Updates the state derived from the instances once some of them have been
+     * appended at the end of the storage. The vertical index and the table of
+     * supports are updated with the new instances, when they were already
+     * built, instead of being discarded, while the deduplicated view has to be
+     * built again
+     * 
+     * @param numberInstances number of instances appended
+     */
+    private void instancesAdded(int numberInstances) {
+        // Both structures are updated by means of ints, valid for any encoding
+        if ((this.verticalIndex != null || this.supportTable != null) && this.intExampleBuffer == null)
+            this.intExampleBuffer = new int[this.attributes.size() + 1];
+        if (this.verticalIndex != null) {
+            for (int i = this.storage.size() - numberInstances; i < this.storage.size(); i++) {
+                this.verticalIndex.add(this.getInstance(i, this.intExampleBuffer), i);
+            }
+        }
+        if (this.supportTable != null) {
+            for (int i = this.storage.size() - numberInstances; i < this.storage.size(); i++) {
+                this.supportTable.add(this.getInstance(i, this.intExampleBuffer), this.getWeight(i));
+            }
+        }
+
+        this.deduplicated = null;
+    }
+
+    /**
+     * Get the vertical representation of this dataset, that is, the tidset for
+     * each item and class. It is built the first time it is requested, and then it
+     * is reused by all the algorithms using this dataset
+     * 
+     * @return the vertical index of this dataset
+     */
+    public synchronized VerticalIndex getVerticalIndex() {
+        if (this.verticalIndex == null)
+            this.verticalIndex = new VerticalIndex(this);
+
+        return this.verticalIndex;
+    }
+
+    /**
+     * Get the support of each item, alone and with each class. It is built the
+     * first time it is requested, and then it is reused by all the algorithms
+     * using this dataset
+     * 
+     * @return the table of supports of this dataset
+     */
+    public synchronized SupportTable getSupportTable() {
+        if (this.supportTable == null)
+            this.supportTable = new SupportTable(this);
+
+        return this.supportTable;
+    }
+
+    /**
+     * Get a weighted view of this dataset, where identical instances (same
+     * values for all the attributes and the class) are collapsed into only one,
+     * whose weight is the number of times it appears. Instances are not copied,
+     * and the first appearance of each one is used. The view is built once and
+     * shared by all the callers
+     * 
+     * @return the deduplicated view of this dataset
+     */
+    public synchronized DatasetView deduplicate() {
+        if (this.deduplicated == null) {
+            HashMap<Buffer, Integer> positions = new HashMap<Buffer, Integer>();
+            int[] rows = new int[this.size()];
+            int[] weights = new int[this.size()];
+            int numberRows = 0;
+
+            boolean wide = this.getEncoding() == ItemEncoding.INT;
+            short[] example = wide ? null : this.createInstanceBuffer();
+            int[] intExample = wide ? this.createIntInstanceBuffer() : null;
+            for (int i = 0; i < this.size(); i++) {
+                Buffer key = wide ? IntBuffer.wrap(this.getInstance(i, intExample))
+                        : ShortBuffer.wrap(this.getInstance(i, example));
+
+                Integer position = positions.get(key);
+                if (position == null) {
+                    positions.put(wide ? IntBuffer.wrap(intExample.clone()) : ShortBuffer.wrap(example.clone()),
+                            numberRows);
+                    rows[numberRows] = i;
+                    weights[numberRows] = this.getWeight(i);
+                    numberRows++;
+                } else {
+                    weights[position] += this.getWeight(i);
+                }
+            }
+
+            this.deduplicated = new DatasetView(this, Arrays.copyOf(rows, numberRows),
+                    Arrays.copyOf(weights, numberRows));
         }
 
-        this.instances.add(example);
+        return this.deduplicated;
+    }
+
+    /**
+     * Enables or disables collapsing identical instances of the training
+     * datasets before training those algorithms supporting weighted instances,
+     * see {@link #deduplicate()}. It is disabled by default, unless the
+     * environment variable LAC_DEDUPLICATE is true
+     * 
+     * @param enabled true to collapse identical instances
+     */
+    public static void setDeduplicate(boolean enabled) {
+        deduplicate = enabled;
     }
 
     /**
-     * Get the internal representation from an attribute and its value
+     * Check if identical instances of the training datasets are collapsed
+     * 
+     * @return true if identical instances are collapsed
+     */
+    public static boolean isDeduplicate() {
+        return deduplicate;
+    }
+
+    /**
+     * Releases the memory reserved in the storage and not used. It should be
+     * called once all the instances have been added
+     */
+    protected void trimToSize() {
+        if (this.storage != null)
+            this.storage.trimToSize();
+        if (this.numericValues != null)
+            this.numericValues.trimToSize();
+    }
+
+    /**
+     * Get the internal representation from an attribute and its value. It is
+     * only valid when values are encoded as shorts, see
+     * {@link #getIntIndexByValue(int, String)} otherwise
      * 
      * @param indexAttribute index of the attribute
      * @param value          for the attribute
      * @return the internal representation used to represent this value in this
      *         attribute
      * @throws Exception
+     * @throws IllegalStateException when values are encoded as ints
      */
     public short getIndexByValue(int indexAttribute, String value) throws Exception {
-        for (int i = 0; i < this.attributes.get(indexAttribute).getNumberValues(); i++) {
-            if (this.attributes.get(indexAttribute).getValues()[i].equals(value))
-                return this.indexes.get(indexAttribute).get(i);
-        }
-        return -1;
+        this.checkShortEncoding();
+
+        return (short) this.getIntIndexByValue(indexAttribute, value);
+    }
+
+    /**
+     * Get the internal representation from an attribute and its value as an int,
+     * which is valid for any encoding
+     * 
+     * @param indexAttribute index of the attribute
+     * @param value          for the attribute
+     * @return the internal representation used to represent this value in this
+     *         attribute
+     * @throws Exception
+     */
+    public int getIntIndexByValue(int indexAttribute, String value) throws Exception {
+        int position = this.attributes.get(indexAttribute).getPosition(value);
+
+        return position < 0 ? -1 : this.indexes.get(indexAttribute).get(position);
+    }
+
+    /**
+     * Checks that the internal representations could be handled as shorts
+     * 
+     * @throws IllegalStateException when values are encoded as ints
+     */
+    private void checkShortEncoding() {
+        if (this.getEncoding() != ItemEncoding.SHORT)
+            throw new IllegalStateException(
+                    "Values of " + this.name + " are encoded as ints, they have to be read as ints.");
     }
 
     /**
@@ -244,13 +1315,9 @@ public abstract class Dataset {
      * @return the internal representation used to the specified parameter
      */
     public short getIndexByValueKlass(String value) {
-        ArrayList<Short> klassIndexes = this.indexes.get(this.indexKlass);
-        for (int i = 0; i < klassIndexes.size(); i++) {
-            if (this.klass.getValue(i).equals(value)) {
-                return klassIndexes.get(i);
-            }
-        }
-        return -1;
+        int position = this.klass.getPosition(value);
+
+        return position < 0 ? -1 : this.indexes.get(this.indexKlass).get(position).shortValue();
     }
 
     /**
@@ -260,14 +1327,40 @@ public abstract class Dataset {
      * @param values for this attribute
      */
     public void addNominalAttribute(String name, String[] values) {
-        this.indexes.add(new ArrayList<Short>());
+        this.checkNotFrozen();
+        this.indexes.add(new ArrayList<Integer>());
 
         int indexAttribute = this.attributes.size();
-        for (short i = 1; i <= values.length; i++) {
-            this.indexes.get(indexAttribute).add((short) (i + lastIndex));
-        }
-        lastIndex += values.length;
+        this.reserveIndexes(indexAttribute, name, values.length);
         this.attributes.add(new Attribute(name, values));
+        this.clearDictionary();
+    }
+
+    /**
+     * Assigns the internal representation for the values of a new attribute,
+     * which follow the ones assigned to the previous attributes. The encoding
+     * switches from shorts to ints once they do not fit in a short, see
+     * {@link #getEncoding()}. Representations are not allowed to overflow an
+     * int, since that would make values of different attributes
+     * indistinguishable
+     *
+     * @param indexAttribute index of the attribute in the array of indexes
+     * @param name           of the attribute, used to report the error
+     * @param numberValues   number of values for the attribute
+     */
+    protected void reserveIndexes(int indexAttribute, String name, int numberValues) {
+        if ((long) lastIndex + numberValues >= ItemEncoding.INT.getMaxNumberItems()) {
+            throw new IllegalArgumentException("Attribute " + name + " cannot be added, datasets are limited to "
+                    + ItemEncoding.INT.getMaxNumberItems()
+                    + " distinct values adding all the attributes and the class");
+        }
+
+        ArrayList<Integer> indexes = this.indexes.get(indexAttribute);
+        indexes.ensureCapacity(numberValues);
+        for (int i = 1; i <= numberValues; i++) {
+            indexes.add(i + lastIndex);
+        }
+        lastIndex += numberValues;
     }
 
     /**
@@ -276,9 +1369,11 @@ public abstract class Dataset {
      * @param nameAttribute for the attribute
      */
     public void addNumericAttribute(String nameAttribute) {
+        this.checkNotFrozen();
         Attribute attribute = new Attribute(nameAttribute, Attribute.TYPE_NUMERIC);
-        this.indexes.add(new ArrayList<Short>());
+        this.indexes.add(new ArrayList<Integer>());
         this.attributes.add(attribute);
+        this.clearDictionary();
     }
 
     /**
@@ -288,7 +1383,7 @@ public abstract class Dataset {
      * @return the internal representation for the class
      */
     public short getKlass(int k) {
-        return this.indexes.get(indexKlass).get(k);
+        return this.indexes.get(indexKlass).get(k).shortValue();
     }
 
     /**
@@ -301,13 +1396,30 @@ public abstract class Dataset {
     }
 
     /**
-     * Get the internal representation for the value specified
+     * Get the internal representation for the value specified. It is only valid
+     * when values are encoded as shorts, see
+     * {@link #getIntIndexAttribute(int, int)} otherwise
      * 
      * @param indexAttribute index of the attribute
      * @param indexValue     index of the value in the attribute
      * @return the internal representation for this value
+     * @throws IllegalStateException when values are encoded as ints
      */
     public Short getIndexAttribute(int indexAttribute, int indexValue) {
+        this.checkShortEncoding();
+
+        return this.indexes.get(indexAttribute).get(indexValue).shortValue();
+    }
+
+    /**
+     * Get the internal representation for the value specified as an int, which
+     * is valid for any encoding
+     * 
+     * @param indexAttribute index of the attribute
+     * @param indexValue     index of the value in the attribute
+     * @return the internal representation for this value
+     */
+    public int getIntIndexAttribute(int indexAttribute, int indexValue) {
         return this.indexes.get(indexAttribute).get(indexValue);
     }
 
@@ -317,8 +1429,12 @@ public abstract class Dataset {
      * @param index internal representation
      * @return the original value for this internal representation
      */
-    public String getValueByIndex(short index) {
-        return this.indexIdentities.get(index);
+    public String getValueByIndex(int index) {
+        if (index < 0)
+            return this.notNominalValue;
+
+        String[] values = this.getValuesByIndex();
+        return index < values.length ? values[index] : null;
     }
 
     /**
@@ -328,11 +1444,7 @@ public abstract class Dataset {
      * @return the internal representation for this class
      */
     public int getIndexKlass(String klass) {
-        for (int i = 0; i < this.klass.getNumberValues(); i++) {
-            if (klass.equals(this.klass.getValue(i)))
-                return i;
-        }
-        return -1;
+        return this.klass.getPosition(klass);
     }
 
     /**
@@ -341,16 +1453,45 @@ public abstract class Dataset {
      * @param values all the possible values which could take
      */
     public void addKlass(String[] values) {
-        this.indexes.add(new ArrayList<Short>());
+        this.checkNotFrozen();
+        this.indexes.add(new ArrayList<Integer>());
 
         indexKlass = this.attributes.size();
-
-        for (short i = 1; i <= values.length; i++) {
-            this.indexes.get(indexKlass).add((short) (i + lastIndex));
+        if (lastIndex + values.length <= Short.MAX_VALUE) {
+            this.reserveIndexes(indexKlass, "class", values.length);
+        } else {
+            this.reserveKlassIndexes(values.length);
         }
-        lastIndex += values.length;
 
         this.klass = new Klass(values);
+        this.clearDictionary();
+    }
+
+    /**
+     * Assigns the internal representation for the values of the class when they
+     * would not fit in a short after the ones of the attributes. Classes take
+     * the first representations, and those of the attributes are shifted, so
+     * that classes could be handled as shorts for any encoding. Attributes keep
+     * their values in ascending order
+     * 
+     * @param numberValues number of values of the class
+     */
+    private void reserveKlassIndexes(int numberValues) {
+        if (numberValues > ItemEncoding.SHORT.getMaxNumberItems()) {
+            throw new IllegalArgumentException("Class cannot be added, datasets are limited to "
+                    + ItemEncoding.SHORT.getMaxNumberItems() + " classes");
+        }
+
+        this.reserveIndexes(indexKlass, "class", numberValues);
+
+        // Representations reserved at the end are moved to the beginning
+        for (int j = 0; j < this.indexes.size(); j++) {
+            ArrayList<Integer> indexes = this.indexes.get(j);
+
+            for (int k = 0; k < indexes.size(); k++) {
+                indexes.set(k, j == indexKlass ? k : indexes.get(k) + numberValues);
+            }
+        }
     }
 
     /**
@@ -360,7 +1501,7 @@ public abstract class Dataset {
      * @return the class for this instance
      */
     public short getKlassInstance(int i) {
-        return this.instances.get(i).getKlass();
+        return this.storage.getKlass(i);
     }
 
     /**
@@ -424,18 +1565,60 @@ public abstract class Dataset {
      * @param index internal representation to finds its attribute
      * @return the attribute containing this value
      */
-    public Attribute getAttributeByIndex(Short index) {
-        int indexAttribute = -1;
-        boolean found = false;
-        for (indexAttribute = 0; indexAttribute < this.attributes.size() && !found; indexAttribute++) {
-            for (int j = 0; j < this.indexes.get(indexAttribute).size() && !found; j++) {
-                if (this.indexes.get(indexAttribute).get(j) == index) {
-                    found = true;
-                }
+    public Attribute getAttributeByIndex(int index) {
+        this.getValuesByIndex();
+
+        if (index < 0 || index >= this.attributesByIndex.length || this.attributesByIndex[index] < 0)
+            return null;
+
+        return this.attributes.get(this.attributesByIndex[index]);
+    }
+
+    /**
+     * Get the original value for each internal representation. The dictionary is
+     * built the first time it is requested, once the metadata is complete
+     * 
+     * @return the original values indexed by their internal representation
+     */
+    private synchronized String[] getValuesByIndex() {
+        if (this.valuesByIndex != null)
+            return this.valuesByIndex;
+
+        String[] values = new String[this.lastIndex + 1];
+        int[] attributesByIndex = new int[this.lastIndex + 1];
+        Arrays.fill(attributesByIndex, -1);
+
+        for (int i = 0; i < this.attributes.size(); i++) {
+            String[] attributeValues = this.attributes.get(i).getValues();
+            ArrayList<Integer> attributeIndexes = this.indexes.get(i);
+
+            for (int j = 0; j < attributeIndexes.size(); j++) {
+                values[attributeIndexes.get(j)] = attributeValues[j];
+                attributesByIndex[attributeIndexes.get(j)] = i;
             }
         }
 
-        return this.attributes.get(indexAttribute - 1);
+        if (this.klass != null) {
+            ArrayList<Integer> klassIndexes = this.indexes.get(this.indexKlass);
+
+            for (int j = 0; j < klassIndexes.size(); j++) {
+                values[klassIndexes.get(j)] = this.klass.getValue(j);
+            }
+        }
+
+        this.attributesByIndex = attributesByIndex;
+        this.valuesByIndex = values;
+
+        return values;
+    }
+
+    /**
+     * Discards the dictionary of original values, it has to be called each time
+     * the metadata changes
+     */
+    private synchronized void clearDictionary() {
+        this.valuesByIndex = null;
+        this.attributesByIndex = null;
     }
 
     /**
@@ -0,0 +1,294 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.util.BitSet;
+import java.util.HashMap;
+
+/**
+ * Dataset formed by a subset of the instances of another dataset. Instances are
+ * not copied, the view only keeps their positions, so creating it costs
+ * O(selected instances). Metadata is shared with the original dataset, and the
+ * frequency of each class is calculated the first time it is requested.
+ * Instances could be selected by their positions or by a bitmap, such as the
+ * tidsets of {@link VerticalIndex}. Instances of the view could also have a
+ * weight, see {@link Dataset#deduplicate()}.
+ *
+ * Views are read-only, neither instances nor metadata could be added.
+ */
+public class DatasetView extends Dataset {
+    /**
+     * Weight of each instance, null when the view is not weighted
+     */
+    private int[] weights = null;
+
+    /**
+     * Sum of the weights of all the instances
+     */
+    private long weightedSize;
+
+    /**
+     * Constructor. Instances keep the weights they have in the original dataset
+     * 
+     * @param dataset containing the instances, it could also be a view
+     * @param rows    position in the dataset of each instance of the view. It is
+     *                not copied, so it must not be modified
+     */
+    public DatasetView(Dataset dataset, int[] rows) {
+        this(dataset, rows, getWeights(dataset, rows));
+    }
+
+    /**
+     * Constructor for a weighted view
+     * 
+     * @param dataset containing the instances, it could also be a view
+     * @param rows    position in the dataset of each instance of the view. It is
+     *                not copied, so it must not be modified
+     * @param weights weight of each instance of the view, null when instances
+     *                are not weighted. It is not copied either
+     */
+    public DatasetView(Dataset dataset, int[] rows, int[] weights) {
+        super();
+
+        this.klass = dataset.klass;
+        this.attributes = dataset.attributes;
+        this.indexes = dataset.indexes;
+        this.lastIndex = dataset.lastIndex;
+        this.indexKlass = dataset.indexKlass;
+        this.hasMissing = dataset.hasMissing;
+        this.notNominalValue = dataset.notNominalValue;
+        this.name = dataset.name;
+
+        if (dataset.storage instanceof ShortStorage)
+            this.storage = new ShortViewStorage(dataset.storage, rows);
+        else
+            this.storage = new ViewStorage(dataset.storage, rows);
+        this.numericValues = dataset.numericValues;
+        this.frequencyByKlass = null;
+
+        this.weights = weights;
+        this.weightedSize = rows.length;
+        if (weights != null) {
+            this.weightedSize = 0;
+            for (int weight : weights) {
+                this.weightedSize += weight;
+            }
+        }
+    }
+
+    /**
+     * Constructor selecting the instances by a bitmap. Instances keep the order
+     * they have in the original dataset
+     * 
+     * @param dataset containing the instances, it could also be a view
+     * @param rows    bitmap with the positions in the dataset of the instances
+     *                of the view
+     */
+    public DatasetView(Dataset dataset, BitSet rows) {
+        this(dataset, toPositions(rows));
+    }
+
+    /**
+     * Get the weights that the selected instances have in the original dataset
+     * 
+     * @param dataset containing the instances
+     * @param rows    position in the dataset of each instance
+     * @return the weight of each instance, null if the dataset is not weighted
+     */
+    private static int[] getWeights(Dataset dataset, int[] rows) {
+        if (!dataset.isWeighted())
+            return null;
+
+        int[] weights = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            weights[i] = dataset.getWeight(rows[i]);
+        }
+
+        return weights;
+    }
+
+    /**
+     * Get the positions of the bits set in a bitmap
+     * 
+     * @param rows bitmap to be converted
+     * @return the positions set, in ascending order
+     */
+    private static int[] toPositions(BitSet rows) {
+        int[] positions = new int[rows.cardinality()];
+
+        for (int i = rows.nextSetBit(0), k = 0; i >= 0; i = rows.nextSetBit(i + 1)) {
+            positions[k++] = i;
+        }
+
+        return positions;
+    }
+
+    /**
+     * Get the position of an instance in the dataset which really contains it.
+     * Nested views are flattened, so it is the position in the root dataset,
+     * not in the dataset this view was created from
+     * 
+     * @param indexInstance index of the instance in the view
+     * @return the position of the instance in the root dataset
+     */
+    public int getRow(int indexInstance) {
+        return ((ViewStorage) this.storage).getRow(indexInstance);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Dataset#getNumericValue(int, int)
+     */
+    @Override
+    public double getNumericValue(int indexInstance, int indexAttribute) {
+        return this.numericValues.get(this.getRow(indexInstance), indexAttribute);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Dataset#getWeight(int)
+     */
+    @Override
+    public int getWeight(int indexInstance) {
+        return this.weights == null ? 1 : this.weights[indexInstance];
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Dataset#isWeighted()
+     */
+    @Override
+    public boolean isWeighted() {
+        return this.weights != null;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Dataset#getWeightedSize()
+     */
+    @Override
+    public long getWeightedSize() {
+        return this.weightedSize;
+    }
+
+    /**
+     * Get the frequency of each class, calculated from the instances of the view
+     * (and their weights) the first time it is requested
+     * 
+     * @return the frequency by class
+     */
+    private synchronized HashMap<Short, Long> getFrequencies() {
+        if (this.frequencyByKlass == null) {
+            HashMap<Short, Long> frequencies = new HashMap<Short, Long>();
+
+            for (int i = 0; i < this.size(); i++) {
+                frequencies.merge(this.getKlassInstance(i), (long) this.getWeight(i), Long::sum);
+            }
+            this.frequencyByKlass = frequencies;
+        }
+
+        return this.frequencyByKlass;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Dataset#getNumberInstancesPerKlass(java.lang.Short)
+     */
+    @Override
+    public long getNumberInstancesPerKlass(Short klass) {
+        return this.getFrequencies().getOrDefault(klass, 0L);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Dataset#getFrequencyByKlass()
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public HashMap<Short, Long> getFrequencyByKlass() {
+        return (HashMap<Short, Long>) this.getFrequencies().clone();
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Dataset#sizeInBytes()
+     */
+    @Override
+    public long sizeInBytes() {
+        // Instances and their numeric values belong to the parent dataset
+        return this.storage.sizeInBytes() + this.derivedSizeInBytes();
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Dataset#addInstance(java.lang.String[])
+     */
+    @Override
+    public void addInstance(String[] instance) {
+        throw new UnsupportedOperationException("Views cannot be modified.");
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Dataset#addSparseInstance(int[], java.lang.String[], int)
+     */
+    @Override
+    public void addSparseInstance(int[] positions, String[] values, int numberValues) {
+        throw new UnsupportedOperationException("Views cannot be modified.");
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Dataset#addNominalAttribute(java.lang.String,
+     * java.lang.String[])
+     */
+    @Override
+    public void addNominalAttribute(String name, String[] values) {
+        throw new UnsupportedOperationException("Views cannot be modified.");
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Dataset#addNumericAttribute(java.lang.String)
+     */
+    @Override
+    public void addNumericAttribute(String nameAttribute) {
+        throw new UnsupportedOperationException("Views cannot be modified.");
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Dataset#addKlass(java.lang.String[])
+     */
+    @Override
+    public void addKlass(String[] values) {
+        throw new UnsupportedOperationException("Views cannot be modified.");
+    }
+}
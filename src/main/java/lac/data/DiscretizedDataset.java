@@ -0,0 +1,142 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Dataset obtained by discretizing the numeric attributes of another one. Each
+ * discretized attribute becomes a nominal attribute whose values are the
+ * intervals delimited by its cut points, named as (-inf-a], (a-b] and (b-inf).
+ * Internal representations of the original nominal values and of the class are
+ * kept, and the intervals are represented after them, so datasets discretized
+ * with the same cut points share their internal representation
+ */
+class DiscretizedDataset extends Dataset {
+    /**
+     * Value used for the missing numeric values
+     */
+    private static final String MISSING_VALUE = "?";
+
+    /**
+     * Constructor
+     * 
+     * @param dataset   to be discretized, it is not modified
+     * @param cutPoints cut points of each attribute in ascending order, null for
+     *                  the attributes which are not discretized
+     * @throws Exception
+     */
+    DiscretizedDataset(Dataset dataset, double[][] cutPoints) throws Exception {
+        super();
+
+        this.name = dataset.name;
+        this.klass = dataset.klass;
+        this.lastIndex = dataset.lastIndex;
+        this.indexKlass = dataset.indexKlass;
+        this.hasMissing = dataset.hasMissing;
+        this.notNominalValue = dataset.notNominalValue;
+
+        this.attributes = new ArrayList<Attribute>(dataset.attributes);
+        for (ArrayList<Integer> indexes : dataset.indexes) {
+            this.indexes.add(new ArrayList<Integer>(indexes));
+        }
+
+        for (int j = 0; j < cutPoints.length; j++) {
+            if (cutPoints[j] == null)
+                continue;
+
+            Attribute attribute = this.attributes.get(j);
+            if (!attribute.isNumeric())
+                throw new IllegalArgumentException("Attribute " + attribute.getName() + " is not numeric");
+
+            this.attributes.set(j, new Attribute(attribute.getName(), getIntervals(cutPoints[j])));
+            this.reserveIndexes(j, attribute.getName(), cutPoints[j].length + 1);
+        }
+
+        if (dataset.size() > 0 && !dataset.hasNumericValues()) {
+            throw new IllegalArgumentException(
+                    "Original values of the numeric attributes of " + dataset.getName() + " are not available");
+        }
+
+        this.storage = this.createStorage(Math.max(1, dataset.size()));
+        // Intervals could make the values outgrow shorts, so they are copied as ints
+        int[] example = this.createIntInstanceBuffer();
+        boolean hasMissingNumeric = false;
+
+        for (int i = 0; i < dataset.size(); i++) {
+            dataset.getInstance(i, example);
+
+            for (int j = 0; j < cutPoints.length; j++) {
+                if (cutPoints[j] == null)
+                    continue;
+
+                double value = dataset.getNumericValue(i, j);
+                if (Double.isNaN(value)) {
+                    example[j] = -1;
+                    hasMissingNumeric = true;
+                } else {
+                    example[j] = this.indexes.get(j).get(getInterval(cutPoints[j], value));
+                }
+            }
+
+            this.storage.add(example);
+            this.frequencyByKlass.merge((short) example[example.length - 1], 1L, Long::sum);
+        }
+
+        if (hasMissingNumeric) {
+            this.hasMissing = true;
+            if (this.notNominalValue == null)
+                this.notNominalValue = MISSING_VALUE;
+        }
+
+        this.trimToSize();
+    }
+
+    /**
+     * Get the interval containing a value, each interval contains its upper
+     * bound
+     * 
+     * @param cutPoints in ascending order
+     * @param value     to be discretized
+     * @return the position of the interval
+     */
+    private static int getInterval(double[] cutPoints, double value) {
+        int position = Arrays.binarySearch(cutPoints, value);
+
+        return position >= 0 ? position : -position - 1;
+    }
+
+    /**
+     * Get the names of the intervals delimited by the cut points
+     * 
+     * @param cutPoints in ascending order
+     * @return the name of each interval
+     */
+    private static String[] getIntervals(double[] cutPoints) {
+        String[] intervals = new String[cutPoints.length + 1];
+
+        for (int i = 0; i < intervals.length; i++) {
+            String lower = i == 0 ? "(-inf" : "(" + cutPoints[i - 1];
+            String upper = i == cutPoints.length ? "inf)" : cutPoints[i] + "]";
+            intervals[i] = lower + "-" + upper;
+        }
+
+        return intervals;
+    }
+}
@@ -0,0 +1,263 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Base class for the methods which discretize the numeric attributes of a
+ * dataset, so that it could be used by any algorithm. Cut points are
+ * calculated from the original values kept while reading the training dataset,
+ * in parallel for each numeric attribute. The values of each attribute are
+ * sorted only once, and each method finds its cut points over the sorted
+ * distinct values and the number of instances of each class taking them.
+ *
+ * Once cut points are obtained, both training and test datasets are
+ * discretized with them by means of {@link #discretize(Dataset, double[][])},
+ * which encodes the interval of each value directly into the internal
+ * representation.
+ */
+public abstract class Discretizer {
+    /**
+     * Calculates the cut points of each numeric attribute. Attributes are
+     * processed in parallel, in the current fork-join pool or in the common one
+     * 
+     * @param training dataset whose original numeric values are used
+     * @return the cut points of each attribute in ascending order, null for the
+     *         nominal attributes
+     */
+    public double[][] getCutPoints(Dataset training) {
+        if (!training.hasNumericValues()) {
+            throw new IllegalArgumentException(
+                    "Original values of the numeric attributes of " + training.getName() + " are not available");
+        }
+
+        // Class of each instance is read only once, as its position in the class
+        HashMap<Short, Integer> positions = new HashMap<Short, Integer>();
+        for (int k = 0; k < training.getNumberKlasses(); k++) {
+            positions.put(training.getKlass(k), k);
+        }
+        int[] klasses = new int[training.size()];
+        for (int i = 0; i < klasses.length; i++) {
+            klasses[i] = positions.getOrDefault(training.getKlassInstance(i), -1);
+        }
+
+        double[][] cutPoints = new double[training.getNumberAttributes()][];
+        ArrayList<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+        for (int j = 0; j < cutPoints.length; j++) {
+            if (!training.getAttribute(j).isNumeric())
+                continue;
+
+            int indexAttribute = j;
+            tasks.add(ForkJoinTask.adapt(() -> {
+                SortedValues values = new SortedValues(training, indexAttribute, klasses, positions.size());
+                cutPoints[indexAttribute] = this.getCutPoints(values);
+            }));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        return cutPoints;
+    }
+
+    /**
+     * Calculates the cut points for the values of one attribute
+     * 
+     * @param values sorted distinct values of the attribute
+     * @return the cut points in ascending order
+     */
+    protected abstract double[] getCutPoints(SortedValues values);
+
+    /**
+     * Creates a new dataset where the numeric attributes are replaced by
+     * nominal ones, whose values are the intervals delimited by the cut points.
+     * The original dataset is not modified
+     * 
+     * @param dataset   to be discretized
+     * @param cutPoints cut points of each attribute, obtained from the training
+     *                  dataset by {@link #getCutPoints(Dataset)}
+     * @return the discretized dataset
+     * @throws Exception
+     */
+    public Dataset discretize(Dataset dataset, double[][] cutPoints) throws Exception {
+        return new DiscretizedDataset(dataset, cutPoints);
+    }
+
+    /**
+     * Distinct values taken by a numeric attribute in ascending order, along
+     * with the number of instances of each class taking each value. Missing
+     * values and instances without class are ignored
+     */
+    public static class SortedValues {
+        /**
+         * Distinct values in ascending order
+         */
+        private double[] values;
+
+        /**
+         * Number of instances of each class taking the values previous to each
+         * one, that is, cumulative[v * numberKlasses + k] is the number of
+         * instances of the class k whose value is lower than values[v]
+         */
+        private long[] cumulative;
+
+        /**
+         * Number of classes
+         */
+        private int numberKlasses;
+
+        /**
+         * Constructor. Values of each class are sorted separately and then
+         * merged
+         * 
+         * @param dataset        containing the original values
+         * @param indexAttribute index of the numeric attribute
+         * @param klasses        position of the class of each instance, -1 if
+         *                       the class is missing
+         * @param numberKlasses  number of classes
+         */
+        SortedValues(Dataset dataset, int indexAttribute, int[] klasses, int numberKlasses) {
+            this.numberKlasses = numberKlasses;
+
+            int[] sizes = new int[numberKlasses];
+            for (int i = 0; i < klasses.length; i++) {
+                if (klasses[i] >= 0 && !Double.isNaN(dataset.getNumericValue(i, indexAttribute)))
+                    sizes[klasses[i]]++;
+            }
+
+            double[][] valuesByKlass = new double[numberKlasses][];
+            for (int k = 0; k < numberKlasses; k++) {
+                valuesByKlass[k] = new double[sizes[k]];
+                sizes[k] = 0;
+            }
+            for (int i = 0; i < klasses.length; i++) {
+                double value = dataset.getNumericValue(i, indexAttribute);
+                if (klasses[i] >= 0 && !Double.isNaN(value))
+                    valuesByKlass[klasses[i]][sizes[klasses[i]]++] = value;
+            }
+            for (double[] values : valuesByKlass) {
+                Arrays.sort(values);
+            }
+
+            // First merge only counts distinct values, second one fills them
+            int numberValues = this.merge(valuesByKlass);
+            this.values = new double[numberValues];
+            this.cumulative = new long[(numberValues + 1) * numberKlasses];
+            this.merge(valuesByKlass);
+        }
+
+        /**
+         * Merges the sorted values of each class. Arrays of this object are
+         * filled only when they have been created
+         * 
+         * @param valuesByKlass sorted values of each class
+         * @return the number of distinct values
+         */
+        private int merge(double[][] valuesByKlass) {
+            int[] heads = new int[this.numberKlasses];
+            int numberValues = 0;
+
+            while (true) {
+                double min = Double.POSITIVE_INFINITY;
+                boolean finished = true;
+                for (int k = 0; k < this.numberKlasses; k++) {
+                    if (heads[k] < valuesByKlass[k].length) {
+                        min = Math.min(min, valuesByKlass[k][heads[k]]);
+                        finished = false;
+                    }
+                }
+                if (finished)
+                    return numberValues;
+
+                for (int k = 0; k < this.numberKlasses; k++) {
+                    long count = 0;
+                    while (heads[k] < valuesByKlass[k].length && valuesByKlass[k][heads[k]] == min) {
+                        heads[k]++;
+                        count++;
+                    }
+
+                    if (this.values != null) {
+                        int previous = numberValues * this.numberKlasses + k;
+                        this.cumulative[previous + this.numberKlasses] = this.cumulative[previous] + count;
+                    }
+                }
+
+                if (this.values != null)
+                    this.values[numberValues] = min;
+                numberValues++;
+            }
+        }
+
+        /**
+         * Get the number of distinct values
+         * 
+         * @return the number of distinct values
+         */
+        public int size() {
+            return this.values.length;
+        }
+
+        /**
+         * Get the number of classes
+         * 
+         * @return the number of classes
+         */
+        public int getNumberKlasses() {
+            return this.numberKlasses;
+        }
+
+        /**
+         * Get one of the distinct values
+         * 
+         * @param position of the value in ascending order
+         * @return the value
+         */
+        public double getValue(int position) {
+            return this.values[position];
+        }
+
+        /**
+         * Get the number of instances of one class taking a range of the values
+         * 
+         * @param from  position of the first value of the range
+         * @param to    position after the last value of the range
+         * @param klass position of the class
+         * @return the number of instances
+         */
+        public long getCount(int from, int to, int klass) {
+            return this.cumulative[to * this.numberKlasses + klass] - this.cumulative[from * this.numberKlasses + klass];
+        }
+
+        /**
+         * Get the number of instances taking a range of the values
+         * 
+         * @param from position of the first value of the range
+         * @param to   position after the last value of the range
+         * @return the number of instances
+         */
+        public long getCount(int from, int to) {
+            long count = 0;
+            for (int k = 0; k < this.numberKlasses; k++) {
+                count += this.getCount(from, to, k);
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.util.ArrayList;
+
+/**
+ * Unsupervised discretization into intervals containing approximately the
+ * same number of instances. Instances taking the same value are always in the
+ * same interval, so fewer intervals could be obtained when some values are
+ * very frequent
+ */
+public class EqualFrequencyDiscretizer extends Discretizer {
+    /**
+     * Number of intervals per attribute
+     */
+    private int numberBins;
+
+    /**
+     * Constructor
+     * 
+     * @param numberBins number of intervals per attribute
+     */
+    public EqualFrequencyDiscretizer(int numberBins) {
+        if (numberBins < 1)
+            throw new IllegalArgumentException("Number of bins must be positive");
+
+        this.numberBins = numberBins;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Discretizer#getCutPoints(lac.data.Discretizer.SortedValues)
+     */
+    @Override
+    protected double[] getCutPoints(SortedValues values) {
+        long numberInstances = values.getCount(0, values.size());
+        ArrayList<Double> cutPoints = new ArrayList<Double>();
+
+        int position = 0;
+        for (int bin = 1; bin < this.numberBins; bin++) {
+            long expected = numberInstances * bin / this.numberBins;
+
+            while (position < values.size() && values.getCount(0, position + 1) < expected)
+                position++;
+            if (position >= values.size() - 1)
+                break;
+
+            double cutPoint = (values.getValue(position) + values.getValue(position + 1)) / 2;
+            if (cutPoints.isEmpty() || cutPoint > cutPoints.get(cutPoints.size() - 1))
+                cutPoints.add(cutPoint);
+        }
+
+        return cutPoints.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+}
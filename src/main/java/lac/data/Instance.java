@@ -17,17 +17,30 @@
  */
 package lac.data;
 
-import java.util.ArrayList;
-import java.util.Collections;
-
 /**
- * Class used to represent each instance contained into a dataset
+ * Class used to represent each instance contained into a dataset. Datasets do
+ * not keep their instances as objects of this class, but they are created on
+ * demand as a view of the values stored in the dataset. Values keep the same
+ * encoding as the dataset (see {@link ItemEncoding}), so they are read as ints
+ * by means of {@link #getIntValues()} and {@link #getInt(int)}, which are valid
+ * for both encodings
  */
 public class Instance {
     /**
-     * Array with all the values contained in this instance
+     * Value used to represent those values which are not nominal
+     */
+    private static final short NOT_NOMINAL = -1;
+
+    /**
+     * Array with all the values contained in this instance. The class is located
+     * in the last position
+     */
+    private short[] instance;
+
+    /**
+     * Values of this instance when they are encoded as ints, null otherwise
      */
-    private ArrayList<Object> instance;
+    private int[] wideInstance = null;
 
     /**
      * Constructor
@@ -35,27 +48,133 @@ public class Instance {
      * @param length number of values contained in this instance
      */
     public Instance(int length) {
-        this.instance = new ArrayList<Object>(Collections.nCopies(length, null));
+        this.instance = new short[length];
+    }
+
+    /**
+     * Constructor. The array is used directly, it is not copied
+     * 
+     * @param values internal representation of all the values, the class has to
+     *               be in the last position
+     */
+    public Instance(short[] values) {
+        this.instance = values;
+    }
+
+    /**
+     * Constructor for values encoded as ints. The array is used directly, it is
+     * not copied
+     * 
+     * @param values internal representation of all the values, the class has to
+     *               be in the last position
+     */
+    public Instance(int[] values) {
+        this.wideInstance = values;
+    }
+
+    /**
+     * Get the width of the internal representation of the values
+     * 
+     * @return SHORT or INT, as the dataset where the instance comes from
+     */
+    public ItemEncoding getEncoding() {
+        return this.wideInstance == null ? ItemEncoding.SHORT : ItemEncoding.INT;
+    }
+
+    /**
+     * Check that the values could be accessed as shorts
+     * 
+     * @throws IllegalStateException when they are encoded as ints
+     */
+    private void checkShortValues() {
+        if (this.wideInstance != null)
+            throw new IllegalStateException("Values are encoded as ints, they have to be read as ints.");
     }
 
     /**
      * Get the instance as if all the values were nominal
      * 
      * @return an array the values (codified using the internal representation)
+     * @throws IllegalStateException when values are encoded as ints
      */
     public Short[] asNominal() {
-        Short[] example = new Short[this.instance.size()];
-        example = this.instance.toArray(example);
+        this.checkShortValues();
+        Short[] example = new Short[this.instance.length];
+        for (int i = 0; i < this.instance.length; i++)
+            example[i] = this.instance[i];
         return example;
     }
 
     /**
-     * Get the class for this instance
+     * Get the internal representation of the values in this instance. The array
+     * is not copied, so it must not be modified by the caller. It avoids the
+     * allocation performed by {@link #asNominal()}
+     * 
+     * @return the values of this instance, the class is in the last position
+     * @throws IllegalStateException when values are encoded as ints, see
+     *                               {@link #getIntValues()}
+     */
+    public short[] getValues() {
+        this.checkShortValues();
+
+        return this.instance;
+    }
+
+    /**
+     * Get the internal representation of the values in this instance as ints,
+     * which is valid for any encoding. Values encoded as ints are not copied, so
+     * they must not be modified by the caller, while values encoded as shorts are
+     * widened into a new array
+     * 
+     * @return the values of this instance, the class is in the last position
+     */
+    public int[] getIntValues() {
+        if (this.wideInstance != null)
+            return this.wideInstance;
+
+        int[] values = new int[this.instance.length];
+        for (int j = 0; j < values.length; j++)
+            values[j] = this.instance[j];
+        return values;
+    }
+
+    /**
+     * Get the value situated in the position specified
+     * 
+     * @param j position of the attribute in current instance
+     * @return the internal representation of the value, -1 for values which are
+     *         not nominal
+     * @throws IllegalStateException when values are encoded as ints, see
+     *                               {@link #getInt(int)}
+     */
+    public short get(int j) {
+        this.checkShortValues();
+
+        return this.instance[j];
+    }
+
+    /**
+     * Get the value situated in the position specified as an int, which is valid
+     * for any encoding
+     * 
+     * @param j position of the attribute in current instance
+     * @return the internal representation of the value, -1 for values which are
+     *         not nominal
+     */
+    public int getInt(int j) {
+        return this.wideInstance == null ? this.instance[j] : this.wideInstance[j];
+    }
+
+    /**
+     * Get the class for this instance. Classes always fit in a short
      * 
      * @return the internal representation for this instance
      */
     public Short getKlass() {
-        return (Short) instance.get(this.instance.size() - 1);
+        if (this.wideInstance != null)
+            return (short) this.wideInstance[this.wideInstance.length - 1];
+
+        return instance[this.instance.length - 1];
     }
 
     /**
@@ -64,16 +183,23 @@ public class Instance {
      * @param klass value for the class in this instance
      */
     public void setKlass(Short klass) {
-        instance.set(this.instance.size() - 1, klass);
+        if (this.wideInstance != null)
+            this.wideInstance[this.wideInstance.length - 1] = klass;
+        else
+            instance[this.instance.length - 1] = klass;
     }
 
     /**
      * Set the attribute value situated in the position specified
      * 
      * @param j     position of the attribute in current instance
-     * @param value for this attribute in this instance
+     * @param value for this attribute in this instance, null for values which
+     *              are not nominal
      */
     public void set(int j, Object value) {
-        instance.set(j, value);
+        if (this.wideInstance != null)
+            this.wideInstance[j] = value == null ? NOT_NOMINAL : ((Number) value).intValue();
+        else
+            instance[j] = value == null ? NOT_NOMINAL : (Short) value;
     }
 }
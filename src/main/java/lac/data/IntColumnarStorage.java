@@ -0,0 +1,185 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.util.Arrays;
+
+/**
+ * Storage used by the datasets whose values are encoded as ints, see
+ * {@link ItemEncoding}. Values are stored by columns as in
+ * {@link ColumnarStorage}, with one array of primitive ints per attribute.
+ * Classes always fit in a short, so their column keeps being an array of
+ * shorts. Unlike the rest of storages, it does not implement
+ * {@link ShortStorage}, since values could not fit in a short.
+ */
+public class IntColumnarStorage extends Storage {
+    /**
+     * Values for each attribute, one array per attribute
+     */
+    private int[][] columns;
+
+    /**
+     * Value of the class for each instance
+     */
+    private short[] klasses;
+
+    /**
+     * Number of instances currently stored
+     */
+    private int size;
+
+    /**
+     * Constructor
+     *
+     * @param numberAttributes number of attributes (without the class) for each
+     *                         instance
+     * @param capacity         initial number of instances to be reserved
+     */
+    public IntColumnarStorage(int numberAttributes, int capacity) {
+        this.columns = new int[numberAttributes][capacity];
+        this.klasses = new short[capacity];
+        this.size = 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Storage#add(int[])
+     */
+    @Override
+    public void add(int[] example) {
+        if (this.size == this.klasses.length) {
+            this.grow(this.size + 1);
+        }
+
+        for (int j = 0; j < this.columns.length; j++) {
+            this.columns[j][this.size] = example[j];
+        }
+        this.klasses[this.size] = (short) example[this.columns.length];
+
+        this.size++;
+    }
+
+    /**
+     * Adds a new instance whose values are encoded as shorts, they are widened
+     *
+     * @param example internal representation of the instance to be added
+     */
+    public void add(short[] example) {
+        if (this.size == this.klasses.length) {
+            this.grow(this.size + 1);
+        }
+
+        for (int j = 0; j < this.columns.length; j++) {
+            this.columns[j][this.size] = example[j];
+        }
+        this.klasses[this.size] = example[this.columns.length];
+
+        this.size++;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Storage#getInt(int, int)
+     */
+    @Override
+    public int getInt(int indexInstance, int indexAttribute) {
+        return this.columns[indexAttribute][indexInstance];
+    }
+
+    /**
+     * Get the class for the specified instance
+     *
+     * @param indexInstance index of the instance
+     * @return the internal representation of the class
+     */
+    public short getKlass(int indexInstance) {
+        return this.klasses[indexInstance];
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Storage#copy(int, int[])
+     */
+    @Override
+    public void copy(int indexInstance, int[] example) {
+        for (int j = 0; j < this.columns.length; j++) {
+            example[j] = this.columns[j][indexInstance];
+        }
+        example[this.columns.length] = this.klasses[indexInstance];
+    }
+
+    /**
+     * Get the number of instances stored
+     *
+     * @return the number of instances
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the number of attributes (without the class) stored per instance
+     *
+     * @return the number of attributes
+     */
+    public int getNumberAttributes() {
+        return this.columns.length;
+    }
+
+    /**
+     * Releases the capacity reserved but not used
+     */
+    public void trimToSize() {
+        if (this.size < this.klasses.length) {
+            for (int j = 0; j < this.columns.length; j++) {
+                this.columns[j] = Arrays.copyOf(this.columns[j], this.size);
+            }
+            this.klasses = Arrays.copyOf(this.klasses, this.size);
+        }
+    }
+
+    /**
+     * Approximated number of bytes used to store the values. Overhead of the
+     * arrays themselves is not considered
+     *
+     * @return the number of bytes reserved by this storage
+     */
+    public long sizeInBytes() {
+        return (long) this.klasses.length * ((long) this.columns.length * Integer.BYTES + Short.BYTES);
+    }
+
+    /**
+     * Increase the capacity of the storage. Capacity is increased by a half of
+     * the current capacity to amortize the cost of copying arrays
+     *
+     * @param minCapacity minimum number of instances required
+     */
+    private void grow(int minCapacity) {
+        int capacity = this.klasses.length + (this.klasses.length >> 1);
+        if (capacity < minCapacity)
+            capacity = minCapacity;
+
+        for (int j = 0; j < this.columns.length; j++) {
+            this.columns[j] = Arrays.copyOf(this.columns[j], capacity);
+        }
+        this.klasses = Arrays.copyOf(this.klasses, capacity);
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+/**
+ * Width of the internal representation of the items of a dataset. Values are
+ * encoded as shorts while all the attributes and the class together have at
+ * most 32768 distinct values, which halves the memory of the instances.
+ * Datasets with more distinct values switch to int codes, see
+ * {@link Dataset#getEncoding()}. Classes always keep codes which fit in a
+ * short, so that their handling does not depend on the encoding.
+ */
+public enum ItemEncoding {
+    /**
+     * Items are encoded as shorts
+     */
+    SHORT(Short.MAX_VALUE + 1),
+
+    /**
+     * Items are encoded as ints
+     */
+    INT(Integer.MAX_VALUE);
+
+    /**
+     * Maximum number of distinct values which could be represented, negative
+     * ones are reserved to denote values which are not nominal
+     */
+    private final int maxNumberItems;
+
+    /**
+     * Constructor
+     * 
+     * @param maxNumberItems maximum number of distinct values
+     */
+    ItemEncoding(int maxNumberItems) {
+        this.maxNumberItems = maxNumberItems;
+    }
+
+    /**
+     * Get the maximum number of distinct values, adding all the attributes and
+     * the class, which could be represented with this encoding
+     * 
+     * @return the maximum number of items
+     */
+    public int getMaxNumberItems() {
+        return this.maxNumberItems;
+    }
+
+    /**
+     * Get the narrowest encoding able to represent the specified number of
+     * distinct values
+     * 
+     * @param numberItems number of distinct values
+     * @return the encoding to be used
+     */
+    public static ItemEncoding forNumberItems(long numberItems) {
+        return numberItems <= SHORT.maxNumberItems ? SHORT : INT;
+    }
+}
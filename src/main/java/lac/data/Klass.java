@@ -17,6 +17,8 @@
  */
 package lac.data;
 
+import java.util.HashMap;
+
 /**
  * Class used to represent the metadata information for the class in the dataset
  */
@@ -26,6 +28,12 @@ public class Klass {
      */
     private String[] values;
 
+    /**
+     * Position of each value in the array of values, used to find values in
+     * constant time
+     */
+    private HashMap<String, Integer> positions;
+
     /**
      * Constructor
      * 
@@ -33,6 +41,7 @@ public class Klass {
      */
     public Klass(String[] values) {
         this.values = values;
+        this.positions = Attribute.positionsOf(values);
     }
 
     /**
@@ -45,6 +54,17 @@ public class Klass {
         return this.values[i];
     }
 
+    /**
+     * Get the position of a value in the class
+     * 
+     * @param value to be found
+     * @return the position of the value, -1 if class does not contain it
+     */
+    public int getPosition(String value) {
+        Integer position = this.positions.get(value);
+        return position == null ? -1 : position;
+    }
+
     /**
      * Get the number of values for the class
      * 
@@ -0,0 +1,335 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * Class containing the logic to read the binary format of LAC. Files in this
+ * format store the dataset already encoded, that is, the metadata of the
+ * attributes and the class with the internal representation of their values,
+ * followed by one column of shorts per attribute and another one for the class.
+ * The file is memory-mapped and each column is copied in bulk, so no parsing
+ * is performed per instance. Columns could also be read directly from the
+ * mapped file, keeping them off the heap (see {@link MappedStorage}).
+ *
+ * Datasets in any other format could be converted to this one by means of
+ * {@link #write(Dataset, String)}, or from the command line:
+ *
+ * java lac.data.LacbDataset input.arff output.lacb
+ */
+public class LacbDataset extends Dataset {
+    /**
+     * Bytes at the beginning of the file identifying the format ("LACB")
+     */
+    private static final int MAGIC = 0x4C414342;
+
+    /**
+     * Version of the format, it has to be increased each time the layout changes
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Constructor for the dataset. It maps the file in memory and loads the
+     * metadata and the encoded columns. Columns are kept off the heap when it
+     * has been enabled, see {@link Dataset#setOffHeap(boolean)}
+     *
+     * @param path of the dataset to be read
+     * @throws Exception
+     */
+    public LacbDataset(String path) throws Exception {
+        this(path, Dataset.isOffHeap());
+    }
+
+    /**
+     * Constructor for the dataset. It maps the file in memory and loads the
+     * metadata and the encoded columns
+     *
+     * @param path    of the dataset to be read
+     * @param offHeap true to read the columns directly from the mapped file,
+     *                false to copy them into the heap
+     * @throws Exception
+     */
+    public LacbDataset(String path, boolean offHeap) throws Exception {
+        super();
+
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    Math.min(channel.size(), Integer.MAX_VALUE));
+
+            if (header.getInt() != MAGIC)
+                throw new IOException("File " + path + " is not in LACB format.");
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException("Version " + version + " of LACB format not supported.");
+
+            this.readMetadata(header);
+
+            int numberInstances = header.getInt();
+            long columnSize = (long) numberInstances * Short.BYTES;
+
+            // Columns of the attributes are followed by the column of the class
+            long[] offsets = new long[this.attributes.size() + 1];
+            for (int j = 0; j < offsets.length; j++) {
+                offsets[j] = header.position() + j * columnSize;
+            }
+
+            if (offHeap) {
+                this.storage = new MappedStorage(channel, offsets, numberInstances);
+            } else {
+                short[][] columns = new short[this.attributes.size()][];
+                for (int j = 0; j < columns.length; j++) {
+                    columns[j] = readColumn(channel, offsets[j], numberInstances);
+                }
+                short[] klasses = readColumn(channel, offsets[columns.length], numberInstances);
+
+                this.storage = new ColumnarStorage(columns, klasses);
+            }
+        } catch (Exception e) {
+            System.err.println("File " + path + " cannot be read.");
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the metadata of the dataset: the attributes, the class, the internal
+     * representation of all their values and the frequency of each class
+     *
+     * @param buffer positioned at the beginning of the metadata
+     */
+    private void readMetadata(ByteBuffer buffer) {
+        this.name = readString(buffer);
+        this.lastIndex = buffer.getShort();
+        this.indexKlass = buffer.getInt();
+        this.hasMissing = buffer.get() != 0;
+        this.notNominalValue = readString(buffer);
+
+        int numberAttributes = buffer.getInt();
+        for (int j = 0; j < numberAttributes; j++) {
+            String nameAttribute = readString(buffer);
+            String[] values = readStrings(buffer);
+
+            if (values == null)
+                this.attributes.add(new Attribute(nameAttribute, Attribute.TYPE_NUMERIC));
+            else
+                this.attributes.add(new Attribute(nameAttribute, values));
+        }
+
+        // Indexes are not rebuilt from the attributes, codes are kept as they were
+        int numberIndexes = buffer.getInt();
+        for (int j = 0; j < numberIndexes; j++) {
+            int numberValues = buffer.getInt();
+            ArrayList<Integer> indexes = new ArrayList<Integer>(numberValues);
+
+            for (int k = 0; k < numberValues; k++) {
+                indexes.add((int) buffer.getShort());
+            }
+            this.indexes.add(indexes);
+        }
+
+        String[] klassValues = readStrings(buffer);
+        if (klassValues != null)
+            this.klass = new Klass(klassValues);
+
+        int numberKlasses = buffer.getInt();
+        for (int k = 0; k < numberKlasses; k++) {
+            short klass = buffer.getShort();
+            this.frequencyByKlass.put(klass, buffer.getLong());
+        }
+    }
+
+    /**
+     * Writes a dataset, already loaded in memory, in the binary format. Only
+     * datasets whose values are encoded as shorts could be written
+     *
+     * @param dataset to be written
+     * @param path    where the dataset will be stored
+     * @throws IOException
+     */
+    public static void write(Dataset dataset, String path) throws IOException {
+        if (dataset.getEncoding() != ItemEncoding.SHORT) {
+            throw new IllegalArgumentException(
+                    "Dataset " + dataset.getName() + " cannot be written, its values are encoded as ints");
+        }
+
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(path), 1 << 16))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+
+            writeString(output, dataset.name);
+            output.writeShort(dataset.lastIndex);
+            output.writeInt(dataset.indexKlass);
+            output.writeByte(dataset.hasMissing ? 1 : 0);
+            writeString(output, dataset.notNominalValue);
+
+            output.writeInt(dataset.attributes.size());
+            for (Attribute attribute : dataset.attributes) {
+                writeString(output, attribute.getName());
+                writeStrings(output, attribute.isNominal() ? attribute.getValues() : null);
+            }
+
+            output.writeInt(dataset.indexes.size());
+            for (ArrayList<Integer> indexes : dataset.indexes) {
+                output.writeInt(indexes.size());
+                for (int index : indexes) {
+                    output.writeShort(index);
+                }
+            }
+
+            writeStrings(output, dataset.klass == null ? null : dataset.klass.getValues());
+
+            output.writeInt(dataset.frequencyByKlass.size());
+            for (Map.Entry<Short, Long> entry : dataset.frequencyByKlass.entrySet()) {
+                output.writeShort(entry.getKey());
+                output.writeLong(entry.getValue());
+            }
+
+            int numberInstances = dataset.size();
+            output.writeInt(numberInstances);
+
+            for (int j = 0; j < dataset.getNumberAttributes(); j++) {
+                for (int i = 0; i < numberInstances; i++) {
+                    output.writeShort(dataset.get(i, j));
+                }
+            }
+            for (int i = 0; i < numberInstances; i++) {
+                output.writeShort(dataset.getKlassInstance(i));
+            }
+        }
+    }
+
+    /**
+     * Maps one column of the file and copies it into a new array
+     *
+     * @param channel         of the file
+     * @param offset          position of the column in the file
+     * @param numberInstances number of values in the column
+     * @return the values of the column
+     * @throws IOException
+     */
+    private static short[] readColumn(FileChannel channel, long offset, int numberInstances) throws IOException {
+        short[] column = new short[numberInstances];
+
+        // Each column is mapped on its own, so files bigger than 2GB are supported
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                (long) numberInstances * Short.BYTES);
+        buffer.asShortBuffer().get(column);
+
+        return column;
+    }
+
+    /**
+     * Reads a string stored as its length in bytes followed by its UTF-8 bytes
+     *
+     * @param buffer where the string is read from
+     * @return the string, null if a negative length was stored
+     */
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0)
+            return null;
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads an array of strings stored as its length followed by each string
+     *
+     * @param buffer where the array is read from
+     * @return the array, null if a negative length was stored
+     */
+    private static String[] readStrings(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0)
+            return null;
+
+        String[] values = new String[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = readString(buffer);
+        }
+
+        return values;
+    }
+
+    /**
+     * Writes a string as its length in bytes followed by its UTF-8 bytes
+     *
+     * @param output where the string is written
+     * @param value  to be written, it could be null
+     * @throws IOException
+     */
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Writes an array of strings as its length followed by each string
+     *
+     * @param output where the array is written
+     * @param values to be written, it could be null
+     * @throws IOException
+     */
+    private static void writeStrings(DataOutputStream output, String[] values) throws IOException {
+        if (values == null) {
+            output.writeInt(-1);
+            return;
+        }
+
+        output.writeInt(values.length);
+        for (String value : values) {
+            writeString(output, value);
+        }
+    }
+
+    /**
+     * Converts a dataset in any of the supported formats into the binary format
+     *
+     * @param args path of the dataset to be converted and path of the output
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Usage: java lac.data.LacbDataset <input> <output.lacb>");
+            System.exit(1);
+        }
+
+        write(Dataset.read(args[0]), args[1]);
+    }
+}
@@ -0,0 +1,266 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Storage keeping the instances off the heap, in memory-mapped files. Values
+ * are stored by columns as in {@link ColumnarStorage}, but each column is split
+ * into segments mapped from a file, so the memory used by the JVM does not
+ * depend on the number of instances and the operating system decides which
+ * parts of the dataset are kept in memory.
+ *
+ * Columns could be mapped from an existing file in LACB format, see
+ * {@link LacbDataset}, which are read-only, or from a temporary file which
+ * grows while instances are added.
+ */
+public class MappedStorage extends Storage implements ShortStorage {
+    /**
+     * Number of bits used to address the values inside a segment
+     */
+    private static final int SEGMENT_BITS = 22;
+
+    /**
+     * Number of values in each segment
+     */
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+
+    /**
+     * Mask to get the position of a value inside its segment
+     */
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /**
+     * Segments of each column. There is one column per attribute, and the class
+     * is stored in the last one
+     */
+    private ShortBuffer[][] columns;
+
+    /**
+     * Temporary file where new segments are mapped, null for read-only storages
+     */
+    private FileChannel channel = null;
+
+    /**
+     * Length of the temporary file, where the next segment will be mapped
+     */
+    private long length = 0;
+
+    /**
+     * Number of instances currently stored
+     */
+    private int size;
+
+    /**
+     * Constructor for an empty storage, backed by a temporary file which is
+     * removed when the JVM finishes
+     *
+     * @param numberAttributes number of attributes (without the class) for each
+     *                         instance
+     * @throws IOException
+     */
+    public MappedStorage(int numberAttributes) throws IOException {
+        File file = File.createTempFile("lac-storage", ".tmp");
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // File is no longer visible once it is opened, where it is supported
+        try {
+            Files.delete(file.toPath());
+        } catch (IOException e) {
+            file.deleteOnExit();
+        }
+
+        this.columns = new ShortBuffer[numberAttributes + 1][0];
+        this.size = 0;
+    }
+
+    /**
+     * Constructor for a read-only storage, mapping columns already written in a
+     * file. Each column is stored contiguously as shorts in big-endian
+     *
+     * @param channel         of the file containing the columns, it could be
+     *                        closed once the storage has been created
+     * @param offsets         position of each column in the file, with the class
+     *                        in the last position
+     * @param numberInstances number of values in each column
+     * @throws IOException
+     */
+    public MappedStorage(FileChannel channel, long[] offsets, int numberInstances) throws IOException {
+        int numberSegments = (int) (((long) numberInstances + SEGMENT_SIZE - 1) >>> SEGMENT_BITS);
+
+        this.columns = new ShortBuffer[offsets.length][numberSegments];
+        for (int j = 0; j < offsets.length; j++) {
+            for (int k = 0; k < numberSegments; k++) {
+                long first = (long) k << SEGMENT_BITS;
+                long values = Math.min(SEGMENT_SIZE, numberInstances - first);
+
+                this.columns[j][k] = channel.map(FileChannel.MapMode.READ_ONLY, offsets[j] + first * Short.BYTES,
+                        values * Short.BYTES).asShortBuffer();
+            }
+        }
+        this.size = numberInstances;
+    }
+
+    /**
+     * Adds a new instance at the end of the storage. The example has the same
+     * layout as {@link Instance}, that is, the values for each attribute followed
+     * by the class in the last position
+     *
+     * @param example internal representation of the instance to be added
+     */
+    public void add(short[] example) {
+        if (this.channel == null)
+            throw new UnsupportedOperationException("Storage mapped from a file cannot be modified.");
+
+        int segment = this.size >>> SEGMENT_BITS;
+        if (segment == this.columns[0].length)
+            this.addSegment();
+
+        int position = this.size & SEGMENT_MASK;
+        for (int j = 0; j < this.columns.length; j++) {
+            this.columns[j][segment].put(position, example[j]);
+        }
+
+        this.size++;
+    }
+
+    /**
+     * Maps a new segment at the end of the temporary file for each column
+     */
+    private void addSegment() {
+        try {
+            for (int j = 0; j < this.columns.length; j++) {
+                ShortBuffer[] segments = Arrays.copyOf(this.columns[j], this.columns[j].length + 1);
+                segments[segments.length - 1] = this.channel
+                        .map(FileChannel.MapMode.READ_WRITE, this.length, (long) SEGMENT_SIZE * Short.BYTES)
+                        .asShortBuffer();
+
+                this.columns[j] = segments;
+                this.length += (long) SEGMENT_SIZE * Short.BYTES;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Storage cannot be extended: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the value of one attribute for the specified instance
+     *
+     * @param indexInstance  index of the instance
+     * @param indexAttribute index of the attribute
+     * @return the internal representation of the value
+     */
+    public short get(int indexInstance, int indexAttribute) {
+        return this.columns[indexAttribute][indexInstance >>> SEGMENT_BITS].get(indexInstance & SEGMENT_MASK);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Storage#getInt(int, int)
+     */
+    @Override
+    public int getInt(int indexInstance, int indexAttribute) {
+        return this.get(indexInstance, indexAttribute);
+    }
+
+    /**
+     * Get the class for the specified instance
+     *
+     * @param indexInstance index of the instance
+     * @return the internal representation of the class
+     */
+    public short getKlass(int indexInstance) {
+        return this.get(indexInstance, this.columns.length - 1);
+    }
+
+    /**
+     * Copies the specified instance into the array passed as argument. Values for
+     * the attributes are copied first, and the class is copied in the last
+     * position
+     *
+     * @param indexInstance index of the instance
+     * @param example       array where the instance is copied, it must have space
+     *                      for all the attributes and the class
+     */
+    public void copy(int indexInstance, short[] example) {
+        int segment = indexInstance >>> SEGMENT_BITS;
+        int position = indexInstance & SEGMENT_MASK;
+
+        for (int j = 0; j < this.columns.length; j++) {
+            example[j] = this.columns[j][segment].get(position);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Storage#copy(int, int[])
+     */
+    @Override
+    public void copy(int indexInstance, int[] example) {
+        int segment = indexInstance >>> SEGMENT_BITS;
+        int position = indexInstance & SEGMENT_MASK;
+
+        for (int j = 0; j < this.columns.length; j++) {
+            example[j] = this.columns[j][segment].get(position);
+        }
+    }
+
+    /**
+     * Get the number of instances stored
+     *
+     * @return the number of instances
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the number of attributes (without the class) stored per instance
+     *
+     * @return the number of attributes
+     */
+    public int getNumberAttributes() {
+        return this.columns.length - 1;
+    }
+
+    /**
+     * Nothing is released, segments are reserved in the file and the operating
+     * system only keeps in memory the pages which are used
+     */
+    public void trimToSize() {
+    }
+
+    /**
+     * Approximated number of bytes used to store the values. They are off the
+     * heap, so the memory used by the JVM is not affected by them
+     *
+     * @return the number of bytes used by the instances in the mapped files
+     */
+    public long sizeInBytes() {
+        return (long) this.size * this.columns.length * Short.BYTES;
+    }
+}
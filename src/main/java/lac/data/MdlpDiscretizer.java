@@ -0,0 +1,161 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Supervised discretization proposed by Fayyad and Irani. The range of values
+ * is recursively split by the cut point minimizing the class entropy of the
+ * resulting intervals, as long as the information gain fulfills the Minimum
+ * Description Length Principle (MDLP). Attributes without any accepted cut
+ * point are discretized into a single interval
+ */
+public class MdlpDiscretizer extends Discretizer {
+    /**
+     * Natural logarithm of 2, used to calculate logarithms in base 2
+     */
+    private static final double LOG2 = Math.log(2);
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Discretizer#getCutPoints(lac.data.Discretizer.SortedValues)
+     */
+    @Override
+    protected double[] getCutPoints(SortedValues values) {
+        ArrayList<Double> cutPoints = new ArrayList<Double>();
+
+        // Ranges of values pending to be split, as positions [from, to)
+        ArrayDeque<int[]> ranges = new ArrayDeque<int[]>();
+        ranges.push(new int[] { 0, values.size() });
+
+        while (!ranges.isEmpty()) {
+            int[] range = ranges.pop();
+            int cut = this.getBestCut(values, range[0], range[1]);
+
+            if (cut > 0) {
+                cutPoints.add((values.getValue(cut - 1) + values.getValue(cut)) / 2);
+                ranges.push(new int[] { range[0], cut });
+                ranges.push(new int[] { cut, range[1] });
+            }
+        }
+
+        Collections.sort(cutPoints);
+        return cutPoints.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    /**
+     * Finds the cut point minimizing the class entropy of a range of values,
+     * and checks if it is accepted by the MDLP criterion
+     * 
+     * @param values sorted distinct values
+     * @param from   position of the first value of the range
+     * @param to     position after the last value of the range
+     * @return the position of the first value after the cut point, or -1 if
+     *         the range must not be split
+     */
+    private int getBestCut(SortedValues values, int from, int to) {
+        if (to - from < 2)
+            return -1;
+
+        long numberInstances = values.getCount(from, to);
+        int bestCut = -1;
+        double bestEntropy = Double.POSITIVE_INFINITY;
+
+        for (int cut = from + 1; cut < to; cut++) {
+            long left = values.getCount(from, cut);
+            double entropy = (left * entropy(values, from, cut, left)
+                    + (numberInstances - left) * entropy(values, cut, to, numberInstances - left)) / numberInstances;
+
+            if (entropy < bestEntropy) {
+                bestEntropy = entropy;
+                bestCut = cut;
+            }
+        }
+
+        long left = values.getCount(from, bestCut);
+        long right = numberInstances - left;
+        double entropy = entropy(values, from, to, numberInstances);
+        double leftEntropy = entropy(values, from, bestCut, left);
+        double rightEntropy = entropy(values, bestCut, to, right);
+
+        int k = numberKlasses(values, from, to);
+        // 3^k - 2 is approximated by 3^k when it could overflow
+        double delta = (k < 20 ? log2(Math.pow(3, k) - 2) : k * log2(3)) - (k * entropy - numberKlasses(values, from, bestCut) * leftEntropy
+                - numberKlasses(values, bestCut, to) * rightEntropy);
+        double gain = entropy - bestEntropy;
+
+        return gain > (log2(numberInstances - 1) + delta) / numberInstances ? bestCut : -1;
+    }
+
+    /**
+     * Class entropy of the instances taking a range of values
+     * 
+     * @param values          sorted distinct values
+     * @param from            position of the first value of the range
+     * @param to              position after the last value of the range
+     * @param numberInstances number of instances in the range
+     * @return the entropy in bits
+     */
+    private static double entropy(SortedValues values, int from, int to, long numberInstances) {
+        double entropy = 0;
+
+        for (int k = 0; k < values.getNumberKlasses(); k++) {
+            long count = values.getCount(from, to, k);
+
+            if (count > 0) {
+                double probability = (double) count / numberInstances;
+                entropy -= probability * log2(probability);
+            }
+        }
+
+        return entropy;
+    }
+
+    /**
+     * Number of classes with any instance in a range of values
+     * 
+     * @param values sorted distinct values
+     * @param from   position of the first value of the range
+     * @param to     position after the last value of the range
+     * @return the number of classes
+     */
+    private static int numberKlasses(SortedValues values, int from, int to) {
+        int numberKlasses = 0;
+
+        for (int k = 0; k < values.getNumberKlasses(); k++) {
+            if (values.getCount(from, to, k) > 0)
+                numberKlasses++;
+        }
+
+        return numberKlasses;
+    }
+
+    /**
+     * Logarithm in base 2
+     * 
+     * @param value whose logarithm is calculated
+     * @return the logarithm in base 2
+     */
+    private static double log2(double value) {
+        return Math.log(value) / LOG2;
+    }
+}
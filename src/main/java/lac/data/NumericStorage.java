@@ -0,0 +1,195 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Storage for the original values of the numeric attributes, which are not
+ * represented by the internal representation of the instances. There is one
+ * array of primitive doubles per numeric attribute, while nominal attributes
+ * do not reserve any space. Missing values are stored as NaN. These values are
+ * only used to discretize the numeric attributes (see {@link Discretizer}).
+ */
+public class NumericStorage {
+    /**
+     * Values for each numeric attribute, null for the nominal ones
+     */
+    private double[][] columns;
+
+    /**
+     * Number of instances currently stored
+     */
+    private int size;
+
+    /**
+     * Constructor
+     *
+     * @param attributes of the dataset, without the class
+     */
+    public NumericStorage(ArrayList<Attribute> attributes) {
+        this(attributes, ColumnarStorage.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param attributes of the dataset, without the class
+     * @param capacity   initial number of instances to be reserved
+     */
+    public NumericStorage(ArrayList<Attribute> attributes, int capacity) {
+        this.columns = new double[attributes.size()][];
+        for (int j = 0; j < this.columns.length; j++) {
+            if (attributes.get(j).isNumeric())
+                this.columns[j] = new double[capacity];
+        }
+        this.size = 0;
+    }
+
+    /**
+     * Check if any of the attributes is numeric, that is, if a storage is needed
+     * for them
+     *
+     * @param attributes of the dataset, without the class
+     * @return true if there is at least one numeric attribute
+     */
+    static boolean isNeeded(ArrayList<Attribute> attributes) {
+        for (Attribute attribute : attributes) {
+            if (attribute.isNumeric())
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the values of a new instance at the end of the storage
+     *
+     * @param values one value per attribute, only the ones of numeric
+     *               attributes are stored
+     */
+    public void add(double[] values) {
+        if (this.size == this.capacity()) {
+            this.grow(this.size + 1);
+        }
+
+        for (int j = 0; j < this.columns.length; j++) {
+            if (this.columns[j] != null)
+                this.columns[j][this.size] = values[j];
+        }
+
+        this.size++;
+    }
+
+    /**
+     * Adds all the values of another storage at the end of this one, keeping
+     * their order
+     *
+     * @param other storage for the same attributes
+     */
+    public void addAll(NumericStorage other) {
+        if (this.size + other.size > this.capacity()) {
+            this.grow(this.size + other.size);
+        }
+
+        for (int j = 0; j < this.columns.length; j++) {
+            if (this.columns[j] != null)
+                System.arraycopy(other.columns[j], 0, this.columns[j], this.size, other.size);
+        }
+
+        this.size += other.size;
+    }
+
+    /**
+     * Get the original value of one numeric attribute for the specified instance
+     *
+     * @param indexInstance  index of the instance
+     * @param indexAttribute index of the attribute, it must be numeric
+     * @return the original value, NaN when it is missing
+     */
+    public double get(int indexInstance, int indexAttribute) {
+        return this.columns[indexAttribute][indexInstance];
+    }
+
+    /**
+     * Get the number of instances stored
+     *
+     * @return the number of instances
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Releases the capacity reserved but not used
+     */
+    public void trimToSize() {
+        if (this.size < this.capacity()) {
+            for (int j = 0; j < this.columns.length; j++) {
+                if (this.columns[j] != null)
+                    this.columns[j] = Arrays.copyOf(this.columns[j], this.size);
+            }
+        }
+    }
+
+    /**
+     * Approximated number of bytes used to store the values. Overhead of the
+     * arrays themselves is not considered
+     *
+     * @return the number of bytes reserved by this storage
+     */
+    public long sizeInBytes() {
+        long size = 0;
+        for (double[] column : this.columns) {
+            if (column != null)
+                size += (long) column.length * Double.BYTES;
+        }
+        return size;
+    }
+
+    /**
+     * Get the number of instances which could be stored without growing
+     *
+     * @return the capacity of the storage
+     */
+    private int capacity() {
+        for (double[] column : this.columns) {
+            if (column != null)
+                return column.length;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Increase the capacity of the storage. Capacity is increased by a half of
+     * the current capacity to amortize the cost of copying arrays
+     *
+     * @param minCapacity minimum number of instances required
+     */
+    private void grow(int minCapacity) {
+        int current = this.capacity();
+        int capacity = current + (current >> 1);
+        if (capacity < minCapacity)
+            capacity = minCapacity;
+
+        for (int j = 0; j < this.columns.length; j++) {
+            if (this.columns[j] != null)
+                this.columns[j] = Arrays.copyOf(this.columns[j], capacity);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+/**
+ * Storage whose values are kept as shorts, so that they could be read without
+ * widening them to ints. All the storages implement it except
+ * {@link IntColumnarStorage}, which is used when the values of the dataset are
+ * encoded as ints (see {@link ItemEncoding}) and they could not fit in a short.
+ */
+public interface ShortStorage {
+    /**
+     * Get the value of one attribute for the specified instance
+     *
+     * @param indexInstance  index of the instance
+     * @param indexAttribute index of the attribute
+     * @return the internal representation of the value
+     */
+    short get(int indexInstance, int indexAttribute);
+
+    /**
+     * Copies the specified instance into the array passed as argument. Values for
+     * the attributes are copied first, and the class is copied in the last
+     * position
+     *
+     * @param indexInstance index of the instance
+     * @param example       array where the instance is copied, it must have space
+     *                      for all the attributes and the class
+     */
+    void copy(int indexInstance, short[] example);
+}
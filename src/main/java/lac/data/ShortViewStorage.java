@@ -0,0 +1,67 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+/**
+ * View of a storage whose values are kept as shorts, see {@link ViewStorage}.
+ * Values could also be read as shorts, as in the storage containing them.
+ */
+public class ShortViewStorage extends ViewStorage implements ShortStorage {
+    /**
+     * Storage containing the instances
+     */
+    private ShortStorage parent;
+
+    /**
+     * Constructor
+     *
+     * @param parent storage containing the instances, it has to implement
+     *               {@link ShortStorage}
+     * @param rows   position of each instance in the parent storage, it is not
+     *               copied so it must not be modified
+     */
+    public ShortViewStorage(Storage parent, int[] rows) {
+        super(parent, rows);
+
+        this.parent = (ShortStorage) this.getParent();
+    }
+
+    /**
+     * Get the value of one attribute for the specified instance
+     *
+     * @param indexInstance  index of the instance in the view
+     * @param indexAttribute index of the attribute
+     * @return the internal representation of the value
+     */
+    public short get(int indexInstance, int indexAttribute) {
+        return this.parent.get(this.getRow(indexInstance), indexAttribute);
+    }
+
+    /**
+     * Copies the specified instance into the array passed as argument. Values for
+     * the attributes are copied first, and the class is copied in the last
+     * position
+     *
+     * @param indexInstance index of the instance in the view
+     * @param example       array where the instance is copied, it must have space
+     *                      for all the attributes and the class
+     */
+    public void copy(int indexInstance, short[] example) {
+        this.parent.copy(this.getRow(indexInstance), example);
+    }
+}
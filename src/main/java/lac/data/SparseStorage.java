@@ -0,0 +1,324 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.util.Arrays;
+
+/**
+ * Storage for sparse datasets, where most of the attributes of each instance
+ * take a default value. Only the values which differ from the default of their
+ * attribute are stored, row by row, so memory depends on the number of those
+ * values instead of on the number of attributes. Default values are restored
+ * when an instance is accessed.
+ */
+public class SparseStorage extends Storage implements ShortStorage {
+    /**
+     * Initial number of instances which could be stored without growing
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Default value for each attribute
+     */
+    private short[] defaults;
+
+    /**
+     * Position in attributes and values where each instance starts. The
+     * instance i is stored between starts[i] and starts[i + 1]
+     */
+    private int[] starts;
+
+    /**
+     * Index of the attribute for each value stored, ascending for each instance
+     */
+    private int[] attributes;
+
+    /**
+     * Values stored, that is, those which are not the default of their attribute
+     */
+    private short[] values;
+
+    /**
+     * Value of the class for each instance
+     */
+    private short[] klasses;
+
+    /**
+     * Number of instances currently stored
+     */
+    private int size;
+
+    /**
+     * Constructor
+     *
+     * @param defaults default value for each attribute (without the class)
+     */
+    public SparseStorage(short[] defaults) {
+        this.defaults = defaults;
+        this.starts = new int[DEFAULT_CAPACITY + 1];
+        this.attributes = new int[DEFAULT_CAPACITY];
+        this.values = new short[DEFAULT_CAPACITY];
+        this.klasses = new short[DEFAULT_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Adds a new instance at the end of the storage. The example has the same
+     * layout as {@link Instance}, that is, the values for each attribute followed
+     * by the class in the last position
+     *
+     * @param example internal representation of the instance to be added
+     */
+    public void add(short[] example) {
+        this.growInstances();
+
+        for (int j = 0; j < this.defaults.length; j++) {
+            this.addValue(j, example[j]);
+        }
+        this.klasses[this.size] = example[this.defaults.length];
+
+        this.size++;
+    }
+
+    /**
+     * Adds a new instance at the end of the storage from only some of its
+     * values, the rest of attributes take their default value
+     *
+     * @param indexesAttribute index of the attributes having a value, in
+     *                         ascending order
+     * @param example          value for each of these attributes
+     * @param numberValues     number of values of the instance
+     * @param klass            class of the instance
+     */
+    public void add(int[] indexesAttribute, short[] example, int numberValues, short klass) {
+        this.growInstances();
+
+        for (int k = 0; k < numberValues; k++) {
+            this.addValue(indexesAttribute[k], example[k]);
+        }
+        this.klasses[this.size] = klass;
+
+        this.size++;
+    }
+
+    /**
+     * Adds one value to the instance being stored, only when it is not the
+     * default value
+     *
+     * @param indexAttribute index of the attribute
+     * @param value          internal representation of the value
+     */
+    private void addValue(int indexAttribute, short value) {
+        if (value == this.defaults[indexAttribute])
+            return;
+
+        int position = this.starts[this.size + 1];
+        if (position == this.values.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, this.values.length + (this.values.length >> 1));
+            this.attributes = Arrays.copyOf(this.attributes, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        this.attributes[position] = indexAttribute;
+        this.values[position] = value;
+        this.starts[this.size + 1] = position + 1;
+    }
+
+    /**
+     * Ensures that there is space for a new instance, which starts without
+     * values
+     */
+    private void growInstances() {
+        if (this.size == this.klasses.length) {
+            int capacity = Math.max(DEFAULT_CAPACITY, this.klasses.length + (this.klasses.length >> 1));
+            this.starts = Arrays.copyOf(this.starts, capacity + 1);
+            this.klasses = Arrays.copyOf(this.klasses, capacity);
+        }
+        this.starts[this.size + 1] = this.starts[this.size];
+    }
+
+    /**
+     * Get the value of one attribute for the specified instance
+     *
+     * @param indexInstance  index of the instance
+     * @param indexAttribute index of the attribute
+     * @return the internal representation of the value
+     */
+    public short get(int indexInstance, int indexAttribute) {
+        int position = Arrays.binarySearch(this.attributes, this.starts[indexInstance],
+                this.starts[indexInstance + 1], indexAttribute);
+
+        return position < 0 ? this.defaults[indexAttribute] : this.values[position];
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Storage#getInt(int, int)
+     */
+    @Override
+    public int getInt(int indexInstance, int indexAttribute) {
+        return this.get(indexInstance, indexAttribute);
+    }
+
+    /**
+     * Get the class for the specified instance
+     *
+     * @param indexInstance index of the instance
+     * @return the internal representation of the class
+     */
+    public short getKlass(int indexInstance) {
+        return this.klasses[indexInstance];
+    }
+
+    /**
+     * Copies the specified instance into the array passed as argument. Values for
+     * the attributes are copied first, and the class is copied in the last
+     * position
+     *
+     * @param indexInstance index of the instance
+     * @param example       array where the instance is copied, it must have space
+     *                      for all the attributes and the class
+     */
+    public void copy(int indexInstance, short[] example) {
+        System.arraycopy(this.defaults, 0, example, 0, this.defaults.length);
+
+        for (int k = this.starts[indexInstance]; k < this.starts[indexInstance + 1]; k++) {
+            example[this.attributes[k]] = this.values[k];
+        }
+        example[this.defaults.length] = this.klasses[indexInstance];
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Storage#copy(int, int[])
+     */
+    @Override
+    public void copy(int indexInstance, int[] example) {
+        for (int j = 0; j < this.defaults.length; j++) {
+            example[j] = this.defaults[j];
+        }
+        for (int k = this.starts[indexInstance]; k < this.starts[indexInstance + 1]; k++) {
+            example[this.attributes[k]] = this.values[k];
+        }
+        example[this.defaults.length] = this.klasses[indexInstance];
+    }
+
+    /**
+     * Get the position of the first value stored for one instance
+     *
+     * @param indexInstance index of the instance
+     * @return position of its first value, see {@link #getAttribute(int)} and
+     *         {@link #getValue(int)}
+     */
+    int getStart(int indexInstance) {
+        return this.starts[indexInstance];
+    }
+
+    /**
+     * Get the position after the last value stored for one instance
+     *
+     * @param indexInstance index of the instance
+     * @return position after its last value
+     */
+    int getEnd(int indexInstance) {
+        return this.starts[indexInstance + 1];
+    }
+
+    /**
+     * Get the attribute of a value stored
+     *
+     * @param position of the value
+     * @return index of the attribute
+     */
+    int getAttribute(int position) {
+        return this.attributes[position];
+    }
+
+    /**
+     * Get a value stored
+     *
+     * @param position of the value
+     * @return the internal representation of the value
+     */
+    short getValue(int position) {
+        return this.values[position];
+    }
+
+    /**
+     * Get the default value of one attribute
+     *
+     * @param indexAttribute index of the attribute
+     * @return the internal representation of its default value
+     */
+    short getDefault(int indexAttribute) {
+        return this.defaults[indexAttribute];
+    }
+
+    /**
+     * Get the number of instances stored
+     *
+     * @return the number of instances
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the number of attributes (without the class) stored per instance
+     *
+     * @return the number of attributes
+     */
+    public int getNumberAttributes() {
+        return this.defaults.length;
+    }
+
+    /**
+     * Get the number of values stored, that is, those which are not the default
+     * of their attribute
+     *
+     * @return the number of values stored
+     */
+    public int getNumberValues() {
+        return this.starts[this.size];
+    }
+
+    /**
+     * Releases the capacity reserved but not used
+     */
+    public void trimToSize() {
+        int numberValues = this.getNumberValues();
+
+        this.starts = Arrays.copyOf(this.starts, this.size + 1);
+        this.klasses = Arrays.copyOf(this.klasses, this.size);
+        this.attributes = Arrays.copyOf(this.attributes, numberValues);
+        this.values = Arrays.copyOf(this.values, numberValues);
+    }
+
+    /**
+     * Approximated number of bytes used to store the values. Overhead of the
+     * arrays themselves is not considered
+     *
+     * @return the number of bytes reserved by this storage
+     */
+    public long sizeInBytes() {
+        return (long) this.starts.length * Integer.BYTES + (long) this.attributes.length * Integer.BYTES
+                + (long) this.values.length * Short.BYTES + (long) this.klasses.length * Short.BYTES;
+    }
+}
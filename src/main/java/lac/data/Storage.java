@@ -0,0 +1,109 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+/**
+ * Storage used by the dataset to keep the internal representation of all its
+ * instances. Each instance is handled with the same layout as
+ * {@link Instance}, that is, the values for each attribute followed by the class
+ * in the last position, although each storage could keep them in a different
+ * way. Values are always read as ints, which is valid for any encoding (see
+ * {@link ItemEncoding}). Storages keeping them as shorts also implement
+ * {@link ShortStorage}, so they could be read without widening them, which is
+ * not the case of {@link IntColumnarStorage}.
+ */
+public abstract class Storage {
+    /**
+     * Adds a new instance at the end of the storage
+     *
+     * @param example internal representation of the instance to be added, with
+     *                the class in the last position
+     */
+    public abstract void add(short[] example);
+
+    /**
+     * Get the class for the specified instance
+     *
+     * @param indexInstance index of the instance
+     * @return the internal representation of the class
+     */
+    public abstract short getKlass(int indexInstance);
+
+    /**
+     * Adds a new instance whose values are encoded as ints. Storages of shorts
+     * narrow them, so it is only valid while all the values fit in a short
+     *
+     * @param example internal representation of the instance to be added, with
+     *                the class in the last position
+     */
+    public void add(int[] example) {
+        short[] narrowed = new short[example.length];
+        for (int j = 0; j < example.length; j++) {
+            narrowed[j] = (short) example[j];
+        }
+        this.add(narrowed);
+    }
+
+    /**
+     * Get the value of one attribute for the specified instance as an int, which
+     * is valid for any encoding. Storages of shorts widen their values
+     *
+     * @param indexInstance  index of the instance
+     * @param indexAttribute index of the attribute
+     * @return the internal representation of the value
+     */
+    public abstract int getInt(int indexInstance, int indexAttribute);
+
+    /**
+     * Copies the specified instance into an array of ints, which is valid for
+     * any encoding. Values for the attributes are copied first, and the class is
+     * copied in the last position
+     *
+     * @param indexInstance index of the instance
+     * @param example       array where the instance is copied, it must have space
+     *                      for all the attributes and the class
+     */
+    public abstract void copy(int indexInstance, int[] example);
+
+    /**
+     * Get the number of instances stored
+     *
+     * @return the number of instances
+     */
+    public abstract int size();
+
+    /**
+     * Get the number of attributes (without the class) stored per instance
+     *
+     * @return the number of attributes
+     */
+    public abstract int getNumberAttributes();
+
+    /**
+     * Releases the capacity reserved but not used
+     */
+    public abstract void trimToSize();
+
+    /**
+     * Approximated number of bytes used to store the values. Overhead of the
+     * arrays themselves is not considered
+     *
+     * @return the number of bytes reserved by this storage
+     */
+    public abstract long sizeInBytes();
+}
@@ -0,0 +1,240 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Support of each item, alone and together with each class, for the whole
+ * dataset. It is built once per dataset in a single pass, see
+ * {@link Dataset#getSupportTable()}, where each attribute is counted in
+ * parallel, and shared by all the algorithms mining the same dataset. In this
+ * way, algorithms do not scan the dataset to count singletons, nor intersect
+ * tidsets to evaluate rules formed by only one item.
+ *
+ * Both tables are dense, indexed by the internal representation of the items.
+ * Classes are indexed by their position, that is, the position k corresponds
+ * to {@link Dataset#getKlass(int)}. Values which are not nominal (-1) are not
+ * counted. Supports take into account the weights of the instances when the
+ * dataset is weighted. Items are read as ints, so that datasets of both
+ * encodings are supported (see {@link ItemEncoding}).
+ */
+public class SupportTable {
+    /**
+     * Support of each item (or class), indexed by its internal representation
+     */
+    private long[] supports;
+
+    /**
+     * Support of each item together with each class, indexed by the internal
+     * representation of the item and the position of the class
+     */
+    private long[][] supportsByKlass;
+
+    /**
+     * Position of each class, indexed by its internal representation, -1 for
+     * the internal representations which are not classes
+     */
+    private int[] positions;
+
+    /**
+     * Number of classes
+     */
+    private int numberKlasses;
+
+    /**
+     * Constructor. Attributes are counted concurrently, in the current fork-join
+     * pool or in the common one. Since each item belongs to only one attribute,
+     * tasks never update the same counter
+     *
+     * @param dataset whose supports are calculated
+     */
+    SupportTable(Dataset dataset) {
+        int numberItems = dataset.lastIndex + 1;
+
+        this.numberKlasses = dataset.getKlass() == null ? 0 : dataset.getNumberKlasses();
+        this.supports = new long[numberItems];
+        this.supportsByKlass = new long[numberItems][this.numberKlasses];
+        this.positions = new int[numberItems];
+        Arrays.fill(this.positions, -1);
+        for (int k = 0; k < this.numberKlasses; k++) {
+            this.positions[dataset.getKlass(k)] = k;
+        }
+
+        // Class and weight of each instance are read only once
+        int size = dataset.size();
+        int[] klasses = new int[size];
+        int[] weights = new int[size];
+        for (int i = 0; i < size; i++) {
+            short klass = dataset.getKlassInstance(i);
+            klasses[i] = this.getPosition(klass);
+            weights[i] = dataset.getWeight(i);
+
+            if (klass >= 0) {
+                this.supports[klass] += weights[i];
+                if (klasses[i] >= 0)
+                    this.supportsByKlass[klass][klasses[i]] += weights[i];
+            }
+        }
+
+        ArrayList<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+        for (int j = 0; j < dataset.getNumberAttributes(); j++) {
+            int indexAttribute = j;
+
+            tasks.add(ForkJoinTask.adapt(() -> {
+                for (int i = 0; i < size; i++) {
+                    this.count(dataset.getInt(i, indexAttribute), klasses[i], weights[i]);
+                }
+            }));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    /**
+     * Counts a new instance appended at the end of the dataset, so that the
+     * table does not have to be built again
+     *
+     * @param example internal representation of the instance, with the class in
+     *                the last position
+     * @param weight  of the instance
+     */
+    void add(int[] example, int weight) {
+        short klass = (short) example[example.length - 1];
+        int position = this.getPosition(klass);
+
+        for (int j = 0; j < example.length; j++) {
+            int item = example[j];
+            if (item >= this.supports.length) {
+                int length = item + 1;
+                this.supports = Arrays.copyOf(this.supports, length);
+                this.supportsByKlass = Arrays.copyOf(this.supportsByKlass, length);
+                for (int k = 0; k < length; k++) {
+                    if (this.supportsByKlass[k] == null)
+                        this.supportsByKlass[k] = new long[this.numberKlasses];
+                }
+            }
+
+            this.count(item, position, weight);
+        }
+    }
+
+    /**
+     * Counts one appearance of an item
+     *
+     * @param item   internal representation of the item
+     * @param klass  position of the class of the instance, -1 if it is missing
+     * @param weight of the instance
+     */
+    private void count(int item, int klass, int weight) {
+        if (item < 0)
+            return;
+
+        this.supports[item] += weight;
+        if (klass >= 0)
+            this.supportsByKlass[item][klass] += weight;
+    }
+
+    /**
+     * Get the position of a class
+     *
+     * @param klass internal representation of the class
+     * @return the position of the class, -1 if it is not a class
+     */
+    public int getPosition(short klass) {
+        if (klass < 0 || klass >= this.positions.length)
+            return -1;
+
+        return this.positions[klass];
+    }
+
+    /**
+     * Get the number of instances where the item (or class) appears
+     *
+     * @param item internal representation of the item or class
+     * @return the support of the item
+     */
+    public long getSupport(int item) {
+        if (item < 0 || item >= this.supports.length)
+            return 0;
+
+        return this.supports[item];
+    }
+
+    /**
+     * Get the number of instances where the item appears and which belong to the
+     * specified class
+     *
+     * @param item  internal representation of the item
+     * @param klass internal representation of the class
+     * @return the support of the rule item -> klass
+     */
+    public long getSupport(int item, short klass) {
+        int position = this.getPosition(klass);
+        if (item < 0 || item >= this.supports.length || position < 0)
+            return 0;
+
+        return this.supportsByKlass[item][position];
+    }
+
+    /**
+     * Get the number of instances where the item appears for each class
+     *
+     * @param item internal representation of the item
+     * @return the support for each class, indexed by the position of the class.
+     *         It is shared, so it must not be modified
+     */
+    public long[] getSupportByKlass(int item) {
+        if (item < 0 || item >= this.supports.length)
+            return new long[this.numberKlasses];
+
+        return this.supportsByKlass[item];
+    }
+
+    /**
+     * Get the number of internal representations counted, that is, items are
+     * the internal representations from 0 to this number (exclusive)
+     *
+     * @return the number of items, including the classes
+     */
+    public int getNumberItems() {
+        return this.supports.length;
+    }
+
+    /**
+     * Get the number of classes
+     *
+     * @return the number of classes
+     */
+    public int getNumberKlasses() {
+        return this.numberKlasses;
+    }
+
+    /**
+     * Approximated number of bytes used by the table. Overhead of the arrays
+     * themselves is not considered
+     *
+     * @return the number of bytes used by the counters
+     */
+    public long sizeInBytes() {
+        long length = this.supports.length;
+        return length * Long.BYTES + length * this.numberKlasses * Long.BYTES
+                + (long) this.positions.length * Integer.BYTES;
+    }
+}
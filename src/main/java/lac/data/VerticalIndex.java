@@ -0,0 +1,446 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Vertical representation of a dataset. For each item (a value of a nominal
+ * attribute, using its internal representation) and for each class, it keeps a
+ * bitset with the instances (tids) where it appears. It is built once per
+ * dataset, see {@link Dataset#getVerticalIndex()}, and shared by all the
+ * algorithms mining the same dataset.
+ *
+ * Values which are not nominal (-1) are not indexed. Bitsets returned by this
+ * class are shared, so they must not be modified by the caller. Supports take
+ * into account the weights of the instances when the dataset is weighted. Items
+ * are indexed as ints, so that datasets of both encodings are supported (see
+ * {@link ItemEncoding}).
+ */
+public class VerticalIndex {
+    /**
+     * Tidset for each item and class, indexed by its internal representation
+     */
+    private BitSet[] tidsets;
+
+    /**
+     * Cardinality of each tidset, stored because BitSet.cardinality() is
+     * expensive. For weighted datasets, sum of the weights of its instances
+     */
+    private long[] supports;
+
+    /**
+     * Weight of each instance, null when the dataset is not weighted
+     */
+    private int[] weights = null;
+
+    /**
+     * Whether each internal representation belongs to a class or not
+     */
+    private boolean[] isKlass;
+
+    /**
+     * Items which appear at least once in the dataset, sorted in ascending order
+     */
+    private int[] items;
+
+    /**
+     * Same items as shorts, built the first time they are requested as shorts
+     */
+    private short[] shortItems = null;
+
+    /**
+     * Encoding of the values of the dataset indexed
+     */
+    private ItemEncoding encoding;
+
+    /**
+     * Number of instances indexed
+     */
+    private int size;
+
+    /**
+     * Empty tidset returned for those items which do not appear in the dataset
+     */
+    private static final BitSet EMPTY = new BitSet();
+
+    /**
+     * Constructor. It scans once the whole dataset
+     *
+     * @param dataset to be indexed
+     */
+    VerticalIndex(Dataset dataset) {
+        int numberItems = dataset.lastIndex + 1;
+
+        this.encoding = dataset.getEncoding();
+        this.size = dataset.size();
+        this.tidsets = new BitSet[numberItems];
+        this.supports = new long[numberItems];
+        this.isKlass = new boolean[numberItems];
+
+        if (dataset.isWeighted()) {
+            this.weights = new int[this.size];
+            for (int i = 0; i < this.size; i++) {
+                this.weights[i] = dataset.getWeight(i);
+            }
+        }
+
+        if (dataset.storage instanceof SparseStorage) {
+            this.indexSparse((SparseStorage) dataset.storage);
+        } else {
+            for (int j = 0; j < dataset.getNumberAttributes(); j++) {
+                for (int i = 0; i < this.size; i++) {
+                    this.set(dataset.getInt(i, j), i);
+                }
+            }
+        }
+
+        for (int i = 0; i < this.size; i++) {
+            short klass = dataset.getKlassInstance(i);
+            this.set(klass, i);
+            if (klass >= 0)
+                this.isKlass[klass] = true;
+        }
+
+        this.updateItems();
+    }
+
+    /**
+     * Indexes a new instance appended at the end of the dataset, so that the
+     * index does not have to be built again. Only unweighted datasets grow
+     *
+     * @param example       internal representation of the instance, with the
+     *                      class in the last position
+     * @param indexInstance index of the instance, it has to be the number of
+     *                      instances already indexed
+     */
+    void add(int[] example, int indexInstance) {
+        boolean newItems = false;
+
+        this.size = indexInstance + 1;
+        for (int j = 0; j < example.length; j++) {
+            newItems |= this.add(example[j], j == example.length - 1, indexInstance);
+        }
+
+        // Sorted items are only built again when some of them is new
+        if (newItems)
+            this.updateItems();
+    }
+
+    /**
+     * Indexes one value of a new instance, growing the index when it is a new
+     * item
+     *
+     * @param item          internal representation of the value
+     * @param isKlass       whether the value is the class of the instance
+     * @param indexInstance index of the instance
+     * @return true if the item did not appear before
+     */
+    private boolean add(int item, boolean isKlass, int indexInstance) {
+        if (item < 0)
+            return false;
+
+        if (item >= this.tidsets.length) {
+            this.tidsets = Arrays.copyOf(this.tidsets, item + 1);
+            this.supports = Arrays.copyOf(this.supports, item + 1);
+            this.isKlass = Arrays.copyOf(this.isKlass, item + 1);
+        }
+        boolean newItem = this.tidsets[item] == null;
+
+        this.set(item, indexInstance);
+        if (isKlass)
+            this.isKlass[item] = true;
+
+        return newItem;
+    }
+
+    /**
+     * Collects the items which appear at least once in the dataset
+     */
+    private void updateItems() {
+        int numberPresent = 0;
+        for (int item = 0; item < this.tidsets.length; item++) {
+            if (this.tidsets[item] != null && !this.isKlass[item])
+                numberPresent++;
+        }
+
+        int[] items = new int[numberPresent];
+        for (int item = 0, k = 0; item < this.tidsets.length; item++) {
+            if (this.tidsets[item] != null && !this.isKlass[item])
+                items[k++] = item;
+        }
+        this.items = items;
+        this.shortItems = null;
+    }
+
+    /**
+     * Indexes a sparse storage, visiting only the values stored. Default values
+     * are indexed at once for each attribute, as the instances where no value
+     * was stored for it
+     *
+     * @param storage to be indexed
+     */
+    private void indexSparse(SparseStorage storage) {
+        BitSet[] specified = new BitSet[storage.getNumberAttributes()];
+
+        for (int i = 0; i < this.size; i++) {
+            for (int k = storage.getStart(i); k < storage.getEnd(i); k++) {
+                int indexAttribute = storage.getAttribute(k);
+
+                if (specified[indexAttribute] == null)
+                    specified[indexAttribute] = new BitSet(this.size);
+                specified[indexAttribute].set(i);
+
+                this.set(storage.getValue(k), i);
+            }
+        }
+
+        for (int j = 0; j < specified.length; j++) {
+            short item = storage.getDefault(j);
+            if (item < 0)
+                continue;
+
+            BitSet tidset = new BitSet(this.size);
+            tidset.set(0, this.size);
+            if (specified[j] != null)
+                tidset.andNot(specified[j]);
+
+            if (!tidset.isEmpty()) {
+                if (this.tidsets[item] != null)
+                    tidset.or(this.tidsets[item]);
+                this.tidsets[item] = tidset;
+                this.supports[item] = this.getSupport(tidset);
+            }
+        }
+    }
+
+    /**
+     * Marks the item as present in the specified instance
+     *
+     * @param item          internal representation of the value
+     * @param indexInstance index of the instance
+     */
+    private void set(int item, int indexInstance) {
+        if (item < 0)
+            return;
+
+        if (this.tidsets[item] == null)
+            this.tidsets[item] = new BitSet(this.size);
+
+        this.tidsets[item].set(indexInstance);
+        this.supports[item] += this.weights == null ? 1 : this.weights[indexInstance];
+    }
+
+    /**
+     * Get the items which appear at least once in the dataset. Classes are not
+     * included. It is only valid when values are encoded as shorts, see
+     * {@link #getIntItems()} otherwise
+     *
+     * @return the items sorted in ascending order
+     * @throws IllegalStateException when values are encoded as ints
+     */
+    public short[] getItems() {
+        if (this.encoding != ItemEncoding.SHORT)
+            throw new IllegalStateException("Items are encoded as ints, they have to be read as ints.");
+
+        if (this.shortItems == null) {
+            short[] items = new short[this.items.length];
+
+            for (int k = 0; k < items.length; k++) {
+                items[k] = (short) this.items[k];
+            }
+            this.shortItems = items;
+        }
+
+        return this.shortItems;
+    }
+
+    /**
+     * Get the items which appear at least once in the dataset as ints, which is
+     * valid for any encoding. Classes are not included
+     *
+     * @return the items sorted in ascending order
+     */
+    public int[] getIntItems() {
+        return this.items;
+    }
+
+    /**
+     * Get the instances where the item (or class) appears
+     *
+     * @param item internal representation of the item or class
+     * @return the tidset for this item, it must not be modified
+     */
+    public BitSet getTidset(int item) {
+        if (item < 0 || item >= this.tidsets.length || this.tidsets[item] == null)
+            return EMPTY;
+
+        return this.tidsets[item];
+    }
+
+    /**
+     * Get the instances containing all the items of the itemset. A new bitset is
+     * created, so it could be modified by the caller
+     *
+     * @param itemset set of items, an empty itemset is contained in all the
+     *                instances
+     * @return the tidset for the whole itemset
+     */
+    public BitSet getTidset(List<Short> itemset) {
+        BitSet tidset = new BitSet(this.size);
+        tidset.set(0, this.size);
+
+        for (int i = 0; i < itemset.size() && !tidset.isEmpty(); i++) {
+            tidset.and(this.getTidset(itemset.get(i)));
+        }
+
+        return tidset;
+    }
+
+    /**
+     * Get the instances of one class
+     *
+     * @param klass internal representation of the class
+     * @return the tidset for this class, it must not be modified
+     */
+    public BitSet getKlassTidset(short klass) {
+        if (!this.isKlass(klass))
+            return EMPTY;
+
+        return this.tidsets[klass];
+    }
+
+    /**
+     * Get the number of instances where the item (or class) appears
+     *
+     * @param item internal representation of the item or class
+     * @return the support of the item
+     */
+    public long getSupport(int item) {
+        if (item < 0 || item >= this.supports.length)
+            return 0;
+
+        return this.supports[item];
+    }
+
+    /**
+     * Get the number of instances containing all the items of the itemset
+     *
+     * @param itemset set of items
+     * @return the support of the itemset
+     */
+    public long getSupport(List<Short> itemset) {
+        if (itemset.size() == 1)
+            return this.getSupport(itemset.get(0));
+
+        return this.getSupport(this.getTidset(itemset));
+    }
+
+    /**
+     * Get the number of instances contained in a tidset, considering their
+     * weights for weighted datasets
+     *
+     * @param tidset instances to be counted
+     * @return the support of the tidset
+     */
+    public long getSupport(BitSet tidset) {
+        if (this.weights == null)
+            return tidset.cardinality();
+
+        long support = 0;
+        for (int i = tidset.nextSetBit(0); i >= 0; i = tidset.nextSetBit(i + 1)) {
+            support += this.weights[i];
+        }
+
+        return support;
+    }
+
+    /**
+     * Get the number of instances containing all the items of the itemset and
+     * belonging to the specified class
+     *
+     * @param itemset set of items
+     * @param klass   internal representation of the class
+     * @return the support of the rule itemset -> klass
+     */
+    public long getSupport(List<Short> itemset, short klass) {
+        BitSet tidset = this.getTidset(itemset);
+        tidset.and(this.getKlassTidset(klass));
+
+        return this.getSupport(tidset);
+    }
+
+    /**
+     * Get the number of instances belonging to one class
+     *
+     * @param klass internal representation of the class
+     * @return the number of instances of this class
+     */
+    public long getKlassSupport(short klass) {
+        if (!this.isKlass(klass))
+            return 0;
+
+        return this.supports[klass];
+    }
+
+    /**
+     * Check if the internal representation belongs to a class present in the
+     * dataset
+     *
+     * @param klass internal representation to be checked
+     * @return true if it is a class, false otherwise
+     */
+    private boolean isKlass(int klass) {
+        return klass >= 0 && klass < this.isKlass.length && this.isKlass[klass];
+    }
+
+    /**
+     * Get the number of instances indexed
+     *
+     * @return the number of instances
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Approximated number of bytes used by the index, that is, the words of the
+     * tidsets plus the supports and items. Overhead of the objects themselves is
+     * not considered
+     *
+     * @return the number of bytes used by the index
+     */
+    public long sizeInBytes() {
+        long size = 0;
+        for (BitSet tidset : this.tidsets) {
+            if (tidset != null)
+                size += tidset.size() / Byte.SIZE;
+        }
+
+        size += (long) this.supports.length * Long.BYTES + this.isKlass.length;
+        size += (long) this.items.length * Integer.BYTES;
+        if (this.shortItems != null)
+            size += (long) this.shortItems.length * Short.BYTES;
+        if (this.weights != null)
+            size += (long) this.weights.length * Integer.BYTES;
+
+        return size;
+    }
+}
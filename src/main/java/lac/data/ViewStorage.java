@@ -0,0 +1,165 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+/**
+ * Storage exposing a subset of the instances of another storage, without
+ * copying them. Instances are identified by their position in the original
+ * storage, and they are accessed in the order specified. Views are read-only.
+ * Values are read as ints, see {@link ShortViewStorage} for the views of
+ * storages of shorts.
+ */
+public class ViewStorage extends Storage {
+    /**
+     * Storage containing the instances
+     */
+    private Storage parent;
+
+    /**
+     * Position in the parent storage of each instance of the view
+     */
+    private int[] rows;
+
+    /**
+     * Constructor. When the parent is another view, the positions are
+     * translated to its own parent, so accessing an instance never goes through
+     * more than one view
+     *
+     * @param parent storage containing the instances
+     * @param rows   position of each instance in the parent storage, it is not
+     *               copied so it must not be modified
+     */
+    public ViewStorage(Storage parent, int[] rows) {
+        if (parent instanceof ViewStorage) {
+            ViewStorage view = (ViewStorage) parent;
+            int[] translated = new int[rows.length];
+
+            for (int i = 0; i < rows.length; i++) {
+                translated[i] = view.rows[rows[i]];
+            }
+
+            parent = view.parent;
+            rows = translated;
+        }
+
+        this.parent = parent;
+        this.rows = rows;
+    }
+
+    /**
+     * Views cannot be modified
+     *
+     * @param example internal representation of the instance to be added
+     */
+    public void add(short[] example) {
+        throw new UnsupportedOperationException("Views cannot be modified.");
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Storage#add(int[])
+     */
+    @Override
+    public void add(int[] example) {
+        throw new UnsupportedOperationException("Views cannot be modified.");
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Storage#getInt(int, int)
+     */
+    @Override
+    public int getInt(int indexInstance, int indexAttribute) {
+        return this.parent.getInt(this.rows[indexInstance], indexAttribute);
+    }
+
+    /**
+     * Get the class for the specified instance
+     *
+     * @param indexInstance index of the instance in the view
+     * @return the internal representation of the class
+     */
+    public short getKlass(int indexInstance) {
+        return this.parent.getKlass(this.rows[indexInstance]);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see lac.data.Storage#copy(int, int[])
+     */
+    @Override
+    public void copy(int indexInstance, int[] example) {
+        this.parent.copy(this.rows[indexInstance], example);
+    }
+
+    /**
+     * Get the position of an instance in the storage which really contains it
+     *
+     * @param indexInstance index of the instance in the view
+     * @return the position of the instance in the parent storage
+     */
+    public int getRow(int indexInstance) {
+        return this.rows[indexInstance];
+    }
+
+    /**
+     * Get the storage which really contains the instances, it is never a view
+     *
+     * @return the parent storage
+     */
+    Storage getParent() {
+        return this.parent;
+    }
+
+    /**
+     * Get the number of instances in the view
+     *
+     * @return the number of instances
+     */
+    public int size() {
+        return this.rows.length;
+    }
+
+    /**
+     * Get the number of attributes (without the class) stored per instance
+     *
+     * @return the number of attributes
+     */
+    public int getNumberAttributes() {
+        return this.parent.getNumberAttributes();
+    }
+
+    /**
+     * Nothing is reserved by a view
+     */
+    public void trimToSize() {
+    }
+
+    /**
+     * Approximated number of bytes used by the view, the instances themselves
+     * belong to the parent storage
+     *
+     * @return the number of bytes used to select the instances
+     */
+    public long sizeInBytes() {
+        return (long) this.rows.length * Integer.BYTES;
+    }
+}
@@ -52,11 +52,12 @@ public class ClassifierReport extends Report {
             for (int i = 0; i < this.classifier.getNumberRules(); i++) {
                 Rule rule = this.classifier.getRules().get(i);
 
-                // Transform from rule codified with short to string values
-                String[] antecedent = new String[rule.getAntecedent().size()];
+                // Transform from rule codified with its internal representation to string
+                // values, items are read as ints so that both encodings are supported
+                String[] antecedent = new String[rule.size()];
                 for (int j = 0; j < antecedent.length; j++) {
-                    Attribute attr = this.training.getAttributeByIndex(rule.getAntecedent().get(j));
-                    antecedent[j] = attr.getName() + "=" + this.training.getValueByIndex(rule.getAntecedent().get(j));
+                    Attribute attr = this.training.getAttributeByIndex(rule.getItem(j));
+                    antecedent[j] = attr.getName() + "=" + this.training.getValueByIndex(rule.getItem(j));
                 }
 
                 String klass = this.training.getValueByIndex(rule.getKlass());
@@ -112,7 +112,7 @@ public class MetricsReport extends Report {
         double avg = 0;
 
         for (int i = 0; i < this.classifier.getNumberRules(); i++) {
-            avg += this.classifier.getRules().get(i).getAntecedent().size();
+            avg += this.classifier.getRules().get(i).size();
         }
 
         avg /= this.classifier.getNumberRules();
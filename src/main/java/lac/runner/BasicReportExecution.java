@@ -17,6 +17,8 @@
  */
 package lac.runner;
 
+import java.util.ArrayList;
+
 import lac.algorithms.Classifier;
 import lac.data.Dataset;
 import lac.data.Instance;
@@ -42,6 +44,12 @@ public class BasicReportExecution {
      */
     private double accuracy;
 
+    /**
+     * Field used to store the standard deviation of the accuracy, when it is the
+     * average of several executions
+     */
+    private double standardDeviation;
+
     /**
      * Default constructor
      */
@@ -49,6 +57,7 @@ public class BasicReportExecution {
         startTime = 0;
         stopTime = 0;
         accuracy = 0.0;
+        standardDeviation = 0.0;
     }
 
     /**
@@ -70,6 +79,42 @@ public class BasicReportExecution {
         accuracy /= dataset.size();
     }
 
+    /**
+     * Summarizes the reports of several executions, such as the folds of a
+     * cross-validation. Accuracy is averaged and total time is the sum of all the
+     * times
+     * 
+     * @param reports of each execution
+     */
+    public void average(ArrayList<BasicReportExecution> reports) {
+        long totalTime = 0;
+        double sum = 0.0;
+        for (BasicReportExecution report : reports) {
+            totalTime += report.getTotalTime();
+            sum += report.getAccuracy();
+        }
+        accuracy = sum / reports.size();
+
+        double squares = 0.0;
+        for (BasicReportExecution report : reports) {
+            squares += (report.getAccuracy() - accuracy) * (report.getAccuracy() - accuracy);
+        }
+        standardDeviation = Math.sqrt(squares / reports.size());
+
+        startTime = 0;
+        stopTime = totalTime;
+    }
+
+    /**
+     * Get the standard deviation of the accuracy, only when it is the average of
+     * several executions
+     * 
+     * @return standard deviation of the accuracy
+     */
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
     /**
      * Get accuracy of the classifier
      * 
@@ -20,13 +20,20 @@ package lac.runner;
 import lac.algorithms.Classifier;
 import lac.algorithms.Config;
 
+import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Random;
+import java.util.concurrent.ForkJoinTask;
 
 import lac.algorithms.Algorithm;
 import lac.data.Dataset;
+import lac.data.DatasetView;
+import lac.data.Discretizer;
 import lac.reports.Report;
 
 /**
@@ -54,12 +61,14 @@ public class ConfigExecution {
     private String testPath;
 
     /**
-     * Dataset for the training phase
+     * Dataset for the training phase, shared with other executions using the
+     * same file so it must not be modified
      */
     private Dataset training;
 
     /**
-     * Dataset for the test phase
+     * Dataset for the test phase, shared with other executions using the same
+     * file so it must not be modified
      */
     private Dataset test;
 
@@ -83,6 +92,28 @@ public class ConfigExecution {
      */
     private BasicReportExecution trainReport, testReport;
 
+    /**
+     * Number of folds for cross-validation, 0 when train and test datasets are
+     * specified independently
+     */
+    private int numberFolds = 0;
+
+    /**
+     * Seed used to distribute the instances among the folds
+     */
+    private long seed = 0;
+
+    /**
+     * Executions for each fold when cross-validation is performed
+     */
+    private ArrayList<ConfigExecution> folds = null;
+
+    /**
+     * Method used to discretize the numeric attributes, null when datasets are
+     * used as they are read
+     */
+    private Discretizer discretizer = null;
+
     /**
      * Constructor for the config execution
      * 
@@ -109,6 +140,52 @@ public class ConfigExecution {
         this.testReport = new BasicReportExecution();
     }
 
+    /**
+     * Constructor for an execution performing stratified cross-validation. The
+     * dataset is read once, and each fold is trained and tested over views of
+     * its instances
+     * 
+     * @param nameAlgorithm name of the algorithm to be run. It only has to have the
+     *                      name, no namespace is required.
+     * @param config        The configuration to be used with the previously
+     *                      specified algorithm
+     * @param dataset       Dataset to be split into folds
+     * @param numberFolds   Number of folds, at least 2
+     * @param seed          Seed used to distribute the instances among the folds
+     * @param reportType    Types of reports to be generated for each fold
+     * @param report        Path where the reports will be stored, one folder per
+     *                      fold and a summary of all of them
+     * @throws IllegalArgumentException when there are less than 2 folds
+     */
+    public ConfigExecution(String nameAlgorithm, Config config, String dataset, int numberFolds, long seed,
+            ArrayList<String> reportType, String report) {
+        this(nameAlgorithm, config, dataset, null, reportType, report);
+
+        if (numberFolds < 2)
+            throw new IllegalArgumentException(
+                    "Cross-validation requires at least 2 folds, " + numberFolds + " were specified");
+
+        this.numberFolds = numberFolds;
+        this.seed = seed;
+    }
+
+    /**
+     * Constructor for the execution of one fold, whose datasets are already
+     * loaded
+     * 
+     * @param parent   execution performing the cross-validation
+     * @param training Training dataset of the fold
+     * @param test     Test dataset of the fold
+     * @param report   Path where the reports of the fold will be stored
+     */
+    private ConfigExecution(ConfigExecution parent, Dataset training, Dataset test, String report) {
+        this(parent.nameAlgorithm, parent.config, parent.trainPath, parent.trainPath, parent.reportType, report);
+
+        this.training = training;
+        this.test = test;
+        this.discretizer = parent.discretizer;
+    }
+
     /**
      * Get the name of the algorithm being trained
      * 
@@ -147,6 +224,27 @@ public class ConfigExecution {
         return this.testReport;
     }
 
+    /**
+     * Get the executions of each fold, when cross-validation is performed
+     * 
+     * @return the executions of the folds, null if cross-validation is not
+     *         performed
+     */
+    public ArrayList<ConfigExecution> getFolds() {
+        return this.folds;
+    }
+
+    /**
+     * Sets the method used to discretize the numeric attributes. Cut points are
+     * calculated from the training dataset, and applied to both training and
+     * test datasets. With cross-validation, they are calculated for each fold
+     * 
+     * @param discretizer method used to discretize, null to disable it
+     */
+    public void setDiscretizer(Discretizer discretizer) {
+        this.discretizer = discretizer;
+    }
+
     /**
      * Get the training dataset
      * 
@@ -172,27 +270,219 @@ public class ConfigExecution {
      * 
      * @throws Exception
      */
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     public void run() throws Exception {
-        String namePackage = this.nameAlgorithm.toLowerCase();
-        Class algorithmKlass = Class.forName("lac.algorithms." + namePackage + "." + nameAlgorithm);
-        Algorithm algorithm = (Algorithm) algorithmKlass.getDeclaredConstructor(this.config.getClass())
-                .newInstance(this.config);
+        if (this.numberFolds > 1) {
+            this.runCrossValidation();
+            return;
+        }
+
+        Algorithm algorithm = this.createAlgorithm();
 
         // Training phase
         this.trainReport.startTime();
-        this.training = Dataset.read(this.trainPath);
+        if (this.training == null)
+            this.training = DatasetCache.getShared().get(this.trainPath);
+        // Shared datasets are not modified, discretized copies are used instead
+        double[][] cutPoints = null;
+        if (this.discretizer != null && this.training.hasNumericAttributes()) {
+            cutPoints = this.discretizer.getCutPoints(this.training);
+            this.training = this.discretizer.discretize(this.training, cutPoints);
+        }
         algorithm.checkCompatibility(this.training);
-        this.classifier = algorithm.train(training);
+        this.classifier = algorithm.train(this.getTrainingToBeUsed(algorithm));
         this.trainReport.calculateAccuracy(training, this.classifier);
         this.trainReport.stopTime();
 
         // Test phase
         this.testReport.startTime();
-        this.test = Dataset.read(this.testPath);
+        if (this.test == null)
+            this.test = DatasetCache.getShared().get(this.testPath);
+        if (cutPoints != null)
+            this.test = this.discretizer.discretize(this.test, cutPoints);
         this.testReport.calculateAccuracy(test, this.classifier);
         this.testReport.stopTime();
 
+        this.writeReports();
+    }
+
+    /**
+     * Performs stratified cross-validation. The dataset is read once, and the
+     * folds are run in parallel when the execution is running in a fork-join
+     * pool, as the runner does. Reports of each fold are stored in their own
+     * folder, and the basic reports of this execution average those of the folds,
+     * which are also written next to the folders of the folds
+     * 
+     * @throws Exception
+     */
+    private void runCrossValidation() throws Exception {
+        Dataset dataset = DatasetCache.getShared().get(this.trainPath);
+        // Numeric attributes are discretized in each fold
+        if (this.discretizer == null)
+            this.createAlgorithm().checkCompatibility(dataset);
+        this.training = dataset;
+
+        int[] foldByInstance = stratifiedFolds(dataset, this.numberFolds, this.seed);
+        int[] sizes = new int[this.numberFolds];
+        for (int fold : foldByInstance) {
+            sizes[fold]++;
+        }
+
+        this.folds = new ArrayList<ConfigExecution>();
+        for (int k = 0; k < this.numberFolds; k++) {
+            int[] trainRows = new int[dataset.size() - sizes[k]];
+            int[] testRows = new int[sizes[k]];
+
+            for (int i = 0, train = 0, test = 0; i < foldByInstance.length; i++) {
+                if (foldByInstance[i] == k)
+                    testRows[test++] = i;
+                else
+                    trainRows[train++] = i;
+            }
+
+            String report = this.reportPath == null ? null : this.reportPath + "/fold" + k;
+            this.folds.add(new ConfigExecution(this, new DatasetView(dataset, trainRows),
+                    new DatasetView(dataset, testRows), report));
+        }
+
+        Exception[] errors = new Exception[this.numberFolds];
+        ArrayList<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+        for (int k = 0; k < this.numberFolds; k++) {
+            ConfigExecution fold = this.folds.get(k);
+            int indexFold = k;
+
+            tasks.add(ForkJoinTask.adapt(() -> {
+                try {
+                    fold.run();
+                } catch (Exception e) {
+                    errors[indexFold] = e;
+                }
+            }));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        for (Exception error : errors) {
+            if (error != null)
+                throw error;
+        }
+
+        ArrayList<BasicReportExecution> trainReports = new ArrayList<BasicReportExecution>();
+        ArrayList<BasicReportExecution> testReports = new ArrayList<BasicReportExecution>();
+        for (ConfigExecution fold : this.folds) {
+            trainReports.add(fold.getTrainReport());
+            testReports.add(fold.getTestReport());
+        }
+        this.trainReport.average(trainReports);
+        this.testReport.average(testReports);
+
+        if (this.reportPath != null)
+            this.writeCrossValidationReport();
+    }
+
+    /**
+     * Writes the summary of the cross-validation in the report path, with the
+     * number of rules and the accuracies of each fold, followed by their mean and
+     * standard deviation
+     * 
+     * @throws Exception
+     */
+    private void writeCrossValidationReport() throws Exception {
+        Files.createDirectories(Paths.get(this.reportPath));
+
+        double meanRules = 0.0;
+        for (ConfigExecution fold : this.folds) {
+            meanRules += fold.getClassifier().getNumberRules();
+        }
+        meanRules /= this.folds.size();
+
+        double squares = 0.0;
+        for (ConfigExecution fold : this.folds) {
+            double difference = fold.getClassifier().getNumberRules() - meanRules;
+            squares += difference * difference;
+        }
+
+        try (PrintWriter writer = new PrintWriter(this.reportPath + "/CrossValidation.summary", "UTF-8")) {
+            writer.println("Fold, Number rules, Training accuracy, Test accuracy");
+            for (int k = 0; k < this.folds.size(); k++) {
+                ConfigExecution fold = this.folds.get(k);
+                writer.println(k + ", " + fold.getClassifier().getNumberRules() + ", "
+                        + fold.getTrainReport().getAccuracy() + ", " + fold.getTestReport().getAccuracy());
+            }
+            writer.println("Mean, " + meanRules + ", " + this.trainReport.getAccuracy() + ", "
+                    + this.testReport.getAccuracy());
+            writer.println("Standard deviation, " + Math.sqrt(squares / this.folds.size()) + ", "
+                    + this.trainReport.getStandardDeviation() + ", " + this.testReport.getStandardDeviation());
+        }
+    }
+
+    /**
+     * Assigns each instance of the dataset to one fold, so that each class is
+     * distributed evenly among the folds. Instances of each class are shuffled
+     * and then dealt in turns, continuing with the next fold for the following
+     * class
+     * 
+     * @param dataset     to be split
+     * @param numberFolds number of folds
+     * @param seed        seed used to shuffle the instances
+     * @return the fold of each instance
+     */
+    static int[] stratifiedFolds(Dataset dataset, int numberFolds, long seed) {
+        LinkedHashMap<Short, ArrayList<Integer>> instancesByKlass = new LinkedHashMap<Short, ArrayList<Integer>>();
+        for (int i = 0; i < dataset.size(); i++) {
+            instancesByKlass.computeIfAbsent(dataset.getKlassInstance(i), klass -> new ArrayList<Integer>()).add(i);
+        }
+
+        Random random = new Random(seed);
+        int[] foldByInstance = new int[dataset.size()];
+        int next = 0;
+        for (ArrayList<Integer> instances : instancesByKlass.values()) {
+            Collections.shuffle(instances, random);
+
+            for (int instance : instances) {
+                foldByInstance[instance] = next;
+                next = (next + 1) % numberFolds;
+            }
+        }
+
+        return foldByInstance;
+    }
+
+    /**
+     * Get the dataset which the algorithm is trained with. When it has been
+     * enabled, and the algorithm supports weighted instances, identical
+     * instances are collapsed. Reports are always calculated over the original
+     * training dataset
+     * 
+     * @param algorithm to be trained
+     * @return the training dataset, or its deduplicated view
+     */
+    private Dataset getTrainingToBeUsed(Algorithm algorithm) {
+        if (Dataset.isDeduplicate() && algorithm.supportsWeights())
+            return this.training.deduplicate();
+
+        return this.training;
+    }
+
+    /**
+     * Creates a new instance of the configured algorithm
+     * 
+     * @return the algorithm
+     * @throws Exception
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private Algorithm createAlgorithm() throws Exception {
+        String namePackage = this.nameAlgorithm.toLowerCase();
+        Class algorithmKlass = Class.forName("lac.algorithms." + namePackage + "." + nameAlgorithm);
+
+        return (Algorithm) algorithmKlass.getDeclaredConstructor(this.config.getClass()).newInstance(this.config);
+    }
+
+    /**
+     * Generates all the reports, if they were defined
+     * 
+     * @throws Exception
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void writeReports() throws Exception {
         // Shall we create some kind of reports?
         if (this.reportPath != null && this.reportType != null) {
             Path reportAsPath = Paths.get(this.reportPath);
@@ -209,5 +499,4 @@ public class ConfigExecution {
         }
 
     }
-
 }
\ No newline at end of file
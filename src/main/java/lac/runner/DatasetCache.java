@@ -0,0 +1,380 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.runner;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import lac.data.Dataset;
+
+/**
+ * Cache of the datasets loaded by the executions, shared by all the executions
+ * of the same process. In this way, when several algorithms or configurations
+ * use the same files, they are only read once. Datasets are identified by their
+ * canonical path, size and last modification time, so a file modified on disk
+ * is read again.
+ *
+ * Datasets returned by the cache are shared, so they are frozen and any attempt
+ * to modify them fails. The memory used by the cache is bounded, and the least
+ * recently used datasets are discarded when the limit is exceeded. Since the
+ * structures derived from a dataset (vertical index, table of supports, etc.)
+ * are built on demand, the memory used by each dataset is measured again every
+ * time the cache is accessed.
+ */
+public class DatasetCache {
+    /**
+     * Cache shared by all the executions of the process
+     */
+    private static DatasetCache shared = null;
+
+    /**
+     * Datasets cached, in order from the least to the most recently used
+     */
+    private LinkedHashMap<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+
+    /**
+     * Maximum number of bytes used by the cached datasets
+     */
+    private long maxBytes;
+
+    /**
+     * Number of bytes used by the cached datasets
+     */
+    private long usedBytes = 0;
+
+    /**
+     * Number of requests served from the cache
+     */
+    private long hits = 0;
+
+    /**
+     * Number of requests which required to read the dataset
+     */
+    private long misses = 0;
+
+    /**
+     * Number of datasets discarded to free memory
+     */
+    private long evictions = 0;
+
+    /**
+     * Total time spent reading datasets, in nanoseconds
+     */
+    private long loadTime = 0;
+
+    /**
+     * Constructor
+     * 
+     * @param maxBytes maximum number of bytes used by the cached datasets. The
+     *                 most recently used dataset is always kept, even when it
+     *                 exceeds this limit
+     */
+    public DatasetCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get the cache shared by all the executions. Its size could be specified in
+     * megabytes by the environment variable LAC_CACHE_MB, by default it uses a
+     * quarter of the maximum heap
+     * 
+     * @return the shared cache
+     */
+    public static synchronized DatasetCache getShared() {
+        if (shared == null)
+            shared = new DatasetCache(getDefaultMaxBytes());
+
+        return shared;
+    }
+
+    /**
+     * Get the memory available for the shared cache
+     * 
+     * @return the maximum number of bytes to be used
+     */
+    private static long getDefaultMaxBytes() {
+        try {
+            long megabytes = Long.parseLong(System.getenv("LAC_CACHE_MB"));
+            if (megabytes >= 0)
+                return megabytes << 20;
+        } catch (NumberFormatException e) {
+            // Not set or not valid, the default size is used
+        }
+
+        return Runtime.getRuntime().maxMemory() / 4;
+    }
+
+    /**
+     * Get the dataset stored in the specified path. It is read from disk only if
+     * it is not in the cache. When several threads request the same dataset at
+     * the same time, it is read only once
+     * 
+     * @param path where the dataset is stored
+     * @return the dataset, it is frozen so it cannot be modified
+     * @throws Exception
+     */
+    public Dataset get(String path) throws Exception {
+        Key key = new Key(path);
+        Entry entry;
+        boolean load = false;
+
+        synchronized (this) {
+            entry = this.entries.get(key);
+            if (entry == null) {
+                entry = new Entry(path);
+                this.entries.put(key, entry);
+                this.misses++;
+                load = true;
+            } else {
+                this.hits++;
+                this.updateSizes();
+                this.evict();
+            }
+        }
+
+        if (load) {
+            long start = System.nanoTime();
+            entry.task.run();
+
+            synchronized (this) {
+                this.loadTime += System.nanoTime() - start;
+
+                try {
+                    entry.dataset = entry.task.get();
+                    this.updateSizes();
+                    this.evict();
+                } catch (ExecutionException e) {
+                    // Datasets which could not be read are not cached
+                    this.entries.remove(key);
+                }
+            }
+        }
+
+        try {
+            return entry.task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception)
+                throw (Exception) e.getCause();
+            throw e;
+        }
+    }
+
+    /**
+     * Measures again the memory used by each dataset already read, since their
+     * derived structures could have been built after they were cached
+     */
+    private void updateSizes() {
+        for (Entry entry : this.entries.values()) {
+            if (entry.dataset != null) {
+                long size = entry.dataset.sizeInBytes();
+                this.usedBytes += size - entry.size;
+                entry.size = size;
+            }
+        }
+    }
+
+    /**
+     * Discards the least recently used datasets until the memory used is under
+     * the limit. Datasets being read and the most recently used are kept
+     */
+    private void evict() {
+        Iterator<Map.Entry<Key, Entry>> iterator = this.entries.entrySet().iterator();
+
+        while (this.usedBytes > this.maxBytes && iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+
+            if (!iterator.hasNext())
+                break;
+
+            if (entry.task.isDone()) {
+                iterator.remove();
+                this.usedBytes -= entry.size;
+                this.evictions++;
+            }
+        }
+    }
+
+    /**
+     * Discards all the datasets cached. Statistics are kept
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.usedBytes = 0;
+    }
+
+    /**
+     * Get the number of requests served from the cache
+     * 
+     * @return the number of hits
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Get the number of requests which required to read the dataset
+     * 
+     * @return the number of misses
+     */
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Get the number of datasets discarded to free memory
+     * 
+     * @return the number of evictions
+     */
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+
+    /**
+     * Get the number of datasets currently cached
+     * 
+     * @return the number of datasets
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Get the number of bytes used by the cached datasets, including the
+     * structures derived from them built so far
+     * 
+     * @return the number of bytes
+     */
+    public synchronized long getUsedBytes() {
+        this.updateSizes();
+        return this.usedBytes;
+    }
+
+    /**
+     * Shows the statistics of the cache
+     * 
+     * @param output where the statistics are printed
+     */
+    public synchronized void printStatistics(PrintStream output) {
+        this.updateSizes();
+        output.println("******************************************************************");
+        output.println("Dataset cache: " + this.hits + " hits, " + this.misses + " misses, " + this.evictions
+                + " evictions");
+        output.println("Loading time: " + this.loadTime / 1000000 + "ms");
+        output.println("Cached: " + this.entries.size() + " datasets (" + (this.usedBytes >> 20) + "MB of "
+                + (this.maxBytes >> 20) + "MB)");
+        output.println("******************************************************************");
+    }
+
+    /**
+     * Identifier of a file in the cache
+     */
+    private static class Key {
+        /**
+         * Canonical path of the file
+         */
+        private String path;
+
+        /**
+         * Size of the file in bytes
+         */
+        private long length;
+
+        /**
+         * Last time the file was modified
+         */
+        private long lastModified;
+
+        /**
+         * Constructor
+         * 
+         * @param path of the file
+         * @throws Exception
+         */
+        private Key(String path) throws Exception {
+            File file = new File(path);
+
+            this.path = file.getCanonicalPath();
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+        }
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Key))
+                return false;
+
+            Key other = (Key) object;
+            return this.path.equals(other.path) && this.length == other.length
+                    && this.lastModified == other.lastModified;
+        }
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.path, this.length, this.lastModified);
+        }
+    }
+
+    /**
+     * Dataset cached, or being read
+     */
+    private static class Entry {
+        /**
+         * Task reading the dataset, it is run by the first thread requesting it
+         */
+        private FutureTask<Dataset> task;
+
+        /**
+         * Dataset read, null while it is being read
+         */
+        private Dataset dataset = null;
+
+        /**
+         * Number of bytes used by the dataset the last time it was measured
+         */
+        private long size = 0;
+
+        /**
+         * Constructor
+         * 
+         * @param path where the dataset is stored
+         */
+        private Entry(String path) {
+            this.task = new FutureTask<Dataset>(() -> {
+                Dataset dataset = Dataset.read(path);
+                dataset.freeze();
+                return dataset;
+            });
+        }
+    }
+}
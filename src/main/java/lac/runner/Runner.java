@@ -19,7 +19,8 @@ package lac.runner;
 
 import java.util.ArrayList;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main class of LAC. It aims at parsing all the configuration files and run all
@@ -60,24 +61,14 @@ public class Runner {
         if (lacThreads > 1)
             System.out.println("\n\nStarting executions with " + lacThreads + " threads...\n\n");
 
-        ExecutorService executor = Executors.newFixedThreadPool(lacThreads);
+        // Fork-join pool, so that executions could split their work (e.g. folds)
+        ExecutorService executor = new ForkJoinPool(lacThreads);
         for (ConfigExecution execution : executions) {
             executor.submit(() -> {
                 try {
                     execution.run();
 
-                    long totalTime = execution.getTrainReport().getTotalTime()
-                            + execution.getTestReport().getTotalTime();
-
-                    System.out.println("******************************************************************\n"
-                            + "Algorithm: " + execution.getNameAlgorithm() + "\n" + "Dataset: "
-                            + execution.getTraining().getName() + "\n" + "Runtime: " + totalTime
-                            + "ms (Building classifier " + execution.getTrainReport().getTotalTime() + "ms; "
-                            + "Test phase " + execution.getTestReport().getTotalTime() + "ms)" + "\n"
-                            + "Number of rules: " + execution.getClassifier().getNumberRules() + "\n"
-                            + "Training accuracy: " + execution.getTrainReport().getAccuracy() + "\n"
-                            + "Test accuracy: " + execution.getTestReport().getAccuracy() + "\n"
-                            + "******************************************************************");
+                    System.out.println(summary(execution));
                 } catch (Exception e) {
                     System.out.println("Error in algorithm " + execution.getNameAlgorithm());
                     e.printStackTrace();
@@ -87,6 +78,43 @@ public class Runner {
 
         System.out.flush();
         executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        DatasetCache.getShared().printStatistics(System.out);
+    }
+
+    /**
+     * Summary of one execution to be shown in STDOUT
+     * 
+     * @param execution already run
+     * @return the summary of the execution
+     */
+    private static String summary(ConfigExecution execution) {
+        long totalTime = execution.getTrainReport().getTotalTime() + execution.getTestReport().getTotalTime();
+
+        String summary = "******************************************************************\n" + "Algorithm: "
+                + execution.getNameAlgorithm() + "\n" + "Dataset: " + execution.getTraining().getName() + "\n"
+                + "Runtime: " + totalTime + "ms (Building classifier " + execution.getTrainReport().getTotalTime()
+                + "ms; " + "Test phase " + execution.getTestReport().getTotalTime() + "ms)" + "\n";
+
+        if (execution.getFolds() == null) {
+            summary += "Number of rules: " + execution.getClassifier().getNumberRules() + "\n" + "Training accuracy: "
+                    + execution.getTrainReport().getAccuracy() + "\n" + "Test accuracy: "
+                    + execution.getTestReport().getAccuracy() + "\n";
+        } else {
+            for (int k = 0; k < execution.getFolds().size(); k++) {
+                ConfigExecution fold = execution.getFolds().get(k);
+                summary += "Fold " + k + ": " + fold.getClassifier().getNumberRules() + " rules, training accuracy "
+                        + fold.getTrainReport().getAccuracy() + ", test accuracy "
+                        + fold.getTestReport().getAccuracy() + "\n";
+            }
+            summary += "Training accuracy: " + execution.getTrainReport().getAccuracy() + " +- "
+                    + execution.getTrainReport().getStandardDeviation() + "\n" + "Test accuracy: "
+                    + execution.getTestReport().getAccuracy() + " +- "
+                    + execution.getTestReport().getStandardDeviation() + "\n";
+        }
+
+        return summary + "******************************************************************";
     }
 
     /**
@@ -31,12 +31,21 @@ import java.util.regex.Pattern;
 import org.yaml.snakeyaml.Yaml;
 
 import lac.algorithms.Config;
+import lac.data.Discretizer;
+import lac.data.EqualFrequencyDiscretizer;
+import lac.data.MdlpDiscretizer;
 
 /**
  * Reads a YML file and returns an array with all the executions defined in this
  * file
  */
 public class YamlConfig {
+    /**
+     * Number of intervals used by equal-frequency discretization when it is not
+     * specified
+     */
+    private static final int DEFAULT_BINS = 10;
+
     /**
      * Executions specified in the configuration file
      */
@@ -104,9 +113,68 @@ public class YamlConfig {
                 }
             }
 
-            this.executions.add(new ConfigExecution((String) execution.get("name_algorithm"), config,
-                    (String) execution.get("train"), (String) execution.get("test"),
-                    (ArrayList<String>) execution.get("report_type"), (String) execution.get("report")));
+            // Cross-validation splits the train dataset, test is not needed
+            ConfigExecution configExecution;
+            if (execution.containsKey("cross_validation")) {
+                Object seed = execution.get("seed");
+
+                if (seed != null && !(seed instanceof Integer || seed instanceof Long))
+                    throw new Exception("Config invalid. seed must be an integer");
+
+                configExecution = new ConfigExecution((String) execution.get("name_algorithm"), config,
+                        (String) execution.get("train"), this.getNumberFolds(execution),
+                        seed == null ? 0 : ((Number) seed).longValue(),
+                        (ArrayList<String>) execution.get("report_type"), (String) execution.get("report"));
+            } else {
+                configExecution = new ConfigExecution((String) execution.get("name_algorithm"), config,
+                        (String) execution.get("train"), (String) execution.get("test"),
+                        (ArrayList<String>) execution.get("report_type"), (String) execution.get("report"));
+            }
+
+            configExecution.setDiscretizer(this.getDiscretizer(execution));
+            this.executions.add(configExecution);
+        }
+    }
+
+    /**
+     * Get the number of folds of an execution performing cross-validation, which
+     * is specified by the property cross_validation
+     * 
+     * @param execution properties of the execution
+     * @return the number of folds
+     * @throws Exception when it is not an integer greater than one
+     */
+    private int getNumberFolds(Map<String, Object> execution) throws Exception {
+        Object numberFolds = execution.get("cross_validation");
+        if (!(numberFolds instanceof Integer) || (Integer) numberFolds < 2)
+            throw new Exception("Config invalid. cross_validation must be an integer greater than one");
+
+        return (Integer) numberFolds;
+    }
+
+    /**
+     * Creates the method used to discretize the numeric attributes of an
+     * execution, which is specified by the property discretization (mdlp or
+     * equal_frequency). The number of intervals for equal-frequency is specified
+     * by the property bins
+     * 
+     * @param execution properties of the execution
+     * @return the method used to discretize, null if it was not specified
+     * @throws Exception
+     */
+    private Discretizer getDiscretizer(Map<String, Object> execution) throws Exception {
+        Object discretization = execution.get("discretization");
+        if (discretization == null)
+            return null;
+
+        switch (discretization.toString().toLowerCase()) {
+        case "mdlp":
+            return new MdlpDiscretizer();
+        case "equal_frequency":
+            Object bins = execution.get("bins");
+            return new EqualFrequencyDiscretizer(bins == null ? DEFAULT_BINS : ((Number) bins).intValue());
+        default:
+            throw new Exception("Config invalid. discretization must be mdlp or equal_frequency");
         }
     }
 
@@ -98,6 +98,27 @@ public class Utils {
         return isSubset(itemsetA, itemset2);
     }
 
+    /**
+     * Check if first itemset is a subset of the second one. It does not allocate
+     * memory, so it is the preferred way to check an example against an
+     * antecedent
+     * 
+     * @param itemset1 first itemset
+     * @param itemset2 second itemset
+     * @return true if itemset1 is a subset of itemset2, false otherwise
+     */
+    public static boolean isSubset(ArrayList<Short> itemset1, short[] itemset2) {
+        if (itemset1 == null || itemset2 == null)
+            return true;
+
+        for (int index1 = 0; index1 < itemset1.size(); index1++) {
+            if (!memberOf(itemset1.get(index1), itemset2))
+                return false;
+        }
+
+        return true;
+    }
+
     /**
      * Check if first itemset is a subset of the second one
      * 
@@ -143,11 +164,13 @@ public class Utils {
     }
 
     /**
-     * @param item
-     * @param itemset
-     * @return
+     * Check if an item is contained in a set of items sorted in ascending order
+     * 
+     * @param item    to be searched
+     * @param itemset sorted set of items
+     * @return true if item is contained in itemset, false otherwise
      */
-    private static boolean memberOf(short item, short[] itemset) {
+    public static boolean memberOf(short item, short[] itemset) {
         for (int index = 0; index < itemset.length; index++) {
             // Makes use of lexicography order to be faster
             if (item < itemset[index])
@@ -158,6 +181,61 @@ public class Utils {
         return false;
     }
 
+    /**
+     * Check if first itemset is a subset of the second one, when items are
+     * encoded as ints (see {@link lac.data.ItemEncoding})
+     * 
+     * @param itemset1 first itemset
+     * @param itemset2 second itemset
+     * @return true if itemset1 is a subset of itemset2, false otherwise
+     */
+    public static boolean isSubset(int[] itemset1, int[] itemset2) {
+        if (itemset1 == null)
+            return true;
+        if (itemset2 == null)
+            return false;
+
+        for (int index1 = 0; index1 < itemset1.length; index1++) {
+            if (!memberOf(itemset1[index1], itemset2))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Check if an item is contained in a set of items sorted in ascending order,
+     * when items are encoded as ints
+     * 
+     * @param item    to be searched
+     * @param itemset sorted set of items
+     * @return true if item is contained in itemset, false otherwise
+     */
+    public static boolean memberOf(int item, int[] itemset) {
+        for (int index = 0; index < itemset.length; index++) {
+            if (item < itemset[index])
+                return false;
+            else if (item == itemset[index])
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check if an item is contained in a set of items which is not sorted
+     * 
+     * @param item    to be searched
+     * @param itemset set of items
+     * @return true if item is contained in itemset, false otherwise
+     */
+    public static boolean contains(short item, short[] itemset) {
+        for (int index = 0; index < itemset.length; index++) {
+            if (item == itemset[index])
+                return true;
+        }
+        return false;
+    }
+
     /**
      * Concatenates two sets of items
      * 
@@ -191,6 +269,22 @@ public class Utils {
         return intersection;
     }
 
+    /**
+     * Check if two sets of items have at least one item in common. Unlike
+     * {@link #intersect(ArrayList, Short[])}, the intersection is not built
+     * 
+     * @param antecedent first set
+     * @param example    second set
+     * @return true if the intersection is not empty, false otherwise
+     */
+    public static boolean intersects(ArrayList<Short> antecedent, short[] example) {
+        for (int i = 0; i < antecedent.size(); i++) {
+            if (contains(antecedent.get(i), example))
+                return true;
+        }
+        return false;
+    }
+
     /**
      * Performs the union of two set of items
      * 
@@ -24,6 +24,7 @@ import org.mockito.Mockito;
 
 import junit.framework.TestSuite;
 import lac.data.Dataset;
+import lac.data.ItemEncoding;
 
 public class AlgorithmTest extends TestSuite {
     @Mock
@@ -49,4 +50,18 @@ public class AlgorithmTest extends TestSuite {
 
         absCls.checkCompatibility(dataset);
     }
+
+    @Test(expected = IncompatibleDataset.class)
+    public void raiseExceptionWithWeightedDatasetWhenWeightsAreNotSupported() {
+        Mockito.when(dataset.isWeighted()).thenReturn(true);
+
+        absCls.checkCompatibility(dataset);
+    }
+
+    @Test(expected = IncompatibleDataset.class)
+    public void raiseExceptionWithIntEncodedDatasetWhenIntsAreNotSupported() {
+        Mockito.when(dataset.getEncoding()).thenReturn(ItemEncoding.INT);
+
+        absCls.checkCompatibility(dataset);
+    }
 }
@@ -0,0 +1,90 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import lac.data.Dataset;
+import lac.data.SyntheticDataset;
+
+/**
+ * Measures the memory allocated by each algorithm while training a classifier
+ * and predicting the whole training set. It is not executed as part of the
+ * tests, run it through its main method
+ */
+public class AllocationBenchmark {
+    /**
+     * Runs the benchmark
+     * 
+     * @param args number of instances and number of attributes (optional)
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        int numberInstances = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int numberAttributes = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+        File file = File.createTempFile("allocation-benchmark", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), numberInstances, numberAttributes, 4, 3, 1);
+        Dataset dataset = Dataset.read(file.getPath());
+
+        Map<String, Algorithm> algorithms = new LinkedHashMap<String, Algorithm>();
+        algorithms.put("ACAC", new lac.algorithms.acac.ACAC(new lac.algorithms.acac.Config()));
+        algorithms.put("ACCF", new lac.algorithms.accf.ACCF(new lac.algorithms.accf.Config()));
+        algorithms.put("ACN", new lac.algorithms.acn.ACN(new lac.algorithms.acn.Config()));
+        algorithms.put("ADT", new lac.algorithms.adt.ADT(new lac.algorithms.adt.Config()));
+        algorithms.put("CBA", new lac.algorithms.cba.CBA(new lac.algorithms.cba.Config()));
+        algorithms.put("CBA2", new lac.algorithms.cba2.CBA2(new lac.algorithms.cba2.Config()));
+        algorithms.put("CMAR", new lac.algorithms.cmar.CMAR(new lac.algorithms.cmar.Config()));
+        algorithms.put("CPAR", new lac.algorithms.cpar.CPAR(new lac.algorithms.cpar.Config()));
+        algorithms.put("L3", new lac.algorithms.l3.L3(new lac.algorithms.l3.Config()));
+        algorithms.put("MAC", new lac.algorithms.mac.MAC(new lac.algorithms.mac.Config()));
+
+        System.out.printf("Instances: %d, attributes: %d%n", dataset.size(), numberAttributes);
+        System.out.printf("%-6s %14s %14s %10s%n", "", "train (MB)", "predict (MB)", "time (ms)");
+        for (Entry<String, Algorithm> entry : algorithms.entrySet()) {
+            long start = System.nanoTime();
+            long allocated = allocatedBytes();
+            Classifier classifier = entry.getValue().train(dataset);
+            long training = allocatedBytes() - allocated;
+
+            allocated = allocatedBytes();
+            long checksum = 0;
+            for (int i = 0; i < dataset.size(); i++)
+                checksum += classifier.predict(dataset.getInstance(i));
+            long prediction = allocatedBytes() - allocated;
+
+            System.out.printf("%-6s %14.1f %14.1f %10d (rules %d, checksum %d)%n", entry.getKey(), training / 1e6,
+                    prediction / 1e6, (System.nanoTime() - start) / 1000000, classifier.getNumberRules(), checksum);
+        }
+    }
+
+    /**
+     * Number of bytes allocated by the current thread since it was started
+     * 
+     * @return number of bytes
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Measures the time required to generate the candidates of the next level of
+ * Apriori from a level of rules whose antecedents have two items. Each pair of
+ * values of different attributes is kept as frequent with a given probability,
+ * and it is added once per class. It is not executed as part of the tests, run
+ * it through its main method
+ */
+public class CandidateGeneratorBenchmark {
+    /**
+     * Runs the benchmark
+     * 
+     * @param args number of attributes, number of values per attribute,
+     *             probability of keeping each antecedent and number of classes
+     *             (optional)
+     */
+    public static void main(String[] args) {
+        int numberAttributes = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int numberValues = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        double density = args.length > 2 ? Double.parseDouble(args[2]) : 0.2;
+        int numberKlasses = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+
+        // Antecedents are generated in lexicographical order, as Apriori does
+        Random random = new Random(1);
+        ArrayList<Rule> level = new ArrayList<Rule>();
+        for (int a = 0; a < numberAttributes * numberValues; a++) {
+            for (int b = (a / numberValues + 1) * numberValues; b < numberAttributes * numberValues; b++) {
+                if (random.nextDouble() >= density)
+                    continue;
+
+                for (int k = 0; k < numberKlasses; k++) {
+                    Rule rule = new Rule((short) (numberAttributes * numberValues + k));
+                    rule.add((short) a);
+                    rule.add((short) b);
+                    level.add(rule);
+                }
+            }
+        }
+
+        for (int repetition = 0; repetition < 3; repetition++) {
+            long start = System.nanoTime();
+            ArrayList<Rule> candidates = CandidateGenerator.generate(level, (rule1, rule2) -> {
+                Rule newRule = (Rule) rule1.clone();
+                newRule.add(rule2.get(rule2.size() - 1));
+                return newRule;
+            });
+
+            System.out.printf("Level: %d rules, candidates: %d, time: %d ms%n", level.size(), candidates.size(),
+                    (System.nanoTime() - start) / 1000000);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class CandidateGeneratorTest extends TestSuite {
+    private static Rule rule(int klass, int... items) {
+        Rule rule = new Rule((short) klass);
+        for (int item : items)
+            rule.add((short) item);
+        return rule;
+    }
+
+    private static ArrayList<Rule> generate(ArrayList<Rule> level) {
+        return CandidateGenerator.generate(level, (rule1, rule2) -> {
+            Rule newRule = (Rule) rule1.clone();
+            newRule.add(rule2.get(rule2.size() - 1));
+            return newRule;
+        });
+    }
+
+    @Test
+    public void rulesWithSameKlassAndPrefixAreJoined() {
+        ArrayList<Rule> level = new ArrayList<Rule>(Arrays.asList(rule(9, 1, 2), rule(9, 1, 3), rule(8, 1, 4),
+                rule(9, 2, 3), rule(9, 1, 4), rule(9, 3, 4)));
+
+        // {1, 2, 4} is discarded since {2, 4} is not frequent
+        assertEquals(Arrays.asList(rule(9, 1, 2, 3), rule(9, 1, 3, 4)), generate(level));
+    }
+
+    @Test
+    public void subsetsAreFrequentRegardlessOfTheKlass() {
+        ArrayList<Rule> level = new ArrayList<Rule>(
+                Arrays.asList(rule(9, 1, 2), rule(9, 1, 3), rule(8, 2, 3), rule(8, 1, 2)));
+
+        assertEquals(Arrays.asList(rule(9, 1, 2, 3)), generate(level));
+    }
+
+    @Test
+    public void candidatesAreEqualToJoiningAllThePairs() {
+        Random random = new Random(3);
+
+        ArrayList<Rule> level = new ArrayList<Rule>();
+        for (int a = 0; a < 12; a++)
+            for (int b = a + 1; b < 12; b++)
+                for (int c = b + 1; c < 12; c++)
+                    for (int klass = 20; klass < 22; klass++)
+                        if (random.nextDouble() < 0.6)
+                            level.add(rule(klass, a, b, c));
+
+        // Candidates expected by comparing all the pairs of rules
+        ArrayList<Rule> expected = new ArrayList<Rule>();
+        for (int i = 0; i < level.size(); i++) {
+            for (int j = i + 1; j < level.size(); j++) {
+                Rule rule1 = level.get(i);
+                Rule rule2 = level.get(j);
+
+                if (rule1.getKlass() != rule2.getKlass() || rule1.get(0) != rule2.get(0)
+                        || rule1.get(1) != rule2.get(1) || rule1.get(2) >= rule2.get(2))
+                    continue;
+
+                Rule candidate = (Rule) rule1.clone();
+                candidate.add(rule2.get(2));
+
+                boolean frequent = true;
+                for (int removed = 0; removed < 4; removed++) {
+                    ArrayList<Short> subset = new ArrayList<Short>(candidate.getAntecedent());
+                    subset.remove(removed);
+                    frequent &= level.stream().anyMatch(rule -> rule.getAntecedent().equals(subset));
+                }
+                if (frequent)
+                    expected.add(candidate);
+            }
+        }
+
+        assertEquals(expected, generate(level));
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+import lac.data.Dataset;
+import lac.data.SyntheticDataset;
+
+public class CarMinerTest extends TestSuite {
+    private static Dataset dataset;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        File file = File.createTempFile("miner", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), 2000, 5, 4, 3, 13);
+        dataset = Dataset.read(file.getPath());
+    }
+
+    /**
+     * Representation of the rules independent of their order and of the order of
+     * the items in their antecedent
+     */
+    private static List<String> toStrings(List<? extends Rule> rules) {
+        ArrayList<String> strings = new ArrayList<String>();
+        for (Rule rule : rules) {
+            ArrayList<Short> antecedent = new ArrayList<Short>(rule.getAntecedent());
+            Collections.sort(antecedent);
+            strings.add(antecedent + " -> " + rule.getKlass() + " " + rule.getSupportAntecedent() + " "
+                    + rule.getSupportRule());
+        }
+        Collections.sort(strings);
+
+        return strings;
+    }
+
+    private static List<String> mine(String name, long minSupport, double minConf) {
+        return toStrings(CarMiner.create(name).mine(dataset, minSupport, minConf, Rule::new));
+    }
+
+    @Test
+    public void allTheMinersObtainTheSameRules() {
+        List<String> expected = mine(CarMiner.APRIORI, 40, 0.3);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, mine(CarMiner.FPGROWTH, 40, 0.3));
+        assertEquals(expected, mine(CarMiner.ECLAT, 40, 0.3));
+    }
+
+    @Test
+    public void minersObtainTheRulesOfTheOriginalEngines() {
+        lac.algorithms.cba.Config config = new lac.algorithms.cba.Config();
+        config.setMinSup(0.02);
+        config.setMinConf(0.4);
+        long minSupport = (long) Math.ceil(config.getMinSup() * dataset.getWeightedSize());
+
+        assertEquals(toStrings(new lac.algorithms.cba.Apriori(dataset, config).run()),
+                mine(CarMiner.FPGROWTH, minSupport, config.getMinConf()));
+        assertEquals(toStrings(new lac.algorithms.cmar.FPGrowth(dataset, config.getMinSup(), config.getMinConf()).run()),
+                mine(CarMiner.ECLAT, minSupport, config.getMinConf()));
+        assertEquals(toStrings(new lac.algorithms.mac.Eclat(dataset, minSupport, config.getMinConf()).run()),
+                mine(CarMiner.APRIORI, minSupport, config.getMinConf()));
+    }
+
+    @Test
+    public void eachKlassHasItsOwnMinimumSupport() {
+        HashMap<Short, Long> minSupportByKlass = new HashMap<Short, Long>();
+        for (int k = 0; k < dataset.getNumberKlasses(); k++)
+            minSupportByKlass.put(dataset.getKlass(k), k == 0 ? 40L : 1000000L);
+
+        List<Rule> rules = CarMiner.create(CarMiner.FPGROWTH).mine(dataset, minSupportByKlass, 0.0, Rule::new);
+
+        assertFalse(rules.isEmpty());
+        for (Rule rule : rules) {
+            assertEquals(dataset.getKlass(0), rule.getKlass());
+            assertTrue(rule.getSupportRule() >= 40);
+        }
+    }
+
+    @Test
+    public void supportOfTheKlassIsSet() {
+        for (Rule rule : CarMiner.create(CarMiner.ECLAT).mine(dataset, 40, 0.0, Rule::new))
+            assertEquals(dataset.getVerticalIndex().getKlassSupport(rule.getKlass()), rule.getSupportKlass());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownMinersAreRejected() {
+        new lac.algorithms.cba.Config().setMiner("unknown");
+    }
+
+    @Test
+    public void algorithmsUseTheConfiguredMiner() throws Exception {
+        lac.algorithms.cmar.Config config = new lac.algorithms.cmar.Config();
+        assertNull(config.getMiner());
+
+        config.setMiner("Apriori");
+        assertTrue(config.getMiner() instanceof AprioriMiner);
+
+        Classifier classifier = new lac.algorithms.cmar.CMAR(config).train(dataset);
+        assertTrue(classifier.getNumberRules() > 0);
+    }
+
+    @Test
+    public void weightsAreOnlySupportedByMinersTakingThemIntoAccount() {
+        lac.algorithms.cba.Config config = new lac.algorithms.cba.Config();
+        config.setMiner(CarMiner.ECLAT);
+        assertFalse(new lac.algorithms.cba.CBA(config).supportsWeights());
+
+        config.setMiner(CarMiner.FPGROWTH);
+        assertTrue(new lac.algorithms.cba.CBA(config).supportsWeights());
+    }
+}
@@ -20,6 +20,7 @@ package lac.algorithms;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -29,6 +30,7 @@ import org.junit.Test;
 
 import junit.framework.TestSuite;
 import lac.data.Instance;
+import lac.data.ItemEncoding;
 
 public class RuleTest extends TestSuite {
 
@@ -136,6 +138,16 @@ public class RuleTest extends TestSuite {
         assertFalse(rule.matching(example.asNominal()));
     }
 
+    @Test
+    public void matchingPrimitiveExample() {
+        Rule rule = new Rule();
+        assertTrue(rule.matching(example.getValues()));
+        rule.add(new short[] { 1, 2 });
+        assertTrue(rule.matching(example.getValues()));
+        rule.add((short) 3);
+        assertFalse(rule.matching(example.getValues()));
+    }
+
     @Test
     public void sizeReturnsSizeAntecedent() {
         Rule rule = new Rule();
@@ -154,6 +166,35 @@ public class RuleTest extends TestSuite {
         }
     }
 
+    @Test
+    public void itemsEncodedAsIntsAreOnlyAccessedAsInts() {
+        Rule rule = new Rule(new int[] { 1, 40000 }, (short) 0);
+        assertEquals(ItemEncoding.INT, rule.getEncoding());
+        assertEquals(2, rule.size());
+        assertEquals(40000, rule.getItem(1));
+        assertTrue(rule.matching(new int[] { 1, 40000, 0 }));
+        assertFalse(rule.matching(new int[] { 1, 40001, 0 }));
+
+        try {
+            rule.getAntecedent();
+            fail();
+        } catch (IllegalStateException e) {
+        }
+    }
+
+    @Test
+    public void rulesAreEqualForBothEncodings() {
+        Rule narrow = new Rule(new short[] { 1, 3 }, (short) 0);
+        Rule wide = new Rule(new int[] { 1, 3 }, (short) 0);
+
+        assertEquals(ItemEncoding.SHORT, narrow.getEncoding());
+        assertEquals(narrow, wide);
+        assertEquals(wide, narrow);
+        assertEquals(narrow.hashCode(), wide.hashCode());
+        assertEquals(wide, wide.clone());
+        assertTrue(narrow.matching(new int[] { 1, 3, 0 }));
+    }
+
     @Test
     public void klassCanBeChanged() {
         short klass = 5;
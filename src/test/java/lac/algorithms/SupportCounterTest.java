@@ -0,0 +1,96 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+import lac.data.Dataset;
+import lac.data.SyntheticDataset;
+
+public class SupportCounterTest extends TestSuite {
+    /**
+     * Generates rules for all pairs of items, for all the classes, negating the
+     * second item in half of them
+     */
+    private ArrayList<lac.algorithms.acn.Rule> generateCandidates(Dataset dataset) {
+        short[] items = dataset.getVerticalIndex().getItems();
+        ArrayList<lac.algorithms.acn.Rule> candidates = new ArrayList<lac.algorithms.acn.Rule>();
+
+        for (int i = 0; i < items.length; i++) {
+            for (int j = i + 1; j < items.length; j++) {
+                for (int k = 0; k < dataset.getNumberKlasses(); k++) {
+                    lac.algorithms.acn.Rule rule = new lac.algorithms.acn.Rule(dataset.getKlass(k));
+                    rule.add(items[i]);
+                    rule.add(items[j]);
+                    if ((i + j) % 2 == 0)
+                        rule.negateItem(1);
+                    candidates.add(rule);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private void assertSameSupports(Dataset dataset) {
+        ArrayList<lac.algorithms.acn.Rule> candidates = this.generateCandidates(dataset);
+        new SupportCounter(dataset).count(candidates);
+
+        for (lac.algorithms.acn.Rule candidate : candidates) {
+            lac.algorithms.acn.Rule expected = (lac.algorithms.acn.Rule) candidate.clone();
+            expected.evaluate(dataset);
+
+            assertEquals(expected.getSupportAntecedent(), candidate.getSupportAntecedent());
+            assertEquals(expected.getSupportKlass(), candidate.getSupportKlass());
+            assertEquals(expected.getSupportRule(), candidate.getSupportRule());
+            assertEquals(expected.getPearson(), candidate.getPearson(), 1e-9);
+        }
+    }
+
+    @Test
+    public void supportsAreEqualToEvaluatingEachRule() throws Exception {
+        File file = File.createTempFile("counter", ".arff");
+        file.deleteOnExit();
+        // More instances than fit in one block, so several blocks are counted
+        SyntheticDataset.writeArff(file.getPath(), 70000, 3, 4, 3, 11);
+
+        this.assertSameSupports(Dataset.read(file.getPath()));
+    }
+
+    @Test
+    public void weightsAreTakenIntoAccount() throws Exception {
+        File file = File.createTempFile("counter", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), 3000, 3, 3, 2, 5);
+
+        this.assertSameSupports(Dataset.read(file.getPath()).deduplicate());
+    }
+
+    @Test
+    public void emptyCandidatesAreIgnored() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("data/dataset-nominal.arff").getFile());
+
+        new SupportCounter(Dataset.read(file.getAbsolutePath())).count(new ArrayList<Rule>());
+    }
+}
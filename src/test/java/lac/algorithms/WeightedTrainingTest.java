@@ -0,0 +1,66 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+import lac.data.Dataset;
+import lac.data.SyntheticDataset;
+
+public class WeightedTrainingTest extends TestSuite {
+    @Test
+    public void trainingWithDeduplicatedDatasetsGivesSameRules() throws Exception {
+        File file = File.createTempFile("duplicated", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), 3000, 3, 3, 2, 5);
+
+        Dataset dataset = Dataset.read(file.getPath());
+        Dataset deduplicated = dataset.deduplicate();
+        assertEquals(dataset.size(), deduplicated.getWeightedSize());
+
+        Algorithm[] algorithms = { new lac.algorithms.cba.CBA(new lac.algorithms.cba.Config()),
+                new lac.algorithms.cba2.CBA2(new lac.algorithms.cba2.Config()),
+                new lac.algorithms.cmar.CMAR(new lac.algorithms.cmar.Config()),
+                new lac.algorithms.acac.ACAC(new lac.algorithms.acac.Config()),
+                new lac.algorithms.acn.ACN(new lac.algorithms.acn.Config()) };
+
+        for (Algorithm algorithm : algorithms) {
+            algorithm.checkCompatibility(deduplicated);
+
+            Classifier expected = algorithm.train(dataset);
+            Classifier actual = algorithm.train(deduplicated);
+
+            assertEquals(expected.getRules().toString(), actual.getRules().toString());
+        }
+    }
+
+    @Test(expected = IncompatibleDataset.class)
+    public void algorithmsNotSupportingWeightsRejectDeduplicatedDatasets() throws Exception {
+        File file = File.createTempFile("duplicated", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), 100, 3, 3, 2, 5);
+
+        new lac.algorithms.mac.MAC(new lac.algorithms.mac.Config())
+                .checkCompatibility(Dataset.read(file.getPath()).deduplicate());
+    }
+}
@@ -63,4 +63,14 @@ public class BitSetSupportTest extends TestSuite {
         assertNotEquals(bitset1.bitset, result.bitset);
         assertNotEquals(bitset2.bitset, result.bitset);
     }
+
+    @Test
+    public void tidsetHashOnlyDependsOnTids() {
+        BitSet bitset = new BitSet(1024);
+        bitset.set(0);
+
+        BitSetSupport result = bitset1.and(bitset2);
+        assertEquals(BitSetSupport.hash(bitset), result.tidsetHash());
+        assertNotEquals(bitset1.tidsetHash(), bitset2.tidsetHash());
+    }
 }
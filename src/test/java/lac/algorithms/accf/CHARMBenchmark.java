@@ -0,0 +1,84 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms.accf;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import lac.data.Dataset;
+import lac.data.SyntheticDataset;
+
+/**
+ * Measures the time required by CHARM to mine the datasets used by the tests
+ * and a large synthetic one. With a minimum confidence of 0, one rule is
+ * obtained for each closed itemset and class, so the number of closed itemsets
+ * checked against the superset table is easily derived. It is not executed as
+ * part of the tests, run it through its main method
+ */
+public class CHARMBenchmark {
+    /**
+     * Runs the benchmark
+     * 
+     * @param args number of instances, number of attributes and number of values
+     *             per attribute of the synthetic dataset, minimum support and
+     *             minimum confidence (optional)
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        int numberInstances = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int numberAttributes = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int numberValues = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        double minSup = args.length > 3 ? Double.parseDouble(args[3]) : 0.003;
+        double minConf = args.length > 4 ? Double.parseDouble(args[4]) : 0.0;
+
+        ClassLoader classLoader = CHARMBenchmark.class.getClassLoader();
+        for (String name : new String[] { "dataset-nominal.arff", "dataset.arff", "dataset-sparse.arff" }) {
+            File file = new File(classLoader.getResource("data/" + name).getFile());
+            run(name, Dataset.read(file.getAbsolutePath()), minSup, minConf);
+        }
+
+        File file = File.createTempFile("charm-benchmark", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), numberInstances, numberAttributes, numberValues, 3, 1);
+        run("synthetic " + numberInstances + "x" + numberAttributes, Dataset.read(file.getPath()), minSup, minConf);
+    }
+
+    /**
+     * Mines a dataset twice, the first execution only warms up the JVM, and
+     * prints the time of the second one
+     * 
+     * @param name    of the dataset
+     * @param dataset to be mined
+     * @param minSup  minimum support of the rules
+     * @param minConf minimum confidence of the rules
+     */
+    private static void run(String name, Dataset dataset, double minSup, double minConf) {
+        Config config = new Config();
+        config.setMinSup(minSup);
+        config.setMinConf(minConf);
+
+        new CHARM(dataset, config).run();
+
+        long start = System.nanoTime();
+        ArrayList<Rule> rules = new CHARM(dataset, config).run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%-24s mining: %8.3f s (%d rules, %d classes)%n", name, seconds, rules.size(),
+                dataset.getNumberKlasses());
+    }
+}
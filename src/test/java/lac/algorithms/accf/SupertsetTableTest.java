@@ -17,6 +17,7 @@
  */
 package lac.algorithms.accf;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -36,6 +37,7 @@ public class SupertsetTableTest extends TestSuite {
         Itemset itemset = new Itemset(new Short[] { 0, 1 }, 2L);
         BitSet bitset = new BitSet(3);
         bitset.set(0);
+        bitset.set(1);
         table.add(itemset, bitset);
     }
 
@@ -69,4 +71,45 @@ public class SupertsetTableTest extends TestSuite {
 
         assertTrue(table.isSuperset(itemset, bitset));
     }
+
+    @Test
+    public void isSupersetReturnsTrueWithDifferentTidset() {
+        Itemset itemset = new Itemset(new Short[] { 0 }, 2L);
+        BitSet bitset = new BitSet(3);
+        bitset.set(0);
+        bitset.set(2);
+
+        assertTrue(table.isSuperset(itemset, bitset));
+    }
+
+    @Test
+    public void isSupersetChecksUnsortedItems() {
+        Itemset itemset = new Itemset(new Short[] { 1, 0 }, 2L);
+        BitSet bitset = new BitSet(3);
+        bitset.set(0);
+        bitset.set(1);
+
+        assertFalse(table.isSuperset(itemset, bitset));
+    }
+
+    @Test
+    public void resizingKeepsAllItemsets() {
+        int numberItemsets = 10000;
+        for (int i = 0; i < numberItemsets; i++) {
+            BitSet bitset = new BitSet();
+            bitset.set(i);
+            bitset.set(i + 1);
+            table.add(new short[] { (short) i, (short) (i + 1) }, 2L, BitSetSupport.hash(bitset));
+        }
+
+        assertEquals(numberItemsets + 1, table.size());
+        for (int i = 0; i < numberItemsets; i++) {
+            BitSet bitset = new BitSet();
+            bitset.set(i);
+            bitset.set(i + 1);
+            int hash = BitSetSupport.hash(bitset);
+            assertFalse(table.isSuperset(new short[] { (short) (i + 1) }, 2L, hash));
+            assertTrue(table.isSuperset(new short[] { (short) i, (short) (i + 1), (short) 20000 }, 2L, hash));
+        }
+    }
 }
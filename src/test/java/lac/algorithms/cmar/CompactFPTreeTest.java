@@ -0,0 +1,132 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms.cmar;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class CompactFPTreeTest extends TestSuite {
+    private CompactFPTree createTree() {
+        short[] headerItems = new short[] { 0, 1, 2, 3 };
+        return new CompactFPTree(2, headerItems, new long[4], new long[8], 2);
+    }
+
+    private long[] supportsByKlass(CompactFPTree tree, int node) {
+        return new long[] { tree.supportsByKlass[node * 2], tree.supportsByKlass[node * 2 + 1] };
+    }
+
+    @Test
+    public void addInstanceSharesCommonPrefix() {
+        CompactFPTree tree = createTree();
+
+        tree.addInstance(new int[] { 0, 1, 2 }, 3, 0, 1);
+        tree.addInstance(new int[] { 0, 1, 3 }, 3, 0, 1);
+        tree.addInstance(new int[] { 0, 1, 3 }, 3, 1, 2);
+
+        assertEquals(4, tree.size());
+        assertEquals(1, tree.numberChilds[CompactFPTree.ROOT]);
+
+        int node0 = tree.headerFirstNodes[0];
+        int node1 = tree.headerFirstNodes[1];
+        int node3 = tree.headerFirstNodes[3];
+        assertEquals(4L, tree.supports[node0]);
+        assertArrayEquals(new long[] { 2, 2 }, supportsByKlass(tree, node0));
+        assertEquals(node0, tree.parents[node1]);
+        assertEquals(2, tree.numberChilds[node1]);
+        assertEquals(3L, tree.supports[node3]);
+        assertArrayEquals(new long[] { 1, 2 }, supportsByKlass(tree, node3));
+        assertEquals(CompactFPTree.NONE, tree.nextNodes[node3]);
+    }
+
+    @Test
+    public void addInstanceLinksNodesWithSameItem() {
+        CompactFPTree tree = createTree();
+
+        tree.addInstance(new int[] { 0, 2 }, 2, 0, 1);
+        tree.addInstance(new int[] { 1, 2 }, 2, 1, 1);
+        tree.addInstance(new int[] { 2 }, 1, -1, 1);
+
+        int node = tree.headerFirstNodes[2];
+        long support = 0;
+        int numberNodes = 0;
+        int last = CompactFPTree.NONE;
+        while (node != CompactFPTree.NONE) {
+            assertEquals(2, tree.items[node]);
+            support += tree.supports[node];
+            numberNodes++;
+            last = node;
+            node = tree.nextNodes[node];
+        }
+
+        assertEquals(3, numberNodes);
+        assertEquals(3L, support);
+        assertEquals(3, tree.numberChilds[CompactFPTree.ROOT]);
+        // Instances without class are not counted for any class
+        assertEquals(CompactFPTree.ROOT, tree.parents[last]);
+        assertArrayEquals(new long[] { 0, 0 }, supportsByKlass(tree, last));
+    }
+
+    @Test
+    public void addPrefixPathAddsSupportsByKlass() {
+        CompactFPTree tree = createTree();
+        long[] block = new long[] { 0, 0, 3, 1 };
+
+        tree.addPrefixPath(new int[] { 1, 3 }, 2, 4, block, 2);
+        tree.addPrefixPath(new int[] { 1 }, 1, 4, block, 2);
+
+        int node1 = tree.headerFirstNodes[1];
+        int node3 = tree.headerFirstNodes[3];
+        assertEquals(2, tree.size());
+        assertEquals(8L, tree.supports[node1]);
+        assertArrayEquals(new long[] { 6, 2 }, supportsByKlass(tree, node1));
+        assertEquals(4L, tree.supports[node3]);
+        assertArrayEquals(new long[] { 3, 1 }, supportsByKlass(tree, node3));
+        assertEquals(CompactFPTree.NONE, tree.headerFirstNodes[0]);
+    }
+
+    @Test
+    public void treeGrowsKeepingChildren() {
+        short[] headerItems = new short[100];
+        for (int h = 0; h < headerItems.length; h++) {
+            headerItems[h] = (short) h;
+        }
+        CompactFPTree tree = new CompactFPTree(1, headerItems, new long[100], new long[100], 2);
+
+        // Every pair of items forms a different path, and each one is added twice
+        for (int repetition = 0; repetition < 2; repetition++) {
+            for (int a = 0; a < 10; a++) {
+                for (int b = a + 1; b < 100; b++) {
+                    tree.addInstance(new int[] { a, b }, 2, 0, 1);
+                }
+            }
+        }
+
+        int expected = 10;
+        for (int a = 0; a < 10; a++) {
+            expected += 99 - a;
+        }
+        assertEquals(expected, tree.size());
+        assertEquals(10, tree.numberChilds[CompactFPTree.ROOT]);
+        assertEquals(2L * 99, tree.supports[tree.headerFirstNodes[0]]);
+        assertEquals(2L, tree.supports[tree.firstChilds[tree.headerFirstNodes[0]]]);
+    }
+}
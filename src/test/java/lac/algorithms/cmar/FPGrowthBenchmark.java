@@ -0,0 +1,101 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms.cmar;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import lac.data.Dataset;
+import lac.data.SyntheticDataset;
+
+/**
+ * Measures how mining class association rules with FPGrowth scales with the
+ * number of threads, and with the number of levels of the search mined in
+ * parallel. It is not executed as part of the tests, run it through its main
+ * method
+ */
+public class FPGrowthBenchmark {
+    /**
+     * Runs the benchmark
+     * 
+     * @param args number of instances, number of attributes, number of values per
+     *             attribute, minimum support, maximum number of threads and
+     *             maximum parallel depth (optional)
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        int numberInstances = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+        int numberAttributes = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+        int numberValues = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        double minSup = args.length > 3 ? Double.parseDouble(args[3]) : 0.02;
+        int maxThreads = args.length > 4 ? Integer.parseInt(args[4]) : 32;
+        int maxDepth = args.length > 5 ? Integer.parseInt(args[5]) : 2;
+
+        File file = File.createTempFile("fpgrowth-benchmark", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), numberInstances, numberAttributes, numberValues, 3, 1);
+        Dataset dataset = Dataset.read(file.getPath());
+        System.out.printf("Instances: %d, attributes: %d, minSup: %.3f, available processors: %d%n",
+                numberInstances, numberAttributes, minSup, Runtime.getRuntime().availableProcessors());
+
+        // First execution only warms up the JVM
+        mine(dataset, minSup, 1, 0);
+
+        double sequential = 0;
+        for (int depth = 0; depth <= maxDepth; depth++) {
+            for (int numberThreads = 1; numberThreads <= maxThreads; numberThreads *= 2) {
+                long start = System.nanoTime();
+                int numberRules = mine(dataset, minSup, numberThreads, depth);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                if (depth == 0 && numberThreads == 1)
+                    sequential = seconds;
+                System.out.printf("Depth: %d, threads: %2d, mining: %.2f s, speedup: %.2fx (%d rules)%n", depth,
+                        numberThreads, seconds, sequential / seconds, numberRules);
+
+                // Without parallel levels, the number of threads does not matter
+                if (depth == 0)
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Mines the rules of a dataset in a pool with the given number of threads
+     * 
+     * @param dataset       to be mined
+     * @param minSup        minimum support of the rules
+     * @param numberThreads size of the pool
+     * @param depth         number of levels of the search mined in parallel
+     * @return number of mined rules
+     * @throws Exception
+     */
+    private static int mine(Dataset dataset, double minSup, int numberThreads, int depth) throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(numberThreads);
+        try {
+            FPGrowth fpgrowth = new FPGrowth(dataset, minSup, 0.0);
+            fpgrowth.setParallelDepth(depth);
+
+            ArrayList<lac.algorithms.Rule> rules = pool.submit(fpgrowth::run).get();
+            return rules.size();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
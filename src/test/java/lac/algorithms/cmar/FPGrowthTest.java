@@ -68,4 +68,23 @@ public class FPGrowthTest extends TestSuite {
 
         assertEquals(6, rules.size());
     }
+
+    @Test
+    public void parallelMiningObtainsSameRulesInSameOrder() {
+        FPGrowth sequential = new FPGrowth(dataset, 0.0, 0.0);
+        sequential.setParallelDepth(0);
+        ArrayList<lac.algorithms.Rule> expected = sequential.run();
+
+        for (int depth = 1; depth <= 4; depth++) {
+            FPGrowth parallel = new FPGrowth(dataset, 0.0, 0.0);
+            parallel.setParallelDepth(depth);
+
+            assertEquals(expected, parallel.run());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeParallelDepthIsRejected() {
+        new FPGrowth(dataset, 0.0, 0.0).setParallelDepth(-1);
+    }
 }
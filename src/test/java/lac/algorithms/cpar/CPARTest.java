@@ -20,18 +20,27 @@ package lac.algorithms.cpar;
 import static org.junit.Assert.assertEquals;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import junit.framework.TestSuite;
 import lac.data.ArffDataset;
 import lac.data.Dataset;
+import lac.data.DatasetView;
+import lac.data.SyntheticDataset;
 
 public class CPARTest extends TestSuite {
     private Dataset dataset;
-    private ArrayList<Rule> expectedRules;
+    private ArrayList<lac.algorithms.cpar.Rule> expectedRules;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
 
     @Before
     public void setup() throws Exception {
@@ -39,9 +48,9 @@ public class CPARTest extends TestSuite {
         File file = new File(classLoader.getResource("data/dataset-nominal.arff").getFile());
         dataset = new ArffDataset(file.getAbsolutePath());
 
-        expectedRules = new ArrayList<Rule>();
-        expectedRules.add(new Rule(new short[] { 0 }, (short) 4));
-        expectedRules.add(new Rule(new short[] { 1 }, (short) 5));
+        expectedRules = new ArrayList<lac.algorithms.cpar.Rule>();
+        expectedRules.add(new lac.algorithms.cpar.Rule(new short[] { 0 }, (short) 4));
+        expectedRules.add(new lac.algorithms.cpar.Rule(new short[] { 1 }, (short) 5));
     }
 
     @Test
@@ -53,4 +62,29 @@ public class CPARTest extends TestSuite {
 
         assertEquals(expectedRules, classifier.getRules());
     }
+
+    @Test
+    public void trainingOnViewEqualsTrainingOnItsInstances() throws Exception {
+        File file = SyntheticDataset.writeArff(tempFolder.newFile("full.arff").getAbsolutePath(), 400, 6, 3, 3, 5);
+        Dataset full = new ArffDataset(file.getAbsolutePath());
+
+        // Same instances as the second half of the view, read from their own file
+        List<String> lines = Files.readAllLines(file.toPath());
+        int data = lines.indexOf("@data") + 1;
+        List<String> half = new ArrayList<String>(lines.subList(0, data));
+        half.addAll(lines.subList(data + 200, data + 400));
+        File halfFile = tempFolder.newFile("half.arff");
+        Files.write(halfFile.toPath(), half);
+
+        int[] rows = new int[200];
+        for (int i = 0; i < rows.length; i++)
+            rows[i] = 200 + i;
+        DatasetView view = new DatasetView(full, rows);
+
+        Config config = new Config();
+        Classifier expected = new CPAR(config).train(new ArffDataset(halfFile.getAbsolutePath()));
+        Classifier classifier = new CPAR(config).train(view);
+
+        assertEquals(expected.getRules(), classifier.getRules());
+    }
 }
@@ -22,7 +22,6 @@ import static org.junit.Assert.assertEquals;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -75,42 +74,33 @@ public class ClassifierTest extends TestSuite {
 
     @Test
     public void whenMultipleRuleAreFiredReturnKlassWithHighestNumberOfFiredRules() {
-        Rule rule1 = new Rule(new Short[] { 1 }, new HashSet<Integer>(Arrays.asList(1, 2, 3)), (short) 4,
-                new HashSet<Integer>(Arrays.asList(1, 2, 3)));
-        Rule rule2 = new Rule(new Short[] { 2 }, new HashSet<Integer>(Arrays.asList(1, 2, 3)), (short) 4,
-                new HashSet<Integer>(Arrays.asList(1, 2, 3)));
-        Rule rule3 = new Rule(new Short[] { 3 }, new HashSet<Integer>(Arrays.asList(1, 2, 3)), (short) 5,
-                new HashSet<Integer>(Arrays.asList(1, 2, 3)));
+        Rule rule1 = new Rule(new short[] { 1 }, (short) 4, 3, 3);
+        Rule rule2 = new Rule(new short[] { 2 }, (short) 4, 3, 3);
+        Rule rule3 = new Rule(new short[] { 3 }, (short) 5, 3, 3);
         Classifier classifier = new Classifier(dataset, new ArrayList<Rule>(Arrays.asList(rule1, rule2, rule3)));
         assertEquals(4, classifier.predict(instance));
     }
 
     @Test
     public void rulesAreSortedByConfidence() {
-        Rule rule1 = new Rule(new Short[] { 0 }, new HashSet<Integer>(Arrays.asList(1, 2, 3)), (short) 4,
-                new HashSet<Integer>(Arrays.asList(1, 2, 3)));
-        Rule rule2 = new Rule(new Short[] { 1 }, new HashSet<Integer>(Arrays.asList(1, 2, 3)), (short) 5,
-                new HashSet<Integer>(Arrays.asList(1, 2)));
+        Rule rule1 = new Rule(new short[] { 0 }, (short) 4, 3, 3);
+        Rule rule2 = new Rule(new short[] { 1 }, (short) 5, 3, 2);
         Classifier classifier = new Classifier(dataset, new ArrayList<Rule>(Arrays.asList(rule1, rule2)));
         assertEquals(4, classifier.predict(instance));
     }
 
     @Test
     public void rulesAreSortedBySupportRuleAfterConfidence() {
-        Rule rule1 = new Rule(new Short[] { 0 }, new HashSet<Integer>(Arrays.asList(1, 2, 3)), (short) 4,
-                new HashSet<Integer>(Arrays.asList(1, 2, 3)));
-        Rule rule2 = new Rule(new Short[] { 1 }, new HashSet<Integer>(Arrays.asList(1, 2)), (short) 5,
-                new HashSet<Integer>(Arrays.asList(1, 2)));
+        Rule rule1 = new Rule(new short[] { 0 }, (short) 4, 3, 3);
+        Rule rule2 = new Rule(new short[] { 1 }, (short) 5, 2, 2);
         Classifier classifier = new Classifier(dataset, new ArrayList<Rule>(Arrays.asList(rule1, rule2)));
         assertEquals(4, classifier.predict(instance));
     }
 
     @Test
     public void rulesAreSortedBySizeAfterConfidenceSupportRule() {
-        Rule rule1 = new Rule(new Short[] { 0 }, new HashSet<Integer>(Arrays.asList(1, 2, 3)), (short) 4,
-                new HashSet<Integer>(Arrays.asList(1, 2, 3)));
-        Rule rule2 = new Rule(new Short[] { 1, 2 }, new HashSet<Integer>(Arrays.asList(1, 2, 3)), (short) 5,
-                new HashSet<Integer>(Arrays.asList(1, 2, 3)));
+        Rule rule1 = new Rule(new short[] { 0 }, (short) 4, 3, 3);
+        Rule rule2 = new Rule(new short[] { 1, 2 }, (short) 5, 3, 3);
         Classifier classifier = new Classifier(dataset, new ArrayList<Rule>(Arrays.asList(rule1, rule2)));
         assertEquals(4, classifier.predict(instance));
     }
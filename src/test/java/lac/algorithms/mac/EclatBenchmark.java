@@ -0,0 +1,116 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.algorithms.mac;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+
+import lac.data.Dataset;
+import lac.data.SyntheticDataset;
+
+/**
+ * Measures the time and the peak heap required by Eclat to mine the datasets
+ * used by the tests and a large synthetic one. It is not executed as part of
+ * the tests, run it through its main method
+ */
+public class EclatBenchmark {
+    /**
+     * Runs the benchmark
+     * 
+     * @param args number of instances, number of attributes and number of values
+     *             per attribute of the synthetic dataset, and minimum support
+     *             (optional)
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        int numberInstances = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        int numberAttributes = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        int numberValues = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        double minSup = args.length > 3 ? Double.parseDouble(args[3]) : 0.01;
+
+        ClassLoader classLoader = EclatBenchmark.class.getClassLoader();
+        for (String name : new String[] { "dataset-nominal.arff", "dataset.arff", "dataset-sparse.arff" }) {
+            File file = new File(classLoader.getResource("data/" + name).getFile());
+            run(name, Dataset.read(file.getAbsolutePath()), minSup);
+        }
+
+        File file = File.createTempFile("eclat-benchmark", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), numberInstances, numberAttributes, numberValues, 3, 1);
+        run("synthetic " + numberInstances + "x" + numberAttributes, Dataset.read(file.getPath()), minSup);
+    }
+
+    /**
+     * Mines a dataset twice, the first execution only warms up the JVM, and
+     * prints the time and peak heap of the second one
+     * 
+     * @param name    of the dataset
+     * @param dataset to be mined
+     * @param minSup  minimum support of the rules
+     */
+    private static void run(String name, Dataset dataset, double minSup) {
+        Config config = new Config();
+        config.setMinSup(minSup);
+        config.setMinConf(0.5);
+
+        new Eclat(dataset, config).run();
+
+        System.gc();
+        long baseline = heapUsed();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            pool.resetPeakUsage();
+
+        long start = System.nanoTime();
+        ArrayList<Rule> rules = new Eclat(dataset, config).run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%-24s mining: %8.3f s, peak heap: %8.1f MB (%d rules)%n", name, seconds,
+                (peakHeap() - baseline) / 1e6, rules.size());
+    }
+
+    /**
+     * Sum of the current usage of all the memory pools of the heap
+     * 
+     * @return number of bytes
+     */
+    private static long heapUsed() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP)
+                used += pool.getUsage().getUsed();
+        }
+        return used;
+    }
+
+    /**
+     * Sum of the peak usage of all the memory pools of the heap
+     * 
+     * @return number of bytes
+     */
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP)
+                peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+}
@@ -18,18 +18,27 @@
 package lac.algorithms.mac;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashSet;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import junit.framework.TestSuite;
 import lac.data.ArffDataset;
 import lac.data.Dataset;
+import lac.data.ItemEncoding;
+import lac.data.SyntheticDataset;
+import lac.data.VerticalIndex;
 
 public class EclatTest extends TestSuite {
+    @org.junit.Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     private Dataset dataset;
     private ArrayList<Rule> expectedRules;
 
@@ -59,4 +68,75 @@ public class EclatTest extends TestSuite {
 
         assertEquals(expectedRules, rules);
     }
+
+    @Test
+    public void supportsMatchVerticalIndexOnDenseDataset() throws Exception {
+        // Few values per attribute make tidsets dense, so diffsets are used
+        File file = new File(tempFolder.getRoot(), "dense.arff");
+        SyntheticDataset.writeArff(file.getPath(), 2000, 8, 3, 2, 1);
+        Dataset dense = Dataset.read(file.getPath());
+        VerticalIndex index = dense.getVerticalIndex();
+
+        ArrayList<Rule> rules = new Eclat(dense, 20, 0.0).run();
+
+        assertTrue(rules.size() > 1000);
+        for (Rule rule : rules) {
+            assertEquals(index.getSupport(rule.getAntecedent()), rule.getSupportAntecedent());
+            assertEquals(index.getSupport(rule.getAntecedent(), rule.getKlass()), rule.getSupportRule());
+
+            for (int i = 1; i < rule.size(); i++) {
+                assertTrue(rule.get(i - 1) < rule.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void minesDatasetsEncodedAsInts() throws Exception {
+        File file = new File(tempFolder.getRoot(), "short.arff");
+        SyntheticDataset.writeArff(file.getPath(), 2000, 6, 4, 3, 2);
+        Dataset narrow = Dataset.read(file.getPath());
+        // Values which never appear make the same instances outgrow shorts
+        File wideFile = SyntheticDataset.writeIntEncodedArff(file,
+                new File(tempFolder.getRoot(), "int.arff").getPath());
+        Dataset wide = Dataset.read(wideFile.getPath());
+        assertEquals(ItemEncoding.SHORT, narrow.getEncoding());
+        assertEquals(ItemEncoding.INT, wide.getEncoding());
+
+        ArrayList<Rule> expected = new Eclat(narrow, 40, 0.5).run();
+        ArrayList<Rule> rules = new Eclat(wide, 40, 0.5).run();
+
+        assertTrue(expected.size() > 100);
+        assertEquals(expected.size(), rules.size());
+        assertEquals(decode(narrow, expected), decode(wide, rules));
+
+        int[] example = wide.createIntInstanceBuffer();
+        for (Rule rule : rules) {
+            assertEquals(ItemEncoding.INT, rule.getEncoding());
+
+            long supportAntecedent = 0;
+            for (int i = 0; i < wide.size(); i++) {
+                if (rule.matching(wide.getInstance(i, example)))
+                    supportAntecedent++;
+            }
+            assertEquals(supportAntecedent, rule.getSupportAntecedent());
+        }
+    }
+
+    private static HashSet<String> decode(Dataset dataset, ArrayList<Rule> rules) {
+        HashSet<String> decoded = new HashSet<String>();
+
+        for (Rule rule : rules) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < rule.size(); i++) {
+                int item = rule.getItem(i);
+                text.append(dataset.getAttributeByIndex(item).getName()).append('=')
+                        .append(dataset.getValueByIndex(item)).append(' ');
+            }
+            text.append("-> ").append(dataset.getValueByIndex(rule.getKlass())).append(' ')
+                    .append(rule.getSupportAntecedent()).append(' ').append(rule.getSupportRule());
+            decoded.add(text.toString());
+        }
+
+        return decoded;
+    }
 }
@@ -18,6 +18,8 @@
 package lac.algorithms.mac;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -54,4 +56,13 @@ public class MACTest extends TestSuite {
 
         assertEquals(expectedRules, classifier.getRules());
     }
+
+    @Test
+    public void intEncodingIsOnlySupportedByItsOwnMiner() {
+        Config config = new Config();
+        assertTrue(new MAC(config).supportsIntEncoding());
+
+        config.setMiner("apriori");
+        assertFalse(new MAC(config).supportsIntEncoding());
+    }
 }
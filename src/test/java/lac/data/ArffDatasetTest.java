@@ -20,6 +20,7 @@ package lac.data;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -44,6 +45,43 @@ public class ArffDatasetTest extends TestSuite {
         assertEquals(DummyDataset.NUMBER_INSTANCES, dataset.size());
     }
 
+    @Test
+    public void rowAccessIsConsistentWithInstances() {
+        short[] buffer = dataset.createInstanceBuffer();
+        assertEquals(dataset.getNumberAttributes() + 1, buffer.length);
+
+        for (int i = 0; i < dataset.size(); i++) {
+            short[] values = dataset.getInstance(i).getValues();
+            assertSame(buffer, dataset.getInstance(i, buffer));
+            assertArrayEquals(values, buffer);
+
+            for (int j = 0; j < dataset.getNumberAttributes(); j++)
+                assertEquals(values[j], dataset.get(i, j));
+            assertEquals(values[values.length - 1], dataset.getKlassInstance(i));
+        }
+    }
+
+    @Test
+    public void dictionaryOfInternalRepresentations() throws Exception {
+        for (int i = 0; i < DummyDataset.NOMINAL_LABELS.length; i++) {
+            String label = DummyDataset.NOMINAL_LABELS[i];
+            short index = dataset.getIndexByValue(DummyDataset.INDEX_NOMINAL_ATTRIBUTE, label);
+
+            assertEquals(label, dataset.getValueByIndex(index));
+            assertEquals(DummyDataset.NAME_NOMINAL, dataset.getAttributeByIndex(index).getName());
+        }
+
+        for (int i = 0; i < DummyDataset.KLASS_LABELS.length; i++) {
+            String label = DummyDataset.KLASS_LABELS[i];
+
+            assertEquals(i, dataset.getIndexKlass(label));
+            assertEquals(label, dataset.getValueByIndex(dataset.getIndexByValueKlass(label)));
+        }
+
+        assertEquals(-1, dataset.getIndexByValue(DummyDataset.INDEX_NOMINAL_ATTRIBUTE, "unknown"));
+        assertEquals(-1, dataset.getIndexByValueKlass("unknown"));
+    }
+
     @Test
     public void countNumberClasses() {
         assertEquals(DummyDataset.NUMBER_KLASSES, dataset.getNumberKlasses());
@@ -82,4 +120,32 @@ public class ArffDatasetTest extends TestSuite {
                 dataset.getAttribute(DummyDataset.INDEX_NOMINAL_ATTRIBUTE).getValues());
         assertArrayEquals(DummyDataset.KLASS_LABELS, dataset.getKlass().getValues());
     }
+
+    @Test
+    public void sparseInstancesAreEqualToDense() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        Dataset dense = new ArffDataset(
+                new File(classLoader.getResource("data/dataset-nominal.arff").getFile()).getAbsolutePath());
+        Dataset sparse = new ArffDataset(
+                new File(classLoader.getResource("data/dataset-sparse.arff").getFile()).getAbsolutePath());
+
+        assertTrue(sparse.storage instanceof SparseStorage);
+        assertEquals(dense.size(), sparse.size());
+        assertEquals(dense.getFrequencyByKlass(), sparse.getFrequencyByKlass());
+        assertFalse(sparse.hasMissing());
+
+        for (int i = 0; i < dense.size(); i++) {
+            assertArrayEquals(dense.getInstance(i).getValues(), sparse.getInstance(i).getValues());
+            for (int j = 0; j < dense.getNumberAttributes(); j++)
+                assertEquals(dense.get(i, j), sparse.get(i, j));
+        }
+
+        VerticalIndex denseIndex = dense.getVerticalIndex();
+        VerticalIndex sparseIndex = sparse.getVerticalIndex();
+        assertArrayEquals(denseIndex.getItems(), sparseIndex.getItems());
+        for (short item : denseIndex.getItems())
+            assertEquals(denseIndex.getTidset(item), sparseIndex.getTidset(item));
+        for (int k = 0; k < dense.getNumberKlasses(); k++)
+            assertEquals(denseIndex.getKlassTidset(dense.getKlass(k)), sparseIndex.getKlassTidset(dense.getKlass(k)));
+    }
 }
@@ -73,6 +73,14 @@ public class AttributeTest extends TestSuite {
         assertArrayEquals(nominalValues, nominalAttr.getValues());
     }
 
+    @Test
+    public void getPosition() {
+        for (int i = 0; i < nominalValues.length; i++)
+            assertEquals(i, nominalAttr.getPosition(nominalValues[i]));
+        assertEquals(-1, nominalAttr.getPosition("unknown"));
+        assertEquals(-1, numericAttr.getPosition("val1"));
+    }
+
     @Test
     public void getString() {
         assertEquals("name=nominalAttr values=" + String.join(",", nominalValues), nominalAttr.toString());
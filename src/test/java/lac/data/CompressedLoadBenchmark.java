@@ -0,0 +1,78 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the time required to load a dataset from a plain file and from the
+ * same file compressed with gzip, which is decompressed while it is parsed. It
+ * is not executed as part of the tests, run it through its main method
+ */
+public class CompressedLoadBenchmark {
+    /**
+     * Runs the benchmark
+     * 
+     * @param args number of instances, number of attributes, number of values per
+     *             attribute and format, arff or csv (optional)
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        int numberInstances = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int numberAttributes = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int numberValues = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        String format = args.length > 3 ? args[3] : "arff";
+
+        File plain = File.createTempFile("compressed-load-benchmark", "." + format);
+        plain.deleteOnExit();
+        if (format.equals("csv"))
+            SyntheticDataset.writeCsv(plain.getPath(), numberInstances, numberAttributes, numberValues, 3, 1);
+        else
+            SyntheticDataset.writeArff(plain.getPath(), numberInstances, numberAttributes, numberValues, 3, 1);
+
+        File compressed = new File(plain.getPath() + ".gz");
+        compressed.deleteOnExit();
+        try (InputStream input = new FileInputStream(plain);
+                OutputStream output = new GZIPOutputStream(new FileOutputStream(compressed), 1 << 16)) {
+            byte[] buffer = new byte[1 << 16];
+            int read;
+            while ((read = input.read(buffer)) > 0)
+                output.write(buffer, 0, read);
+        }
+        System.out.printf("Instances: %d, attributes: %d, file: %.1f MB, compressed: %.1f MB%n", numberInstances,
+                numberAttributes, plain.length() / 1e6, compressed.length() / 1e6);
+
+        // First loads only warm up the JVM
+        Dataset.read(plain.getPath());
+        Dataset.read(compressed.getPath());
+
+        for (File file : new File[] { plain, compressed }) {
+            long start = System.nanoTime();
+            Dataset dataset = Dataset.read(file.getPath());
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%-10s loading: %.2f s (%.1f K instances/s)%n",
+                    file == plain ? "Plain:" : "Gzip:", seconds, dataset.size() / seconds / 1e3);
+        }
+    }
+}
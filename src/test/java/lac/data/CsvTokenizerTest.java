@@ -0,0 +1,97 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class CsvTokenizerTest extends TestSuite {
+    private ArrayList<String> values = new ArrayList<String>();
+
+    private String write(String content) throws IOException {
+        File file = File.createTempFile("tokenizer", ".csv");
+        file.deleteOnExit();
+        try (FileOutputStream output = new FileOutputStream(file)) {
+            output.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return file.getAbsolutePath();
+    }
+
+    @Test
+    public void splitsLinesAndValues() throws IOException {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(write("a,b,c\nd,e,f"), ',')) {
+            assertTrue(tokenizer.next(values));
+            assertEquals(Arrays.asList("a", "b", "c"), values);
+            assertTrue(tokenizer.next(values));
+            assertEquals(Arrays.asList("d", "e", "f"), values);
+            assertFalse(tokenizer.next(values));
+        }
+    }
+
+    @Test
+    public void blanksAreRemoved() throws IOException {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(write(" va l1 , 1,class1 \n"), ',')) {
+            assertTrue(tokenizer.next(values));
+            assertEquals(Arrays.asList("val1", "1", "class1"), values);
+            assertFalse(tokenizer.next(values));
+        }
+    }
+
+    @Test
+    public void emptyLinesHaveNoValues() throws IOException {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(write("a\r\n\r\n  \n,,\nb"), ',')) {
+            assertTrue(tokenizer.next(values));
+            assertEquals(Arrays.asList("a"), values);
+            for (int i = 0; i < 3; i++) {
+                assertTrue(tokenizer.next(values));
+                assertTrue(values.isEmpty());
+            }
+            assertTrue(tokenizer.next(values));
+            assertEquals(Arrays.asList("b"), values);
+            assertFalse(tokenizer.next(values));
+        }
+    }
+
+    @Test
+    public void onlyTrailingEmptyValuesAreDiscarded() throws IOException {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(write(",a,,b,,\n"), ',')) {
+            assertTrue(tokenizer.next(values));
+            assertEquals(Arrays.asList("", "a", "", "b"), values);
+        }
+    }
+
+    @Test
+    public void multibyteValues() throws IOException {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(write("año,señal\n"), ',')) {
+            assertTrue(tokenizer.next(values));
+            assertEquals(Arrays.asList("año", "señal"), values);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class DataSectionReaderTest extends TestSuite {
+    private static void assertSameDataset(Dataset expected, Dataset actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.getFrequencyByKlass(), actual.getFrequencyByKlass());
+        assertEquals(expected.hasMissing(), actual.hasMissing());
+        assertEquals(expected.getValueByIndex((short) -1), actual.getValueByIndex((short) -1));
+
+        for (int i = 0; i < expected.size(); i++)
+            assertArrayEquals(expected.getInstance(i).getValues(), actual.getInstance(i).getValues());
+    }
+
+    private static File write(String suffix, String content) throws Exception {
+        File file = File.createTempFile("dataset", suffix);
+        file.deleteOnExit();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+        return file;
+    }
+
+    private static File compress(String path, String suffix) throws Exception {
+        File file = File.createTempFile("dataset", suffix);
+        file.deleteOnExit();
+
+        try (OutputStream output = suffix.endsWith(".gz") ? new GZIPOutputStream(new FileOutputStream(file))
+                : new ZipOutputStream(new FileOutputStream(file))) {
+            if (output instanceof ZipOutputStream)
+                ((ZipOutputStream) output).putNextEntry(new ZipEntry(new File(path).getName()));
+            output.write(Files.readAllBytes(Paths.get(path)));
+        }
+        return file;
+    }
+
+    @Test
+    public void compressedFilesAreEqualToPlain() throws Exception {
+        File arff = File.createTempFile("synthetic", ".arff");
+        arff.deleteOnExit();
+        SyntheticDataset.writeArff(arff.getPath(), 5000, 4, 20, 3, 1);
+
+        ClassLoader classLoader = getClass().getClassLoader();
+        String[] paths = { arff.getPath(), new File(classLoader.getResource("data/dataset.dat").getFile()).getPath(),
+                new File(classLoader.getResource("data/dataset.csv").getFile()).getPath() };
+
+        for (String path : paths) {
+            Dataset plain = Dataset.read(path);
+            String extension = path.substring(path.lastIndexOf("."));
+
+            for (String suffix : new String[] { ".gz", ".zip" }) {
+                File compressed = compress(path, extension + suffix);
+                assertSameDataset(plain, Dataset.read(compressed.getPath()));
+                assertSameDataset(plain, Dataset.read(compressed.getPath(), 4));
+            }
+        }
+    }
+
+    @Test
+    public void parallelArffIsEqualToSequential() throws Exception {
+        File file = File.createTempFile("synthetic", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), 5000, 4, 20, 3, 1);
+
+        Dataset sequential = new ArffDataset(file.getPath());
+        for (int numberThreads = 2; numberThreads <= 8; numberThreads *= 2)
+            assertSameDataset(sequential, new ArffDataset(file.getPath(), numberThreads));
+    }
+
+    @Test
+    public void parallelDatIsEqualToSequential() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        String path = new File(classLoader.getResource("data/dataset.dat").getFile()).getAbsolutePath();
+
+        assertSameDataset(new DatDataset(path), new DatDataset(path, 4));
+    }
+
+    @Test
+    public void chunksSplitWindowsLineEndings() throws Exception {
+        StringBuilder content = new StringBuilder("@relation crlf\r\n@attribute a {x, y}\r\n"
+                + "@attribute class {c1, c2}\r\n@data\r\n");
+        for (int i = 0; i < 100; i++)
+            content.append(i % 3 == 0 ? "x, c1\r\n" : "y,c2\r\n\r\n");
+        File file = write(".arff", content.toString());
+
+        Dataset parallel = new ArffDataset(file.getPath(), 8);
+        assertEquals(100, parallel.size());
+        assertSameDataset(new ArffDataset(file.getPath()), parallel);
+    }
+
+    @Test
+    public void keepsFirstMissingValue() throws Exception {
+        File file = write(".arff", "@relation missing\n@attribute a {x, y}\n@attribute class {c1, c2}\n@data\n"
+                + "x,c1\n% comment\ny,c2\nx,c1\nz,c2\nx,c1\n?,c1\ny,c2");
+
+        Dataset parallel = Dataset.read(file.getPath(), 3);
+        assertEquals("z", parallel.getValueByIndex((short) -1));
+        assertSameDataset(new ArffDataset(file.getPath()), parallel);
+    }
+
+    @Test
+    public void formatsWithoutParallelParsingAreReadSequentially() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        String path = new File(classLoader.getResource("data/dataset.csv").getFile()).getAbsolutePath();
+
+        assertSameDataset(Dataset.read(path), Dataset.read(path, 4));
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class DatasetAppendTest extends TestSuite {
+    private Dataset expected;
+    private Dataset dataset;
+    private List<String> remaining;
+
+    @Before
+    public void setup() throws Exception {
+        File file = File.createTempFile("synthetic", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), 1000, 4, 5, 3, 9);
+        expected = new ArffDataset(file.getPath());
+
+        // Only the first half of the instances is read from disk
+        List<String> lines = Files.readAllLines(file.toPath());
+        int startData = lines.indexOf("@data") + 1;
+        int middle = startData + 500;
+
+        File half = File.createTempFile("half", ".arff");
+        half.deleteOnExit();
+        Files.write(half.toPath(), lines.subList(0, middle));
+        dataset = new ArffDataset(half.getPath());
+        remaining = lines.subList(middle, lines.size());
+    }
+
+    private void assertSameDataset() {
+        assertEquals(expected.size(), dataset.size());
+        assertEquals(expected.getFrequencyByKlass(), dataset.getFrequencyByKlass());
+        for (int i = 0; i < expected.size(); i++)
+            assertArrayEquals(expected.getInstance(i).getValues(), dataset.getInstance(i).getValues());
+
+        VerticalIndex expectedIndex = expected.getVerticalIndex();
+        VerticalIndex index = dataset.getVerticalIndex();
+        assertEquals(expectedIndex.size(), index.size());
+        assertArrayEquals(expectedIndex.getItems(), index.getItems());
+        for (short item : expectedIndex.getItems()) {
+            assertEquals(expectedIndex.getTidset(item), index.getTidset(item));
+            assertEquals(expectedIndex.getSupport(item), index.getSupport(item));
+        }
+        for (int k = 0; k < expected.getNumberKlasses(); k++) {
+            short klass = expected.getKlass(k);
+            assertEquals(expectedIndex.getKlassTidset(klass), index.getKlassTidset(klass));
+            assertEquals(expectedIndex.getKlassSupport(klass), index.getKlassSupport(klass));
+        }
+    }
+
+    @Test
+    public void appendingFromIteratorKeepsIndexUpToDate() throws Exception {
+        VerticalIndex index = dataset.getVerticalIndex();
+
+        List<String[]> instances = new ArrayList<String[]>();
+        for (String line : remaining)
+            instances.add(line.split(","));
+
+        assertEquals(500, dataset.append(instances.iterator()));
+        assertEquals(index, dataset.getVerticalIndex());
+        assertSameDataset();
+    }
+
+    @Test
+    public void appendingFromChannelKeepsIndexUpToDate() throws Exception {
+        dataset.getVerticalIndex();
+
+        byte[] bytes = (String.join("\n", remaining) + "\n\n").getBytes(StandardCharsets.UTF_8);
+        assertEquals(500, dataset.append(Channels.newChannel(new ByteArrayInputStream(bytes)), ','));
+        assertSameDataset();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void viewsCannotBeAppended() throws Exception {
+        List<String[]> instances = new ArrayList<String[]>();
+        instances.add(remaining.get(0).split(","));
+
+        new DatasetView(dataset, new int[] { 0 }).append(instances.iterator());
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import junit.framework.TestSuite;
+
+public class DatasetTest extends TestSuite {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static Dataset withValues(int numberValues, String... klasses) {
+        Dataset dataset = new Dataset() {
+        };
+        String[] values = new String[numberValues];
+        for (int i = 0; i < values.length; i++)
+            values[i] = "v" + i;
+        dataset.addNominalAttribute("large", values);
+        dataset.addKlass(klasses);
+
+        return dataset;
+    }
+
+    @Test
+    public void valuesFittingInShortAreEncodedAsShorts() throws Exception {
+        Dataset large = withValues(ItemEncoding.SHORT.getMaxNumberItems() - 2, "yes", "no");
+
+        assertEquals(ItemEncoding.SHORT, large.getEncoding());
+        assertEquals(Short.MAX_VALUE - 2, large.getIndexByValue(0, "v32765"));
+        assertEquals("v32765", large.getValueByIndex((short) (Short.MAX_VALUE - 2)));
+        assertEquals(Short.MAX_VALUE, large.getIndexByValueKlass("no"));
+
+        large.addInstance(new String[] { "v32765", "no" });
+        assertTrue(large.storage instanceof ColumnarStorage);
+        assertArrayEquals(new short[] { Short.MAX_VALUE - 2, Short.MAX_VALUE },
+                large.getInstance(0, large.createInstanceBuffer()));
+        assertArrayEquals(new int[] { Short.MAX_VALUE - 2, Short.MAX_VALUE },
+                large.getInstance(0, large.createIntInstanceBuffer()));
+    }
+
+    @Test
+    public void valuesOutgrowingShortAreEncodedAsInts() throws Exception {
+        Dataset large = withValues(ItemEncoding.SHORT.getMaxNumberItems(), "yes", "no");
+
+        // Classes take the first representations, so they still fit in a short
+        assertEquals(ItemEncoding.INT, large.getEncoding());
+        assertEquals(0, large.getKlass(0));
+        assertEquals(1, large.getIndexByValueKlass("no"));
+        assertEquals(2, large.getIntIndexByValue(0, "v0"));
+        assertEquals(Short.MAX_VALUE + 2, large.getIntIndexByValue(0, "v32767"));
+        assertEquals("v32767", large.getValueByIndex(Short.MAX_VALUE + 2));
+        assertEquals("large", large.getAttributeByIndex(Short.MAX_VALUE + 2).getName());
+        assertEquals("no", large.getValueByIndex(1));
+
+        large.addInstance(new String[] { "v32767", "no" });
+        large.addInstance(new String[] { "v1", "yes" });
+        large.addInstance(new String[] { "v32767", "no" });
+        assertTrue(large.storage instanceof IntColumnarStorage);
+        assertFalse(large.storage instanceof ShortStorage);
+        assertEquals(Short.MAX_VALUE + 2, large.getInt(0, 0));
+        assertArrayEquals(new int[] { 3, 0 }, large.getInstance(1, large.createIntInstanceBuffer()));
+        assertEquals(ItemEncoding.INT, large.getInstance(0).getEncoding());
+        assertArrayEquals(new int[] { Short.MAX_VALUE + 2, 1 }, large.getInstance(0).getIntValues());
+        assertEquals(Short.valueOf((short) 1), large.getInstance(0).getKlass());
+        assertEquals(1, large.getKlassInstance(0));
+        assertEquals(2, large.getNumberInstancesPerKlass((short) 1));
+
+        assertEquals(2, large.deduplicate().size());
+        assertEquals(2, large.deduplicate().getWeight(0));
+        assertArrayEquals(new int[] { 3, Short.MAX_VALUE + 2 }, large.getVerticalIndex().getIntItems());
+        assertEquals(2, large.getSupportTable().getSupport(Short.MAX_VALUE + 2));
+        assertEquals(2, large.getSupportTable().getSupport(Short.MAX_VALUE + 2, (short) 1));
+
+        // Structures already built are updated with the int representation
+        large.addInstance(new String[] { "v32767", "yes" });
+        assertEquals(3, large.getSupportTable().getSupport(Short.MAX_VALUE + 2));
+        assertEquals(1, large.getSupportTable().getSupport(Short.MAX_VALUE + 2, (short) 0));
+        assertEquals(3, large.getVerticalIndex().getSupport(Short.MAX_VALUE + 2));
+
+        // Short accessors are rejected for any value, even those fitting in a short
+        try {
+            large.get(0, 0);
+            fail();
+        } catch (IllegalStateException e) {
+        }
+        try {
+            large.getInstance(0, large.createInstanceBuffer());
+            fail();
+        } catch (IllegalStateException e) {
+        }
+        try {
+            large.getIndexByValue(0, "v0");
+            fail();
+        } catch (IllegalStateException e) {
+        }
+        try {
+            large.getInstance(0).getValues();
+            fail();
+        } catch (IllegalStateException e) {
+        }
+        try {
+            large.getVerticalIndex().getItems();
+            fail();
+        } catch (IllegalStateException e) {
+        }
+    }
+
+    @Test
+    public void sparseInstancesOutgrowingShortAreStoredDensely() throws Exception {
+        Dataset large = withValues(ItemEncoding.SHORT.getMaxNumberItems(), "yes", "no");
+
+        large.addSparseInstance(new int[] { 0 }, new String[] { "v32767" }, 1);
+        large.addSparseInstance(new int[] { 1 }, new String[] { "no" }, 1);
+
+        assertTrue(large.storage instanceof IntColumnarStorage);
+        int[] example = large.createIntInstanceBuffer();
+        assertArrayEquals(new int[] { Short.MAX_VALUE + 2, 0 }, large.getInstance(0, example));
+        assertArrayEquals(new int[] { 2, 1 }, large.getInstance(1, example));
+    }
+
+    @Test
+    public void internalRepresentationsDoNotOverflow() throws Exception {
+        Dataset large = withValues(2, "yes", "no");
+        large.indexes.add(new ArrayList<Integer>());
+
+        try {
+            large.reserveIndexes(1, "overflow", ItemEncoding.INT.getMaxNumberItems() - 3);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("overflow"));
+        }
+    }
+
+    @Test
+    public void filesOutgrowingShortKeepTheirOriginalValues() throws Exception {
+        File file = new File(tempFolder.getRoot(), "large.arff");
+        SyntheticDataset.writeArff(file.getPath(), 3000, 3, 20000, 3, 5);
+        List<String> lines = Files.readAllLines(file.toPath());
+        int startData = lines.indexOf("@data") + 1;
+
+        for (int numberThreads : new int[] { 1, 4 }) {
+            Dataset dataset = Dataset.read(file.getPath(), numberThreads);
+            assertEquals(ItemEncoding.INT, dataset.getEncoding());
+            assertEquals(lines.size() - startData, dataset.size());
+
+            int[] example = dataset.createIntInstanceBuffer();
+            for (int i = 0; i < dataset.size(); i++) {
+                dataset.getInstance(i, example);
+                String[] values = lines.get(startData + i).split(",");
+
+                for (int j = 0; j < example.length; j++)
+                    assertEquals(values[j], dataset.getValueByIndex(example[j]));
+            }
+        }
+    }
+}
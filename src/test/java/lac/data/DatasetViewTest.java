@@ -0,0 +1,132 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class DatasetViewTest extends TestSuite {
+    private Dataset dataset;
+
+    @Before
+    public void setup() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("data/dataset.arff").getFile());
+        dataset = new ArffDataset(file.getAbsolutePath());
+    }
+
+    @Test
+    public void instancesAreReadFromTheOriginalDataset() {
+        DatasetView view = new DatasetView(dataset, new int[] { 2, 0 });
+
+        assertEquals(2, view.size());
+        assertEquals(dataset.getNumberAttributes(), view.getNumberAttributes());
+        assertArrayEquals(dataset.getInstance(2).getValues(), view.getInstance(0).getValues());
+        assertArrayEquals(dataset.getInstance(0).getValues(), view.getInstance(1).getValues());
+        assertEquals(dataset.getKlassInstance(2), view.getKlassInstance(0));
+        assertEquals(2, view.getRow(0));
+    }
+
+    @Test
+    public void viewsOfViewsPointToTheOriginalDataset() {
+        DatasetView view = new DatasetView(dataset, new int[] { 2, 1, 0 });
+        DatasetView nested = new DatasetView(view, new int[] { 2, 0 });
+
+        assertEquals(2, nested.size());
+        assertEquals(0, nested.getRow(0));
+        assertEquals(2, nested.getRow(1));
+        assertArrayEquals(dataset.getInstance(2).getValues(), nested.getInstance(1).getValues());
+    }
+
+    @Test
+    public void frequenciesAreCalculatedOverTheView() {
+        int[] rows = { 0, 1, 2 };
+        DatasetView view = new DatasetView(dataset, rows);
+
+        HashMap<Short, Long> expected = new HashMap<Short, Long>();
+        for (int row : rows) {
+            expected.merge(dataset.getKlassInstance(row), 1L, Long::sum);
+        }
+
+        assertEquals(expected, view.getFrequencyByKlass());
+        for (Short klass : expected.keySet()) {
+            assertEquals((long) expected.get(klass), view.getNumberInstancesPerKlass(klass));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void viewsCannotBeModified() {
+        new DatasetView(dataset, new int[] { 0 }).addInstance(new String[] { "a" });
+    }
+
+    @Test
+    public void instancesCouldBeSelectedByBitmap() {
+        BitSet rows = new BitSet();
+        rows.set(0);
+        rows.set(2);
+        DatasetView view = new DatasetView(dataset, rows);
+
+        assertEquals(2, view.size());
+        assertEquals(0, view.getRow(0));
+        assertEquals(2, view.getRow(1));
+        assertEquals(dataset.getKlassInstance(2), view.getKlassInstance(1));
+    }
+
+    @Test
+    public void deduplicatedViewsCollapseIdenticalInstances() throws Exception {
+        File file = File.createTempFile("duplicated", ".arff");
+        file.deleteOnExit();
+        Files.write(file.toPath(), ("@relation duplicated\n@attribute a {x,y}\n@attribute class {c1,c2}\n"
+                + "@data\nx,c1\ny,c2\nx,c1\nx,c2\nx,c1\n").getBytes(StandardCharsets.UTF_8));
+        Dataset nominal = new ArffDataset(file.getPath());
+
+        DatasetView view = nominal.deduplicate();
+
+        assertEquals(3, view.size());
+        assertTrue(view.isWeighted());
+        assertEquals(5, view.getWeightedSize());
+        assertEquals(3, view.getWeight(0));
+        assertEquals(1, view.getWeight(1));
+        assertEquals(nominal.getFrequencyByKlass(), view.getFrequencyByKlass());
+        assertSame(view, nominal.deduplicate());
+
+        VerticalIndex index = view.getVerticalIndex();
+        short x = nominal.get(0, 0);
+        assertEquals(4, index.getSupport(x));
+        assertEquals(3, index.getKlassSupport(nominal.getKlassInstance(0)));
+        assertEquals(3, index.getSupport(Arrays.asList(x), nominal.getKlassInstance(0)));
+
+        // Views of weighted views keep the weights
+        DatasetView nested = new DatasetView(view, new int[] { 0 });
+        assertEquals(3, nested.getWeightedSize());
+    }
+}
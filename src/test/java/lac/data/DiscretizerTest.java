@@ -0,0 +1,148 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class DiscretizerTest extends TestSuite {
+    private static File write(String content) throws Exception {
+        File file = File.createTempFile("numeric", ".arff");
+        file.deleteOnExit();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+        return file;
+    }
+
+    /**
+     * Dataset with a nominal attribute, a numeric attribute x taking the values
+     * from 1 to 100, and a class which only depends on x being greater than 50
+     */
+    private static File separable() throws Exception {
+        StringBuilder content = new StringBuilder(
+                "@relation separable\n@attribute a {p, q}\n@attribute x numeric\n@attribute class {low, high}\n@data\n");
+        for (int i = 100; i >= 1; i--)
+            content.append(i % 2 == 0 ? "p," : "q,").append(i).append(i > 50 ? ",high\n" : ",low\n");
+        return write(content.toString());
+    }
+
+    @Test
+    public void numericValuesAreKept() throws Exception {
+        File file = separable();
+        Dataset sequential = new ArffDataset(file.getPath());
+        Dataset parallel = new ArffDataset(file.getPath(), 4);
+
+        assertTrue(sequential.hasNumericValues());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(100 - i, sequential.getNumericValue(i, 1), 0.0);
+            assertEquals(100 - i, parallel.getNumericValue(i, 1), 0.0);
+            assertEquals(-1, sequential.get(i, 1));
+        }
+
+        DatasetView view = new DatasetView(sequential, new int[] { 99, 0 });
+        assertEquals(1, view.getNumericValue(0, 1), 0.0);
+        assertEquals(100, view.getNumericValue(1, 1), 0.0);
+    }
+
+    @Test
+    public void mdlpFindsTheBoundaryBetweenClasses() throws Exception {
+        Dataset dataset = Dataset.read(separable().getPath());
+        double[][] cutPoints = new MdlpDiscretizer().getCutPoints(dataset);
+
+        assertNull(cutPoints[0]);
+        assertArrayEquals(new double[] { 50.5 }, cutPoints[1], 0.0);
+    }
+
+    @Test
+    public void mdlpDoesNotSplitWithoutInformation() throws Exception {
+        StringBuilder content = new StringBuilder("@relation noise\n@attribute x numeric\n@attribute class {c1, c2}\n@data\n");
+        for (int i = 0; i < 100; i++)
+            content.append(i).append(i % 2 == 0 ? ",c1\n" : ",c2\n");
+        Dataset dataset = Dataset.read(write(content.toString()).getPath());
+
+        assertEquals(0, new MdlpDiscretizer().getCutPoints(dataset)[0].length);
+    }
+
+    @Test
+    public void equalFrequencySplitsIntoBinsOfTheSameSize() throws Exception {
+        Dataset dataset = Dataset.read(separable().getPath());
+        double[][] cutPoints = new EqualFrequencyDiscretizer(4).getCutPoints(dataset);
+
+        assertArrayEquals(new double[] { 25.5, 50.5, 75.5 }, cutPoints[1], 0.0);
+    }
+
+    @Test
+    public void equalFrequencyKeepsRepeatedValuesTogether() throws Exception {
+        StringBuilder content = new StringBuilder("@relation repeated\n@attribute x numeric\n@attribute class {c1, c2}\n@data\n");
+        for (int i = 0; i < 90; i++)
+            content.append("1,c1\n");
+        for (int i = 0; i < 10; i++)
+            content.append(i + 2).append(",c2\n");
+        Dataset dataset = Dataset.read(write(content.toString()).getPath());
+
+        assertArrayEquals(new double[] { 1.5 }, new EqualFrequencyDiscretizer(4).getCutPoints(dataset)[0], 0.0);
+    }
+
+    @Test
+    public void discretizedDatasetsShareTheirInternalRepresentation() throws Exception {
+        Dataset training = Dataset.read(separable().getPath());
+        Dataset test = Dataset.read(write("@relation test\n@attribute a {p, q}\n@attribute x numeric\n"
+                + "@attribute class {low, high}\n@data\np,7,low\nq,?,high\np,93.5,high\n").getPath());
+
+        Discretizer discretizer = new MdlpDiscretizer();
+        double[][] cutPoints = discretizer.getCutPoints(training);
+        Dataset discretizedTraining = discretizer.discretize(training, cutPoints);
+        Dataset discretizedTest = discretizer.discretize(test, cutPoints);
+
+        assertFalse(discretizedTraining.hasNumericAttributes());
+        assertArrayEquals(new String[] { "(-inf-50.5]", "(50.5-inf)" },
+                discretizedTraining.getAttribute(1).getValues());
+        assertEquals(training.getFrequencyByKlass(), discretizedTraining.getFrequencyByKlass());
+        assertFalse(discretizedTraining.hasMissing());
+
+        short low = discretizedTraining.getIndexByValue(1, "(-inf-50.5]");
+        short high = discretizedTraining.getIndexByValue(1, "(50.5-inf)");
+        for (int i = 0; i < training.size(); i++) {
+            assertEquals(training.get(i, 0), discretizedTraining.get(i, 0));
+            assertEquals(training.getKlassInstance(i), discretizedTraining.getKlassInstance(i));
+            assertEquals(training.getNumericValue(i, 1) > 50.5 ? high : low, discretizedTraining.get(i, 1));
+        }
+        assertEquals("x", discretizedTraining.getAttributeByIndex(high).getName());
+        assertEquals("(50.5-inf)", discretizedTraining.getValueByIndex(high));
+
+        assertEquals(low, discretizedTest.get(0, 1));
+        assertEquals(-1, discretizedTest.get(1, 1));
+        assertEquals(high, discretizedTest.get(2, 1));
+        assertTrue(discretizedTest.hasMissing());
+
+        // Original datasets are not modified
+        assertTrue(training.hasNumericAttributes());
+        assertEquals(-1, training.get(0, 1));
+    }
+}
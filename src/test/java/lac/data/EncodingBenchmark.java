@@ -0,0 +1,102 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import lac.algorithms.mac.Eclat;
+
+/**
+ * Measures the time to load a synthetic dataset, to build its vertical index
+ * and to mine it with Eclat. The dataset is encoded as shorts, and then it is
+ * measured again with some values which never appear added to the first
+ * attribute, so that the same instances are encoded as ints. It is not executed
+ * as part of the tests, run it through its main method
+ */
+public class EncodingBenchmark {
+    /**
+     * Runs the benchmark
+     * 
+     * @param args number of instances, number of attributes and number of values
+     *             per attribute of the synthetic dataset, minimum support,
+     *             number of repetitions, and whether the dataset encoded as ints
+     *             is measured (all of them optional)
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        int numberInstances = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        int numberAttributes = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        int numberValues = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        double minSup = args.length > 3 ? Double.parseDouble(args[3]) : 0.01;
+        int repetitions = args.length > 4 ? Integer.parseInt(args[4]) : 5;
+        boolean wide = args.length > 5 ? Boolean.parseBoolean(args[5]) : true;
+
+        File file = File.createTempFile("encoding-benchmark", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), numberInstances, numberAttributes, numberValues, 3, 1);
+        run("short", file, minSup, repetitions);
+
+        if (wide) {
+            List<String> lines = Files.readAllLines(file.toPath());
+            StringBuilder unused = new StringBuilder();
+            for (int v = 0; v < Short.MAX_VALUE + 1; v++)
+                unused.append(",unused").append(v);
+            lines.set(1, lines.get(1).replace("}", unused + "}"));
+            Files.write(file.toPath(), lines);
+            run("int", file, minSup, repetitions);
+        }
+    }
+
+    /**
+     * Loads and mines a dataset several times, the first execution only warms up
+     * the JVM, and prints the best time of each step
+     * 
+     * @param name        of the encoding
+     * @param file        with the dataset
+     * @param minSup      minimum support of the rules
+     * @param repetitions number of measured executions
+     * @throws Exception
+     */
+    private static void run(String name, File file, double minSup, int repetitions) throws Exception {
+        double load = Double.MAX_VALUE;
+        double index = Double.MAX_VALUE;
+        double mining = Double.MAX_VALUE;
+        int numberRules = 0;
+
+        for (int r = 0; r <= repetitions; r++) {
+            long start = System.nanoTime();
+            Dataset dataset = Dataset.read(file.getPath());
+            long loaded = System.nanoTime();
+            dataset.getVerticalIndex();
+            long indexed = System.nanoTime();
+            numberRules = new Eclat(dataset, (long) Math.ceil(minSup * dataset.size()), 0.5).run().size();
+            long mined = System.nanoTime();
+
+            if (r > 0) {
+                load = Math.min(load, (loaded - start) / 1e9);
+                index = Math.min(index, (indexed - loaded) / 1e9);
+                mining = Math.min(mining, (mined - indexed) / 1e9);
+            }
+        }
+
+        System.out.printf("%-6s load: %8.3f s, vertical index: %8.3f s, mining: %8.3f s (%d rules)%n", name, load,
+                index, mining, numberRules);
+    }
+}
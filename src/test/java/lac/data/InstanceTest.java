@@ -19,6 +19,7 @@ package lac.data;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -42,6 +43,27 @@ public class InstanceTest extends TestSuite {
         assertArrayEquals(values, instance.asNominal());
     }
 
+    @Test
+    public void getValuesWithoutCopying() {
+        short[] internal = instance.getValues();
+        assertEquals(values.length, internal.length);
+        for (int i = 0; i < values.length; i++)
+            assertEquals((short) values[i], internal[i]);
+        assertSame(internal, instance.getValues());
+    }
+
+    @Test
+    public void getByPosition() {
+        for (int i = 0; i < values.length; i++)
+            assertEquals((short) values[i], instance.get(i));
+    }
+
+    @Test
+    public void notNominalValuesAreNegative() {
+        instance.set(0, null);
+        assertEquals(-1, instance.get(0));
+    }
+
     @Test
     public void getKlass() {
         assertEquals(values[values.length - 1], instance.getKlass());
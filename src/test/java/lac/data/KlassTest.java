@@ -46,6 +46,13 @@ public class KlassTest extends TestSuite {
         assertEquals(values.length, klass.getNumberValues());
     }
 
+    @Test
+    public void getPosition() {
+        for (int i = 0; i < values.length; i++)
+            assertEquals(i, klass.getPosition(values[i]));
+        assertEquals(-1, klass.getPosition("4"));
+    }
+
     @Test
     public void getValues() {
         assertArrayEquals(values, klass.getValues());
@@ -0,0 +1,121 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class LacbDatasetTest extends TestSuite {
+    private Dataset original;
+    private Dataset dataset;
+
+    @Before
+    public void setup() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("data/dataset.arff").getFile());
+        original = new ArffDataset(file.getAbsolutePath());
+        dataset = convert(original);
+    }
+
+    private static Dataset convert(Dataset dataset) throws Exception {
+        File binary = File.createTempFile("dataset", ".lacb");
+        binary.deleteOnExit();
+        LacbDataset.write(dataset, binary.getPath());
+
+        return Dataset.read(binary.getPath());
+    }
+
+    private static void assertSameContent(Dataset expected, Dataset actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.getNumberAttributes(), actual.getNumberAttributes());
+
+        for (int i = 0; i < expected.size(); i++)
+            assertArrayEquals(expected.getInstance(i).getValues(), actual.getInstance(i).getValues());
+    }
+
+    @Test
+    public void readByExtension() {
+        assertTrue(dataset instanceof LacbDataset);
+        assertEquals(original.getName(), dataset.getName());
+    }
+
+    @Test
+    public void sameInstancesAsOriginal() {
+        assertEquals(DummyDataset.NUMBER_INSTANCES, dataset.size());
+        assertSameContent(original, dataset);
+    }
+
+    @Test
+    public void correctFrequencyOfKlasses() {
+        assertEquals(DummyDataset.FREQUENCY_KLASSES, dataset.getFrequencyByKlass());
+    }
+
+    @Test
+    public void correctMetadata() {
+        assertTrue(dataset.getAttribute(DummyDataset.INDEX_NOMINAL_ATTRIBUTE).isNominal());
+        assertFalse(dataset.getAttribute(DummyDataset.INDEX_NUMERIC_ATTRIBUTE).isNominal());
+        assertEquals(DummyDataset.NAME_NUMERIC, dataset.getAttribute(DummyDataset.INDEX_NUMERIC_ATTRIBUTE).getName());
+        assertArrayEquals(DummyDataset.NOMINAL_LABELS,
+                dataset.getAttribute(DummyDataset.INDEX_NOMINAL_ATTRIBUTE).getValues());
+        assertArrayEquals(DummyDataset.KLASS_LABELS, dataset.getKlass().getValues());
+    }
+
+    @Test
+    public void sameInternalRepresentations() throws Exception {
+        for (String value : DummyDataset.NOMINAL_LABELS) {
+            short index = original.getIndexByValue(DummyDataset.INDEX_NOMINAL_ATTRIBUTE, value);
+            assertEquals(index, dataset.getIndexByValue(DummyDataset.INDEX_NOMINAL_ATTRIBUTE, value));
+            assertEquals(value, dataset.getValueByIndex(index));
+        }
+        for (String value : DummyDataset.KLASS_LABELS)
+            assertEquals(original.getIndexByValueKlass(value), dataset.getIndexByValueKlass(value));
+    }
+
+    @Test
+    public void keepsMissingValues() throws Exception {
+        File file = File.createTempFile("missing", ".arff");
+        file.deleteOnExit();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write("@relation missing\n@attribute a {x, y}\n@attribute class {c1, c2}\n@data\nx,c1\n?,c2\n");
+        }
+        Dataset withMissing = Dataset.read(file.getPath());
+        Dataset converted = convert(withMissing);
+
+        assertTrue(converted.hasMissing());
+        assertEquals("?", converted.getValueByIndex((short) -1));
+        assertSameContent(withMissing, converted);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFormats() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("data/dataset.arff").getFile());
+        new LacbDataset(file.getAbsolutePath());
+    }
+}
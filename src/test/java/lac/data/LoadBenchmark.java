@@ -0,0 +1,98 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * Measures the time and the peak of heap required to load a dataset, by default
+ * one whose attributes have a large number of distinct values, and the time to
+ * translate internal representations back to their original values. It is not
+ * executed as part of the tests, run it through its main method
+ */
+public class LoadBenchmark {
+    /**
+     * Runs the benchmark
+     * 
+     * @param args number of instances, number of attributes, number of values per
+     *             attribute and format, arff, csv or lacb (optional)
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        int numberInstances = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        int numberAttributes = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int numberValues = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+        String format = args.length > 3 ? args[3] : "arff";
+
+        File file = File.createTempFile("load-benchmark", "." + format);
+        file.deleteOnExit();
+        if (format.equals("csv")) {
+            SyntheticDataset.writeCsv(file.getPath(), numberInstances, numberAttributes, numberValues, 3, 1);
+        } else if (format.equals("lacb")) {
+            File arff = File.createTempFile("load-benchmark", ".arff");
+            arff.deleteOnExit();
+            SyntheticDataset.writeArff(arff.getPath(), numberInstances, numberAttributes, numberValues, 3, 1);
+            LacbDataset.write(Dataset.read(arff.getPath()), file.getPath());
+        } else {
+            SyntheticDataset.writeArff(file.getPath(), numberInstances, numberAttributes, numberValues, 3, 1);
+        }
+
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            pool.resetPeakUsage();
+
+        long start = System.nanoTime();
+        Dataset dataset = Dataset.read(file.getPath());
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Instances: %d, attributes: %d, values per attribute: %d, file: %.1f MB%n", dataset.size(),
+                numberAttributes, numberValues, file.length() / 1e6);
+        System.out.printf("Loading: %.2f s (%.1f K instances/s), peak heap: %.1f MB%n", seconds,
+                dataset.size() / seconds / 1e3, peakHeap() / 1e6);
+
+        // Reverse lookup, as performed by the reports for each item of each rule
+        long checksum = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < dataset.size(); i++) {
+            for (int j = 0; j < numberAttributes; j++) {
+                short index = dataset.get(i, j);
+                checksum += dataset.getAttributeByIndex(index).getName().length();
+                checksum += dataset.getValueByIndex(index).length();
+            }
+        }
+        seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Reverse lookup: %.1f M items/s (checksum %d)%n",
+                (double) dataset.size() * numberAttributes / seconds / 1e6, checksum);
+    }
+
+    /**
+     * Sum of the peak usage of all the memory pools of the heap
+     * 
+     * @return number of bytes
+     */
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP)
+                peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+}
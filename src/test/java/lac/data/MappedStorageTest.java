@@ -0,0 +1,134 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+import lac.algorithms.Algorithm;
+import lac.algorithms.Classifier;
+
+public class MappedStorageTest extends TestSuite {
+    @After
+    public void restoreHeap() {
+        Dataset.setOffHeap(false);
+    }
+
+    private static void assertSameDataset(Dataset expected, Dataset actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.getFrequencyByKlass(), actual.getFrequencyByKlass());
+
+        short[] buffer = actual.createInstanceBuffer();
+        for (int i = 0; i < expected.size(); i++)
+            assertArrayEquals(expected.getInstance(i).getValues(), actual.getInstance(i, buffer));
+    }
+
+    @Test
+    public void valuesAreKeptAcrossSegments() throws Exception {
+        MappedStorage storage = new MappedStorage(1);
+        int numberInstances = (1 << 22) + 10;
+
+        for (int i = 0; i < numberInstances; i++)
+            storage.add(new short[] { (short) i, (short) (i % 7) });
+
+        assertEquals(numberInstances, storage.size());
+        assertEquals(1, storage.getNumberAttributes());
+        for (int i = 0; i < numberInstances; i += 1021) {
+            assertEquals((short) i, storage.get(i, 0));
+            assertEquals(i % 7, storage.getKlass(i));
+        }
+        assertEquals((short) (numberInstances - 1), storage.get(numberInstances - 1, 0));
+    }
+
+    @Test
+    public void textDatasetsCouldBeKeptOffHeap() throws Exception {
+        File file = File.createTempFile("synthetic", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), 2000, 5, 4, 3, 1);
+
+        Dataset onHeap = Dataset.read(file.getPath());
+        Dataset.setOffHeap(true);
+        Dataset offHeap = Dataset.read(file.getPath());
+        Dataset offHeapParallel = Dataset.read(file.getPath(), 3);
+
+        assertTrue(offHeap.storage instanceof MappedStorage);
+        assertTrue(offHeapParallel.storage instanceof MappedStorage);
+        assertSameDataset(onHeap, offHeap);
+        assertSameDataset(onHeap, offHeapParallel);
+    }
+
+    @Test
+    public void binaryDatasetsAreMappedWithoutCopying() throws Exception {
+        File file = File.createTempFile("synthetic", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), 2000, 5, 4, 3, 1);
+        File binary = File.createTempFile("synthetic", ".lacb");
+        binary.deleteOnExit();
+
+        Dataset onHeap = Dataset.read(file.getPath());
+        LacbDataset.write(onHeap, binary.getPath());
+        Dataset offHeap = new LacbDataset(binary.getPath(), true);
+
+        assertTrue(offHeap.storage instanceof MappedStorage);
+        assertSameDataset(onHeap, offHeap);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void binaryDatasetsAreReadOnly() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("data/dataset-nominal.arff").getFile());
+        File binary = File.createTempFile("dataset", ".lacb");
+        binary.deleteOnExit();
+
+        LacbDataset.write(Dataset.read(file.getAbsolutePath()), binary.getPath());
+        Dataset offHeap = new LacbDataset(binary.getPath(), true);
+        offHeap.storage.add(offHeap.createInstanceBuffer());
+    }
+
+    @Test
+    public void miningOffHeapGivesSameClassifiers() throws Exception {
+        File file = File.createTempFile("synthetic", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), 1000, 5, 4, 3, 1);
+
+        Dataset onHeap = Dataset.read(file.getPath());
+        Dataset.setOffHeap(true);
+        Dataset offHeap = Dataset.read(file.getPath());
+
+        Algorithm[] algorithms = { new lac.algorithms.cba.CBA(new lac.algorithms.cba.Config()),
+                new lac.algorithms.cmar.CMAR(new lac.algorithms.cmar.Config()),
+                new lac.algorithms.mac.MAC(new lac.algorithms.mac.Config()),
+                new lac.algorithms.accf.ACCF(new lac.algorithms.accf.Config()) };
+
+        for (Algorithm algorithm : algorithms) {
+            Classifier expected = algorithm.train(onHeap);
+            Classifier actual = algorithm.train(offHeap);
+
+            assertEquals(expected.getNumberRules(), actual.getNumberRules());
+            for (int i = 0; i < onHeap.size(); i++)
+                assertEquals(expected.predict(onHeap.getInstance(i)), actual.predict(offHeap.getInstance(i)));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.io.File;
+
+/**
+ * Measures how loading an ARFF dataset scales with the number of threads used
+ * to parse its data section. It is not executed as part of the tests, run it
+ * through its main method
+ */
+public class ParallelLoadBenchmark {
+    /**
+     * Runs the benchmark
+     * 
+     * @param args number of instances, number of attributes, number of values per
+     *             attribute and maximum number of threads (optional)
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        int numberInstances = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int numberAttributes = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int numberValues = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        int maxThreads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        File file = File.createTempFile("parallel-load-benchmark", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), numberInstances, numberAttributes, numberValues, 3, 1);
+        System.out.printf("Instances: %d, attributes: %d, file: %.1f MB, available processors: %d%n",
+                numberInstances, numberAttributes, file.length() / 1e6, Runtime.getRuntime().availableProcessors());
+
+        // First load only warms up the JVM
+        Dataset.read(file.getPath());
+
+        double sequential = 0;
+        for (int numberThreads = 1; numberThreads <= maxThreads; numberThreads *= 2) {
+            long start = System.nanoTime();
+            Dataset dataset = Dataset.read(file.getPath(), numberThreads);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            if (numberThreads == 1)
+                sequential = seconds;
+            System.out.printf("Threads: %2d, loading: %.2f s, speedup: %.2fx (%d instances)%n", numberThreads, seconds,
+                    sequential / seconds, dataset.size());
+        }
+    }
+}
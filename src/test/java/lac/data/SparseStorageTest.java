@@ -0,0 +1,77 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class SparseStorageTest extends TestSuite {
+    private SparseStorage storage;
+    private short[] defaults = { 0, 2, -1 };
+
+    @Before
+    public void setup() {
+        storage = new SparseStorage(defaults);
+    }
+
+    @Test
+    public void onlyValuesDifferentFromDefaultAreStored() {
+        storage.add(new short[] { 0, 3, -1, 5 });
+        storage.add(new short[] { 1, 2, -1, 6 });
+
+        assertEquals(2, storage.size());
+        assertEquals(2, storage.getNumberValues());
+        assertEquals(3, storage.get(0, 1));
+        assertEquals(0, storage.get(0, 0));
+        assertEquals(1, storage.get(1, 0));
+        assertEquals(2, storage.get(1, 1));
+        assertEquals(-1, storage.get(1, 2));
+        assertEquals(6, storage.getKlass(1));
+    }
+
+    @Test
+    public void sparseInstancesRestoreDefaults() {
+        storage.add(new int[] { 1 }, new short[] { 4 }, 1, (short) 5);
+        storage.add(new int[0], new short[0], 0, (short) 6);
+
+        short[] example = new short[defaults.length + 1];
+        storage.copy(0, example);
+        assertArrayEquals(new short[] { 0, 4, -1, 5 }, example);
+        storage.copy(1, example);
+        assertArrayEquals(new short[] { 0, 2, -1, 6 }, example);
+    }
+
+    @Test
+    public void growsAfterTrimming() {
+        for (int i = 0; i < 3000; i++)
+            storage.add(new short[] { (short) (i % 3), 2, -1, 5 });
+        storage.trimToSize();
+        for (int i = 3000; i < 6000; i++)
+            storage.add(new short[] { (short) (i % 3), 2, -1, 5 });
+
+        assertEquals(6000, storage.size());
+        assertEquals(4000, storage.getNumberValues());
+        for (int i = 0; i < storage.size(); i++)
+            assertEquals(i % 3, storage.get(i, 0));
+    }
+}
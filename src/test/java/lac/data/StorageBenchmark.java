@@ -0,0 +1,104 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.io.File;
+
+/**
+ * Measures the memory footprint and the time required to scan all the instances
+ * of a dataset. It is not executed as part of the tests, run it through its main
+ * method
+ */
+public class StorageBenchmark {
+    /**
+     * Number of times each scan is repeated
+     */
+    private static final int REPETITIONS = 10;
+
+    /**
+     * Runs the benchmark
+     * 
+     * @param args number of instances and number of attributes (optional)
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        int numberInstances = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int numberAttributes = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        File file = File.createTempFile("storage-benchmark", ".arff");
+        file.deleteOnExit();
+        SyntheticDataset.writeArff(file.getPath(), numberInstances, numberAttributes, 10, 3, 1);
+
+        long before = usedMemory();
+        Dataset dataset = Dataset.read(file.getPath());
+        long after = usedMemory();
+        System.out.printf("Instances: %d, attributes: %d%n", dataset.size(), numberAttributes);
+        System.out.printf("Heap per instance: %.1f bytes%n", (after - before) / (double) dataset.size());
+
+        // Scan through the instance view, as most algorithms currently do
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int r = 0; r < REPETITIONS; r++) {
+            for (int i = 0; i < dataset.size(); i++) {
+                Short[] example = dataset.getInstance(i).asNominal();
+                for (int j = 0; j < example.length; j++)
+                    checksum += example[j];
+            }
+        }
+        report("Instance scan", start, dataset.size(), checksum);
+
+        // Scan directly over the columns of the storage
+        checksum = 0;
+        start = System.nanoTime();
+        for (int r = 0; r < REPETITIONS; r++) {
+            for (int j = 0; j < numberAttributes; j++) {
+                for (int i = 0; i < dataset.size(); i++)
+                    checksum += dataset.storage.getInt(i, j);
+            }
+            for (int i = 0; i < dataset.size(); i++)
+                checksum += dataset.storage.getKlass(i);
+        }
+        report("Column scan", start, dataset.size(), checksum);
+    }
+
+    /**
+     * Shows the throughput for one scan
+     * 
+     * @param name            name of the scan
+     * @param start           time when the scan started
+     * @param numberInstances number of instances scanned in each repetition
+     * @param checksum        sum of the values, avoids the scan to be discarded
+     */
+    private static void report(String name, long start, int numberInstances, long checksum) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s: %.1f M instances/s (checksum %d)%n", name,
+                numberInstances * (double) REPETITIONS / seconds / 1e6, checksum);
+    }
+
+    /**
+     * Memory used in the heap after requesting a garbage collection
+     * 
+     * @return number of bytes used
+     */
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
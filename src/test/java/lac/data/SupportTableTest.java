@@ -0,0 +1,85 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class SupportTableTest extends TestSuite {
+    private Dataset dataset;
+    private SupportTable table;
+
+    @Before
+    public void setup() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("data/dataset-nominal.arff").getFile());
+        dataset = new ArffDataset(file.getAbsolutePath());
+        table = dataset.getSupportTable();
+    }
+
+    @Test
+    public void tableIsBuiltOnlyOnce() {
+        assertSame(table, dataset.getSupportTable());
+    }
+
+    @Test
+    public void supportPerItem() {
+        VerticalIndex index = dataset.getVerticalIndex();
+
+        for (short item : index.getItems()) {
+            assertEquals(index.getSupport(item), table.getSupport(item));
+        }
+        assertEquals(2, table.getSupport((short) 4));
+        assertEquals(1, table.getSupport((short) 5));
+    }
+
+    @Test
+    public void supportPerItemAndKlass() {
+        assertEquals(2, table.getSupport((short) 0, (short) 4));
+        assertEquals(0, table.getSupport((short) 0, (short) 5));
+        assertEquals(1, table.getSupport((short) 3, (short) 4));
+        assertEquals(1, table.getSupport((short) 3, (short) 5));
+        assertArrayEquals(new long[] { 1, 1 }, table.getSupportByKlass((short) 3));
+    }
+
+    @Test
+    public void unknownItemsHaveNoSupport() {
+        assertEquals(-1, table.getPosition((short) 3));
+        assertEquals(0, table.getSupport((short) -1));
+        assertEquals(0, table.getSupport((short) 999));
+        assertEquals(0, table.getSupport((short) 0, (short) 3));
+    }
+
+    @Test
+    public void appendedInstancesAreCounted() throws Exception {
+        dataset.addInstance(new String[] { "val1", "s2", "class2" });
+
+        assertSame(table, dataset.getSupportTable());
+        assertEquals(3, table.getSupport((short) 0));
+        assertEquals(1, table.getSupport((short) 0, (short) 5));
+        assertEquals(2, table.getSupport((short) 5));
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic datasets on disk. It is used by the benchmarks to obtain
+ * datasets of arbitrary size without storing them in the repository
+ */
+public class SyntheticDataset {
+    /**
+     * Writes a nominal dataset in ARFF format. Values are drawn with a skewed
+     * distribution, so that some values are much more frequent than others, and
+     * the class depends on the first attribute
+     * 
+     * @param path             where the dataset is written
+     * @param numberInstances  number of instances to generate
+     * @param numberAttributes number of nominal attributes (without the class)
+     * @param numberValues     number of values per attribute
+     * @param numberKlasses    number of values for the class
+     * @param seed             seed for the random generator
+     * @return the file which has been written
+     * @throws IOException
+     */
+    public static File writeArff(String path, int numberInstances, int numberAttributes, int numberValues,
+            int numberKlasses, long seed) throws IOException {
+        File file = new File(path);
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file), 1 << 16)) {
+            writer.write("@relation synthetic\n");
+            for (int j = 0; j < numberAttributes; j++) {
+                writer.write("@attribute attr" + j + " {");
+                for (int v = 0; v < numberValues; v++) {
+                    writer.write((v > 0 ? "," : "") + "v" + v);
+                }
+                writer.write("}\n");
+            }
+            writer.write("@attribute class {");
+            for (int k = 0; k < numberKlasses; k++) {
+                writer.write((k > 0 ? "," : "") + "c" + k);
+            }
+            writer.write("}\n@data\n");
+
+            writeInstances(writer, numberInstances, numberAttributes, numberValues, numberKlasses, seed);
+        }
+
+        return file;
+    }
+
+    /**
+     * Writes a copy of a dataset written by
+     * {@link #writeArff(String, int, int, int, int, long)} where the first
+     * attribute declares values which never appear. In this way, the same
+     * instances are encoded as ints (see {@link ItemEncoding}), and they lead to
+     * the same results once decoded
+     * 
+     * @param arff dataset to be copied
+     * @param path where the copy is written
+     * @return the file which has been written
+     * @throws IOException
+     */
+    public static File writeIntEncodedArff(File arff, String path) throws IOException {
+        List<String> lines = Files.readAllLines(arff.toPath());
+        StringBuilder unused = new StringBuilder();
+        for (int v = 0; v < ItemEncoding.SHORT.getMaxNumberItems(); v++)
+            unused.append(",unused").append(v);
+        lines.set(1, lines.get(1).replace("}", unused + "}"));
+
+        File file = new File(path);
+        Files.write(file.toPath(), lines);
+
+        return file;
+    }
+
+    /**
+     * Writes a nominal dataset in CSV format, with the same instances as
+     * {@link #writeArff(String, int, int, int, int, long)}
+     * 
+     * @param path             where the dataset is written
+     * @param numberInstances  number of instances to generate
+     * @param numberAttributes number of nominal attributes (without the class)
+     * @param numberValues     number of values per attribute
+     * @param numberKlasses    number of values for the class
+     * @param seed             seed for the random generator
+     * @return the file which has been written
+     * @throws IOException
+     */
+    public static File writeCsv(String path, int numberInstances, int numberAttributes, int numberValues,
+            int numberKlasses, long seed) throws IOException {
+        File file = new File(path);
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file), 1 << 16)) {
+            for (int j = 0; j < numberAttributes; j++) {
+                writer.write("attr" + j + ",");
+            }
+            writer.write("class\n");
+
+            writeInstances(writer, numberInstances, numberAttributes, numberValues, numberKlasses, seed);
+        }
+
+        return file;
+    }
+
+    /**
+     * Writes the instances, one per line with the values separated by commas
+     * 
+     * @param writer           where the instances are written
+     * @param numberInstances  number of instances to generate
+     * @param numberAttributes number of nominal attributes (without the class)
+     * @param numberValues     number of values per attribute
+     * @param numberKlasses    number of values for the class
+     * @param seed             seed for the random generator
+     * @throws IOException
+     */
+    private static void writeInstances(BufferedWriter writer, int numberInstances, int numberAttributes,
+            int numberValues, int numberKlasses, long seed) throws IOException {
+        Random random = new Random(seed);
+
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < numberInstances; i++) {
+            line.setLength(0);
+            int first = 0;
+            for (int j = 0; j < numberAttributes; j++) {
+                // Squaring a uniform number gives more weight to the first values
+                double r = random.nextDouble();
+                int value = (int) (r * r * numberValues);
+                if (j == 0)
+                    first = value;
+                line.append('v').append(value).append(',');
+            }
+            int klass = random.nextDouble() < 0.8 ? first % numberKlasses : random.nextInt(numberKlasses);
+            line.append('c').append(klass).append('\n');
+            writer.write(line.toString());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import junit.framework.TestSuite;
+
+public class VerticalIndexTest extends TestSuite {
+    private Dataset dataset;
+    private VerticalIndex index;
+
+    @Before
+    public void setup() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("data/dataset-nominal.arff").getFile());
+        dataset = new ArffDataset(file.getAbsolutePath());
+        index = dataset.getVerticalIndex();
+    }
+
+    @Test
+    public void indexIsBuiltOnlyOnce() {
+        assertSame(index, dataset.getVerticalIndex());
+    }
+
+    @Test
+    public void itemsDoNotIncludeKlasses() {
+        assertArrayEquals(new short[] { 0, 1, 2, 3 }, index.getItems());
+    }
+
+    @Test
+    public void tidsetPerItem() {
+        assertEquals(BitSet.valueOf(new long[] { 0b101 }), index.getTidset((short) 0));
+        assertEquals(BitSet.valueOf(new long[] { 0b110 }), index.getTidset((short) 3));
+        assertEquals(2, index.getSupport((short) 0));
+        assertEquals(1, index.getSupport((short) 2));
+    }
+
+    @Test
+    public void tidsetPerKlass() {
+        assertEquals(BitSet.valueOf(new long[] { 0b101 }), index.getKlassTidset((short) 4));
+        assertEquals(2, index.getKlassSupport((short) 4));
+        assertEquals(1, index.getKlassSupport((short) 5));
+    }
+
+    @Test
+    public void itemsAreNotKlasses() {
+        assertTrue(index.getKlassTidset((short) 3).isEmpty());
+        assertEquals(0, index.getKlassSupport((short) 3));
+    }
+
+    @Test
+    public void unknownItemsHaveEmptyTidset() {
+        assertTrue(index.getTidset((short) 999).isEmpty());
+        assertTrue(index.getTidset((short) -1).isEmpty());
+        assertEquals(0, index.getSupport((short) 999));
+    }
+
+    @Test
+    public void tidsetForItemsets() {
+        ArrayList<Short> itemset = new ArrayList<Short>(Arrays.asList((short) 0, (short) 3));
+        assertEquals(BitSet.valueOf(new long[] { 0b100 }), index.getTidset(itemset));
+        assertEquals(1, index.getSupport(itemset));
+        assertEquals(1, index.getSupport(itemset, (short) 4));
+        assertEquals(0, index.getSupport(itemset, (short) 5));
+    }
+
+    @Test
+    public void emptyItemsetIsContainedInAllInstances() {
+        assertEquals(dataset.size(), index.getSupport(new ArrayList<Short>()));
+    }
+
+    @Test
+    public void notNominalValuesAreNotIndexed() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("data/dataset.arff").getFile());
+        VerticalIndex numeric = new ArffDataset(file.getAbsolutePath()).getVerticalIndex();
+
+        assertArrayEquals(new short[] { 0, 1 }, numeric.getItems());
+    }
+}
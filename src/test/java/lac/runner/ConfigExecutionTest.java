@@ -17,20 +17,29 @@
  */
 package lac.runner;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import lac.algorithms.IncompatibleDataset;
+import lac.data.ArffDataset;
+import lac.data.Dataset;
+import lac.data.ItemEncoding;
+import lac.data.MdlpDiscretizer;
+import lac.data.SyntheticDataset;
 
 public class ConfigExecutionTest {
     @Rule
@@ -58,6 +67,21 @@ public class ConfigExecutionTest {
         fail();
     }
 
+    @Test
+    public void whenNumericAttributesAreDiscretized() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        File file = new File(classLoader.getResource("data/dataset.arff").getFile());
+        ConfigExecution config = new ConfigExecution("CBA", new lac.algorithms.cba.Config(), file.getAbsolutePath(),
+                file.getAbsolutePath(), new ArrayList<String>(), null);
+        config.setDiscretizer(new MdlpDiscretizer());
+        config.run();
+
+        assertFalse(config.getTraining().hasNumericAttributes());
+        assertFalse(config.getTest().hasNumericAttributes());
+        assertNotEquals(null, config.getClassifier());
+        assertEquals(1.0, config.getTestReport().getAccuracy(), 0.01);
+    }
+
     @Test
     public void whenTrainingIsCorrect() throws Exception {
         ClassLoader classLoader = getClass().getClassLoader();
@@ -107,4 +131,110 @@ public class ConfigExecutionTest {
         f = new File(tempFolder.getRoot() + "/KlassReport.test");
         assertTrue(f.exists());
     }
+
+    @Test
+    public void whenCrossValidationFoldsPartitionTheDataset() throws Exception {
+        File file = SyntheticDataset.writeArff(tempFolder.newFile("cv.arff").getAbsolutePath(), 200, 4, 3, 2, 7);
+        ConfigExecution config = new ConfigExecution("CBA", new lac.algorithms.cba.Config(), file.getAbsolutePath(),
+                5, 1, new ArrayList<String>(Arrays.asList("MetricsReport")),
+                tempFolder.getRoot().getAbsolutePath());
+        config.run();
+
+        assertEquals(5, config.getFolds().size());
+        int numberTest = 0;
+        for (int k = 0; k < 5; k++) {
+            ConfigExecution fold = config.getFolds().get(k);
+            assertEquals(200, fold.getTraining().size() + fold.getTest().size());
+            assertNotEquals(null, fold.getClassifier());
+            numberTest += fold.getTest().size();
+
+            assertTrue(new File(tempFolder.getRoot() + "/fold" + k + "/MetricsReport.test").exists());
+        }
+        assertEquals(200, numberTest);
+
+        assertTrue(config.getTestReport().getAccuracy() > 0.0);
+        assertTrue(config.getTestReport().getStandardDeviation() >= 0.0);
+
+        // Summary of the folds is written next to their folders
+        List<String> summary = Files.readAllLines(new File(tempFolder.getRoot(), "CrossValidation.summary").toPath());
+        assertEquals(5 + 3, summary.size());
+        assertEquals("Fold, Number rules, Training accuracy, Test accuracy", summary.get(0));
+        String[] mean = summary.get(6).split(", ");
+        assertEquals("Mean", mean[0]);
+        assertEquals(config.getTrainReport().getAccuracy(), Double.parseDouble(mean[2]), 0.0);
+        assertEquals(config.getTestReport().getAccuracy(), Double.parseDouble(mean[3]), 0.0);
+        String[] deviation = summary.get(7).split(", ");
+        assertEquals("Standard deviation", deviation[0]);
+        assertEquals(config.getTestReport().getStandardDeviation(), Double.parseDouble(deviation[3]), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenCrossValidationHasLessThanTwoFoldsRaiseException() {
+        new ConfigExecution("CBA", new lac.algorithms.cba.Config(), "train", 1, 0, new ArrayList<String>(), null);
+    }
+
+    @Test
+    public void whenDatasetOutgrowsShortsMacIsTrainedAndEvaluated() throws Exception {
+        File narrow = SyntheticDataset.writeArff(tempFolder.newFile("short.arff").getAbsolutePath(), 1000, 5, 4, 3,
+                5);
+        File wide = SyntheticDataset.writeIntEncodedArff(narrow, tempFolder.newFile("int.arff").getAbsolutePath());
+        ArrayList<String> reports = new ArrayList<String>(Arrays.asList("MetricsReport", "KlassReport",
+                "ClassifierReport"));
+
+        File narrowFolder = tempFolder.newFolder();
+        ConfigExecution expected = new ConfigExecution("MAC", new lac.algorithms.mac.Config(), narrow.getAbsolutePath(),
+                narrow.getAbsolutePath(), reports, narrowFolder.getAbsolutePath());
+        expected.run();
+        File wideFolder = tempFolder.newFolder();
+        ConfigExecution config = new ConfigExecution("MAC", new lac.algorithms.mac.Config(), wide.getAbsolutePath(),
+                wide.getAbsolutePath(), reports, wideFolder.getAbsolutePath());
+        config.run();
+
+        assertEquals(ItemEncoding.INT, config.getTraining().getEncoding());
+        assertEquals(ItemEncoding.INT, config.getTest().getEncoding());
+        assertEquals(expected.getClassifier().getNumberRules(), config.getClassifier().getNumberRules());
+        assertTrue(config.getTestReport().getAccuracy() > 0.5);
+        assertEquals(expected.getTrainReport().getAccuracy(), config.getTrainReport().getAccuracy(), 0.0);
+        assertEquals(expected.getTestReport().getAccuracy(), config.getTestReport().getAccuracy(), 0.0);
+
+        // Rules and predictions are decoded, so both encodings report the same
+        String[] decoded = new String[] { "KlassReport.test", "KlassReport.training", "ClassifierReport.classifier" };
+        for (String report : decoded) {
+            assertEquals(Files.readAllLines(new File(narrowFolder, report).toPath()),
+                    Files.readAllLines(new File(wideFolder, report).toPath()));
+        }
+        List<String> metrics = Files.readAllLines(new File(wideFolder, "MetricsReport.test").toPath());
+        assertEquals(Files.readAllLines(new File(narrowFolder, "MetricsReport.test").toPath()).subList(0, 7),
+                metrics.subList(0, 7));
+
+        // Folds are views of the dataset encoded as ints
+        ConfigExecution folds = new ConfigExecution("MAC", new lac.algorithms.mac.Config(), wide.getAbsolutePath(), 3,
+                1, new ArrayList<String>(), null);
+        folds.run();
+        for (ConfigExecution fold : folds.getFolds()) {
+            assertEquals(ItemEncoding.INT, fold.getTest().getEncoding());
+            assertTrue(fold.getTestReport().getAccuracy() > 0.5);
+        }
+    }
+
+    @Test
+    public void whenFoldsAreStratified() throws Exception {
+        File file = SyntheticDataset.writeArff(tempFolder.newFile("folds.arff").getAbsolutePath(), 500, 2, 3, 3, 3);
+        Dataset dataset = new ArffDataset(file.getAbsolutePath());
+        int[] foldByInstance = ConfigExecution.stratifiedFolds(dataset, 4, 1);
+
+        for (short klass : dataset.getFrequencyByKlass().keySet()) {
+            int[] counts = new int[4];
+            for (int i = 0; i < dataset.size(); i++) {
+                if (dataset.getKlassInstance(i) == klass)
+                    counts[foldByInstance[i]]++;
+            }
+
+            for (int k = 1; k < 4; k++) {
+                assertTrue(Math.abs(counts[k] - counts[0]) <= 1);
+            }
+        }
+
+        assertArrayEquals(foldByInstance, ConfigExecution.stratifiedFolds(dataset, 4, 1));
+    }
 }
@@ -0,0 +1,207 @@
+/**
+ * This file is part of Library for Associative Classification (LAC)
+ *
+ * Copyright (C) 2019
+ *   
+ * LAC is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details. You should have 
+ * received a copy of the GNU General Public License along with 
+ * this program.  If not, see http://www.gnu.org/licenses/
+ */
+package lac.runner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import lac.data.Dataset;
+
+public class DatasetCacheTest {
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File write(String name, int numberInstances) throws Exception {
+        File file = new File(tempFolder.getRoot(), name);
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write("@relation cache\n@attribute a {x, y}\n@attribute class {c1, c2}\n@data\n");
+            for (int i = 0; i < numberInstances; i++)
+                writer.write(i % 2 == 0 ? "x,c1\n" : "y,c2\n");
+        }
+        return file;
+    }
+
+    @Test
+    public void sameFileIsReadOnce() throws Exception {
+        File file = write("dataset.arff", 10);
+        DatasetCache cache = new DatasetCache(Long.MAX_VALUE);
+
+        Dataset first = cache.get(file.getPath());
+        Dataset second = cache.get(file.getAbsolutePath());
+
+        assertSame(first, second);
+        assertEquals(10, first.size());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void modifiedFileIsReadAgain() throws Exception {
+        File file = write("dataset.arff", 10);
+        DatasetCache cache = new DatasetCache(Long.MAX_VALUE);
+
+        Dataset first = cache.get(file.getPath());
+        write("dataset.arff", 20);
+        Dataset second = cache.get(file.getPath());
+
+        assertNotSame(first, second);
+        assertEquals(20, second.size());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() throws Exception {
+        File a = write("a.arff", 100);
+        File b = write("b.arff", 100);
+        File c = write("c.arff", 100);
+        DatasetCache cache = new DatasetCache(2 * Dataset.read(a.getPath()).sizeInBytes());
+
+        cache.get(a.getPath());
+        cache.get(b.getPath());
+        cache.get(a.getPath());
+        cache.get(c.getPath());
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+
+        // b was the least recently used
+        cache.get(a.getPath());
+        assertEquals(2, cache.getHits());
+        cache.get(b.getPath());
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    public void mostRecentlyUsedIsKeptEvenIfTooBig() throws Exception {
+        File file = write("dataset.arff", 100);
+        DatasetCache cache = new DatasetCache(0);
+
+        cache.get(file.getPath());
+        cache.get(file.getPath());
+
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void derivedStructuresAreCounted() throws Exception {
+        File file = write("dataset.arff", 100);
+        DatasetCache cache = new DatasetCache(Long.MAX_VALUE);
+
+        Dataset dataset = cache.get(file.getPath());
+        long before = cache.getUsedBytes();
+        dataset.getVerticalIndex();
+        dataset.getSupportTable();
+
+        assertTrue(cache.getUsedBytes() > before);
+        assertEquals(dataset.sizeInBytes(), cache.getUsedBytes());
+    }
+
+    @Test
+    public void derivedStructuresMayCauseEvictions() throws Exception {
+        File a = write("a.arff", 100);
+        File b = write("b.arff", 100);
+        DatasetCache cache = new DatasetCache(2 * Dataset.read(a.getPath()).sizeInBytes());
+
+        Dataset dataset = cache.get(a.getPath());
+        cache.get(b.getPath());
+        assertEquals(2, cache.size());
+
+        dataset.getVerticalIndex();
+        dataset.getSupportTable();
+        cache.get(b.getPath());
+
+        // a exceeds the limit once its indexes are built, and it is the least recently used
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void cachedDatasetsCannotBeModified() throws Exception {
+        File file = write("dataset.arff", 10);
+        DatasetCache cache = new DatasetCache(Long.MAX_VALUE);
+
+        Dataset dataset = cache.get(file.getPath());
+        assertTrue(dataset.isFrozen());
+        try {
+            dataset.append(Collections.singletonList(new String[] { "x", "c1" }).iterator());
+            fail();
+        } catch (IllegalStateException e) {
+            // Expected, cached datasets are shared
+        }
+        try {
+            dataset.addInstance(new String[] { "y", "c2" });
+            fail();
+        } catch (IllegalStateException e) {
+            // Expected, cached datasets are shared
+        }
+
+        assertEquals(10, dataset.size());
+        assertEquals(10, dataset.getVerticalIndex().size());
+    }
+
+    @Test
+    public void concurrentRequestsReadOnce() throws Exception {
+        File file = write("dataset.arff", 10000);
+        DatasetCache cache = new DatasetCache(Long.MAX_VALUE);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        ArrayList<Future<Dataset>> futures = new ArrayList<Future<Dataset>>();
+        for (int i = 0; i < 8; i++)
+            futures.add(executor.submit(() -> cache.get(file.getPath())));
+        for (Future<Dataset> future : futures)
+            assertSame(futures.get(0).get(), future.get());
+        executor.shutdown();
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(7, cache.getHits());
+    }
+
+    @Test
+    public void failedReadsAreNotCached() throws Exception {
+        DatasetCache cache = new DatasetCache(Long.MAX_VALUE);
+        String path = new File(tempFolder.getRoot(), "missing.arff").getPath();
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.get(path);
+                fail();
+            } catch (Exception e) {
+                // Expected, file does not exist
+            }
+        }
+
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getMisses());
+    }
+}
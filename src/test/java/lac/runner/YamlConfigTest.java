@@ -18,6 +18,8 @@
 package lac.runner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
@@ -88,4 +90,68 @@ public class YamlConfigTest {
         assertEquals(config.getExecutions().get(0).getNameAlgorithm(), "MAC");
         assertEquals(config.getExecutions().get(1).getNameAlgorithm(), "ACCF");
     }
+
+    @Test
+    public void whenYmlHasCrossValidationConfigureFolds() throws Exception {
+        File tempFile = tempFolder.newFile();
+        try (FileWriter writer = new FileWriter(tempFile)) {
+            writer.write("executions:\n  -\n    name_algorithm: 'CBA'\n"
+                    + "    train: src/test/resources/data/dataset-nominal.arff\n"
+                    + "    cross_validation: 3\n    seed: 5\n");
+        }
+        YamlConfig config = new YamlConfig(tempFile.getAbsolutePath());
+
+        assertEquals(1, config.getExecutions().size());
+        config.getExecutions().get(0).run();
+        assertEquals(3, config.getExecutions().get(0).getFolds().size());
+    }
+
+    @Test
+    public void whenCrossValidationIsNotValidRaiseException() throws Exception {
+        for (String numberFolds : new String[] { "1", "0", "-3", "'three'", "2.5" }) {
+            File tempFile = tempFolder.newFile();
+            try (FileWriter writer = new FileWriter(tempFile)) {
+                writer.write("executions:\n  -\n    name_algorithm: 'CBA'\n"
+                        + "    train: src/test/resources/data/dataset-nominal.arff\n"
+                        + "    cross_validation: " + numberFolds + "\n");
+            }
+
+            try {
+                new YamlConfig(tempFile.getAbsolutePath());
+                fail();
+            } catch (Exception e) {
+                assertEquals("Config invalid. cross_validation must be an integer greater than one", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void whenYmlHasDiscretizationNumericAttributesAreDiscretized() throws Exception {
+        File tempFile = tempFolder.newFile("discretization.yml");
+        try (FileWriter writer = new FileWriter(tempFile)) {
+            writer.write("executions:\n  -\n    name_algorithm: 'CBA'\n"
+                    + "    train: src/test/resources/data/dataset.arff\n"
+                    + "    test: src/test/resources/data/dataset.arff\n"
+                    + "    discretization: equal_frequency\n    bins: 2\n");
+        }
+        YamlConfig config = new YamlConfig(tempFile.getAbsolutePath());
+
+        config.getExecutions().get(0).run();
+        assertFalse(config.getExecutions().get(0).getTraining().hasNumericAttributes());
+    }
+
+    @Test
+    public void whenYmlHasMinerRulesAreMinedByIt() throws Exception {
+        File tempFile = tempFolder.newFile("miner.yml");
+        try (FileWriter writer = new FileWriter(tempFile)) {
+            writer.write("executions:\n  -\n    name_algorithm: 'CMAR'\n"
+                    + "    configuration:\n      miner: eclat\n      min_sup: 0.1\n"
+                    + "    train: src/test/resources/data/dataset-nominal.arff\n"
+                    + "    test: src/test/resources/data/dataset-nominal.arff\n");
+        }
+        YamlConfig config = new YamlConfig(tempFile.getAbsolutePath());
+
+        config.getExecutions().get(0).run();
+        assertTrue(config.getExecutions().get(0).getClassifier().getNumberRules() > 0);
+    }
 }
@@ -90,6 +90,46 @@ public class UtilsTest extends TestSuite {
         assertEquals(Utils.isSubset(itemset1, itemset3), false);
     }
 
+    @Test
+    public void testIsSubsetArrayListAndArray() {
+        ArrayList<Short> itemset1 = new ArrayList<Short>(Arrays.asList(new Short((short) 1), new Short((short) 2)));
+        short[] itemset2 = { 1, 2, 3 };
+        assertEquals(Utils.isSubset(itemset1, itemset2), true);
+
+        short[] itemset3 = { 1, 4, 3 };
+        assertEquals(Utils.isSubset(itemset1, itemset3), false);
+    }
+
+    @Test
+    public void testIsSubsetBothIntArray() {
+        int[] itemset1 = { 1, 40000 };
+        int[] itemset2 = { 1, 2, 40000 };
+        assertEquals(Utils.isSubset(itemset1, itemset2), true);
+        assertEquals(Utils.memberOf(40000, itemset2), true);
+
+        int[] itemset3 = { 1, 4, 40001 };
+        assertEquals(Utils.isSubset(itemset1, itemset3), false);
+        assertEquals(Utils.memberOf(40000, itemset3), false);
+    }
+
+    @Test
+    public void testMemberOfAndContains() {
+        short[] sorted = { 1, 3, 5 };
+        assertEquals(Utils.memberOf((short) 3, sorted), true);
+        assertEquals(Utils.memberOf((short) 4, sorted), false);
+
+        short[] unsorted = { 5, 1, 3 };
+        assertEquals(Utils.contains((short) 1, unsorted), true);
+        assertEquals(Utils.contains((short) 2, unsorted), false);
+    }
+
+    @Test
+    public void testIntersects() {
+        ArrayList<Short> antecedent = new ArrayList<Short>(Arrays.asList(new Short((short) 2), new Short((short) 7)));
+        assertEquals(Utils.intersects(antecedent, new short[] { 1, 7 }), true);
+        assertEquals(Utils.intersects(antecedent, new short[] { 1, 3 }), false);
+    }
+
     @Test
     public void testConcatenate() {
         Short[] itemset1 = { 1, 2 };